@@ -20,10 +20,11 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.stream.Collectors.toList;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Optional;
-import java.util.OptionalInt;
 import java.util.stream.Stream;
 
 import hu.bme.mit.theta.analysis.Action;
@@ -32,7 +33,9 @@ import hu.bme.mit.theta.analysis.State;
 
 /**
  * Represents an abstract reachability graph (ARG). See the related class
- * ArgBuilder.
+ * ArgBuilder. The number of nodes, the depth, the unexpanded (and uncovered)
+ * nodes and the target nodes are maintained incrementally, so that they can be
+ * queried without traversing the whole ARG.
  */
 public final class ARG<S extends State, A extends Action> {
 
@@ -41,10 +44,21 @@ public final class ARG<S extends State, A extends Action> {
 	private int nextId = 0;
 	final Domain<S> domain;
 
+	private final Collection<ArgNode<S, A>> unexpandedNodes;
+	private final Collection<ArgNode<S, A>> targetNodes;
+	private int nodeCount;
+	private int[] nodeCountByDepth;
+	private int maxDepth;
+
 	private ARG(final Domain<S> domain) {
 		initNodes = new HashSet<>();
 		this.domain = domain;
 		this.initialized = false;
+		unexpandedNodes = new LinkedHashSet<>();
+		targetNodes = new LinkedHashSet<>();
+		nodeCount = 0;
+		nodeCountByDepth = new int[16];
+		maxDepth = -1;
 	}
 
 	public static <S extends State, A extends Action> ARG<S, A> create(final Domain<S> domain) {
@@ -66,11 +80,11 @@ public final class ARG<S extends State, A extends Action> {
 	}
 
 	public Stream<ArgNode<S, A>> getUnsafeNodes() {
-		return getInitNodes().flatMap(ArgNode::unexcludedDescendants).filter(ArgNode::isTarget);
+		return targetNodes.stream().filter(n -> !n.isExcluded());
 	}
 
 	public Stream<ArgNode<S, A>> getIncompleteNodes() {
-		return getInitNodes().flatMap(ArgNode::unexcludedDescendants).filter(n -> !n.isExpanded());
+		return unexpandedNodes.stream().filter(n -> !n.isExcluded());
 	}
 
 	////
@@ -80,14 +94,14 @@ public final class ARG<S extends State, A extends Action> {
 	 * its nodes are complete.
 	 */
 	public boolean isComplete() {
-		return isInitialized() && getNodes().allMatch(ArgNode::isComplete);
+		return isInitialized() && unexpandedNodes.stream().allMatch(ArgNode::isExcluded);
 	}
 
 	/**
 	 * Checks if the ARG is safe, i.e., whether all of its nodes are safe.
 	 */
 	public boolean isSafe() {
-		return getNodes().allMatch(ArgNode::isSafe);
+		return targetNodes.stream().allMatch(ArgNode::isExcluded);
 	}
 
 	/**
@@ -122,6 +136,7 @@ public final class ARG<S extends State, A extends Action> {
 	private ArgNode<S, A> createNode(final S state, final int depth, final boolean target) {
 		final ArgNode<S, A> node = new ArgNode<>(this, state, nextId, depth, target);
 		nextId = nextId + 1;
+		nodeAdded(node);
 		return node;
 	}
 
@@ -142,7 +157,7 @@ public final class ARG<S extends State, A extends Action> {
 			final ArgEdge<S, A> edge = node.getInEdge().get();
 			final ArgNode<S, A> parent = edge.getSource();
 			parent.outEdges.remove(edge);
-			parent.expanded = false;
+			setExpanded(parent, false);
 		} else {
 			assert initNodes.contains(node);
 			initNodes.remove(node);
@@ -150,7 +165,7 @@ public final class ARG<S extends State, A extends Action> {
 		}
 		node.descendants().forEach(ArgNode::unsetCoveringNode);
 		node.descendants().forEach(ArgNode::clearCoveredNodes);
-
+		node.descendants().forEach(this::nodeRemoved);
 	}
 
 	public void minimize() {
@@ -179,7 +194,7 @@ public final class ARG<S extends State, A extends Action> {
 	 * Gets the size of the ARG, i.e., the number of nodes.
 	 */
 	public long size() {
-		return getNodes().count();
+		return nodeCount;
 	}
 
 	/**
@@ -188,9 +203,8 @@ public final class ARG<S extends State, A extends Action> {
 	 * ARG.
 	 */
 	public int getDepth() {
-		final OptionalInt maxOpt = getNodes().mapToInt(ArgNode::getDepth).max();
-		checkState(maxOpt.isPresent(), "Depth is undefined for an empty ARG.");
-		return maxOpt.getAsInt();
+		checkState(maxDepth >= 0, "Depth is undefined for an empty ARG.");
+		return maxDepth;
 	}
 
 	/**
@@ -202,4 +216,51 @@ public final class ARG<S extends State, A extends Action> {
 		return mean;
 	}
 
+	////
+
+	void setExpanded(final ArgNode<S, A> node, final boolean expanded) {
+		node.expanded = expanded;
+		if (expanded || node.isCovered()) {
+			unexpandedNodes.remove(node);
+		} else {
+			unexpandedNodes.add(node);
+		}
+	}
+
+	void setCovered(final ArgNode<S, A> node, final boolean covered) {
+		if (covered || node.isExpanded()) {
+			unexpandedNodes.remove(node);
+		} else {
+			unexpandedNodes.add(node);
+		}
+	}
+
+	private void nodeAdded(final ArgNode<S, A> node) {
+		nodeCount++;
+		final int depth = node.getDepth();
+		if (depth >= nodeCountByDepth.length) {
+			nodeCountByDepth = Arrays.copyOf(nodeCountByDepth, Math.max(2 * nodeCountByDepth.length, depth + 1));
+		}
+		nodeCountByDepth[depth]++;
+		if (depth > maxDepth) {
+			maxDepth = depth;
+		}
+		if (!node.isExpanded()) {
+			unexpandedNodes.add(node);
+		}
+		if (node.isTarget()) {
+			targetNodes.add(node);
+		}
+	}
+
+	private void nodeRemoved(final ArgNode<S, A> node) {
+		nodeCount--;
+		nodeCountByDepth[node.getDepth()]--;
+		while (maxDepth >= 0 && nodeCountByDepth[maxDepth] == 0) {
+			maxDepth--;
+		}
+		unexpandedNodes.remove(node);
+		targetNodes.remove(node);
+	}
+
 }
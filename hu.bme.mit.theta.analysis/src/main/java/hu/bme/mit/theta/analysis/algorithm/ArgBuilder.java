@@ -28,6 +28,8 @@ import hu.bme.mit.theta.analysis.LTS;
 import hu.bme.mit.theta.analysis.Prec;
 import hu.bme.mit.theta.analysis.State;
 import hu.bme.mit.theta.analysis.TransFunc;
+import hu.bme.mit.theta.common.product.Tuple;
+import hu.bme.mit.theta.common.product.Tuple2;
 
 /**
  * Helper class for building the ARG with a given analysis and precision.
@@ -77,22 +79,51 @@ public final class ArgBuilder<S extends State, A extends Action, P extends Prec>
 	public Collection<ArgNode<S, A>> expand(final ArgNode<S, A> node, final P prec) {
 		checkNotNull(node);
 		checkNotNull(prec);
+		return expand(node, getSuccs(node, prec));
+	}
 
-		final Collection<ArgNode<S, A>> newSuccNodes = new ArrayList<>();
+	/**
+	 * Calculates the successors of a node without modifying the ARG. Different
+	 * ArgBuilders can calculate successors concurrently, provided that their
+	 * analyses do not share any (non thread-safe) resource, e.g., a solver.
+	 */
+	public Collection<Tuple2<A, S>> getSuccs(final ArgNode<S, A> node, final P prec) {
+		checkNotNull(node);
+		checkNotNull(prec);
+
+		final Collection<Tuple2<A, S>> succs = new ArrayList<>();
 		final S state = node.getState();
 		final Collection<? extends A> actions = lts.getEnabledActionsFor(state);
 		final TransFunc<S, ? super A, ? super P> transFunc = analysis.getTransFunc();
 		for (final A action : actions) {
 			final Collection<? extends S> succStates = transFunc.getSuccStates(state, action, prec);
 			for (final S succState : succStates) {
-				if (node.getSuccStates().noneMatch(s -> analysis.getDomain().isLeq(succState, s))) {
-					final boolean isTarget = target.test(succState);
-					final ArgNode<S, A> newNode = node.arg.createSuccNode(node, action, succState, isTarget);
-					newSuccNodes.add(newNode);
-				}
+				succs.add(Tuple.of(action, succState));
+			}
+		}
+		return succs;
+	}
+
+	/**
+	 * Expands a node with successors calculated previously by getSuccs (possibly
+	 * by a different ArgBuilder).
+	 */
+	public Collection<ArgNode<S, A>> expand(final ArgNode<S, A> node,
+			final Collection<? extends Tuple2<? extends A, ? extends S>> succs) {
+		checkNotNull(node);
+		checkNotNull(succs);
+
+		final Collection<ArgNode<S, A>> newSuccNodes = new ArrayList<>();
+		for (final Tuple2<? extends A, ? extends S> succ : succs) {
+			final A action = succ._1();
+			final S succState = succ._2();
+			if (node.getSuccStates().noneMatch(s -> analysis.getDomain().isLeq(succState, s))) {
+				final boolean isTarget = target.test(succState);
+				final ArgNode<S, A> newNode = node.arg.createSuccNode(node, action, succState, isTarget);
+				newSuccNodes.add(newNode);
 			}
 		}
-		node.expanded = true;
+		node.arg.setExpanded(node, true);
 
 		return newSuccNodes;
 	}
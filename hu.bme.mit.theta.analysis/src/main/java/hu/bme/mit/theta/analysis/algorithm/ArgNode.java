@@ -99,17 +99,22 @@ public final class ArgNode<S extends State, A extends Action> {
 		unsetCoveringNode();
 		coveringNode = Optional.of(node);
 		node.coveredNodes.add(this);
+		arg.setCovered(this, true);
 	}
 
 	public void unsetCoveringNode() {
 		if (coveringNode.isPresent()) {
 			coveringNode.get().coveredNodes.remove(this);
 			coveringNode = Optional.empty();
+			arg.setCovered(this, false);
 		}
 	}
 
 	public void clearCoveredNodes() {
-		coveredNodes.forEach(n -> n.coveringNode = Optional.empty());
+		coveredNodes.forEach(n -> {
+			n.coveringNode = Optional.empty();
+			arg.setCovered(n, false);
+		});
 		coveredNodes.clear();
 	}
 
@@ -15,6 +15,12 @@
  */
 package hu.bme.mit.theta.analysis.algorithm;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import hu.bme.mit.theta.analysis.Action;
+import hu.bme.mit.theta.analysis.Domain;
+import hu.bme.mit.theta.analysis.State;
+import hu.bme.mit.theta.analysis.Trace;
 import hu.bme.mit.theta.analysis.expr.ExprAction;
 import hu.bme.mit.theta.analysis.expr.ExprState;
 import hu.bme.mit.theta.solver.Solver;
@@ -29,4 +35,46 @@ public final class ArgUtils {
 		return ArgChecker.create(solver).isWellLabeled(arg);
 	}
 
+	/**
+	 * Creates an ARG consisting of a single path along a trace, where only the
+	 * last node is a target. This can be used by algorithms that find
+	 * counterexamples without building an ARG.
+	 */
+	public static <S extends State, A extends Action> ARG<S, A> fromTrace(final Trace<S, A> trace,
+			final Domain<S> domain) {
+		checkNotNull(trace);
+		final ARG<S, A> arg = ARG.create(domain);
+		final int length = trace.length();
+		ArgNode<S, A> node = arg.createInitNode(trace.getState(0), length == 0);
+		for (int i = 0; i < length; i++) {
+			arg.setExpanded(node, true);
+			node = arg.createSuccNode(node, trace.getAction(i), trace.getState(i + 1), i == length - 1);
+		}
+		arg.initialized = true;
+		return arg;
+	}
+
+	/**
+	 * Creates a complete and safe ARG from a single state that over-approximates
+	 * the reachable states. The initial node is expanded with the given action
+	 * and its only successor is covered by the initial node. If the invariant
+	 * is bottom, the initial node is infeasible and has no successors. This can
+	 * be used by algorithms that prove safety with an invariant instead of an
+	 * ARG.
+	 */
+	public static <S extends State, A extends Action> ARG<S, A> fromInvariant(final S invariant, final A action,
+			final Domain<S> domain) {
+		checkNotNull(invariant);
+		checkNotNull(action);
+		final ARG<S, A> arg = ARG.create(domain);
+		final ArgNode<S, A> initNode = arg.createInitNode(invariant, false);
+		if (initNode.isFeasible()) {
+			arg.setExpanded(initNode, true);
+			final ArgNode<S, A> succNode = arg.createSuccNode(initNode, action, invariant, false);
+			succNode.cover(initNode);
+		}
+		arg.initialized = true;
+		return arg;
+	}
+
 }
@@ -17,6 +17,7 @@ package hu.bme.mit.theta.analysis.algorithm;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 import java.util.Optional;
 
@@ -25,17 +26,29 @@ import hu.bme.mit.theta.analysis.State;
 import hu.bme.mit.theta.analysis.Trace;
 import hu.bme.mit.theta.common.Utils;
 
+/**
+ * Result of a safety check. Results usually contain the ARG built by the
+ * checker, which certifies a safe result. Some algorithms (e.g., bounded
+ * model checking) prove safety without an invariant, so their safe results
+ * have no ARG. Algorithms that stop at a bound without a verdict return an
+ * unknown result, which has no ARG either.
+ */
 public abstract class SafetyResult<S extends State, A extends Action> {
-	private final ARG<S, A> arg;
+	private final Optional<ARG<S, A>> arg;
 	private final Optional<Statistics> stats;
 
-	private SafetyResult(final ARG<S, A> arg, final Optional<Statistics> stats) {
+	private SafetyResult(final Optional<ARG<S, A>> arg, final Optional<Statistics> stats) {
 		this.arg = checkNotNull(arg);
 		this.stats = checkNotNull(stats);
 	}
 
+	public boolean hasArg() {
+		return arg.isPresent();
+	}
+
 	public ARG<S, A> getArg() {
-		return arg;
+		checkState(arg.isPresent(), "Result has no ARG");
+		return arg.get();
 	}
 
 	public Optional<Statistics> getStats() {
@@ -43,26 +56,40 @@ public abstract class SafetyResult<S extends State, A extends Action> {
 	}
 
 	public static <S extends State, A extends Action> Safe<S, A> safe(final ARG<S, A> arg) {
-		return new Safe<>(arg, Optional.empty());
+		return new Safe<>(Optional.of(arg), Optional.empty());
 	}
 
 	public static <S extends State, A extends Action> Unsafe<S, A> unsafe(final Trace<S, A> cex, final ARG<S, A> arg) {
-		return new Unsafe<>(cex, arg, Optional.empty());
+		return new Unsafe<>(cex, Optional.of(arg), Optional.empty());
 	}
 
 	public static <S extends State, A extends Action> Safe<S, A> safe(final ARG<S, A> arg, final Statistics stats) {
-		return new Safe<>(arg, Optional.of(stats));
+		return new Safe<>(Optional.of(arg), Optional.of(stats));
+	}
+
+	/**
+	 * Create a safe result without an ARG, for algorithms whose proof of
+	 * safety cannot be expressed as an ARG.
+	 */
+	public static <S extends State, A extends Action> Safe<S, A> safeWithoutArg(final Statistics stats) {
+		return new Safe<>(Optional.empty(), Optional.of(stats));
 	}
 
 	public static <S extends State, A extends Action> Unsafe<S, A> unsafe(final Trace<S, A> cex, final ARG<S, A> arg,
 			final Statistics stats) {
-		return new Unsafe<>(cex, arg, Optional.of(stats));
+		return new Unsafe<>(cex, Optional.of(arg), Optional.of(stats));
+	}
+
+	public static <S extends State, A extends Action> Unknown<S, A> unknown(final Statistics stats) {
+		return new Unknown<>(Optional.of(stats));
 	}
 
 	public abstract boolean isSafe();
 
 	public abstract boolean isUnsafe();
 
+	public abstract boolean isUnknown();
+
 	public abstract Safe<S, A> asSafe();
 
 	public abstract Unsafe<S, A> asUnsafe();
@@ -70,11 +97,13 @@ public abstract class SafetyResult<S extends State, A extends Action> {
 	////
 
 	public static final class Safe<S extends State, A extends Action> extends SafetyResult<S, A> {
-		private Safe(final ARG<S, A> arg, final Optional<Statistics> stats) {
+		private Safe(final Optional<ARG<S, A>> arg, final Optional<Statistics> stats) {
 			super(arg, stats);
-			checkArgument(arg.isInitialized(), "ARG is not initialized");
-			checkArgument(arg.isComplete(), "ARG is not complete");
-			checkArgument(arg.isSafe(), "ARG is not safe");
+			arg.ifPresent(a -> {
+				checkArgument(a.isInitialized(), "ARG is not initialized");
+				checkArgument(a.isComplete(), "ARG is not complete");
+				checkArgument(a.isSafe(), "ARG is not safe");
+			});
 		}
 
 		@Override
@@ -87,6 +116,11 @@ public abstract class SafetyResult<S extends State, A extends Action> {
 			return false;
 		}
 
+		@Override
+		public boolean isUnknown() {
+			return false;
+		}
+
 		@Override
 		public Safe<S, A> asSafe() {
 			return this;
@@ -108,7 +142,7 @@ public abstract class SafetyResult<S extends State, A extends Action> {
 	public static final class Unsafe<S extends State, A extends Action> extends SafetyResult<S, A> {
 		private final Trace<S, A> cex;
 
-		private Unsafe(final Trace<S, A> cex, final ARG<S, A> arg, final Optional<Statistics> stats) {
+		private Unsafe(final Trace<S, A> cex, final Optional<ARG<S, A>> arg, final Optional<Statistics> stats) {
 			super(arg, stats);
 			this.cex = checkNotNull(cex);
 		}
@@ -127,6 +161,11 @@ public abstract class SafetyResult<S extends State, A extends Action> {
 			return true;
 		}
 
+		@Override
+		public boolean isUnknown() {
+			return false;
+		}
+
 		@Override
 		public Safe<S, A> asSafe() {
 			throw new ClassCastException(
@@ -145,4 +184,43 @@ public abstract class SafetyResult<S extends State, A extends Action> {
 		}
 	}
 
+	public static final class Unknown<S extends State, A extends Action> extends SafetyResult<S, A> {
+		private Unknown(final Optional<Statistics> stats) {
+			super(Optional.empty(), stats);
+		}
+
+		@Override
+		public boolean isSafe() {
+			return false;
+		}
+
+		@Override
+		public boolean isUnsafe() {
+			return false;
+		}
+
+		@Override
+		public boolean isUnknown() {
+			return true;
+		}
+
+		@Override
+		public Safe<S, A> asSafe() {
+			throw new ClassCastException(
+					"Cannot cast " + Unknown.class.getSimpleName() + " to " + Safe.class.getSimpleName());
+		}
+
+		@Override
+		public Unsafe<S, A> asUnsafe() {
+			throw new ClassCastException(
+					"Cannot cast " + Unknown.class.getSimpleName() + " to " + Unsafe.class.getSimpleName());
+		}
+
+		@Override
+		public String toString() {
+			return Utils.toStringBuilder(SafetyResult.class.getSimpleName()).add(Unknown.class.getSimpleName())
+					.toString();
+		}
+	}
+
 }
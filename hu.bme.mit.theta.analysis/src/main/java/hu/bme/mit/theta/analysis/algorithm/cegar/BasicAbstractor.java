@@ -19,6 +19,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
 import java.util.Collection;
+import java.util.concurrent.CancellationException;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -30,7 +31,9 @@ import hu.bme.mit.theta.analysis.algorithm.ArgBuilder;
 import hu.bme.mit.theta.analysis.algorithm.ArgNode;
 import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterion;
 import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterions;
+import hu.bme.mit.theta.analysis.reachedset.LinearIndex;
 import hu.bme.mit.theta.analysis.reachedset.Partition;
+import hu.bme.mit.theta.analysis.reachedset.ReachedSetIndex;
 import hu.bme.mit.theta.analysis.waitlist.FifoWaitlist;
 import hu.bme.mit.theta.analysis.waitlist.Waitlist;
 import hu.bme.mit.theta.common.Utils;
@@ -44,15 +47,18 @@ public final class BasicAbstractor<S extends State, A extends Action, P extends
 
 	private final ArgBuilder<S, A, P> argBuilder;
 	private final Function<? super S, ?> projection;
+	private final Supplier<? extends ReachedSetIndex<ArgNode<S, A>>> indexSupplier;
 	private final Supplier<? extends Waitlist<ArgNode<S, A>>> waitlistSupplier;
 	private final StopCriterion<S, A> stopCriterion;
 	private final Logger logger;
 
 	private BasicAbstractor(final ArgBuilder<S, A, P> argBuilder, final Function<? super S, ?> projection,
+			final Supplier<? extends ReachedSetIndex<ArgNode<S, A>>> indexSupplier,
 			final Supplier<? extends Waitlist<ArgNode<S, A>>> waitlistSupplier, final StopCriterion<S, A> stopCriterion,
 			final Logger logger) {
 		this.argBuilder = checkNotNull(argBuilder);
 		this.projection = checkNotNull(projection);
+		this.indexSupplier = checkNotNull(indexSupplier);
 		this.waitlistSupplier = checkNotNull(waitlistSupplier);
 		this.stopCriterion = checkNotNull(stopCriterion);
 		this.logger = checkNotNull(logger);
@@ -82,17 +88,21 @@ public final class BasicAbstractor<S extends State, A extends Action, P extends
 
 		assert arg.isInitialized();
 
-		logger.writeln(String.format("Starting ARG: %d nodes, %d incomplete, %d unsafe", arg.getNodes().count(),
+		logger.writeln(String.format("Starting ARG: %d nodes, %d incomplete, %d unsafe", arg.size(),
 				arg.getIncompleteNodes().count(), arg.getUnsafeNodes().count()), 3, 2);
 		logger.write("Building ARG...", 3, 2);
 
-		final Partition<ArgNode<S, A>, ?> reachedSet = Partition.of(n -> projection.apply(n.getState()));
+		final Partition<ArgNode<S, A>, ?> reachedSet = Partition.of(n -> projection.apply(n.getState()),
+				indexSupplier);
 		final Waitlist<ArgNode<S, A>> waitlist = waitlistSupplier.get();
 
 		reachedSet.addAll(arg.getNodes());
 		waitlist.addAll(arg.getIncompleteNodes());
 
 		while (!waitlist.isEmpty() && !stopCriterion.canStop(arg)) {
+			if (Thread.currentThread().isInterrupted()) {
+				throw new CancellationException("Abstraction interrupted");
+			}
 			final ArgNode<S, A> node = waitlist.remove();
 
 			close(node, reachedSet.get(node));
@@ -103,7 +113,7 @@ public final class BasicAbstractor<S extends State, A extends Action, P extends
 			}
 		}
 
-		logger.writeln(String.format("done: %d nodes, %d incomplete, %d unsafe", arg.getNodes().count(),
+		logger.writeln(String.format("done: %d nodes, %d incomplete, %d unsafe", arg.size(),
 				arg.getIncompleteNodes().count(), arg.getUnsafeNodes().count()), 3);
 
 		if (arg.isSafe()) {
@@ -134,6 +144,7 @@ public final class BasicAbstractor<S extends State, A extends Action, P extends
 	public static final class Builder<S extends State, A extends Action, P extends Prec> {
 		private final ArgBuilder<S, A, P> argBuilder;
 		private Function<? super S, ?> projection;
+		private Supplier<? extends ReachedSetIndex<ArgNode<S, A>>> indexSupplier;
 		private Supplier<? extends Waitlist<ArgNode<S, A>>> waitlistSupplier;
 		private StopCriterion<S, A> stopCriterion;
 		private Logger logger;
@@ -141,6 +152,7 @@ public final class BasicAbstractor<S extends State, A extends Action, P extends
 		private Builder(final ArgBuilder<S, A, P> argBuilder) {
 			this.argBuilder = argBuilder;
 			this.projection = s -> 0;
+			this.indexSupplier = LinearIndex.supplier();
 			this.waitlistSupplier = FifoWaitlist.supplier();
 			this.stopCriterion = StopCriterions.firstCex();
 			this.logger = NullLogger.getInstance();
@@ -151,6 +163,11 @@ public final class BasicAbstractor<S extends State, A extends Action, P extends
 			return this;
 		}
 
+		public Builder<S, A, P> indexSupplier(final Supplier<? extends ReachedSetIndex<ArgNode<S, A>>> indexSupplier) {
+			this.indexSupplier = indexSupplier;
+			return this;
+		}
+
 		public Builder<S, A, P> waitlistSupplier(final Supplier<? extends Waitlist<ArgNode<S, A>>> waitlistSupplier) {
 			this.waitlistSupplier = waitlistSupplier;
 			return this;
@@ -167,7 +184,7 @@ public final class BasicAbstractor<S extends State, A extends Action, P extends
 		}
 
 		public BasicAbstractor<S, A, P> build() {
-			return new BasicAbstractor<>(argBuilder, projection, waitlistSupplier, stopCriterion, logger);
+			return new BasicAbstractor<>(argBuilder, projection, indexSupplier, waitlistSupplier, stopCriterion, logger);
 		}
 	}
 
@@ -17,6 +17,7 @@ package hu.bme.mit.theta.analysis.algorithm.cegar;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.TimeUnit;
 
 import com.google.common.base.Stopwatch;
@@ -69,6 +70,9 @@ public final class CegarChecker<S extends State, A extends Action, P extends Pre
 		P prec = initPrec;
 		int iteration = 0;
 		do {
+			if (Thread.currentThread().isInterrupted()) {
+				throw new CancellationException("CEGAR loop interrupted");
+			}
 			++iteration;
 			logger.writeln("Iteration ", iteration, 2, 0);
 
@@ -0,0 +1,307 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.cegar;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.google.common.base.Throwables;
+
+import hu.bme.mit.theta.analysis.Action;
+import hu.bme.mit.theta.analysis.Prec;
+import hu.bme.mit.theta.analysis.State;
+import hu.bme.mit.theta.analysis.algorithm.ARG;
+import hu.bme.mit.theta.analysis.algorithm.ArgBuilder;
+import hu.bme.mit.theta.analysis.algorithm.ArgNode;
+import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterion;
+import hu.bme.mit.theta.analysis.algorithm.cegar.abstractor.StopCriterions;
+import hu.bme.mit.theta.analysis.reachedset.LinearIndex;
+import hu.bme.mit.theta.analysis.reachedset.Partition;
+import hu.bme.mit.theta.analysis.reachedset.ReachedSetIndex;
+import hu.bme.mit.theta.analysis.waitlist.FifoWaitlist;
+import hu.bme.mit.theta.analysis.waitlist.Waitlist;
+import hu.bme.mit.theta.common.Utils;
+import hu.bme.mit.theta.common.logging.Logger;
+import hu.bme.mit.theta.common.logging.impl.NullLogger;
+import hu.bme.mit.theta.common.product.Tuple2;
+
+/**
+ * Parallel implementation for the abstractor. Nodes are removed from the
+ * waitlist in batches and closed on the calling thread. The successors of the
+ * remaining nodes are then calculated by worker threads, each having its own
+ * ArgBuilder (and therefore its own solver), which take nodes from a shared
+ * queue until it becomes empty. Finally, the successors are added to the ARG on
+ * the calling thread, so that the ARG, the reached set and the covering
+ * decisions are only modified by a single thread.
+ */
+public final class ParallelAbstractor<S extends State, A extends Action, P extends Prec>
+		implements Abstractor<S, A, P> {
+
+	private final ArgBuilder<S, A, P> argBuilder;
+	private final Supplier<? extends ArgBuilder<S, A, P>> workerArgBuilderSupplier;
+	private final int threads;
+	private final int batchSize;
+	private final Function<? super S, ?> projection;
+	private final Supplier<? extends ReachedSetIndex<ArgNode<S, A>>> indexSupplier;
+	private final Supplier<? extends Waitlist<ArgNode<S, A>>> waitlistSupplier;
+	private final StopCriterion<S, A> stopCriterion;
+	private final Logger logger;
+
+	private final List<ArgBuilder<S, A, P>> workerArgBuilders;
+
+	private ParallelAbstractor(final ArgBuilder<S, A, P> argBuilder,
+			final Supplier<? extends ArgBuilder<S, A, P>> workerArgBuilderSupplier, final int threads,
+			final int batchSize, final Function<? super S, ?> projection,
+			final Supplier<? extends ReachedSetIndex<ArgNode<S, A>>> indexSupplier,
+			final Supplier<? extends Waitlist<ArgNode<S, A>>> waitlistSupplier, final StopCriterion<S, A> stopCriterion,
+			final Logger logger) {
+		checkArgument(threads > 0, "Number of threads must be positive");
+		checkArgument(batchSize > 0, "Batch size must be positive");
+		this.argBuilder = checkNotNull(argBuilder);
+		this.workerArgBuilderSupplier = checkNotNull(workerArgBuilderSupplier);
+		this.threads = threads;
+		this.batchSize = batchSize;
+		this.projection = checkNotNull(projection);
+		this.indexSupplier = checkNotNull(indexSupplier);
+		this.waitlistSupplier = checkNotNull(waitlistSupplier);
+		this.stopCriterion = checkNotNull(stopCriterion);
+		this.logger = checkNotNull(logger);
+		this.workerArgBuilders = new ArrayList<>();
+	}
+
+	/**
+	 * Creates a builder for the parallel abstractor. The ArgBuilder is used on
+	 * the calling thread, while the supplier is called once for each worker
+	 * thread. The ArgBuilders created by the supplier must not share any
+	 * resource (e.g., solver) with each other or with the ArgBuilder.
+	 */
+	public static <S extends State, A extends Action, P extends Prec> Builder<S, A, P> builder(
+			final ArgBuilder<S, A, P> argBuilder, final Supplier<? extends ArgBuilder<S, A, P>> workerArgBuilderSupplier) {
+		return new Builder<>(argBuilder, workerArgBuilderSupplier);
+	}
+
+	@Override
+	public ARG<S, A> createArg() {
+		return argBuilder.createArg();
+	}
+
+	@Override
+	public AbstractorResult check(final ARG<S, A> arg, final P prec) {
+		checkNotNull(arg);
+		checkNotNull(prec);
+		logger.writeln("Precision: ", prec, 4, 2);
+
+		if (!arg.isInitialized()) {
+			logger.write("(Re)initializing ARG...", 3, 2);
+			argBuilder.init(arg, prec);
+			logger.writeln("done.", 3);
+		}
+
+		assert arg.isInitialized();
+
+		logger.writeln(String.format("Starting ARG: %d nodes, %d incomplete, %d unsafe", arg.size(),
+				arg.getIncompleteNodes().count(), arg.getUnsafeNodes().count()), 3, 2);
+		logger.write("Building ARG...", 3, 2);
+
+		final Partition<ArgNode<S, A>, ?> reachedSet = Partition.of(n -> projection.apply(n.getState()),
+				indexSupplier);
+		final Waitlist<ArgNode<S, A>> waitlist = waitlistSupplier.get();
+
+		reachedSet.addAll(arg.getNodes());
+		waitlist.addAll(arg.getIncompleteNodes());
+
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			while (!waitlist.isEmpty() && !stopCriterion.canStop(arg)) {
+				if (Thread.currentThread().isInterrupted()) {
+					throw new CancellationException("Abstraction interrupted");
+				}
+				final List<ArgNode<S, A>> batch = new ArrayList<>();
+				while (!waitlist.isEmpty() && batch.size() < batchSize) {
+					final ArgNode<S, A> node = waitlist.remove();
+					close(node, reachedSet.get(node));
+					if (!node.isCovered() && !node.isTarget()) {
+						batch.add(node);
+					}
+				}
+
+				final Map<ArgNode<S, A>, Collection<Tuple2<A, S>>> succs = getSuccs(executor, batch, prec);
+
+				for (final ArgNode<S, A> node : batch) {
+					final Collection<ArgNode<S, A>> newNodes = argBuilder.expand(node, succs.get(node));
+					reachedSet.addAll(newNodes);
+					waitlist.addAll(newNodes);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		logger.writeln(String.format("done: %d nodes, %d incomplete, %d unsafe", arg.size(),
+				arg.getIncompleteNodes().count(), arg.getUnsafeNodes().count()), 3);
+
+		if (arg.isSafe()) {
+			checkState(arg.isComplete(), "Returning incomplete ARG as safe");
+			return AbstractorResult.safe();
+		} else {
+			return AbstractorResult.unsafe();
+		}
+	}
+
+	private Map<ArgNode<S, A>, Collection<Tuple2<A, S>>> getSuccs(final ExecutorService executor,
+			final List<ArgNode<S, A>> batch, final P prec) {
+		final Map<ArgNode<S, A>, Collection<Tuple2<A, S>>> result = new ConcurrentHashMap<>();
+		if (batch.isEmpty()) {
+			return result;
+		}
+
+		final Queue<ArgNode<S, A>> queue = new ConcurrentLinkedQueue<>(batch);
+		final int nWorkers = Math.min(threads, batch.size());
+		while (workerArgBuilders.size() < nWorkers) {
+			workerArgBuilders.add(workerArgBuilderSupplier.get());
+		}
+
+		final List<Future<?>> futures = new ArrayList<>(nWorkers);
+		for (int i = 0; i < nWorkers; i++) {
+			final ArgBuilder<S, A, P> workerArgBuilder = workerArgBuilders.get(i);
+			futures.add(executor.submit(() -> {
+				ArgNode<S, A> node;
+				while ((node = queue.poll()) != null) {
+					result.put(node, workerArgBuilder.getSuccs(node, prec));
+				}
+			}));
+		}
+
+		for (final Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CancellationException("Abstraction interrupted");
+			} catch (final ExecutionException e) {
+				Throwables.throwIfUnchecked(e.getCause());
+				throw new RuntimeException(e.getCause());
+			}
+		}
+
+		assert result.size() == batch.size();
+		return result;
+	}
+
+	private void close(final ArgNode<S, A> node, final Collection<ArgNode<S, A>> candidates) {
+		if (!node.isLeaf()) {
+			return;
+		}
+		for (final ArgNode<S, A> candidate : candidates) {
+			if (candidate.mayCover(node)) {
+				node.cover(candidate);
+				return;
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return Utils.toStringBuilder(getClass().getSimpleName()).add(threads).add(waitlistSupplier.get()).toString();
+	}
+
+	public static final class Builder<S extends State, A extends Action, P extends Prec> {
+		private final ArgBuilder<S, A, P> argBuilder;
+		private final Supplier<? extends ArgBuilder<S, A, P>> workerArgBuilderSupplier;
+		private int threads;
+		private int batchSize;
+		private Function<? super S, ?> projection;
+		private Supplier<? extends ReachedSetIndex<ArgNode<S, A>>> indexSupplier;
+		private Supplier<? extends Waitlist<ArgNode<S, A>>> waitlistSupplier;
+		private StopCriterion<S, A> stopCriterion;
+		private Logger logger;
+
+		private Builder(final ArgBuilder<S, A, P> argBuilder,
+				final Supplier<? extends ArgBuilder<S, A, P>> workerArgBuilderSupplier) {
+			this.argBuilder = argBuilder;
+			this.workerArgBuilderSupplier = workerArgBuilderSupplier;
+			this.threads = Runtime.getRuntime().availableProcessors();
+			this.batchSize = 0;
+			this.projection = s -> 0;
+			this.indexSupplier = LinearIndex.supplier();
+			this.waitlistSupplier = FifoWaitlist.supplier();
+			this.stopCriterion = StopCriterions.firstCex();
+			this.logger = NullLogger.getInstance();
+		}
+
+		public Builder<S, A, P> threads(final int threads) {
+			this.threads = threads;
+			return this;
+		}
+
+		/**
+		 * Maximal number of nodes removed from the waitlist at once. Defaults
+		 * to the number of threads.
+		 */
+		public Builder<S, A, P> batchSize(final int batchSize) {
+			this.batchSize = batchSize;
+			return this;
+		}
+
+		public Builder<S, A, P> projection(final Function<? super S, ?> projection) {
+			this.projection = projection;
+			return this;
+		}
+
+		public Builder<S, A, P> indexSupplier(final Supplier<? extends ReachedSetIndex<ArgNode<S, A>>> indexSupplier) {
+			this.indexSupplier = indexSupplier;
+			return this;
+		}
+
+		public Builder<S, A, P> waitlistSupplier(final Supplier<? extends Waitlist<ArgNode<S, A>>> waitlistSupplier) {
+			this.waitlistSupplier = waitlistSupplier;
+			return this;
+		}
+
+		public Builder<S, A, P> stopCriterion(final StopCriterion<S, A> stopCriterion) {
+			this.stopCriterion = stopCriterion;
+			return this;
+		}
+
+		public Builder<S, A, P> logger(final Logger logger) {
+			this.logger = logger;
+			return this;
+		}
+
+		public ParallelAbstractor<S, A, P> build() {
+			final int actualBatchSize = batchSize > 0 ? batchSize : threads;
+			return new ParallelAbstractor<>(argBuilder, workerArgBuilderSupplier, threads, actualBatchSize, projection,
+					indexSupplier, waitlistSupplier, stopCriterion, logger);
+		}
+	}
+
+}
@@ -0,0 +1,119 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.expl;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.google.common.collect.ImmutableSet;
+
+import hu.bme.mit.theta.analysis.reachedset.ReachedSetIndex;
+import hu.bme.mit.theta.core.decl.Decl;
+import hu.bme.mit.theta.core.type.LitExpr;
+
+/**
+ * Index for elements with explicit states. A state covers an other one if and
+ * only if its variables are a subset of the other one's, with the same values.
+ * Therefore, elements are grouped by the set of their variables, and within a
+ * group they are hashed by their values. For a given state, each group over a
+ * subset of its variables is looked up with the projection of the state. The
+ * candidates are returned in the order they were added.
+ */
+public final class ExplStateIndex<T> implements ReachedSetIndex<T> {
+
+	private final Function<? super T, ? extends ExplState> mapping;
+	private final List<T> elems;
+	private final Map<Set<Decl<?>>, Map<Map<Decl<?>, LitExpr<?>>, List<Integer>>> groups;
+
+	private ExplStateIndex(final Function<? super T, ? extends ExplState> mapping) {
+		this.mapping = checkNotNull(mapping);
+		elems = new ArrayList<>();
+		groups = new LinkedHashMap<>();
+	}
+
+	public static <T> ExplStateIndex<T> create(final Function<? super T, ? extends ExplState> mapping) {
+		return new ExplStateIndex<>(mapping);
+	}
+
+	public static <T> Supplier<ExplStateIndex<T>> supplier(final Function<? super T, ? extends ExplState> mapping) {
+		checkNotNull(mapping);
+		return () -> create(mapping);
+	}
+
+	@Override
+	public void add(final T elem) {
+		checkNotNull(elem);
+		final int index = elems.size();
+		elems.add(elem);
+
+		final ExplState state = mapping.apply(elem);
+		// Bottom can only cover bottom, for which every element is returned
+		if (!state.isBottom()) {
+			final Set<Decl<?>> decls = ImmutableSet.copyOf(state.getDecls());
+			final Map<Map<Decl<?>, LitExpr<?>>, List<Integer>> group = groups.computeIfAbsent(decls,
+					d -> new HashMap<>());
+			group.computeIfAbsent(project(state, decls), v -> new ArrayList<>()).add(index);
+		}
+	}
+
+	@Override
+	public Collection<T> getCandidates(final T elem) {
+		checkNotNull(elem);
+		final ExplState state = mapping.apply(elem);
+		if (state.isBottom()) {
+			return Collections.unmodifiableList(elems);
+		}
+
+		final Set<Decl<?>> decls = new HashSet<>(state.getDecls());
+		final List<Integer> indexes = new ArrayList<>();
+		for (final Map.Entry<Set<Decl<?>>, Map<Map<Decl<?>, LitExpr<?>>, List<Integer>>> entry : groups
+				.entrySet()) {
+			if (decls.containsAll(entry.getKey())) {
+				final List<Integer> group = entry.getValue().get(project(state, entry.getKey()));
+				if (group != null) {
+					indexes.addAll(group);
+				}
+			}
+		}
+
+		Collections.sort(indexes);
+		final List<T> result = new ArrayList<>(indexes.size());
+		for (final int index : indexes) {
+			result.add(elems.get(index));
+		}
+		return result;
+	}
+
+	private static Map<Decl<?>, LitExpr<?>> project(final ExplState state, final Set<Decl<?>> decls) {
+		final Map<Decl<?>, LitExpr<?>> result = new HashMap<>();
+		for (final Decl<?> decl : decls) {
+			result.put(decl, state.eval(decl).get());
+		}
+		return result;
+	}
+
+}
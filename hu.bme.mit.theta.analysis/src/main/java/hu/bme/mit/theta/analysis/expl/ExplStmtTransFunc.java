@@ -21,12 +21,15 @@ import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import hu.bme.mit.theta.analysis.TransFunc;
 import hu.bme.mit.theta.analysis.expl.ExplStmtSuccEvaluator.EvalResult;
 import hu.bme.mit.theta.analysis.expr.ExprStates;
 import hu.bme.mit.theta.analysis.expr.StmtAction;
+import hu.bme.mit.theta.core.decl.VarDecl;
 import hu.bme.mit.theta.core.stmt.Stmt;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -35,6 +38,16 @@ import hu.bme.mit.theta.core.utils.StmtUtils;
 import hu.bme.mit.theta.core.utils.VarIndexing;
 import hu.bme.mit.theta.solver.Solver;
 
+/**
+ * Transfer function for explicit states that evaluates the statements of the
+ * action concretely and only calls the solver if the result is imprecise. In
+ * that case at most maxStatesFromSolver successors are enumerated. Variables
+ * that take a different value in each enumerated successor are demoted: they
+ * are no longer enumerated for the current state and action (their value
+ * becomes unknown in the successors), so that the remaining variables can
+ * still be tracked precisely. Demotion does not carry over to other calls, so
+ * the successors only depend on the state, the action and the precision.
+ */
 public final class ExplStmtTransFunc implements TransFunc<ExplState, StmtAction, ExplPrec> {
 
 	private final Solver solver;
@@ -69,11 +82,18 @@ public final class ExplStmtTransFunc implements TransFunc<ExplState, StmtAction,
 				final StmtUnfoldResult toExprResult = StmtUtils.toExpr(remainingStmts, VarIndexing.all(0));
 				final Expr<BoolType> expr = And(running.toExpr(), And(toExprResult.getExprs()));
 				final VarIndexing nextIdx = toExprResult.getIndexing();
-				// We query (max + 1) states from the solver to see if there would be more than max
-				final Collection<ExplState> succStates = ExprStates.createStatesForExpr(solver, expr, 0,
-						prec::createState, nextIdx, maxStatesFromSolver + 1);
-				if (succStates.size() <= maxStatesFromSolver) {
-					return succStates;
+				final Set<VarDecl<?>> demotedVars = new HashSet<>();
+				ExplPrec enumPrec = prec;
+				while (true) {
+					// We query (max + 1) states from the solver to see if there would be more than max
+					final Collection<ExplState> succStates = ExprStates.createStatesForExpr(solver, expr, 0,
+							enumPrec::createState, nextIdx, maxStatesFromSolver + 1);
+					if (succStates.size() <= maxStatesFromSolver) {
+						return succStates;
+					} else if (!demoteVars(enumPrec, succStates, demotedVars)) {
+						break;
+					}
+					enumPrec = withoutDemotedVars(prec, demotedVars);
 				}
 			}
 			running = evalResult.getState();
@@ -87,4 +107,27 @@ public final class ExplStmtTransFunc implements TransFunc<ExplState, StmtAction,
 		}
 	}
 
+	private static ExplPrec withoutDemotedVars(final ExplPrec prec, final Set<VarDecl<?>> demotedVars) {
+		final Set<VarDecl<?>> vars = new HashSet<>(prec.getVars());
+		vars.removeAll(demotedVars);
+		return ExplPrec.create(vars);
+	}
+
+	/**
+	 * Demote the variables that have a different value in each of the states.
+	 * Returns false if no variable was demoted.
+	 */
+	private static boolean demoteVars(final ExplPrec prec, final Collection<ExplState> states,
+			final Set<VarDecl<?>> demotedVars) {
+		boolean demoted = false;
+		for (final VarDecl<?> var : prec.getVars()) {
+			final long nValues = states.stream().map(s -> s.eval(var)).distinct().count();
+			if (nValues == states.size()) {
+				demotedVars.add(var);
+				demoted = true;
+			}
+		}
+		return demoted;
+	}
+
 }
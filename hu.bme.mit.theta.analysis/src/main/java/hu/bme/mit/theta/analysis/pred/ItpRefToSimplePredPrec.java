@@ -28,14 +28,20 @@ import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
 import hu.bme.mit.theta.core.utils.ExprUtils;
 import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.SolverPool;
+import hu.bme.mit.theta.solver.impl.SolverPoolImpl;
 
 public class ItpRefToSimplePredPrec implements RefutationToPrec<SimplePredPrec, ItpRefutation> {
 
-	private final Solver solver;
+	private final SolverPool<?> solverPool;
 	private final ExprSplitter exprSplitter;
 
 	public ItpRefToSimplePredPrec(final Solver solver, final ExprSplitter exprSplitter) {
-		this.solver = checkNotNull(solver);
+		this(SolverPoolImpl.of(solver), exprSplitter);
+	}
+
+	public ItpRefToSimplePredPrec(final SolverPool<?> solverPool, final ExprSplitter exprSplitter) {
+		this.solverPool = checkNotNull(solverPool);
 		this.exprSplitter = checkNotNull(exprSplitter);
 	}
 
@@ -43,7 +49,7 @@ public class ItpRefToSimplePredPrec implements RefutationToPrec<SimplePredPrec,
 	public SimplePredPrec toPrec(final ItpRefutation refutation, final int index) {
 		final Expr<BoolType> expr = refutation.get(index);
 		final Collection<Expr<BoolType>> exprs = exprSplitter.apply(expr);
-		final SimplePredPrec prec = SimplePredPrec.create(exprs, solver);
+		final SimplePredPrec prec = SimplePredPrec.create(exprs, solverPool);
 		return prec;
 	}
 
@@ -0,0 +1,311 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.pred;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static hu.bme.mit.theta.core.decl.Decls.Const;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.False;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Iff;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Or;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.collect.ImmutableList;
+
+import hu.bme.mit.theta.analysis.expr.ExprStates;
+import hu.bme.mit.theta.core.decl.ConstDecl;
+import hu.bme.mit.theta.core.model.Model;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.LitExpr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.booltype.NotExpr;
+import hu.bme.mit.theta.core.utils.ExprUtils;
+import hu.bme.mit.theta.core.utils.PathUtils;
+import hu.bme.mit.theta.core.utils.VarIndexing;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.utils.WithPushPop;
+
+/**
+ * Strategies for computing the abstract states of a predicate precision that
+ * are consistent with an expression. The Boolean and Cartesian abstractions
+ * require a {@link SimplePredPrec}, other precisions are handled by splitting
+ * along the models of the expression.
+ */
+public final class PredAbstractors {
+
+	public interface PredAbstractor {
+		/**
+		 * Returns the abstract states of the precision that are consistent with
+		 * the expression.
+		 *
+		 * @param expr Expression to be satisfied
+		 * @param exprIndex Index for unfolding the expression
+		 * @param prec Precision
+		 * @param precIndexing Index for unfolding the predicates of the precision
+		 * @return Abstract states consistent with the expression
+		 */
+		Collection<PredState> createStatesForExpr(final Expr<BoolType> expr, final int exprIndex,
+				final PredPrec prec, final VarIndexing precIndexing);
+	}
+
+	private PredAbstractors() {
+	}
+
+	/**
+	 * Enumerates the models of the expression and maps each of them to a state
+	 * by the precision.
+	 */
+	public static PredAbstractor booleanSplitAbstractor(final Solver solver) {
+		return new BooleanSplitAbstractor(solver);
+	}
+
+	/**
+	 * Enumerates the consistent valuations of the predicates (AllSAT) over fresh
+	 * Boolean labels of the predicates. Each model is blocked by a clause over
+	 * the labels only, instead of the negation of the whole state, and the
+	 * literals of the clause that are implied by the others are dropped.
+	 */
+	public static PredAbstractor booleanAbstractor(final Solver solver) {
+		return new BooleanAbstractor(solver);
+	}
+
+	/**
+	 * Computes a single state with the predicates (or their negations) implied
+	 * by the expression, using one incremental query per predicate.
+	 */
+	public static PredAbstractor cartesianAbstractor(final Solver solver) {
+		return new CartesianAbstractor(solver);
+	}
+
+	/**
+	 * Asserts that the label of each predicate is equivalent to the predicate.
+	 */
+	private static void addLabels(final Solver solver, final List<Expr<BoolType>> preds,
+			final List<ConstDecl<BoolType>> labels, final VarIndexing precIndexing) {
+		for (int i = 0; i < preds.size(); i++) {
+			solver.add(Iff(labels.get(i).getRef(), PathUtils.unfold(preds.get(i), precIndexing)));
+		}
+	}
+
+	private static final class BooleanSplitAbstractor implements PredAbstractor {
+		private final Solver solver;
+
+		private BooleanSplitAbstractor(final Solver solver) {
+			this.solver = checkNotNull(solver);
+		}
+
+		@Override
+		public Collection<PredState> createStatesForExpr(final Expr<BoolType> expr, final int exprIndex,
+				final PredPrec prec, final VarIndexing precIndexing) {
+			checkNotNull(expr);
+			checkNotNull(prec);
+			checkNotNull(precIndexing);
+			return ExprStates.createStatesForExpr(solver, expr, exprIndex, prec::createState, precIndexing);
+		}
+
+		@Override
+		public String toString() {
+			return getClass().getSimpleName();
+		}
+	}
+
+	private static final class BooleanAbstractor implements PredAbstractor {
+		// A solver maps each name to a single constant, so the names of the
+		// labels are unique to the abstractor
+		private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+		private final Solver solver;
+		private final PredAbstractor fallback;
+		private final String labelPrefix;
+		private final List<ConstDecl<BoolType>> labels;
+
+		private BooleanAbstractor(final Solver solver) {
+			this.solver = checkNotNull(solver);
+			fallback = new BooleanSplitAbstractor(solver);
+			labelPrefix = "__pred_label_" + NEXT_ID.getAndIncrement() + "_";
+			labels = new ArrayList<>();
+		}
+
+		private synchronized List<ConstDecl<BoolType>> getLabels(final int count) {
+			while (labels.size() < count) {
+				labels.add(Const(labelPrefix + labels.size(), Bool()));
+			}
+			return new ArrayList<>(labels.subList(0, count));
+		}
+
+		@Override
+		public Collection<PredState> createStatesForExpr(final Expr<BoolType> expr, final int exprIndex,
+				final PredPrec prec, final VarIndexing precIndexing) {
+			checkNotNull(expr);
+			checkNotNull(prec);
+			checkNotNull(precIndexing);
+			if (!(prec instanceof SimplePredPrec)) {
+				return fallback.createStatesForExpr(expr, exprIndex, prec, precIndexing);
+			}
+
+			final SimplePredPrec simplePrec = (SimplePredPrec) prec;
+			final List<Expr<BoolType>> preds = new ArrayList<>(simplePrec.getPreds());
+			final List<ConstDecl<BoolType>> labels = getLabels(preds.size());
+
+			try (WithPushPop wpp = new WithPushPop(solver)) {
+				solver.add(PathUtils.unfold(expr, exprIndex));
+				addLabels(solver, preds, labels, precIndexing);
+
+				final Collection<PredState> result = new ArrayList<>();
+				while (solver.check().isSat()) {
+					final Model model = solver.getModel();
+					final Set<Expr<BoolType>> statePreds = new HashSet<>();
+					final List<Expr<BoolType>> cube = new ArrayList<>();
+
+					for (int i = 0; i < preds.size(); i++) {
+						final Expr<BoolType> label = labels.get(i).getRef();
+						final Optional<LitExpr<BoolType>> value = model.eval(labels.get(i));
+						// Labels that the model does not assign are left out of
+						// both the state and the blocking clause
+						if (value.isPresent()) {
+							if (value.get().equals(True())) {
+								statePreds.add(preds.get(i));
+								cube.add(label);
+							} else {
+								statePreds.add(simplePrec.negate(preds.get(i)));
+								cube.add(Not(label));
+							}
+						}
+					}
+
+					result.add(PredState.of(statePreds));
+					final List<Expr<BoolType>> reducedCube = reduce(cube);
+					if (reducedCube.isEmpty()) {
+						break;
+					}
+					final List<Expr<BoolType>> blockingClause = new ArrayList<>(reducedCube.size());
+					for (final Expr<BoolType> literal : reducedCube) {
+						blockingClause.add(negate(literal));
+					}
+					solver.add(Or(blockingClause));
+				}
+				return result;
+			}
+		}
+
+		/**
+		 * Drops the literals of the cube that are implied by the remaining ones
+		 * and the assertions of the solver. The reduced cube is consistent with
+		 * the same models as the original one, so blocking it does not lose
+		 * states, but it yields a shorter clause.
+		 */
+		private List<Expr<BoolType>> reduce(final List<Expr<BoolType>> cube) {
+			final List<Expr<BoolType>> reducedCube = new ArrayList<>(cube);
+			for (final Expr<BoolType> literal : cube) {
+				final List<Expr<BoolType>> assumptions = new ArrayList<>(reducedCube);
+				assumptions.remove(literal);
+				assumptions.add(negate(literal));
+				if (solver.check(assumptions).isUnsat()) {
+					reducedCube.remove(literal);
+				}
+			}
+			return reducedCube;
+		}
+
+		private static Expr<BoolType> negate(final Expr<BoolType> literal) {
+			if (literal instanceof NotExpr) {
+				return ((NotExpr) literal).getOp();
+			} else {
+				return Not(literal);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return getClass().getSimpleName();
+		}
+	}
+
+	private static final class CartesianAbstractor implements PredAbstractor {
+		private final Solver solver;
+		private final PredAbstractor fallback;
+
+		private CartesianAbstractor(final Solver solver) {
+			this.solver = checkNotNull(solver);
+			fallback = new BooleanSplitAbstractor(solver);
+		}
+
+		@Override
+		public Collection<PredState> createStatesForExpr(final Expr<BoolType> expr, final int exprIndex,
+				final PredPrec prec, final VarIndexing precIndexing) {
+			checkNotNull(expr);
+			checkNotNull(prec);
+			checkNotNull(precIndexing);
+			if (!(prec instanceof SimplePredPrec)) {
+				return fallback.createStatesForExpr(expr, exprIndex, prec, precIndexing);
+			}
+
+			final SimplePredPrec simplePrec = (SimplePredPrec) prec;
+			final List<Expr<BoolType>> preds = new ArrayList<>(simplePrec.getPreds());
+
+			try (WithPushPop wpp = new WithPushPop(solver)) {
+				solver.add(PathUtils.unfold(expr, exprIndex));
+				if (solver.check().isUnsat()) {
+					return Collections.emptyList();
+				}
+				// A model of the expression shows which literal of each
+				// predicate is consistent, so only the other one has to be checked
+				final Model model = solver.getModel();
+				final List<Expr<BoolType>> preds0 = new ArrayList<>(preds.size());
+				final List<Expr<BoolType>> values = new ArrayList<>(preds.size());
+				for (final Expr<BoolType> pred : preds) {
+					final Expr<BoolType> pred0 = PathUtils.unfold(pred, precIndexing);
+					preds0.add(pred0);
+					values.add(ExprUtils.simplify(pred0, model));
+				}
+
+				// The expression stays asserted, only the assumptions vary
+				final Set<Expr<BoolType>> statePreds = new HashSet<>();
+				for (int i = 0; i < preds.size(); i++) {
+					final Expr<BoolType> pred = preds.get(i);
+					final Expr<BoolType> pred0 = preds0.get(i);
+					final Expr<BoolType> value = values.get(i);
+					if (!value.equals(False()) && isUnsatUnder(Not(pred0))) {
+						statePreds.add(pred);
+					} else if (!value.equals(True()) && isUnsatUnder(pred0)) {
+						statePreds.add(simplePrec.negate(pred));
+					}
+				}
+				return Collections.singleton(PredState.of(statePreds));
+			}
+		}
+
+		private boolean isUnsatUnder(final Expr<BoolType> assumption) {
+			return solver.check(ImmutableList.of(assumption)).isUnsat();
+		}
+
+		@Override
+		public String toString() {
+			return getClass().getSimpleName();
+		}
+	}
+
+}
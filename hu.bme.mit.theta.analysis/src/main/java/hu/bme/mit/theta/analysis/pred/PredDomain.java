@@ -53,6 +53,9 @@ public final class PredDomain implements Domain<PredState> {
 
 	@Override
 	public boolean isLeq(final PredState state1, final PredState state2) {
+		if (state1.getPreds().containsAll(state2.getPreds())) {
+			return true;
+		}
 		try (WithPushPop wpp = new WithPushPop(solver)) {
 			solver.add(PathUtils.unfold(state1.toExpr(), 0));
 			solver.add(PathUtils.unfold(Not(state2.toExpr()), 0));
@@ -20,7 +20,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import java.util.Collection;
 
 import hu.bme.mit.theta.analysis.InitFunc;
-import hu.bme.mit.theta.analysis.expr.ExprStates;
+import hu.bme.mit.theta.analysis.pred.PredAbstractors.PredAbstractor;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
 import hu.bme.mit.theta.core.utils.VarIndexing;
@@ -28,22 +28,26 @@ import hu.bme.mit.theta.solver.Solver;
 
 public final class PredInitFunc implements InitFunc<PredState, PredPrec> {
 
-	private final Solver solver;
+	private final PredAbstractor predAbstractor;
 	private final Expr<BoolType> initExpr;
 
-	private PredInitFunc(final Solver solver, final Expr<BoolType> initExpr) {
-		this.solver = checkNotNull(solver);
+	private PredInitFunc(final PredAbstractor predAbstractor, final Expr<BoolType> initExpr) {
+		this.predAbstractor = checkNotNull(predAbstractor);
 		this.initExpr = checkNotNull(initExpr);
 	}
 
 	public static PredInitFunc create(final Solver solver, final Expr<BoolType> expr) {
-		return new PredInitFunc(solver, expr);
+		return new PredInitFunc(PredAbstractors.booleanSplitAbstractor(solver), expr);
+	}
+
+	public static PredInitFunc create(final PredAbstractor predAbstractor, final Expr<BoolType> expr) {
+		return new PredInitFunc(predAbstractor, expr);
 	}
 
 	@Override
 	public Collection<? extends PredState> getInitStates(final PredPrec prec) {
 		checkNotNull(prec);
-		return ExprStates.createStatesForExpr(solver, initExpr, 0, prec::createState, VarIndexing.all(0));
+		return predAbstractor.createStatesForExpr(initExpr, 0, prec, VarIndexing.all(0));
 	}
 
 }
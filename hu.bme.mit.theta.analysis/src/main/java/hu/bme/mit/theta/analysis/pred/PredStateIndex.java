@@ -0,0 +1,104 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.pred;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import hu.bme.mit.theta.analysis.reachedset.ReachedSetIndex;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.booltype.NotExpr;
+
+/**
+ * Index for elements with predicate states. A state can only cover an other
+ * (consistent) state if it does not contain the negation of any predicate in
+ * the other one, therefore such elements are excluded using an inverted index
+ * from predicates to elements. The remaining candidates are returned in the
+ * order they were added.
+ */
+public final class PredStateIndex<T> implements ReachedSetIndex<T> {
+
+	private final Function<? super T, ? extends PredState> mapping;
+	private final List<T> elems;
+	private final Map<Expr<BoolType>, BitSet> predToElems;
+
+	private PredStateIndex(final Function<? super T, ? extends PredState> mapping) {
+		this.mapping = checkNotNull(mapping);
+		elems = new ArrayList<>();
+		predToElems = new HashMap<>();
+	}
+
+	public static <T> PredStateIndex<T> create(final Function<? super T, ? extends PredState> mapping) {
+		return new PredStateIndex<>(mapping);
+	}
+
+	public static <T> Supplier<PredStateIndex<T>> supplier(final Function<? super T, ? extends PredState> mapping) {
+		checkNotNull(mapping);
+		return () -> create(mapping);
+	}
+
+	@Override
+	public void add(final T elem) {
+		checkNotNull(elem);
+		final int index = elems.size();
+		elems.add(elem);
+		for (final Expr<BoolType> pred : mapping.apply(elem).getPreds()) {
+			predToElems.computeIfAbsent(pred, p -> new BitSet()).set(index);
+		}
+	}
+
+	@Override
+	public Collection<T> getCandidates(final T elem) {
+		checkNotNull(elem);
+		final BitSet excluded = new BitSet();
+		for (final Expr<BoolType> pred : mapping.apply(elem).getPreds()) {
+			final BitSet conflicting = predToElems.get(negate(pred));
+			if (conflicting != null) {
+				excluded.or(conflicting);
+			}
+		}
+
+		if (excluded.isEmpty()) {
+			return Collections.unmodifiableList(elems);
+		}
+
+		final List<T> result = new ArrayList<>();
+		for (int i = excluded.nextClearBit(0); i < elems.size(); i = excluded.nextClearBit(i + 1)) {
+			result.add(elems.get(i));
+		}
+		return result;
+	}
+
+	private static Expr<BoolType> negate(final Expr<BoolType> pred) {
+		if (pred instanceof NotExpr) {
+			return ((NotExpr) pred).getOp();
+		} else {
+			return Not(pred);
+		}
+	}
+
+}
@@ -21,20 +21,24 @@ import java.util.Collection;
 
 import hu.bme.mit.theta.analysis.TransFunc;
 import hu.bme.mit.theta.analysis.expr.ExprAction;
-import hu.bme.mit.theta.analysis.expr.ExprStates;
+import hu.bme.mit.theta.analysis.pred.PredAbstractors.PredAbstractor;
 import hu.bme.mit.theta.core.type.booltype.BoolExprs;
 import hu.bme.mit.theta.solver.Solver;
 
 public final class PredTransFunc implements TransFunc<PredState, ExprAction, PredPrec> {
 
-	private final Solver solver;
+	private final PredAbstractor predAbstractor;
 
-	private PredTransFunc(final Solver solver) {
-		this.solver = checkNotNull(solver);
+	private PredTransFunc(final PredAbstractor predAbstractor) {
+		this.predAbstractor = checkNotNull(predAbstractor);
 	}
 
 	public static PredTransFunc create(final Solver solver) {
-		return new PredTransFunc(solver);
+		return new PredTransFunc(PredAbstractors.booleanSplitAbstractor(solver));
+	}
+
+	public static PredTransFunc create(final PredAbstractor predAbstractor) {
+		return new PredTransFunc(predAbstractor);
 	}
 
 	@Override
@@ -44,8 +48,8 @@ public final class PredTransFunc implements TransFunc<PredState, ExprAction, Pre
 		checkNotNull(action);
 		checkNotNull(prec);
 
-		return ExprStates.createStatesForExpr(solver, BoolExprs.And(state.toExpr(), action.toExpr()), 0,
-				prec::createState, action.nextIndexing());
+		return predAbstractor.createStatesForExpr(BoolExprs.And(state.toExpr(), action.toExpr()), 0, prec,
+				action.nextIndexing());
 	}
 
 }
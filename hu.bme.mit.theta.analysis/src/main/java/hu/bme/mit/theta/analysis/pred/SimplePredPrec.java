@@ -17,6 +17,7 @@ package hu.bme.mit.theta.analysis.pred;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.False;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
@@ -28,6 +29,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
 import hu.bme.mit.theta.common.Utils;
@@ -38,6 +40,9 @@ import hu.bme.mit.theta.core.type.booltype.BoolType;
 import hu.bme.mit.theta.core.utils.ExprUtils;
 import hu.bme.mit.theta.core.utils.PathUtils;
 import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.SolverPool;
+import hu.bme.mit.theta.solver.impl.SolverPoolImpl;
+import hu.bme.mit.theta.solver.utils.WithLease;
 import hu.bme.mit.theta.solver.utils.WithPushPop;
 
 /**
@@ -47,23 +52,34 @@ import hu.bme.mit.theta.solver.utils.WithPushPop;
 public final class SimplePredPrec implements PredPrec {
 
 	private final Map<Expr<BoolType>, Expr<BoolType>> predToNegMap;
+	private final SolverPool<?> solverPool;
 	private final Solver solver;
 
 	public static SimplePredPrec create(final Solver solver) {
-		return new SimplePredPrec(Collections.emptySet(), solver);
+		return new SimplePredPrec(Collections.emptySet(), SolverPoolImpl.of(solver), solver);
 	}
 
 	public static SimplePredPrec create(final Iterable<Expr<BoolType>> preds, final Solver solver) {
-		return new SimplePredPrec(preds, solver);
+		return new SimplePredPrec(preds, SolverPoolImpl.of(solver), solver);
 	}
 
 	public static SimplePredPrec create(final Expr<BoolType> pred, final Solver solver) {
-		return new SimplePredPrec(Collections.singleton(pred), solver);
+		return new SimplePredPrec(Collections.singleton(pred), SolverPoolImpl.of(solver), solver);
 	}
 
-	private SimplePredPrec(final Iterable<Expr<BoolType>> preds, final Solver solver) {
+	/**
+	 * Create a precision that leases a solver from the pool each time a state
+	 * is created, allowing states to be created by multiple threads at once.
+	 */
+	public static SimplePredPrec create(final Iterable<Expr<BoolType>> preds, final SolverPool<?> solverPool) {
+		return new SimplePredPrec(preds, solverPool, null);
+	}
+
+	private SimplePredPrec(final Iterable<Expr<BoolType>> preds, final SolverPool<?> solverPool,
+			final Solver solver) {
 		checkNotNull(preds);
-		this.solver = checkNotNull(solver);
+		this.solverPool = checkNotNull(solverPool);
+		this.solver = solver;
 		this.predToNegMap = new HashMap<>();
 
 		for (final Expr<BoolType> pred : preds) {
@@ -77,11 +93,28 @@ public final class SimplePredPrec implements PredPrec {
 		}
 	}
 
+	public SolverPool<?> getSolverPool() {
+		return solverPool;
+	}
+
+	/**
+	 * Get the solver of a precision created with a single solver. Using it
+	 * directly bypasses the pool, so it is not safe if the precision is
+	 * shared by multiple threads.
+	 *
+	 * @deprecated Use {@link #getSolverPool()} instead.
+	 */
+	@Deprecated
 	public Solver getSolver() {
+		checkState(solver != null, "Precision was created with a solver pool");
 		return solver;
 	}
 
-	private Expr<BoolType> negate(final Expr<BoolType> pred) {
+	public Set<Expr<BoolType>> getPreds() {
+		return Collections.unmodifiableSet(predToNegMap.keySet());
+	}
+
+	Expr<BoolType> negate(final Expr<BoolType> pred) {
 		final Expr<BoolType> negated = predToNegMap.get(pred);
 		checkArgument(negated != null, "Negated predicate not found");
 		return negated;
@@ -91,6 +124,7 @@ public final class SimplePredPrec implements PredPrec {
 	public PredState createState(final Valuation valuation) {
 		checkNotNull(valuation);
 		final Set<Expr<BoolType>> statePreds = new HashSet<>();
+		final Map<Expr<BoolType>, Expr<BoolType>> undecidedPreds = new HashMap<>();
 
 		for (final Expr<BoolType> pred : predToNegMap.keySet()) {
 			final Expr<BoolType> simplified = ExprUtils.simplify(pred, valuation);
@@ -99,29 +133,43 @@ public final class SimplePredPrec implements PredPrec {
 			} else if (simplified.equals(False())) {
 				statePreds.add(negate(pred));
 			} else {
-				final Expr<BoolType> simplified0 = PathUtils.unfold(simplified, 0);
+				undecidedPreds.put(pred, PathUtils.unfold(simplified, 0));
+			}
+		}
 
-				boolean ponValid;
-				boolean negValid;
-				try (WithPushPop wpp = new WithPushPop(solver)) {
-					solver.add(Not(simplified0));
-					ponValid = solver.check().isUnsat();
-				}
-				try (WithPushPop wpp = new WithPushPop(solver)) {
-					solver.add(simplified0);
-					negValid = solver.check().isUnsat();
-				}
+		if (!undecidedPreds.isEmpty()) {
+			// Threads sharing the precision (e.g., ParallelAbstractor workers) wait for a free solver of the pool
+			addValidPreds(solverPool, undecidedPreds, statePreds);
+		}
+
+		return PredState.of(statePreds);
+	}
 
-				assert !(ponValid && negValid) : "Ponated and negated predicates are both valid";
-				if (ponValid) {
-					statePreds.add(pred);
-				} else if (negValid) {
-					statePreds.add(negate(pred));
+	/**
+	 * Adds each predicate whose simplified form is valid, and the negation of
+	 * each predicate whose simplified form is unsatisfiable, to the state
+	 * predicates. All checks share a single frame and only vary the
+	 * assumptions.
+	 */
+	private <S extends Solver> void addValidPreds(final SolverPool<S> solverPool,
+			final Map<Expr<BoolType>, Expr<BoolType>> predToSimplified, final Set<Expr<BoolType>> statePreds) {
+		try (WithLease<S> lease = new WithLease<>(solverPool)) {
+			final Solver solver = lease.getSolver();
+			try (WithPushPop wpp = new WithPushPop(solver)) {
+				for (final Map.Entry<Expr<BoolType>, Expr<BoolType>> entry : predToSimplified.entrySet()) {
+					final Expr<BoolType> pred = entry.getKey();
+					final Expr<BoolType> simplified = entry.getValue();
+					final boolean ponValid = solver.check(ImmutableList.of(Not(simplified))).isUnsat();
+					final boolean negValid = solver.check(ImmutableList.of(simplified)).isUnsat();
+					assert !(ponValid && negValid) : "Ponated and negated predicates are both valid";
+					if (ponValid) {
+						statePreds.add(pred);
+					} else if (negValid) {
+						statePreds.add(negate(pred));
+					}
 				}
 			}
 		}
-
-		return PredState.of(statePreds);
 	}
 
 	public SimplePredPrec join(final SimplePredPrec other) {
@@ -131,11 +179,11 @@ public final class SimplePredPrec implements PredPrec {
 		// If no new predicate was added, return same instance (immutable)
 		if (joinedPreds.size() == this.predToNegMap.size()) {
 			return this;
-		} else if (joinedPreds.size() == other.predToNegMap.size()) {
+		} else if (joinedPreds.size() == other.predToNegMap.size() && other.solverPool == this.solverPool) {
 			return other;
 		}
 
-		return create(joinedPreds, solver);
+		return new SimplePredPrec(joinedPreds, solverPool, solver);
 	}
 
 	@Override
@@ -0,0 +1,58 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.reachedset;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Index that does not prune anything: every element is a candidate, in the
+ * order they were added.
+ */
+public final class LinearIndex<T> implements ReachedSetIndex<T> {
+
+	private final List<T> elems;
+
+	private LinearIndex() {
+		elems = new ArrayList<>();
+	}
+
+	public static <T> LinearIndex<T> create() {
+		return new LinearIndex<>();
+	}
+
+	public static <T> Supplier<LinearIndex<T>> supplier() {
+		return LinearIndex::create;
+	}
+
+	@Override
+	public void add(final T elem) {
+		checkNotNull(elem);
+		elems.add(elem);
+	}
+
+	@Override
+	public Collection<T> getCandidates(final T elem) {
+		checkNotNull(elem);
+		return Collections.unmodifiableList(elems);
+	}
+
+}
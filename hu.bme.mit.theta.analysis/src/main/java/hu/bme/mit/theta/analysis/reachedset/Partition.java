@@ -17,32 +17,44 @@ package hu.bme.mit.theta.analysis.reachedset;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 public final class Partition<T, K> {
 
 	private final Function<? super T, ? extends K> projection;
-	private final Map<K, Collection<T>> classes;
+	private final Supplier<? extends ReachedSetIndex<T>> indexSupplier;
+	private final Map<K, ReachedSetIndex<T>> classes;
 
-	private Partition(final Function<? super T, ? extends K> projection) {
+	private Partition(final Function<? super T, ? extends K> projection,
+			final Supplier<? extends ReachedSetIndex<T>> indexSupplier) {
 		this.projection = checkNotNull(projection);
+		this.indexSupplier = checkNotNull(indexSupplier);
 		classes = new HashMap<>();
 	}
 
 	public static <T, K> Partition<T, K> of(final Function<? super T, ? extends K> projection) {
-		return new Partition<>(projection);
+		return new Partition<>(projection, LinearIndex.supplier());
+	}
+
+	/**
+	 * Create a partition where the elements of each class are stored in an
+	 * index created by the given supplier.
+	 */
+	public static <T, K> Partition<T, K> of(final Function<? super T, ? extends K> projection,
+			final Supplier<? extends ReachedSetIndex<T>> indexSupplier) {
+		return new Partition<>(projection, indexSupplier);
 	}
 
 	public void add(final T elem) {
 		checkNotNull(elem);
 		final K key = projection.apply(elem);
-		final Collection<T> partition = classes.computeIfAbsent(key, k -> new ArrayList<>());
+		final ReachedSetIndex<T> partition = classes.computeIfAbsent(key, k -> indexSupplier.get());
 		partition.add(elem);
 	}
 
@@ -57,8 +69,12 @@ public final class Partition<T, K> {
 	public Collection<T> get(final T elem) {
 		checkNotNull(elem);
 		final K key = projection.apply(elem);
-		final Collection<T> partition = classes.getOrDefault(key, Collections.emptyList());
-		return partition;
+		final ReachedSetIndex<T> partition = classes.get(key);
+		if (partition == null) {
+			return Collections.emptyList();
+		} else {
+			return partition.getCandidates(elem);
+		}
 	}
 
 }
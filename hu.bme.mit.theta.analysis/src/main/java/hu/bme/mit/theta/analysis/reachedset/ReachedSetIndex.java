@@ -0,0 +1,36 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.reachedset;
+
+import java.util.Collection;
+
+/**
+ * Interface for indexing the elements of a single class of a {@link Partition}.
+ * An index can prune the candidates that may cover an element before the
+ * (possibly expensive) covering check is performed on them.
+ */
+public interface ReachedSetIndex<T> {
+
+	void add(T elem);
+
+	/**
+	 * Get the candidates that may cover the given element. The result must
+	 * include every element that covers the given one, but it may also include
+	 * elements that do not.
+	 */
+	Collection<T> getCandidates(T elem);
+
+}
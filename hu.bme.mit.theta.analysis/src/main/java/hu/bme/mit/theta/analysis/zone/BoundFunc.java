@@ -17,6 +17,9 @@ package hu.bme.mit.theta.analysis.zone;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
+import static hu.bme.mit.theta.analysis.zone.DiffBounds.Inf;
+import static hu.bme.mit.theta.analysis.zone.DiffBounds.Leq;
+import static hu.bme.mit.theta.analysis.zone.DiffBounds.Lt;
 import static java.util.stream.Collectors.toList;
 
 import java.util.Collection;
@@ -46,6 +49,9 @@ public final class BoundFunc {
 
 	private volatile int hashCode = 0;
 
+	// Bounds of the clocks of the last signature the function was used with
+	private volatile SignatureBounds signatureBounds = null;
+
 	private BoundFunc(final Builder builder) {
 		varToLower = builder.varToLower;
 		varToUpper = builder.varToUpper;
@@ -68,6 +74,25 @@ public final class BoundFunc {
 		return new BoundFunc(varToLower, varToUpper);
 	}
 
+	/**
+	 * Returns the bound function obtained by renaming the clocks of this bound
+	 * function. Clocks that the renaming does not map are kept.
+	 */
+	public BoundFunc rename(final Map<? extends VarDecl<RatType>, ? extends VarDecl<RatType>> renaming) {
+		checkNotNull(renaming);
+		if (renaming.isEmpty()) {
+			return this;
+		}
+		return new BoundFunc(rename(varToLower, renaming), rename(varToUpper, renaming));
+	}
+
+	private static Map<VarDecl<RatType>, Integer> rename(final Map<VarDecl<RatType>, Integer> map,
+			final Map<? extends VarDecl<RatType>, ? extends VarDecl<RatType>> renaming) {
+		final Map<VarDecl<RatType>, Integer> result = new HashMap<>();
+		map.forEach((c, b) -> result.put(renaming.containsKey(c) ? renaming.get(c) : c, b));
+		return result;
+	}
+
 	public static BoundFunc top() {
 		return TOP;
 	}
@@ -106,6 +131,21 @@ public final class BoundFunc {
 		return Collections.unmodifiableCollection(varToUpper.keySet());
 	}
 
+	/**
+	 * Returns the bounds of the clocks of the given signature as arrays indexed
+	 * like the signature. The arrays of the last signature are cached, as a
+	 * bound function is usually compared with zones over the same clocks
+	 * repeatedly.
+	 */
+	SignatureBounds getBounds(final DbmSignature signature) {
+		SignatureBounds result = signatureBounds;
+		if (result == null || result.signature != signature) {
+			result = new SignatureBounds(this, signature);
+			signatureBounds = result;
+		}
+		return result;
+	}
+
 	public boolean isLeq(final BoundFunc that) {
 		checkNotNull(that);
 		return isLeq(this.varToLower, that.varToLower) && isLeq(this.varToUpper, that.varToUpper);
@@ -153,6 +193,36 @@ public final class BoundFunc {
 		return Utils.toStringBuilder(this.getClass().getSimpleName()).add(lowerToString).add(UpperToString).toString();
 	}
 
+	static final class SignatureBounds {
+		private final DbmSignature signature;
+
+		// Lower and upper bounds, negative for clocks without a bound
+		final int[] lower;
+		final int[] upper;
+
+		// The bounds (-U, <=) and (-L, <), infinite for clocks without a bound
+		final int[] leqMinusU;
+		final int[] ltMinusL;
+
+		private SignatureBounds(final BoundFunc boundFunc, final DbmSignature signature) {
+			this.signature = signature;
+			final int size = signature.size();
+			lower = new int[size];
+			upper = new int[size];
+			leqMinusU = new int[size];
+			ltMinusL = new int[size];
+			for (int i = 0; i < size; i++) {
+				final VarDecl<RatType> var = signature.getVar(i);
+				final Integer lowerBound = boundFunc.getLower(var).orElse(null);
+				final Integer upperBound = boundFunc.getUpper(var).orElse(null);
+				lower[i] = lowerBound == null ? -1 : lowerBound;
+				upper[i] = upperBound == null ? -1 : upperBound;
+				ltMinusL[i] = lowerBound == null ? Inf() : Lt(-lowerBound);
+				leqMinusU[i] = upperBound == null ? Inf() : Leq(-upperBound);
+			}
+		}
+	}
+
 	public static final class Builder {
 		private volatile BoundFunc boundFunction;
 		private final Map<VarDecl<RatType>, Integer> varToLower;
@@ -0,0 +1,52 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.zone;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Compact, immutable representation of a DBM by its minimal constraints, for
+ * zones that are stored but rarely operated on. Converting it back to a
+ * {@link DBM} requires a closure, but inclusion of a DBM in a compact DBM can
+ * be checked directly on the minimal constraints.
+ */
+final class CompactDbm {
+
+	private final DbmSignature signature;
+
+	// Pairs of a matrix index and a bound, null if the DBM is inconsistent
+	private final int[] constraints;
+
+	CompactDbm(final DbmSignature signature, final int[] constraints) {
+		this.signature = checkNotNull(signature);
+		this.constraints = constraints;
+	}
+
+	////
+
+	DbmSignature getSignature() {
+		return signature;
+	}
+
+	int[] getConstraints() {
+		return constraints;
+	}
+
+	public boolean isConsistent() {
+		return constraints != null;
+	}
+
+}
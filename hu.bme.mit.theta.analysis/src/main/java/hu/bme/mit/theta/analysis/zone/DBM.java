@@ -131,6 +131,16 @@ final class DBM {
 		return new DBM(dbm);
 	}
 
+	public static DBM expand(final CompactDbm compactDbm) {
+		checkNotNull(compactDbm);
+		final DbmSignature signature = compactDbm.getSignature();
+		if (compactDbm.isConsistent()) {
+			return new DBM(signature, SimpleDbm.fromConstraints(signature.size(), compactDbm.getConstraints()));
+		} else {
+			return new DBM(signature, BOTTOM_DBM_VALUES);
+		}
+	}
+
 	public static DBM zero(final Iterable<? extends VarDecl<RatType>> vars) {
 		checkNotNull(vars);
 		return new DBM(DbmSignature.over(vars), ZERO_DBM_VALUES);
@@ -147,8 +157,26 @@ final class DBM {
 	}
 
 	public static DBM project(final DBM dbm, final Iterable<? extends VarDecl<RatType>> vars) {
+		checkNotNull(dbm);
 		checkNotNull(vars);
-		return new DBM(DbmSignature.over(vars), dbm::getOrDefault);
+		final DbmSignature signature = DbmSignature.over(vars);
+		if (signature == dbm.signature) {
+			return new DBM(dbm);
+		}
+
+		final int[] indices = new int[signature.size()];
+		for (int i = 0; i < indices.length; i++) {
+			final VarDecl<RatType> var = signature.getVar(i);
+			indices[i] = dbm.tracks(var) ? dbm.signature.indexOf(var) : -1;
+		}
+		return new DBM(signature, SimpleDbm.project(dbm.dbm, indices));
+	}
+
+	public static DBM rename(final DBM dbm,
+			final Map<? extends VarDecl<RatType>, ? extends VarDecl<RatType>> renaming) {
+		checkNotNull(dbm);
+		checkNotNull(renaming);
+		return new DBM(dbm.signature.rename(renaming), new SimpleDbm(dbm.dbm));
 	}
 
 	////
@@ -157,6 +185,10 @@ final class DBM {
 		checkNotNull(dbm1);
 		checkNotNull(dbm2);
 
+		if (dbm1.signature == dbm2.signature) {
+			return new DBM(dbm1.signature, SimpleDbm.intersection(dbm1.dbm, dbm2.dbm));
+		}
+
 		final DbmSignature signature = DbmSignature.union(dbm1.signature, dbm2.signature);
 		final BiFunction<VarDecl<RatType>, VarDecl<RatType>, Integer> values = (x, y) -> {
 			final int bound1 = dbm1.getOrDefault(x, y);
@@ -174,6 +206,10 @@ final class DBM {
 		checkNotNull(dbm1);
 		checkNotNull(dbm2);
 
+		if (dbm1.signature == dbm2.signature) {
+			return new DBM(dbm1.signature, SimpleDbm.enclosure(dbm1.dbm, dbm2.dbm));
+		}
+
 		final DbmSignature signature = DbmSignature.union(dbm1.signature, dbm2.signature);
 		final BiFunction<VarDecl<RatType>, VarDecl<RatType>, Integer> values = (x, y) -> {
 			final int bound1 = dbm1.getOrDefault(x, y);
@@ -377,6 +413,10 @@ final class DBM {
 	}
 
 	public DbmRelation getRelation(final DBM that) {
+		if (this.signature == that.signature) {
+			return DbmRelation.create(this.dbm.isLeq(that.dbm), that.dbm.isLeq(this.dbm));
+		}
+
 		final Set<VarDecl<RatType>> vars = Sets.union(this.signature.toSet(), that.signature.toSet());
 
 		boolean leq = true;
@@ -392,6 +432,18 @@ final class DBM {
 	}
 
 	public boolean isLeq(final DBM that) {
+		if (this.signature == that.signature) {
+			return this.dbm.isLeq(that.dbm);
+		}
+
+		if (!this.isConsistent()) {
+			return true;
+		}
+
+		if (!that.isConsistent()) {
+			return false;
+		}
+
 		final Set<VarDecl<RatType>> vars = Sets.union(this.signature.toSet(), that.signature.toSet());
 
 		for (final VarDecl<RatType> x : vars) {
@@ -405,7 +457,50 @@ final class DBM {
 		return true;
 	}
 
+	public boolean isLeq(final CompactDbm that) {
+		if (!this.isConsistent()) {
+			return true;
+		}
+
+		if (!that.isConsistent()) {
+			return false;
+		}
+
+		final DbmSignature thatSignature = that.getSignature();
+		final int[] constraints = that.getConstraints();
+
+		if (this.signature == thatSignature) {
+			return dbm.satisfiesAll(constraints);
+		}
+
+		final int size = thatSignature.size();
+		for (int c = 0; c < constraints.length; c += 2) {
+			final VarDecl<RatType> x = thatSignature.getVar(constraints[c] / size);
+			final VarDecl<RatType> y = thatSignature.getVar(constraints[c] % size);
+			if (this.getOrDefault(x, y) > constraints[c + 1]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	public boolean isLeq(final DBM that, final Collection<? extends VarDecl<RatType>> activeVars) {
+		if (this.signature == that.signature) {
+			final boolean[] active = new boolean[signature.size()];
+			for (int i = 0; i < active.length; i++) {
+				active[i] = activeVars.contains(signature.getVar(i));
+			}
+			return this.dbm.isLeq(that.dbm, active);
+		}
+
+		if (!this.isConsistent()) {
+			return true;
+		}
+
+		if (!that.isConsistent()) {
+			return false;
+		}
+
 		final Set<VarDecl<RatType>> vars = Sets.union(this.signature.toSet(), that.signature.toSet());
 
 		for (final VarDecl<RatType> x : vars) {
@@ -428,6 +523,11 @@ final class DBM {
 	}
 
 	public boolean isLeq(final DBM that, final BoundFunc bound) {
+		if (this.signature == that.signature) {
+			final BoundFunc.SignatureBounds bounds = bound.getBounds(signature);
+			return this.dbm.isLeq(that.dbm, bounds.leqMinusU, bounds.ltMinusL);
+		}
+
 		final Set<VarDecl<RatType>> vars = Sets.union(this.signature.toSet(), that.signature.toSet());
 
 		if (!this.isConsistent()) {
@@ -441,7 +541,7 @@ final class DBM {
 		for (final VarDecl<RatType> x : vars) {
 			final VarDecl<RatType> zero = ZeroVar.getInstance();
 
-			final int Zx0 = this.get(zero, x);
+			final int Zx0 = this.getOrDefault(zero, x);
 			final int leqMinusUx = LeqMinusUx(x, bound);
 
 			// Zx0 >= (-Ux, <=)
@@ -450,8 +550,8 @@ final class DBM {
 			}
 
 			for (final VarDecl<RatType> y : vars) {
-				final int Zxy = this.get(y, x);
-				final int Zpxy = that.get(y, x);
+				final int Zxy = this.getOrDefault(y, x);
+				final int Zpxy = that.getOrDefault(y, x);
 
 				if (Zpxy >= Zxy) {
 					continue;
@@ -477,6 +577,26 @@ final class DBM {
 		return boundFunction.getLower(y).map(Ly -> Lt(-Ly)).orElse(Inf());
 	}
 
+	public CompactDbm compact() {
+		if (dbm.isConsistent()) {
+			return new CompactDbm(signature, dbm.getMinimalConstraints());
+		} else {
+			return new CompactDbm(signature, null);
+		}
+	}
+
+	public Collection<VarDecl<RatType>> getVars() {
+		return signature.toList();
+	}
+
+	public int getUpperBound(final VarDecl<RatType> var) {
+		return getOrDefault(var, ZeroVar.getInstance());
+	}
+
+	public int getLowerBound(final VarDecl<RatType> var) {
+		return getOrDefault(ZeroVar.getInstance(), var);
+	}
+
 	public Collection<ClockConstr> getConstrs() {
 		final Collection<ClockConstr> result = new HashSet<>();
 
@@ -566,6 +686,16 @@ final class DBM {
 		dbm.norm(k);
 	}
 
+	/**
+	 * Applies the Extra_LU^+ extrapolation with respect to the given bound
+	 * function. Clocks without bounds are freed.
+	 */
+	public void extrapolate(final BoundFunc bound) {
+		checkNotNull(bound);
+		final BoundFunc.SignatureBounds bounds = bound.getBounds(signature);
+		dbm.extrapolate(bounds.lower, bounds.upper);
+	}
+
 	private void close() {
 		dbm.close();
 	}
@@ -19,6 +19,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkElementIndex;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -27,14 +28,27 @@ import java.util.Set;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.google.common.collect.Sets;
 
 import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.core.decl.VarDecl;
 import hu.bme.mit.theta.core.type.rattype.RatType;
 
+/**
+ * Mapping between clock variables and DBM indices. Signatures are interned, so
+ * signatures over the same sequence of variables are the same instance, which
+ * allows DBMs to detect aligned indices by a reference comparison.
+ */
 final class DbmSignature implements Iterable<VarDecl<RatType>> {
 
+	private static final int HASH_SEED = 6427;
+
+	private static final Interner<DbmSignature> INTERNER = Interners.newWeakInterner();
+
+	private volatile int hashCode;
+
 	private final List<VarDecl<RatType>> indexToVar;
 	private final Map<VarDecl<RatType>, Integer> varToIndex;
 
@@ -65,21 +79,43 @@ final class DbmSignature implements Iterable<VarDecl<RatType>> {
 	////
 
 	static DbmSignature over(final Iterable<? extends VarDecl<RatType>> vars) {
-		return new DbmSignature(vars);
+		return INTERNER.intern(new DbmSignature(vars));
 	}
 
 	public static DbmSignature union(final DbmSignature signature1, final DbmSignature signature2) {
 		checkNotNull(signature1);
 		checkNotNull(signature2);
+		if (signature1 == signature2 || signature1.toSet().containsAll(signature2.toSet())) {
+			return signature1;
+		}
 		final Iterable<VarDecl<RatType>> vars = Sets.union(signature1.toSet(), signature2.toSet());
-		return new DbmSignature(vars);
+		return over(vars);
 	}
 
 	public static DbmSignature intersection(final DbmSignature signature1, final DbmSignature signature2) {
 		checkNotNull(signature1);
 		checkNotNull(signature2);
+		if (signature1 == signature2) {
+			return signature1;
+		}
 		final Set<VarDecl<RatType>> vars = Sets.intersection(signature1.toSet(), signature2.toSet());
-		return new DbmSignature(vars);
+		return over(vars);
+	}
+
+	/**
+	 * Returns the signature over the renamed variables, in the same order. The
+	 * renaming must be injective on the variables of the signature, variables
+	 * that it does not map are kept.
+	 */
+	public DbmSignature rename(final Map<? extends VarDecl<RatType>, ? extends VarDecl<RatType>> renaming) {
+		checkNotNull(renaming);
+		final List<VarDecl<RatType>> vars = new ArrayList<>(indexToVar.size());
+		for (final VarDecl<RatType> var : indexToVar) {
+			vars.add(renaming.containsKey(var) ? renaming.get(var) : var);
+		}
+		final DbmSignature result = over(vars);
+		checkArgument(result.size() == size(), "Renaming is not injective");
+		return result;
 	}
 
 	////
@@ -120,6 +156,29 @@ final class DbmSignature implements Iterable<VarDecl<RatType>> {
 
 	////
 
+	@Override
+	public int hashCode() {
+		int result = hashCode;
+		if (result == 0) {
+			result = HASH_SEED;
+			result = 31 * result + indexToVar.hashCode();
+			hashCode = result;
+		}
+		return result;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		} else if (obj instanceof DbmSignature) {
+			final DbmSignature that = (DbmSignature) obj;
+			return this.indexToVar.equals(that.indexToVar);
+		} else {
+			return false;
+		}
+	}
+
 	@Override
 	public String toString() {
 		return Utils.toStringBuilder(getClass().getSimpleName()).addAll(indexToVar).toString();
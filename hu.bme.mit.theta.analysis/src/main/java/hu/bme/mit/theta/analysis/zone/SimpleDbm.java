@@ -22,17 +22,23 @@ import static hu.bme.mit.theta.analysis.zone.DiffBounds.Leq;
 import static hu.bme.mit.theta.analysis.zone.DiffBounds.Lt;
 import static hu.bme.mit.theta.analysis.zone.DiffBounds.add;
 import static hu.bme.mit.theta.analysis.zone.DiffBounds.asString;
+import static java.lang.Math.max;
 import static java.lang.Math.min;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.function.IntBinaryOperator;
 
-import hu.bme.mit.theta.common.IntMatrix;
-
 final class SimpleDbm {
 
 	private final int nClocks;
-	private final IntMatrix matrix;
+	private final int dim;
+
+	// Bounds are stored row-major: the bound of x - y is at matrix[x * dim + y]
+	private final int[] matrix;
+
+	// Clocks with a tightened constraint since the matrix was last canonical
+	private final BitSet dirty;
 
 	////
 
@@ -40,13 +46,25 @@ final class SimpleDbm {
 		checkArgument(size > 0, "Zero sized DBM");
 		checkNotNull(values);
 		this.nClocks = size - 1;
-		matrix = IntMatrix.create(size, size);
+		this.dim = size;
+		this.matrix = new int[size * size];
+		this.dirty = new BitSet(size);
 		fill(values);
 	}
 
 	SimpleDbm(final SimpleDbm dbm) {
 		this.nClocks = dbm.nClocks;
-		this.matrix = IntMatrix.copyOf(dbm.matrix);
+		this.dim = dbm.dim;
+		this.matrix = dbm.matrix.clone();
+		this.dirty = (BitSet) dbm.dirty.clone();
+	}
+
+	private SimpleDbm(final int size, final int[] matrix, final BitSet dirty) {
+		assert matrix.length == size * size;
+		this.nClocks = size - 1;
+		this.dim = size;
+		this.matrix = matrix;
+		this.dirty = dirty;
 	}
 
 	////
@@ -64,49 +82,161 @@ final class SimpleDbm {
 
 	////
 
+	static SimpleDbm intersection(final SimpleDbm dbm1, final SimpleDbm dbm2) {
+		checkArgument(dbm1.dim == dbm2.dim, "DBMs have different size");
+		final int[] m1 = dbm1.matrix;
+		final int[] m2 = dbm2.matrix;
+		final int dim = dbm1.dim;
+		final int[] result = new int[m1.length];
+		final BitSet dirty = (BitSet) dbm1.dirty.clone();
+		for (int i = 0; i < dim; i++) {
+			final int row = i * dim;
+			for (int j = 0; j < dim; j++) {
+				final int b1 = m1[row + j];
+				final int b2 = m2[row + j];
+				if (b2 < b1) {
+					result[row + j] = b2;
+					dirty.set(i);
+					dirty.set(j);
+				} else {
+					result[row + j] = b1;
+				}
+			}
+		}
+		final SimpleDbm dbm = new SimpleDbm(dim, result, dirty);
+		dbm.close();
+		return dbm;
+	}
+
+	/**
+	 * Creates a DBM whose clock i is clock indices[i] of the given DBM, or an
+	 * unconstrained clock if indices[i] is negative. The zero clock must be
+	 * mapped to itself. The result is canonical if the given DBM is.
+	 */
+	static SimpleDbm project(final SimpleDbm dbm, final int[] indices) {
+		checkNotNull(dbm);
+		checkArgument(indices.length > 0 && indices[0] == 0, "Zero clock not mapped to itself");
+		final int dim = indices.length;
+		final int[] m = dbm.matrix;
+		final int[] result = new int[dim * dim];
+		final BitSet dirty = new BitSet(dim);
+		for (int i = 0; i < dim; i++) {
+			final int oldI = indices[i];
+			final int row = i * dim;
+			if (oldI < 0) {
+				for (int j = 0; j < dim; j++) {
+					result[row + j] = defaultBound(i, j);
+				}
+			} else {
+				final int oldRow = oldI * dbm.dim;
+				for (int j = 0; j < dim; j++) {
+					final int oldJ = indices[j];
+					result[row + j] = oldJ < 0 ? defaultBound(i, j) : m[oldRow + oldJ];
+				}
+				if (dbm.dirty.get(oldI)) {
+					dirty.set(i);
+				}
+			}
+		}
+		return new SimpleDbm(dim, result, dirty);
+	}
+
+	static SimpleDbm enclosure(final SimpleDbm dbm1, final SimpleDbm dbm2) {
+		checkArgument(dbm1.dim == dbm2.dim, "DBMs have different size");
+		final int[] m1 = dbm1.matrix;
+		final int[] m2 = dbm2.matrix;
+		final int[] result = new int[m1.length];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = max(m1[i], m2[i]);
+		}
+		final BitSet dirty = new BitSet(dbm1.dim);
+		dirty.set(0, dbm1.dim);
+		return new SimpleDbm(dbm1.dim, result, dirty);
+	}
+
+	/**
+	 * Creates a canonical DBM from constraints returned by
+	 * {@link #getMinimalConstraints()} of a DBM of the same size.
+	 */
+	static SimpleDbm fromConstraints(final int size, final int[] constraints) {
+		checkNotNull(constraints);
+		checkArgument(constraints.length % 2 == 0);
+		final SimpleDbm dbm = new SimpleDbm(size, SimpleDbm::defaultBound);
+		dbm.dirty.clear();
+		for (int c = 0; c < constraints.length; c += 2) {
+			final int index = constraints[c];
+			final int b = constraints[c + 1];
+			final int x = index / size;
+			final int y = index % size;
+			if (b < dbm.matrix[index]) {
+				dbm.matrix[index] = b;
+				dbm.dirty.set(x);
+				dbm.dirty.set(y);
+			}
+		}
+		dbm.close();
+		return dbm;
+	}
+
+	////
+
 	int get(final int x, final int y) {
 		checkArgument(isClock(x));
 		checkArgument(isClock(y));
-		return matrix.get(x, y);
+		return matrix[x * dim + y];
 	}
 
 	void set(final int x, final int y, final int b) {
 		checkArgument(isClock(x));
 		checkArgument(isClock(y));
-		matrix.set(x, y, b);
+		final int old = matrix[x * dim + y];
+		matrix[x * dim + y] = b;
+		if (b < old) {
+			dirty.set(x);
+			dirty.set(y);
+		} else if (b > old) {
+			// a loosened bound invalidates derived bounds between any clocks
+			dirty.set(0, dim);
+		}
 	}
 
 	void fill(final IntBinaryOperator values) {
 		checkNotNull(values);
-		matrix.fill(values);
+		for (int i = 0; i < dim; i++) {
+			final int row = i * dim;
+			for (int j = 0; j < dim; j++) {
+				matrix[row + j] = values.applyAsInt(i, j);
+			}
+		}
+		dirty.set(0, dim);
 	}
 
 	////
 
 	public int size() {
-		return nClocks + 1;
+		return dim;
 	}
 
 	////
 
 	public boolean isConsistent() {
-		return matrix.get(0, 0) > 0;
+		return matrix[0] > 0;
 	}
 
 	public boolean isSatisfied(final int x, final int y, final int b) {
 		checkArgument(isClock(x));
 		checkArgument(isClock(y));
-		return add(matrix.get(y, x), b) >= Leq(0);
+		return add(matrix[y * dim + x], b) >= Leq(0);
 	}
 
 	public boolean constrains(final int x) {
 		checkArgument(isClock(x));
 		for (int i = 0; i <= nClocks; i++) {
-			if (matrix.get(x, i) < defaultBound(x, i)) {
+			if (matrix[x * dim + i] < defaultBound(x, i)) {
 				return true;
 			}
 
-			if (matrix.get(i, x) < defaultBound(i, x)) {
+			if (matrix[i * dim + x] < defaultBound(i, x)) {
 				return true;
 			}
 		}
@@ -115,10 +245,188 @@ final class SimpleDbm {
 
 	////
 
+	boolean isLeq(final SimpleDbm that) {
+		checkArgument(this.dim == that.dim, "DBMs have different size");
+		final int[] m1 = this.matrix;
+		final int[] m2 = that.matrix;
+		for (int i = 0; i < m1.length; i++) {
+			if (m1[i] > m2[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	boolean isLeq(final SimpleDbm that, final boolean[] active) {
+		checkArgument(this.dim == that.dim, "DBMs have different size");
+		checkArgument(active.length == dim);
+		final int[] m1 = this.matrix;
+		final int[] m2 = that.matrix;
+		for (int i = 0; i < dim; i++) {
+			if (!active[i]) {
+				continue;
+			}
+			final int row = i * dim;
+			for (int j = 0; j < dim; j++) {
+				if (active[j] && m1[row + j] > m2[row + j]) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether this DBM is included in the LU-extrapolation of that DBM,
+	 * where leqMinusU[x] is (-U(x), <=) and ltMinusL[y] is (-L(y), <) for each
+	 * clock, or Inf() if the corresponding bound is undefined.
+	 */
+	boolean isLeq(final SimpleDbm that, final int[] leqMinusU, final int[] ltMinusL) {
+		checkArgument(this.dim == that.dim, "DBMs have different size");
+		checkArgument(leqMinusU.length == dim);
+		checkArgument(ltMinusL.length == dim);
+
+		if (!this.isConsistent()) {
+			return true;
+		}
+
+		if (!that.isConsistent()) {
+			return false;
+		}
+
+		final int[] m1 = this.matrix;
+		final int[] m2 = that.matrix;
+		for (int x = 0; x < dim; x++) {
+			final int Zx0 = m1[x];
+
+			// Zx0 >= (-Ux, <=)
+			if (Zx0 < leqMinusU[x]) {
+				continue;
+			}
+
+			for (int y = 0; y < dim; y++) {
+				final int Zxy = m1[y * dim + x];
+				final int Zpxy = m2[y * dim + x];
+
+				if (Zpxy >= Zxy) {
+					continue;
+				}
+
+				if (add(Zpxy, ltMinusL[y]) >= Zx0) {
+					continue;
+				}
+
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether this DBM satisfies the given constraints, each encoded as
+	 * an index and a bound like in {@link #getMinimalConstraints()}. If the
+	 * constraints are the minimal constraints of a canonical DBM of the same
+	 * size, this is equivalent to (but faster than) checking inclusion.
+	 */
+	boolean satisfiesAll(final int[] constraints) {
+		final int[] m = matrix;
+		for (int c = 0; c < constraints.length; c += 2) {
+			if (m[constraints[c]] > constraints[c + 1]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns a minimal set of constraints whose closure is this canonical and
+	 * consistent DBM, as pairs of a matrix index and a bound. Clocks on zero
+	 * cycles are merged into equivalence classes connected by a single cycle,
+	 * and bounds between class representatives are dropped if they are implied
+	 * by a path through a third representative. See Larsen et al.: Efficient
+	 * verification of real-time systems: compact data structure and state-space
+	 * reduction.
+	 */
+	int[] getMinimalConstraints() {
+		checkArgument(isConsistent(), "DBM is inconsistent");
+		assert isClosed();
+
+		final int[] m = matrix;
+		final int[] rep = new int[dim];
+		final int[] next = new int[dim];
+		for (int i = 0; i < dim; i++) {
+			rep[i] = i;
+			next[i] = -1;
+		}
+
+		for (int i = 0; i < dim; i++) {
+			if (rep[i] != i) {
+				continue;
+			}
+			int last = i;
+			for (int j = i + 1; j < dim; j++) {
+				if (rep[j] == j && add(m[i * dim + j], m[j * dim + i]) == Leq(0)) {
+					rep[j] = i;
+					next[last] = j;
+					last = j;
+				}
+			}
+		}
+
+		final int[] result = new int[2 * dim * dim];
+		int size = 0;
+
+		for (int i = 0; i < dim; i++) {
+			if (rep[i] != i || next[i] == -1) {
+				continue;
+			}
+			int u = i;
+			while (next[u] != -1) {
+				final int v = next[u];
+				result[size++] = u * dim + v;
+				result[size++] = m[u * dim + v];
+				u = v;
+			}
+			result[size++] = u * dim + i;
+			result[size++] = m[u * dim + i];
+		}
+
+		for (int i = 0; i < dim; i++) {
+			if (rep[i] != i) {
+				continue;
+			}
+			final int iRow = i * dim;
+			for (int j = 0; j < dim; j++) {
+				if (i == j || rep[j] != j) {
+					continue;
+				}
+				final int b = m[iRow + j];
+				if (b == Inf()) {
+					continue;
+				}
+				boolean redundant = false;
+				for (int k = 0; k < dim; k++) {
+					if (k != i && k != j && rep[k] == k && add(m[iRow + k], m[k * dim + j]) <= b) {
+						redundant = true;
+						break;
+					}
+				}
+				if (!redundant) {
+					result[size++] = iRow + j;
+					result[size++] = b;
+				}
+			}
+		}
+
+		return Arrays.copyOf(result, size);
+	}
+
+	////
+
 	public void up() {
 		if (isConsistent()) {
 			for (int i = 1; i <= nClocks; i++) {
-				matrix.set(i, 0, Inf());
+				matrix[i * dim] = Inf();
 			}
 			assert isClosed();
 		}
@@ -127,7 +435,7 @@ final class SimpleDbm {
 	public void down() {
 		if (isConsistent()) {
 			for (int i = 1; i <= nClocks; i++) {
-				matrix.set(0, i, Inf());
+				matrix[i] = Inf();
 			}
 			assert isClosed();
 		}
@@ -141,22 +449,13 @@ final class SimpleDbm {
 			// do nothing
 
 		} else if (!isSatisfied(x, y, b)) {
-			matrix.set(0, 0, Leq(-1));
-
-		} else if (b < matrix.get(x, y)) {
-			matrix.set(x, y, b);
+			matrix[0] = Leq(-1);
 
-			for (int i = 0; i <= nClocks; i++) {
-				for (int j = 0; j <= nClocks; j++) {
-					if (add(matrix.get(i, x), matrix.get(x, j)) < matrix.get(i, j)) {
-						matrix.set(i, j, add(matrix.get(i, x), matrix.get(x, j)));
-					}
-					if (add(matrix.get(i, y), matrix.get(y, j)) < matrix.get(i, j)) {
-						matrix.set(i, j, add(matrix.get(i, y), matrix.get(y, j)));
-					}
-				}
-			}
+		} else if (b < matrix[x * dim + y]) {
+			matrix[x * dim + y] = b;
+			closeij(x, y);
 		}
+		dirty.clear();
 		assert !isConsistent() || isClosed();
 	}
 
@@ -167,37 +466,54 @@ final class SimpleDbm {
 
 		for (int k = 1; k <= nClocks; k++) {
 			if (!isSatisfied(0, k, Leq(0))) {
-				matrix.set(0, 0, Leq(-1));
+				matrix[0] = Leq(-1);
 				return;
 			}
 
-			if (Leq(0) < matrix.get(0, k)) {
-				matrix.set(0, k, Leq(0));
-
-				for (int i = 0; i <= nClocks; i++) {
-					for (int j = 0; j <= nClocks; j++) {
-						if (add(matrix.get(i, 0), matrix.get(0, j)) < matrix.get(i, j)) {
-							matrix.set(i, j, add(matrix.get(i, 0), matrix.get(0, j)));
-						}
-						if (add(matrix.get(i, k), matrix.get(k, j)) < matrix.get(i, j)) {
-							matrix.set(i, j, add(matrix.get(i, k), matrix.get(k, j)));
-						}
-					}
-				}
+			if (Leq(0) < matrix[k]) {
+				matrix[k] = Leq(0);
+				closeij(0, k);
 			}
 		}
 
+		dirty.clear();
 		assert !isConsistent() || isClosed();
 	}
 
+	/**
+	 * Restores canonical form after the single bound x - y has been tightened in
+	 * a canonical and consistent DBM. Every path improved by the new bound goes
+	 * through it, so one pass suffices.
+	 */
+	private void closeij(final int x, final int y) {
+		final int[] m = matrix;
+		final int b = m[x * dim + y];
+		final int yRow = y * dim;
+		for (int i = 0; i < dim; i++) {
+			final int iRow = i * dim;
+			final int ix = m[iRow + x];
+			if (ix == Inf()) {
+				continue;
+			}
+			final int iy = add(ix, b);
+			for (int j = 0; j < dim; j++) {
+				final int newBound = add(iy, m[yRow + j]);
+				if (newBound < m[iRow + j]) {
+					m[iRow + j] = newBound;
+				}
+			}
+		}
+	}
+
 	public void free(final int x) {
 		checkArgument(isNonZeroClock(x));
 
 		if (isConsistent()) {
+			final int xRow = x * dim;
 			for (int i = 0; i <= nClocks; i++) {
 				if (i != x) {
-					matrix.set(x, i, Inf());
-					matrix.set(i, x, Inf());
+					matrix[xRow + i] = Inf();
+					matrix[i * dim + x] = Inf();
 				}
 			}
 			assert isClosed();
@@ -206,15 +522,17 @@ final class SimpleDbm {
 
 	public void free() {
 		fill(SimpleDbm::defaultBound);
+		dirty.clear();
 	}
 
 	public void reset(final int x, final int m) {
 		checkArgument(isNonZeroClock(x));
 
 		if (isConsistent()) {
+			final int xRow = x * dim;
 			for (int i = 0; i <= nClocks; i++) {
-				matrix.set(x, i, add(Leq(m), matrix.get(0, i)));
-				matrix.set(i, x, add(matrix.get(i, 0), Leq(-m)));
+				matrix[xRow + i] = add(Leq(m), matrix[i]);
+				matrix[i * dim + x] = add(matrix[i * dim], Leq(-m));
 			}
 
 			assert isClosed();
@@ -224,24 +542,27 @@ final class SimpleDbm {
 	public void copy(final int x, final int y) {
 		checkArgument(isNonZeroClock(y));
 
+		final int xRow = x * dim;
+		final int yRow = y * dim;
 		for (int i = 0; i <= nClocks; i++) {
 			if (i != x) {
-				matrix.set(x, i, matrix.get(y, i));
-				matrix.set(i, x, matrix.get(i, y));
+				matrix[xRow + i] = matrix[yRow + i];
+				matrix[i * dim + x] = matrix[i * dim + y];
 			}
 		}
-		matrix.set(x, y, Leq(0));
-		matrix.set(y, x, Leq(0));
+		matrix[xRow + y] = Leq(0);
+		matrix[yRow + x] = Leq(0);
 		assert isClosed();
 	}
 
 	public void shift(final int x, final int m) {
 		checkArgument(isNonZeroClock(x));
 
+		final int xRow = x * dim;
 		for (int i = 0; i <= nClocks; i++) {
 			if (i != x) {
-				matrix.set(x, i, add(matrix.get(x, i), Leq(m)));
-				matrix.set(i, x, add(matrix.get(i, x), Leq(-m)));
+				matrix[xRow + i] = add(matrix[xRow + i], Leq(m));
+				matrix[i * dim + x] = add(matrix[i * dim + x], Leq(-m));
 			}
 		}
 		assert isClosed();
@@ -251,48 +572,135 @@ final class SimpleDbm {
 		checkNotNull(k);
 		checkArgument(k.length == nClocks + 1);
 
+		boolean changed = false;
 		for (int i = 0; i <= nClocks; i++) {
+			final int iRow = i * dim;
 			for (int j = 0; j <= nClocks; j++) {
-				if (matrix.get(i, j) != Inf()) {
-					if (matrix.get(i, j) > Leq(k[i])) {
-						matrix.set(i, j, Inf());
-					} else if (matrix.get(i, j) < Lt(-k[j])) {
-						matrix.set(i, j, Lt(-k[j]));
+				final int b = matrix[iRow + j];
+				if (b != Inf()) {
+					if (b > Leq(k[i])) {
+						matrix[iRow + j] = Inf();
+						changed = true;
+					} else if (b < Lt(-k[j])) {
+						matrix[iRow + j] = Lt(-k[j]);
+						changed = true;
 					}
 				}
 			}
 		}
+
+		if (changed) {
+			// extrapolation only loosens bounds, which requires a full closure
+			dirty.set(0, dim);
+		}
 		close();
 	}
 
+	/**
+	 * Applies the Extra_LU^+ extrapolation with the given lower and upper bounds
+	 * of the clocks. A negative bound means that the clock is not compared to
+	 * any constant from that direction. The result is canonical.
+	 */
+	public void extrapolate(final int[] lower, final int[] upper) {
+		checkNotNull(lower);
+		checkNotNull(upper);
+		checkArgument(lower.length == nClocks + 1);
+		checkArgument(upper.length == nClocks + 1);
+
+		if (!isConsistent()) {
+			return;
+		}
+
+		final int[] m = matrix;
+		boolean changed = false;
+
+		// Rows of the clocks first, as they depend on the unchanged first row
+		for (int i = 1; i <= nClocks; i++) {
+			final int iRow = i * dim;
+			final boolean aboveLi = lower[i] < 0 || m[i] < Lt(-lower[i]);
+			for (int j = 0; j <= nClocks; j++) {
+				final int b = m[iRow + j];
+				if (i == j || b == Inf()) {
+					continue;
+				}
+				if (aboveLi || b > Leq(lower[i]) || j != 0 && (upper[j] < 0 || m[j] < Lt(-upper[j]))) {
+					m[iRow + j] = Inf();
+					changed = true;
+				}
+			}
+		}
+
+		for (int j = 1; j <= nClocks; j++) {
+			if (upper[j] < 0) {
+				if (m[j] != Inf()) {
+					m[j] = Inf();
+					changed = true;
+				}
+			} else if (m[j] < Lt(-upper[j])) {
+				m[j] = Lt(-upper[j]);
+				changed = true;
+			}
+		}
+
+		if (changed) {
+			dirty.set(0, dim);
+		}
+		close();
+	}
+
+	/**
+	 * Brings the matrix to canonical form. Only the clocks marked dirty are used
+	 * as pivots, which is sufficient if the bounds changed since the last
+	 * canonical form were all tightened. If nothing changed, this is a no-op.
+	 */
 	void close() {
-		for (int k = 0; k <= nClocks; k++) {
-			for (int i = 0; i <= nClocks; i++) {
-				for (int j = 0; j <= nClocks; j++) {
-					final int newBound = min(matrix.get(i, j), add(matrix.get(i, k), matrix.get(k, j)));
-					if (i == j && newBound < Leq(0)) {
-						matrix.set(0, 0, Leq(-1));
-						return;
-					} else {
-						matrix.set(i, j, newBound);
+		if (!isConsistent()) {
+			dirty.clear();
+			return;
+		}
+
+		final int[] m = matrix;
+		for (int k = dirty.nextSetBit(0); k >= 0; k = dirty.nextSetBit(k + 1)) {
+			final int kRow = k * dim;
+			for (int i = 0; i < dim; i++) {
+				final int iRow = i * dim;
+				final int ik = m[iRow + k];
+				if (ik == Inf()) {
+					// no path through k can improve row i
+					continue;
+				}
+				for (int j = 0; j < dim; j++) {
+					final int newBound = add(ik, m[kRow + j]);
+					if (newBound < m[iRow + j]) {
+						m[iRow + j] = newBound;
 					}
 				}
+				if (m[iRow + i] < Leq(0)) {
+					m[0] = Leq(-1);
+					dirty.clear();
+					return;
+				}
 			}
 		}
+		dirty.clear();
 		assert isClosed();
 	}
 
 	int[] closeItp() {
-		final IntMatrix next = IntMatrix.create(nClocks + 1, nClocks + 1);
-		next.fill((x, y) -> y);
+		final int[] next = new int[dim * dim];
+		for (int i = 0; i < dim; i++) {
+			for (int j = 0; j < dim; j++) {
+				next[i * dim + j] = j;
+			}
+		}
 
 		for (int k = 0; k <= nClocks; k++) {
 			for (int i = 0; i <= nClocks; i++) {
 				for (int j = 0; j <= nClocks; j++) {
-					final int newBound = add(matrix.get(i, k), matrix.get(k, j));
-					if (newBound < matrix.get(i, j)) {
-						matrix.set(i, j, newBound);
-						next.set(i, j, next.get(i, k));
+					final int newBound = add(matrix[i * dim + k], matrix[k * dim + j]);
+					if (newBound < matrix[i * dim + j]) {
+						matrix[i * dim + j] = newBound;
+						next[i * dim + j] = next[i * dim + k];
 						if (i == j && newBound < Leq(0)) {
 							final int[] cycle = path(next, i, j);
 							return cycle;
@@ -305,14 +713,14 @@ final class SimpleDbm {
 		throw new IllegalStateException();
 	}
 
-	private int[] path(final IntMatrix next, final int u, final int v) {
+	private int[] path(final int[] next, final int u, final int v) {
 		final int[] path = new int[nClocks + 2];
 
 		int w = u;
 		path[0] = w;
 		int i = 1;
 		do {
-			w = next.get(w, v);
+			w = next[w * dim + v];
 			path[i] = w;
 			i++;
 		} while (w != v);
@@ -324,7 +732,7 @@ final class SimpleDbm {
 		for (int i = 0; i <= nClocks; i++) {
 			for (int j = 0; j <= nClocks; j++) {
 				for (int k = 0; k <= nClocks; k++) {
-					if (matrix.get(i, j) > add(matrix.get(i, k), matrix.get(k, j))) {
+					if (matrix[i * dim + j] > add(matrix[i * dim + k], matrix[k * dim + j])) {
 						return false;
 					}
 				}
@@ -352,7 +760,7 @@ final class SimpleDbm {
 		final StringBuilder sb = new StringBuilder();
 		for (int i = 0; i <= nClocks; i++) {
 			for (int j = 0; j <= nClocks; j++) {
-				sb.append(String.format("%-12s", asString(matrix.get(i, j))));
+				sb.append(String.format("%-12s", asString(matrix[i * dim + j])));
 			}
 			sb.append(System.lineSeparator());
 		}
@@ -0,0 +1,66 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.zone;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Inclusion checks between zones, possibly up to the bounds of the clocks. The
+ * checks based on bounds are coarser than the exact one, and are only sound if
+ * the bound function contains every constant that the clocks can be compared
+ * to in the future, e.g., the static LU bounds of a location.
+ */
+public enum ZoneInclusion {
+
+	/**
+	 * Plain inclusion of the zones, the bound function is ignored.
+	 */
+	EXACT {
+		@Override
+		public boolean isLeq(final ZoneState zone1, final ZoneState zone2, final BoundFunc boundFunction) {
+			checkNotNull(boundFunction);
+			return zone1.isLeq(zone2);
+		}
+	},
+
+	/**
+	 * Inclusion in the Extra_LU^+ extrapolation of the including zone.
+	 */
+	EXTRA_LU {
+		@Override
+		public boolean isLeq(final ZoneState zone1, final ZoneState zone2, final BoundFunc boundFunction) {
+			checkNotNull(boundFunction);
+			if (zone1.isLeq(zone2)) {
+				return true;
+			}
+			return zone1.isLeq(zone2.transform().extrapolate(boundFunction).build());
+		}
+	},
+
+	/**
+	 * Inclusion in the a_LU abstraction of the including zone, which is the
+	 * coarsest of the three.
+	 */
+	ALU {
+		@Override
+		public boolean isLeq(final ZoneState zone1, final ZoneState zone2, final BoundFunc boundFunction) {
+			return zone1.isLeq(zone2, boundFunction);
+		}
+	};
+
+	public abstract boolean isLeq(final ZoneState zone1, final ZoneState zone2, final BoundFunc boundFunction);
+
+}
@@ -22,6 +22,7 @@ import static hu.bme.mit.theta.core.clock.constr.ClockConstrs.Lt;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
 import static java.util.stream.Collectors.toList;
 
+import java.lang.ref.SoftReference;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
@@ -49,14 +50,25 @@ public final class ZoneState implements ExprState {
 	private volatile int hashCode = 0;
 	private volatile Expr<BoolType> expr = null;
 
+	// Exactly one of the representations is present
 	private final DBM dbm;
+	private final CompactDbm compactDbm;
+	// Expanded form of the compact representation, reclaimed if memory is low
+	private volatile SoftReference<DBM> expandedDbm = null;
 
 	private ZoneState(final DBM dbm) {
 		this.dbm = dbm;
+		this.compactDbm = null;
+	}
+
+	private ZoneState(final CompactDbm compactDbm) {
+		this.dbm = null;
+		this.compactDbm = compactDbm;
 	}
 
 	private ZoneState(final Builder ops) {
 		this.dbm = ops.dbm;
+		this.compactDbm = null;
 	}
 
 	////
@@ -113,31 +125,31 @@ public final class ZoneState implements ExprState {
 	public static ZoneState intersection(final ZoneState zone1, final ZoneState zone2) {
 		checkNotNull(zone1);
 		checkNotNull(zone2);
-		return new ZoneState(DBM.intersection(zone1.dbm, zone2.dbm));
+		return new ZoneState(DBM.intersection(zone1.getDbm(), zone2.getDbm()));
 	}
 
 	public static ZoneState enclosure(final ZoneState zone1, final ZoneState zone2) {
 		checkNotNull(zone1);
 		checkNotNull(zone2);
-		return new ZoneState(DBM.enclosure(zone1.dbm, zone2.dbm));
+		return new ZoneState(DBM.enclosure(zone1.getDbm(), zone2.getDbm()));
 	}
 
 	public static ZoneState interpolant(final ZoneState zoneA, final ZoneState zoneB) {
 		checkNotNull(zoneA);
 		checkNotNull(zoneB);
-		return new ZoneState(DBM.interpolant(zoneA.dbm, zoneB.dbm));
+		return new ZoneState(DBM.interpolant(zoneA.getDbm(), zoneB.getDbm()));
 	}
 
 	public static ZoneState weakInterpolant(final ZoneState zoneA, final ZoneState zoneB) {
 		checkNotNull(zoneA);
 		checkNotNull(zoneB);
-		return new ZoneState(DBM.weakInterpolant(zoneA.dbm, zoneB.dbm));
+		return new ZoneState(DBM.weakInterpolant(zoneA.getDbm(), zoneB.getDbm()));
 	}
 
 	////
 
 	public Collection<ZoneState> complement() {
-		final Collection<DBM> dbms = dbm.complement();
+		final Collection<DBM> dbms = getDbm().complement();
 		return dbms.stream().map(ZoneState::new).collect(toList());
 	}
 
@@ -150,30 +162,94 @@ public final class ZoneState implements ExprState {
 		return Builder.project(this, clocks);
 	}
 
+	/**
+	 * Returns the zone obtained by renaming the clocks of this zone. The renaming
+	 * must be injective on the clocks of the zone, clocks that it does not map
+	 * are kept.
+	 */
+	public ZoneState rename(final Map<? extends VarDecl<RatType>, ? extends VarDecl<RatType>> renaming) {
+		checkNotNull(renaming);
+		if (renaming.isEmpty()) {
+			return this;
+		} else if (compactDbm != null) {
+			final DbmSignature signature = compactDbm.getSignature().rename(renaming);
+			return new ZoneState(new CompactDbm(signature, compactDbm.getConstraints()));
+		} else {
+			return new ZoneState(DBM.rename(dbm, renaming));
+		}
+	}
+
 	////
 
 	public boolean isTop() {
-		return DBM.top(Collections.emptySet()).getRelation(dbm) == DbmRelation.EQUAL;
+		return DBM.top(Collections.emptySet()).getRelation(getDbm()) == DbmRelation.EQUAL;
 	}
 
 	public boolean isBottom() {
+		if (compactDbm != null) {
+			return !compactDbm.isConsistent();
+		}
 		return !dbm.isConsistent();
 	}
 
 	public boolean isLeq(final ZoneState that) {
-		return this.dbm.isLeq(that.dbm);
+		if (that.compactDbm != null) {
+			return this.getDbm().isLeq(that.compactDbm);
+		}
+		return this.getDbm().isLeq(that.dbm);
 	}
 
 	public boolean isLeq(final ZoneState that, final Collection<? extends VarDecl<RatType>> activeVars) {
-		return this.dbm.isLeq(that.dbm, activeVars);
+		return this.getDbm().isLeq(that.getDbm(), activeVars);
 	}
 
 	public boolean isLeq(final ZoneState that, final BoundFunc boundFunction) {
-		return this.dbm.isLeq(that.dbm, boundFunction);
+		return this.getDbm().isLeq(that.getDbm(), boundFunction);
 	}
 
 	public boolean isConsistentWith(final ZoneState that) {
-		return this.dbm.isConsistentWith(that.dbm);
+		return this.getDbm().isConsistentWith(that.getDbm());
+	}
+
+	/**
+	 * Returns an equivalent zone that is stored by its minimal constraints. The
+	 * compact zone takes less memory and can be used efficiently as the right
+	 * hand side of inclusion checks, but other operations need to expand it
+	 * first, which requires a closure. The expanded form is kept until memory
+	 * runs low, so that repeated operations only expand it once.
+	 */
+	public ZoneState compact() {
+		if (compactDbm != null || this == TOP || this == BOTTOM) {
+			return this;
+		}
+		return new ZoneState(dbm.compact());
+	}
+
+	private DBM getDbm() {
+		if (dbm != null) {
+			return dbm;
+		}
+		final SoftReference<DBM> ref = expandedDbm;
+		DBM result = ref == null ? null : ref.get();
+		if (result == null) {
+			result = DBM.expand(compactDbm);
+			expandedDbm = new SoftReference<>(result);
+		}
+		return result;
+	}
+
+	////
+
+	Collection<VarDecl<RatType>> getVars() {
+		return getDbm().getVars();
+	}
+
+	int getUpperBound(final VarDecl<RatType> var) {
+		return getDbm().getUpperBound(var);
+	}
+
+	int getLowerBound(final VarDecl<RatType> var) {
+		return getDbm().getLowerBound(var);
 	}
 
 	////
@@ -182,7 +258,7 @@ public final class ZoneState implements ExprState {
 	public Expr<BoolType> toExpr() {
 		Expr<BoolType> result = expr;
 		if (result == null) {
-			final Collection<Expr<BoolType>> exprs = dbm.getConstrs().stream().map(ClockConstr::toExpr)
+			final Collection<Expr<BoolType>> exprs = getDbm().getConstrs().stream().map(ClockConstr::toExpr)
 					.collect(toList());
 			result = And(exprs);
 			expr = result;
@@ -197,7 +273,7 @@ public final class ZoneState implements ExprState {
 		int result = hashCode;
 		if (result == 0) {
 			result = HASH_SEED;
-			result = 31 * result + dbm.hashCode();
+			result = 31 * result + getDbm().hashCode();
 			hashCode = result;
 		}
 		return result;
@@ -209,7 +285,7 @@ public final class ZoneState implements ExprState {
 			return true;
 		} else if (obj instanceof ZoneState) {
 			final ZoneState that = (ZoneState) obj;
-			return this.dbm.equals(that.dbm);
+			return this.getDbm().equals(that.getDbm());
 		} else {
 			return false;
 		}
@@ -217,13 +293,13 @@ public final class ZoneState implements ExprState {
 
 	@Override
 	public String toString() {
-		final Collection<ClockConstr> constrs = dbm.getConstrs();
+		final Collection<ClockConstr> constrs = getDbm().getConstrs();
 		if (constrs.isEmpty()) {
 			return "true";
 		} else {
 			final StringJoiner sj = new StringJoiner("\n");
 
-			dbm.getConstrs().forEach(c -> sj.add(c.toString()));
+			constrs.forEach(c -> sj.add(c.toString()));
 			return sj.toString();
 		}
 	}
@@ -240,11 +316,14 @@ public final class ZoneState implements ExprState {
 		////
 
 		private static Builder transform(final ZoneState state) {
+			if (state.compactDbm != null) {
+				return new Builder(DBM.expand(state.compactDbm));
+			}
 			return new Builder(DBM.copyOf(state.dbm));
 		}
 
 		private static Builder project(final ZoneState state, final Collection<? extends VarDecl<RatType>> clocks) {
-			return new Builder(DBM.project(state.dbm, clocks));
+			return new Builder(DBM.project(state.getDbm(), clocks));
 		}
 
 		////
@@ -304,6 +383,11 @@ public final class ZoneState implements ExprState {
 			dbm.norm(ceilings);
 			return this;
 		}
+
+		public Builder extrapolate(final BoundFunc boundFunction) {
+			dbm.extrapolate(boundFunction);
+			return this;
+		}
 	}
 
 }
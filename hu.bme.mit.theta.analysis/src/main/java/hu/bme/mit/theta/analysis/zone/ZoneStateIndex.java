@@ -0,0 +1,157 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.zone;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static hu.bme.mit.theta.analysis.zone.DiffBounds.Inf;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import hu.bme.mit.theta.analysis.reachedset.ReachedSetIndex;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.rattype.RatType;
+
+/**
+ * Index for elements with zones. A zone can only include an other one if its
+ * bounding box (the upper and lower bounds of the clocks) includes the bounding
+ * box of the other one, which is much cheaper to check than the inclusion of
+ * the zones. The zone of the indexed elements and the zone to be covered can be
+ * given by different mappings (e.g., interpolants and concrete zones). The
+ * bounding box of an element is calculated when it is added, so its zone may
+ * only get stronger afterwards. The candidates are returned in the order they
+ * were added.
+ */
+public final class ZoneStateIndex<T> implements ReachedSetIndex<T> {
+
+	private final Function<? super T, ? extends ZoneState> coveringMapping;
+	private final Function<? super T, ? extends ZoneState> coveredMapping;
+	private final List<T> elems;
+	private final List<BoundingBox> boxes;
+
+	private ZoneStateIndex(final Function<? super T, ? extends ZoneState> coveringMapping,
+			final Function<? super T, ? extends ZoneState> coveredMapping) {
+		this.coveringMapping = checkNotNull(coveringMapping);
+		this.coveredMapping = checkNotNull(coveredMapping);
+		elems = new ArrayList<>();
+		boxes = new ArrayList<>();
+	}
+
+	public static <T> ZoneStateIndex<T> create(final Function<? super T, ? extends ZoneState> mapping) {
+		return new ZoneStateIndex<>(mapping, mapping);
+	}
+
+	public static <T> ZoneStateIndex<T> create(final Function<? super T, ? extends ZoneState> coveringMapping,
+			final Function<? super T, ? extends ZoneState> coveredMapping) {
+		return new ZoneStateIndex<>(coveringMapping, coveredMapping);
+	}
+
+	public static <T> Supplier<ZoneStateIndex<T>> supplier(final Function<? super T, ? extends ZoneState> mapping) {
+		checkNotNull(mapping);
+		return () -> create(mapping);
+	}
+
+	public static <T> Supplier<ZoneStateIndex<T>> supplier(
+			final Function<? super T, ? extends ZoneState> coveringMapping,
+			final Function<? super T, ? extends ZoneState> coveredMapping) {
+		checkNotNull(coveringMapping);
+		checkNotNull(coveredMapping);
+		return () -> create(coveringMapping, coveredMapping);
+	}
+
+	@Override
+	public void add(final T elem) {
+		checkNotNull(elem);
+		elems.add(elem);
+		boxes.add(BoundingBox.of(coveringMapping.apply(elem)));
+	}
+
+	@Override
+	public Collection<T> getCandidates(final T elem) {
+		checkNotNull(elem);
+		final ZoneState zone = coveredMapping.apply(elem);
+		if (zone.isBottom()) {
+			return Collections.unmodifiableList(elems);
+		}
+
+		final List<T> result = new ArrayList<>();
+		for (int i = 0; i < elems.size(); i++) {
+			if (boxes.get(i).mayInclude(zone)) {
+				result.add(elems.get(i));
+			}
+		}
+		return result;
+	}
+
+	private static final class BoundingBox {
+		private static final BoundingBox UNBOUNDED = new BoundingBox(Collections.emptyList(), new int[0], new int[0]);
+
+		private final List<VarDecl<RatType>> vars;
+		private final int[] upperBounds;
+		private final int[] lowerBounds;
+
+		private BoundingBox(final List<VarDecl<RatType>> vars, final int[] upperBounds, final int[] lowerBounds) {
+			this.vars = vars;
+			this.upperBounds = upperBounds;
+			this.lowerBounds = lowerBounds;
+		}
+
+		public static BoundingBox of(final ZoneState zone) {
+			if (zone.isBottom()) {
+				// Let the inclusion check decide
+				return UNBOUNDED;
+			}
+
+			final List<VarDecl<RatType>> vars = new ArrayList<>();
+			final List<Integer> upperBounds = new ArrayList<>();
+			final List<Integer> lowerBounds = new ArrayList<>();
+			for (final VarDecl<RatType> var : zone.getVars()) {
+				if (var.equals(ZeroVar.getInstance())) {
+					continue;
+				}
+				final int upperBound = zone.getUpperBound(var);
+				final int lowerBound = zone.getLowerBound(var);
+				if (upperBound != Inf() || lowerBound != Inf()) {
+					vars.add(var);
+					upperBounds.add(upperBound);
+					lowerBounds.add(lowerBound);
+				}
+			}
+
+			if (vars.isEmpty()) {
+				return UNBOUNDED;
+			} else {
+				return new BoundingBox(vars, upperBounds.stream().mapToInt(b -> b).toArray(),
+						lowerBounds.stream().mapToInt(b -> b).toArray());
+			}
+		}
+
+		public boolean mayInclude(final ZoneState zone) {
+			for (int i = 0; i < vars.size(); i++) {
+				final VarDecl<RatType> var = vars.get(i);
+				if (zone.getUpperBound(var) > upperBounds[i] || zone.getLowerBound(var) > lowerBounds[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+}
@@ -35,6 +35,7 @@ import com.google.common.collect.Lists;
 
 import hu.bme.mit.theta.analysis.expr.ExprState;
 import hu.bme.mit.theta.analysis.zone.BoundFunc;
+import hu.bme.mit.theta.analysis.zone.ZoneInclusion;
 import hu.bme.mit.theta.analysis.zone.ZoneState;
 import hu.bme.mit.theta.core.decl.ParamDecl;
 import hu.bme.mit.theta.core.decl.VarDecl;
@@ -78,8 +79,12 @@ public final class LuZoneState implements ExprState {
 	}
 
 	public boolean isLeq(final LuZoneState that) {
+		return isLeq(that, ZoneInclusion.ALU);
+	}
+
+	public boolean isLeq(final LuZoneState that, final ZoneInclusion inclusion) {
 		return that.getBoundFunction().isLeq(this.getBoundFunction())
-				&& this.getZone().isLeq(that.getZone(), that.boundFunction);
+				&& inclusion.isLeq(this.getZone(), that.getZone(), that.boundFunction);
 	}
 
 	@Override
@@ -17,6 +17,7 @@ package hu.bme.mit.theta.analysis.algorithm;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
@@ -61,6 +62,8 @@ public class ArgPruningTest {
 		assertEquals(1, arg.getUnsafeNodes().count());
 		assertEquals(n001, arg.getUnsafeNodes().iterator().next());
 		assertEquals(2, n0.getCoveredNodes().count());
+		assertEquals(3, arg.getIncompleteNodes().count());
+		assertFalse(arg.isSafe());
 
 		System.out.println(GraphvizWriter.getInstance().writeString(ArgVisualizer.getDefault().visualize(arg)));
 		System.out.println("=========================");
@@ -73,8 +76,40 @@ public class ArgPruningTest {
 		assertEquals(1, arg.getInitNodes().count());
 		assertEquals(0, arg.getUnsafeNodes().count());
 		assertEquals(1, n0.coveredNodes.size());
+		assertEquals(2, arg.getIncompleteNodes().count());
+		assertTrue(arg.isSafe());
 		assertFalse(n02.getCoveringNode().isPresent());
 
 		System.out.println(GraphvizWriter.getInstance().writeString(ArgVisualizer.getDefault().visualize(arg)));
 	}
+
+	@Test
+	public void testCoverage() {
+		final ARG<State, Action> arg = ARG.create(new DomainStub());
+		final Action a = new ActionStub("A");
+
+		final ArgNode<State, Action> n0 = arg.createInitNode(new StateStub("0"), false);
+		arg.setExpanded(n0, true);
+		final ArgNode<State, Action> n00 = arg.createSuccNode(n0, a, new StateStub("00"), false);
+		final ArgNode<State, Action> n01 = arg.createSuccNode(n0, a, new StateStub("01"), false);
+		assertEquals(2, arg.getIncompleteNodes().count());
+
+		n01.cover(n00);
+		assertEquals(1, arg.getIncompleteNodes().count());
+		assertFalse(arg.isComplete());
+
+		arg.setExpanded(n00, true);
+		arg.initialized = true;
+		assertEquals(0, arg.getIncompleteNodes().count());
+		assertTrue(arg.isComplete());
+
+		n01.unsetCoveringNode();
+		assertEquals(1, arg.getIncompleteNodes().count());
+		assertEquals(n01, arg.getIncompleteNodes().iterator().next());
+
+		n01.cover(n00);
+		arg.prune(n00);
+		assertEquals(2, arg.getIncompleteNodes().count());
+		assertFalse(n01.isCovered());
+	}
 }
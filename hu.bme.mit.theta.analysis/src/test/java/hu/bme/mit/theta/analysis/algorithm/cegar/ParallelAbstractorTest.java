@@ -0,0 +1,192 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.algorithm.cegar;
+
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.Test;
+
+import hu.bme.mit.theta.analysis.Analysis;
+import hu.bme.mit.theta.analysis.Domain;
+import hu.bme.mit.theta.analysis.InitFunc;
+import hu.bme.mit.theta.analysis.LTS;
+import hu.bme.mit.theta.analysis.State;
+import hu.bme.mit.theta.analysis.TransFunc;
+import hu.bme.mit.theta.analysis.algorithm.ARG;
+import hu.bme.mit.theta.analysis.algorithm.ArgBuilder;
+import hu.bme.mit.theta.analysis.algorithm.ArgNode;
+import hu.bme.mit.theta.analysis.algorithm.ArgTrace;
+import hu.bme.mit.theta.analysis.stubs.ActionStub;
+import hu.bme.mit.theta.analysis.unit.UnitPrec;
+
+public class ParallelAbstractorTest {
+
+	private static final int MOD = 40;
+	private static final ActionStub ADD = new ActionStub("ADD");
+	private static final ActionStub DOUBLE = new ActionStub("DOUBLE");
+
+	/**
+	 * States are the numbers modulo 40, starting from 0, with the successors
+	 * x+2 and 2x. Only even numbers are reachable.
+	 */
+	private static final class NumState implements State {
+		private final int value;
+
+		private NumState(final int value) {
+			this.value = value;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			return obj instanceof NumState && ((NumState) obj).value == value;
+		}
+
+		@Override
+		public int hashCode() {
+			return value;
+		}
+
+		@Override
+		public String toString() {
+			return Integer.toString(value);
+		}
+	}
+
+	private static final class NumAnalysis implements Analysis<NumState, ActionStub, UnitPrec> {
+		@Override
+		public Domain<NumState> getDomain() {
+			return new Domain<NumState>() {
+				@Override
+				public boolean isTop(final NumState state) {
+					return false;
+				}
+
+				@Override
+				public boolean isBottom(final NumState state) {
+					return false;
+				}
+
+				@Override
+				public boolean isLeq(final NumState state1, final NumState state2) {
+					return state1.equals(state2);
+				}
+			};
+		}
+
+		@Override
+		public InitFunc<NumState, UnitPrec> getInitFunc() {
+			return prec -> Collections.singleton(new NumState(0));
+		}
+
+		@Override
+		public TransFunc<NumState, ActionStub, UnitPrec> getTransFunc() {
+			return (state, action, prec) -> Collections
+					.singleton(new NumState(action == ADD ? (state.value + 2) % MOD : (state.value * 2) % MOD));
+		}
+	}
+
+	private static final LTS<NumState, ActionStub> LTS = s -> Arrays.asList(ADD, DOUBLE);
+
+	private static ArgBuilder<NumState, ActionStub, UnitPrec> createArgBuilder(final int target) {
+		return ArgBuilder.create(LTS, new NumAnalysis(), s -> s.value == target);
+	}
+
+	private static Set<NumState> getUncoveredStates(final ARG<NumState, ActionStub> arg) {
+		return arg.getNodes().filter(n -> !n.isExcluded()).map(ArgNode::getState).collect(toSet());
+	}
+
+	private static boolean isFeasible(final ArgTrace<NumState, ActionStub> cex) {
+		final TransFunc<NumState, ActionStub, UnitPrec> transFunc = new NumAnalysis().getTransFunc();
+		for (int i = 0; i < cex.length(); i++) {
+			final NumState expected = transFunc
+					.getSuccStates(cex.node(i).getState(), cex.edge(i).getAction(), UnitPrec.getInstance()).iterator()
+					.next();
+			if (!expected.equals(cex.node(i + 1).getState())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Test
+	public void testSafe() {
+		final ArgBuilder<NumState, ActionStub, UnitPrec> argBuilder = createArgBuilder(7);
+		final Abstractor<NumState, ActionStub, UnitPrec> basic = BasicAbstractor.builder(argBuilder).build();
+		final ARG<NumState, ActionStub> basicArg = basic.createArg();
+		final AbstractorResult basicResult = basic.check(basicArg, UnitPrec.getInstance());
+		assertTrue(basicResult.isSafe());
+
+		for (final int threads : Arrays.asList(1, 2, 4)) {
+			for (final int batchSize : Arrays.asList(1, 3, 16)) {
+				final Abstractor<NumState, ActionStub, UnitPrec> parallel = ParallelAbstractor
+						.builder(argBuilder, () -> createArgBuilder(7)).threads(threads).batchSize(batchSize).build();
+				final ARG<NumState, ActionStub> parallelArg = parallel.createArg();
+				final AbstractorResult parallelResult = parallel.check(parallelArg, UnitPrec.getInstance());
+
+				assertTrue(parallelResult.isSafe());
+				assertTrue(parallelArg.isComplete());
+				assertEquals(MOD / 2, getUncoveredStates(parallelArg).size());
+				assertEquals(getUncoveredStates(basicArg), getUncoveredStates(parallelArg));
+			}
+		}
+	}
+
+	@Test
+	public void testUnsafe() {
+		final ArgBuilder<NumState, ActionStub, UnitPrec> argBuilder = createArgBuilder(18);
+		final Abstractor<NumState, ActionStub, UnitPrec> basic = BasicAbstractor.builder(argBuilder).build();
+		final ARG<NumState, ActionStub> basicArg = basic.createArg();
+		assertFalse(basic.check(basicArg, UnitPrec.getInstance()).isSafe());
+
+		for (final int threads : Arrays.asList(1, 2, 4)) {
+			final Abstractor<NumState, ActionStub, UnitPrec> parallel = ParallelAbstractor
+					.builder(argBuilder, () -> createArgBuilder(18)).threads(threads).build();
+			final ARG<NumState, ActionStub> parallelArg = parallel.createArg();
+			assertFalse(parallel.check(parallelArg, UnitPrec.getInstance()).isSafe());
+
+			assertTrue(parallelArg.getCexs().allMatch(ParallelAbstractorTest::isFeasible));
+			assertTrue(parallelArg.getCexs().allMatch(c -> c.node(c.length()).getState().value == 18));
+		}
+	}
+
+	@Test
+	public void testWorkerArgBuilders() {
+		final ArgBuilder<NumState, ActionStub, UnitPrec> argBuilder = createArgBuilder(7);
+		final Collection<ArgBuilder<NumState, ActionStub, UnitPrec>> workerArgBuilders = new ArrayList<>();
+		final Abstractor<NumState, ActionStub, UnitPrec> parallel = ParallelAbstractor.builder(argBuilder, () -> {
+			final ArgBuilder<NumState, ActionStub, UnitPrec> workerArgBuilder = createArgBuilder(7);
+			workerArgBuilders.add(workerArgBuilder);
+			return workerArgBuilder;
+		}).threads(3).build();
+
+		parallel.check(parallel.createArg(), UnitPrec.getInstance());
+		parallel.check(parallel.createArg(), UnitPrec.getInstance());
+
+		// Worker ArgBuilders are created at most once per thread and reused
+		assertEquals(3, workerArgBuilders.size());
+		assertFalse(workerArgBuilders.contains(argBuilder));
+	}
+
+}
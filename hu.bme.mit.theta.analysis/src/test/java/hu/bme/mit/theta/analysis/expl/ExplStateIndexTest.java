@@ -0,0 +1,70 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.expl;
+
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static java.util.function.Function.identity;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.model.BasicValuation;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+
+public class ExplStateIndexTest {
+
+	private final VarDecl<IntType> x = Var("x", Int());
+	private final VarDecl<IntType> y = Var("y", Int());
+
+	private final ExplState top = ExplState.createTop();
+	private final ExplState bottom = ExplState.createBottom();
+	private final ExplState x1 = ExplState.create(BasicValuation.builder().put(x, Int(1)).build());
+	private final ExplState x2 = ExplState.create(BasicValuation.builder().put(x, Int(2)).build());
+	private final ExplState y1 = ExplState.create(BasicValuation.builder().put(y, Int(1)).build());
+	private final ExplState x1y1 = ExplState.create(BasicValuation.builder().put(x, Int(1)).put(y, Int(1)).build());
+	private final ExplState x2y1 = ExplState.create(BasicValuation.builder().put(x, Int(2)).put(y, Int(1)).build());
+
+	private final Collection<ExplState> states = Arrays.asList(x1y1, x1, top, bottom, y1, x2, x2y1);
+
+	@Test
+	public void testCandidates() {
+		final ExplStateIndex<ExplState> index = ExplStateIndex.create(identity());
+		states.forEach(index::add);
+
+		Assert.assertEquals(Arrays.asList(x1y1, x1, top, y1), index.getCandidates(x1y1));
+		Assert.assertEquals(Arrays.asList(x1, top), index.getCandidates(x1));
+		Assert.assertEquals(Arrays.asList(top, y1, x2, x2y1), index.getCandidates(x2y1));
+		Assert.assertEquals(Arrays.asList(top), index.getCandidates(top));
+		Assert.assertEquals(states, index.getCandidates(bottom));
+	}
+
+	@Test
+	public void testCandidatesCoincideWithLeq() {
+		final ExplStateIndex<ExplState> index = ExplStateIndex.create(identity());
+		states.forEach(index::add);
+
+		for (final ExplState state : states) {
+			for (final ExplState candidate : states) {
+				Assert.assertEquals(state.isLeq(candidate), index.getCandidates(state).contains(candidate));
+			}
+		}
+	}
+}
@@ -125,4 +125,28 @@ public class ExplStmtTransFuncTest {
 		}
 
 	}
+
+	@Test
+	public void testDemotion() {
+		final ExplStmtTransFunc transFunc = ExplStmtTransFunc.create(solver, 2);
+		final ExplState sourceState = ExplState.createTop();
+		final ExplPrec prec = ExplPrec.create(ImmutableSet.of(x, y));
+		final List<Stmt> stmts = new ArrayList<>();
+		stmts.add(Assume(BoolExprs.And(Leq(Int(0), x.getRef()), Leq(x.getRef(), Int(2)))));
+		stmts.add(Assume(Eq(y.getRef(), Int(1))));
+
+		final Collection<? extends ExplState> succStates = transFunc.getSuccStates(sourceState, stmts, prec);
+
+		Assert.assertEquals(1, succStates.size());
+		final ExplState expectedState = ExplState.create(BasicValuation.builder().put(y, Int(1)).build());
+		Assert.assertEquals(expectedState, Utils.singleElementOf(succStates));
+
+		// Demotion is local to the previous call, x is enumerated again
+		final List<Stmt> stmts2 = Collections.singletonList(Assume(Eq(x.getRef(), Int(1))));
+		final Collection<? extends ExplState> succStates2 = transFunc.getSuccStates(sourceState, stmts2, prec);
+
+		Assert.assertEquals(1, succStates2.size());
+		final ExplState expectedState2 = ExplState.create(BasicValuation.builder().put(x, Int(1)).build());
+		Assert.assertEquals(expectedState2, Utils.singleElementOf(succStates2));
+	}
 }
@@ -0,0 +1,111 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.pred;
+
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Add;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Eq;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Lt;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import hu.bme.mit.theta.core.utils.VarIndexing;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.z3.Z3SolverFactory;
+
+public class PredAbstractorsTest {
+
+	private final VarDecl<IntType> x = Var("x", Int());
+	private final VarDecl<IntType> y = Var("y", Int());
+
+	private final Expr<BoolType> p1 = Lt(x.getRef(), Int(5));
+	private final Expr<BoolType> p2 = Lt(y.getRef(), Int(5));
+	private final Expr<BoolType> p3 = Eq(x.getRef(), y.getRef());
+
+	private final Expr<BoolType> expr = And(Lt(x.getRef(), Int(10)), Eq(y.getRef(), Add(x.getRef(), Int(1))));
+
+	private final Solver solver = Z3SolverFactory.getInstace().createSolver();
+	private final PredPrec prec = SimplePredPrec.create(Arrays.asList(p1, p2, p3), solver);
+
+	@Test
+	public void testBooleanAbstractor() {
+		final Collection<PredState> states = PredAbstractors.booleanAbstractor(solver).createStatesForExpr(expr, 0,
+				prec, VarIndexing.all(0));
+
+		final Collection<PredState> expected = ImmutableSet.of(PredState.of(p1, p2, Not(p3)),
+				PredState.of(p1, Not(p2), Not(p3)), PredState.of(Not(p1), Not(p2), Not(p3)));
+		Assert.assertEquals(expected, new HashSet<>(states));
+		Assert.assertEquals(expected.size(), states.size());
+	}
+
+	@Test
+	public void testBooleanAbstractorAgreesWithSplit() {
+		final Collection<PredState> booleanStates = PredAbstractors.booleanAbstractor(solver)
+				.createStatesForExpr(expr, 0, prec, VarIndexing.all(0));
+		final Collection<PredState> splitStates = PredAbstractors.booleanSplitAbstractor(solver)
+				.createStatesForExpr(expr, 0, prec, VarIndexing.all(0));
+
+		Assert.assertEquals(new HashSet<>(splitStates), new HashSet<>(booleanStates));
+	}
+
+	@Test
+	public void testSeparateBooleanAbstractors() {
+		final PredAbstractors.PredAbstractor abstractor1 = PredAbstractors.booleanAbstractor(solver);
+		final PredAbstractors.PredAbstractor abstractor2 = PredAbstractors.booleanAbstractor(solver);
+		final PredPrec prec1 = SimplePredPrec.create(Arrays.asList(p1, p2), solver);
+
+		final Collection<PredState> states1 = abstractor1.createStatesForExpr(expr, 0, prec1, VarIndexing.all(0));
+		final Collection<PredState> states2 = abstractor2.createStatesForExpr(expr, 0, prec, VarIndexing.all(0));
+		final Collection<PredState> states3 = abstractor1.createStatesForExpr(expr, 0, prec, VarIndexing.all(0));
+
+		Assert.assertEquals(ImmutableSet.of(PredState.of(p1, p2), PredState.of(p1, Not(p2)),
+				PredState.of(Not(p1), Not(p2))), new HashSet<>(states1));
+		Assert.assertEquals(new HashSet<>(states2), new HashSet<>(states3));
+		Assert.assertEquals(3, states3.size());
+	}
+
+	@Test
+	public void testCartesianAbstractor() {
+		final Collection<PredState> states = PredAbstractors.cartesianAbstractor(solver).createStatesForExpr(expr, 0,
+				prec, VarIndexing.all(0));
+
+		Assert.assertEquals(Collections.singletonList(PredState.of(Not(p3))), states);
+	}
+
+	@Test
+	public void testUnsat() {
+		final Expr<BoolType> unsat = And(p1, Not(p1));
+		Assert.assertTrue(PredAbstractors.booleanAbstractor(solver)
+				.createStatesForExpr(unsat, 0, prec, VarIndexing.all(0)).isEmpty());
+		Assert.assertTrue(PredAbstractors.cartesianAbstractor(solver)
+				.createStatesForExpr(unsat, 0, prec, VarIndexing.all(0)).isEmpty());
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.pred;
+
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Or;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import hu.bme.mit.theta.analysis.reachedset.LinearIndex;
+import hu.bme.mit.theta.analysis.reachedset.ReachedSetIndex;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.solver.z3.Z3SolverFactory;
+
+public class PredStateIndexTest {
+
+	private final VarDecl<BoolType> a = Var("a", Bool());
+	private final VarDecl<BoolType> b = Var("b", Bool());
+	private final VarDecl<BoolType> c = Var("c", Bool());
+
+	private final List<Expr<BoolType>> preds = Arrays.asList(a.getRef(), b.getRef(), c.getRef(),
+			Or(a.getRef(), b.getRef()), And(b.getRef(), c.getRef()));
+
+	private final PredDomain domain = PredDomain.create(Z3SolverFactory.getInstace().createSolver());
+
+	private List<PredState> createStates(final int count, final long seed) {
+		final Random random = new Random(seed);
+		final List<PredState> states = new ArrayList<>();
+		states.add(PredState.of());
+		while (states.size() < count) {
+			final List<Expr<BoolType>> statePreds = new ArrayList<>();
+			for (final Expr<BoolType> pred : preds) {
+				switch (random.nextInt(3)) {
+				case 0:
+					statePreds.add(pred);
+					break;
+				case 1:
+					statePreds.add(Not(pred));
+					break;
+				default:
+					break;
+				}
+			}
+			final PredState state = PredState.of(statePreds);
+			// The index only has to be exact for consistent states
+			if (!domain.isBottom(state)) {
+				states.add(state);
+			}
+		}
+		return states;
+	}
+
+	private List<PredState> getCovering(final ReachedSetIndex<PredState> index, final PredState state) {
+		return index.getCandidates(state).stream().filter(s -> domain.isLeq(state, s)).collect(toList());
+	}
+
+	@Test
+	public void testSameCoveringCandidatesAsLinearIndex() {
+		final List<PredState> states = createStates(60, 0);
+		final LinearIndex<PredState> linearIndex = LinearIndex.create();
+		final PredStateIndex<PredState> predIndex = PredStateIndex.create(identity());
+		states.forEach(linearIndex::add);
+		states.forEach(predIndex::add);
+
+		int pruned = 0;
+		for (final PredState state : states) {
+			// Same covering states in the same order, so covering picks the same one
+			assertEquals(getCovering(linearIndex, state), getCovering(predIndex, state));
+			pruned += states.size() - predIndex.getCandidates(state).size();
+		}
+		assertTrue(pruned > 0);
+	}
+
+	@Test
+	public void testCandidates() {
+		final PredState sa = PredState.of(a.getRef());
+		final PredState sna = PredState.of(Not(a.getRef()));
+		final PredState sab = PredState.of(a.getRef(), b.getRef());
+		final PredState snb = PredState.of(Not(b.getRef()));
+		final PredState top = PredState.of();
+
+		final PredStateIndex<PredState> index = PredStateIndex.create(identity());
+		Arrays.asList(sa, sna, sab, snb, top).forEach(index::add);
+
+		assertEquals(Arrays.asList(sa, sab, snb, top), new ArrayList<>(index.getCandidates(sa)));
+		assertEquals(Arrays.asList(sna, snb, top), new ArrayList<>(index.getCandidates(sna)));
+		assertEquals(Arrays.asList(sa, sab, top), new ArrayList<>(index.getCandidates(sab)));
+		assertEquals(Arrays.asList(sa, sna, sab, snb, top), new ArrayList<>(index.getCandidates(top)));
+	}
+
+}
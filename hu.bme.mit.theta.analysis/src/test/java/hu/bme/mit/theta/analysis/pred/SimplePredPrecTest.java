@@ -32,6 +32,9 @@ import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
 import hu.bme.mit.theta.core.type.inttype.IntType;
 import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.SolverPool;
+import hu.bme.mit.theta.solver.impl.SolverPoolImpl;
+import hu.bme.mit.theta.solver.utils.WithLease;
 import hu.bme.mit.theta.solver.z3.Z3SolverFactory;
 
 public class SimplePredPrecTest {
@@ -82,4 +85,32 @@ public class SimplePredPrecTest {
 		Assert.assertNotEquals(p0, p2);
 		Assert.assertEquals(p1, p2);
 	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void testSolver() {
+		final SimplePredPrec p1 = SimplePredPrec.create(Collections.singleton(pred), solver);
+		final SimplePredPrec p2 = p1.join(SimplePredPrec.create(Collections.singleton(Not(pred)), solver));
+		Assert.assertSame(solver, p1.getSolver());
+		Assert.assertSame(solver, p2.getSolver());
+
+		final SimplePredPrec p3 = SimplePredPrec.create(Collections.singleton(pred), SolverPoolImpl.of(solver));
+		try {
+			p3.getSolver();
+			Assert.fail();
+		} catch (final IllegalStateException e) {
+			// Precision has no single solver
+		}
+	}
+
+	@Test
+	public void testReentrantLease() {
+		final SolverPool<Solver> pool = SolverPoolImpl.of(solver);
+		final PredPrec prec = SimplePredPrec.create(Collections.singleton(pred), pool);
+		try (WithLease<Solver> lease = new WithLease<>(pool)) {
+			// The predicate is undecided, so the precision leases the solver again
+			final PredState state = prec.createState(BasicValuation.builder().put(y, Int(0)).build());
+			Assert.assertEquals(Collections.emptySet(), state.getPreds());
+		}
+	}
 }
@@ -0,0 +1,161 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.zone;
+
+import static hu.bme.mit.theta.core.clock.constr.ClockConstrs.Geq;
+import static hu.bme.mit.theta.core.clock.constr.ClockConstrs.Leq;
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.rattype.RatExprs.Rat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.rattype.RatType;
+
+public class DbmTest {
+
+	private final VarDecl<RatType> x = Var("x", Rat());
+	private final VarDecl<RatType> y = Var("y", Rat());
+
+	@Test
+	public void testSignatureInterning() {
+		assertSame(DbmSignature.over(Arrays.asList(x, y)), DbmSignature.over(Arrays.asList(x, y)));
+		final DbmSignature signature = DbmSignature.over(Arrays.asList(x, y));
+		assertSame(signature, DbmSignature.union(signature, DbmSignature.over(Collections.singleton(y))));
+	}
+
+	@Test
+	public void testAlignedAndUnalignedAgree() {
+		final DBM dbm1 = DBM.top(Arrays.asList(x, y));
+		dbm1.and(Leq(x, 5));
+		dbm1.and(Geq(y, 3));
+
+		final DBM dbm2 = DBM.top(Arrays.asList(x, y));
+		dbm2.and(Leq(x, 7));
+
+		final DBM dbm3 = DBM.top(Arrays.asList(y, x));
+		dbm3.and(Leq(x, 7));
+
+		assertTrue(dbm1.isLeq(dbm2));
+		assertTrue(dbm1.isLeq(dbm3));
+		assertFalse(dbm2.isLeq(dbm1));
+		assertFalse(dbm3.isLeq(dbm1));
+		assertTrue(dbm1.getRelation(dbm2).isLeq());
+		assertFalse(dbm1.getRelation(dbm2).isGeq());
+
+		final DBM aligned = DBM.intersection(dbm2, DBM.top(Arrays.asList(x, y)));
+		final DBM unaligned = DBM.intersection(dbm3, DBM.top(Arrays.asList(x, y)));
+		assertTrue(aligned.getRelation(unaligned).isLeq());
+		assertTrue(aligned.getRelation(unaligned).isGeq());
+	}
+
+	@Test
+	public void testCompact() {
+		final DBM dbm1 = DBM.top(Arrays.asList(x, y));
+		dbm1.and(Leq(x, 5));
+		dbm1.and(Geq(y, 3));
+		dbm1.and(Leq(y, x, -1));
+
+		final DBM dbm2 = DBM.top(Arrays.asList(x, y));
+		dbm2.and(Leq(x, 4));
+		dbm2.and(Geq(y, 3));
+
+		final CompactDbm compact1 = dbm1.compact();
+		final DBM expanded = DBM.expand(compact1);
+		assertTrue(expanded.getRelation(dbm1).isLeq());
+		assertTrue(expanded.getRelation(dbm1).isGeq());
+
+		assertTrue(dbm2.isLeq(dbm1) == dbm2.isLeq(compact1));
+		assertTrue(dbm1.isLeq(compact1));
+		assertFalse(DBM.top(Arrays.asList(y, x)).isLeq(compact1));
+		assertTrue(DBM.bottom(Arrays.asList(x, y)).isLeq(compact1));
+		assertFalse(DBM.expand(DBM.bottom(Arrays.asList(x, y)).compact()).isConsistent());
+	}
+
+	@Test
+	public void testProject() {
+		final VarDecl<RatType> z = Var("z", Rat());
+
+		final DBM dbm = DBM.top(Arrays.asList(x, y));
+		dbm.and(Leq(x, 5));
+		dbm.and(Leq(y, x, -1));
+
+		final DBM projected = DBM.project(dbm, Arrays.asList(y, z));
+		assertEquals(DiffBounds.Leq(4), projected.getUpperBound(y));
+		assertEquals(DiffBounds.Inf(), projected.getUpperBound(z));
+
+		final DBM extended = DBM.project(projected, Arrays.asList(x, y, z));
+		assertTrue(dbm.isLeq(extended));
+		assertFalse(extended.isLeq(dbm));
+
+		final DBM bottom = DBM.bottom(Arrays.asList(x, y));
+		assertFalse(DBM.project(bottom, Collections.singleton(y)).isConsistent());
+	}
+
+	@Test
+	public void testRename() {
+		final DBM dbm = DBM.top(Arrays.asList(x, y));
+		dbm.and(Leq(x, 5));
+		dbm.and(Geq(y, 3));
+
+		final Map<VarDecl<RatType>, VarDecl<RatType>> renaming = ImmutableMap.of(x, y, y, x);
+		final DBM renamed = DBM.rename(dbm, renaming);
+		assertEquals(DiffBounds.Leq(5), renamed.getUpperBound(y));
+		assertEquals(DiffBounds.Leq(-3), renamed.getLowerBound(x));
+		assertTrue(dbm.isLeq(DBM.rename(renamed, renaming)));
+		assertFalse(dbm.isLeq(renamed));
+	}
+
+	@Test
+	public void testExtrapolate() {
+		final DBM dbm = DBM.top(Arrays.asList(x, y));
+		dbm.and(Geq(x, 7));
+		dbm.and(Leq(x, 9));
+		dbm.and(Leq(y, 2));
+
+		final BoundFunc bound = BoundFunc.builder().add(Geq(x, 3)).add(Leq(x, 5)).add(Geq(y, 4)).build();
+		final DBM extrapolated = DBM.copyOf(dbm);
+		extrapolated.extrapolate(bound);
+
+		assertEquals(DiffBounds.Lt(-5), extrapolated.getLowerBound(x));
+		assertEquals(DiffBounds.Inf(), extrapolated.getUpperBound(x));
+		assertEquals(DiffBounds.Leq(2), extrapolated.getUpperBound(y));
+		assertTrue(dbm.isLeq(extrapolated));
+		assertFalse(extrapolated.isLeq(dbm));
+		assertTrue(extrapolated.isLeq(dbm, bound));
+	}
+
+	@Test
+	public void testIntersectionInconsistent() {
+		final DBM dbm1 = DBM.top(Arrays.asList(x, y));
+		dbm1.and(Leq(x, 2));
+		final DBM dbm2 = DBM.top(Arrays.asList(x, y));
+		dbm2.and(Geq(x, 3));
+		assertFalse(DBM.intersection(dbm1, dbm2).isConsistent());
+		assertTrue(DBM.intersection(dbm1, dbm1).isConsistent());
+	}
+
+}
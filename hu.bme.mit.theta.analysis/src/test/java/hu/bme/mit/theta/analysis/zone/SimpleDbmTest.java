@@ -0,0 +1,92 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.zone;
+
+import static hu.bme.mit.theta.analysis.zone.DiffBounds.Inf;
+import static hu.bme.mit.theta.analysis.zone.DiffBounds.Leq;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class SimpleDbmTest {
+
+	@Test
+	public void testAndKeepsCanonicalForm() {
+		final int[][] bounds = { { Leq(0), Leq(0), Leq(0), Leq(0), Leq(0) }, { Inf(), Leq(0), Inf(), Inf(), Inf() },
+				{ Inf(), Inf(), Leq(0), Inf(), Inf() }, { Inf(), Leq(0), Leq(0), Leq(0), Inf() },
+				{ Leq(0), Leq(0), Leq(0), Leq(0), Leq(0) } };
+		final SimpleDbm dbm = new SimpleDbm(5, (x, y) -> bounds[x][y]);
+		dbm.close();
+
+		dbm.and(4, 3, Leq(-4));
+
+		assertTrue(dbm.isConsistent());
+		assertTrue(dbm.isClosed());
+		assertEquals(Leq(-4), dbm.get(0, 1));
+	}
+
+	@Test
+	public void testIncrementalClose() {
+		final SimpleDbm dbm = new SimpleDbm(4, SimpleDbm::defaultBound);
+		dbm.close();
+		dbm.set(1, 0, Leq(5));
+		dbm.set(2, 1, Leq(-2));
+		dbm.close();
+
+		final SimpleDbm reference = new SimpleDbm(4, dbm::get);
+		reference.close();
+
+		assertTrue(dbm.isClosed());
+		for (int x = 0; x < 4; x++) {
+			for (int y = 0; y < 4; y++) {
+				assertEquals(reference.get(x, y), dbm.get(x, y));
+			}
+		}
+	}
+
+	@Test
+	public void testNormWithoutChange() {
+		final SimpleDbm dbm = new SimpleDbm(3, SimpleDbm::defaultBound);
+		dbm.and(1, 0, Leq(2));
+		dbm.and(0, 2, Leq(-1));
+
+		dbm.norm(new int[] { 0, 5, 5 });
+
+		assertEquals(Leq(2), dbm.get(1, 0));
+		assertEquals(Leq(-1), dbm.get(0, 2));
+		assertTrue(dbm.isClosed());
+	}
+
+	@Test
+	public void testIntersection() {
+		final SimpleDbm dbm1 = new SimpleDbm(3, SimpleDbm::defaultBound);
+		dbm1.and(1, 0, Leq(2));
+		final SimpleDbm dbm2 = new SimpleDbm(3, SimpleDbm::defaultBound);
+		dbm2.and(2, 1, Leq(-3));
+
+		final SimpleDbm dbm = SimpleDbm.intersection(dbm1, dbm2);
+
+		assertTrue(dbm.isConsistent());
+		assertTrue(dbm.isClosed());
+		assertEquals(Leq(-1), dbm.get(2, 0));
+
+		dbm2.and(0, 1, Leq(-3));
+		assertFalse(SimpleDbm.intersection(dbm1, dbm2).isConsistent());
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.zone;
+
+import static hu.bme.mit.theta.core.clock.constr.ClockConstrs.Geq;
+import static hu.bme.mit.theta.core.clock.constr.ClockConstrs.Leq;
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.rattype.RatExprs.Rat;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import hu.bme.mit.theta.analysis.reachedset.LinearIndex;
+import hu.bme.mit.theta.analysis.reachedset.ReachedSetIndex;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.rattype.RatType;
+
+public class ZoneStateIndexTest {
+
+	private final VarDecl<RatType> x = Var("x", Rat());
+	private final VarDecl<RatType> y = Var("y", Rat());
+	private final VarDecl<RatType> z = Var("z", Rat());
+	private final List<VarDecl<RatType>> clocks = Arrays.asList(x, y, z);
+
+	private List<ZoneState> createZones(final int count, final long seed) {
+		final Random random = new Random(seed);
+		final List<ZoneState> zones = new ArrayList<>();
+		zones.add(ZoneState.top());
+		zones.add(ZoneState.bottom());
+		while (zones.size() < count) {
+			final ZoneState.Builder builder = ZoneState.zero(clocks).transform();
+			for (int i = 0; i < 3; i++) {
+				final VarDecl<RatType> clock = clocks.get(random.nextInt(clocks.size()));
+				final VarDecl<RatType> other = clocks.get(random.nextInt(clocks.size()));
+				switch (random.nextInt(5)) {
+				case 0:
+					builder.up();
+					break;
+				case 1:
+					builder.reset(clock, random.nextInt(3));
+					break;
+				case 2:
+					builder.and(Leq(clock, random.nextInt(6)));
+					break;
+				case 3:
+					builder.and(Geq(clock, random.nextInt(6)));
+					break;
+				default:
+					if (clock != other) {
+						builder.and(Leq(clock, other, random.nextInt(5) - 2));
+					}
+					break;
+				}
+			}
+			builder.up();
+			final ZoneState zone = builder.build();
+			zones.add(random.nextBoolean() ? zone : zone.compact());
+		}
+		return zones;
+	}
+
+	private static List<ZoneState> getCovering(final ReachedSetIndex<ZoneState> index, final ZoneState zone) {
+		final Collection<ZoneState> candidates = index.getCandidates(zone);
+		return candidates.stream().filter(zone::isLeq).collect(toList());
+	}
+
+	@Test
+	public void testSameCoveringCandidatesAsLinearIndex() {
+		final List<ZoneState> zones = createZones(200, 0);
+		final LinearIndex<ZoneState> linearIndex = LinearIndex.create();
+		final ZoneStateIndex<ZoneState> zoneIndex = ZoneStateIndex.create(identity());
+		zones.forEach(linearIndex::add);
+		zones.forEach(zoneIndex::add);
+
+		int pruned = 0;
+		for (final ZoneState zone : zones) {
+			// Same covering zones in the same order, so covering picks the same one
+			assertEquals(getCovering(linearIndex, zone), getCovering(zoneIndex, zone));
+			pruned += zones.size() - zoneIndex.getCandidates(zone).size();
+		}
+		assertTrue(pruned > 0);
+	}
+
+	@Test
+	public void testBottomIsCoveredByAll() {
+		final List<ZoneState> zones = createZones(20, 1);
+		final ZoneStateIndex<ZoneState> zoneIndex = ZoneStateIndex.create(identity());
+		zones.forEach(zoneIndex::add);
+
+		assertEquals(zones, new ArrayList<>(zoneIndex.getCandidates(ZoneState.bottom())));
+	}
+
+}
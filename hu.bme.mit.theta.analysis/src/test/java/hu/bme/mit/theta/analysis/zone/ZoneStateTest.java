@@ -0,0 +1,82 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.analysis.zone;
+
+import static hu.bme.mit.theta.core.clock.constr.ClockConstrs.Geq;
+import static hu.bme.mit.theta.core.clock.constr.ClockConstrs.Leq;
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.rattype.RatExprs.Rat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.rattype.RatType;
+
+public class ZoneStateTest {
+
+	private final VarDecl<RatType> x = Var("x", Rat());
+	private final VarDecl<RatType> y = Var("y", Rat());
+
+	private final List<ZoneState> zones = Arrays.asList(ZoneState.top(), ZoneState.bottom(),
+			ZoneState.zero(Arrays.asList(x, y)), ZoneState.zero(Arrays.asList(x, y)).transform().up().build(),
+			ZoneState.zero(Arrays.asList(x, y)).transform().up().and(Leq(x, 3)).build(),
+			ZoneState.zero(Arrays.asList(x, y)).transform().up().and(Geq(x, 2)).reset(y, 0).up().build(),
+			ZoneState.zero(Arrays.asList(x, y)).transform().up().and(Leq(x, y, 1)).and(Leq(y, 4)).build());
+
+	private final BoundFunc boundFunc = BoundFunc.builder().add(Leq(x, 2)).add(Geq(y, 1)).build();
+
+	@Test
+	public void testCompactBehavesAsExpanded() {
+		for (final ZoneState zone1 : zones) {
+			final ZoneState compact1 = zone1.compact();
+			// Repeated operations on the compact zone give the same results
+			for (int i = 0; i < 2; i++) {
+				assertTrue(zone1.isLeq(compact1));
+				assertTrue(compact1.isLeq(zone1));
+				assertEquals(zone1.toString(), compact1.toString());
+				assertEquals(zone1.isTop(), compact1.isTop());
+				assertEquals(zone1.isBottom(), compact1.isBottom());
+			}
+			for (final ZoneState zone2 : zones) {
+				final ZoneState compact2 = zone2.compact();
+				assertEquals(zone1.isLeq(zone2), compact1.isLeq(compact2));
+				assertEquals(zone1.isLeq(zone2, Collections.singleton(x)),
+						compact1.isLeq(compact2, Collections.singleton(x)));
+				assertEquals(zone1.isLeq(zone2, boundFunc), compact1.isLeq(compact2, boundFunc));
+				assertEquals(zone1.isConsistentWith(zone2), compact1.isConsistentWith(compact2));
+				assertEquals(ZoneState.intersection(zone1, zone2).toString(),
+						ZoneState.intersection(compact1, compact2).toString());
+			}
+		}
+	}
+
+	@Test
+	public void testCompactTransform() {
+		final ZoneState zone = zones.get(4);
+		final ZoneState compact = zone.compact();
+		// Transforming the expanded form must not change the compact zone
+		final ZoneState reset = compact.transform().reset(x, 0).build();
+		assertEquals(zone.transform().reset(x, 0).build().toString(), reset.toString());
+		assertEquals(zone.toString(), compact.toString());
+	}
+
+}
@@ -0,0 +1,194 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.stmt.Stmts.Assign;
+import static hu.bme.mit.theta.core.stmt.Stmts.Assume;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Add;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Lt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+
+import hu.bme.mit.theta.analysis.LTS;
+import hu.bme.mit.theta.analysis.algorithm.ARG;
+import hu.bme.mit.theta.analysis.algorithm.ArgBuilder;
+import hu.bme.mit.theta.analysis.algorithm.ArgNode;
+import hu.bme.mit.theta.analysis.expl.ExplPrec;
+import hu.bme.mit.theta.analysis.expl.ExplState;
+import hu.bme.mit.theta.analysis.expl.ExplStmtAnalysis;
+import hu.bme.mit.theta.analysis.expr.StmtAction;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.model.BasicValuation;
+import hu.bme.mit.theta.core.model.Model;
+import hu.bme.mit.theta.core.stmt.Stmt;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.SolverStatus;
+
+/**
+ * Benchmark for building an ARG with {@link ArgBuilder#expand} over the
+ * explicit domain. The actions are concrete, so the solver is never called:
+ * a stub solver is used to measure the overhead of the analysis itself.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArgBuilderBenchmark {
+
+	@Param({ "6", "10" })
+	public int depth;
+
+	private ArgBuilder<ExplState, StmtAction, ExplPrec> argBuilder;
+	private ExplPrec prec;
+	private ExplState initState;
+
+	@Setup
+	public void setup() {
+		final VarDecl<IntType> x = Var("x", Int());
+		final VarDecl<IntType> y = Var("y", Int());
+
+		final StmtAction incX = new BasicStmtAction(Assume(Lt(x.getRef(), Int(100))),
+				Assign(x, Add(x.getRef(), Int(1))));
+		final StmtAction addXToY = new BasicStmtAction(Assume(Lt(y.getRef(), Int(100))),
+				Assign(y, Add(y.getRef(), x.getRef())));
+		final Collection<StmtAction> actions = ImmutableList.of(incX, addXToY);
+		final LTS<ExplState, StmtAction> lts = s -> actions;
+
+		argBuilder = ArgBuilder.create(lts, ExplStmtAnalysis.create(new StubSolver(), True(), 0), s -> false);
+		prec = ExplPrec.create(Arrays.asList(x, y));
+		initState = ExplState.create(BasicValuation.builder().put(x, Int(0)).put(y, Int(0)).build());
+	}
+
+	@Benchmark
+	public ARG<ExplState, StmtAction> expand() {
+		final ARG<ExplState, StmtAction> arg = argBuilder.createArg();
+		List<ArgNode<ExplState, StmtAction>> nodes = ImmutableList.of(arg.createInitNode(initState, false));
+		for (int i = 0; i < depth; i++) {
+			final List<ArgNode<ExplState, StmtAction>> succNodes = new ArrayList<>();
+			for (final ArgNode<ExplState, StmtAction> node : nodes) {
+				succNodes.addAll(argBuilder.expand(node, prec));
+			}
+			nodes = succNodes;
+		}
+		return arg;
+	}
+
+	private static final class BasicStmtAction extends StmtAction {
+		private final List<Stmt> stmts;
+
+		private BasicStmtAction(final Stmt... stmts) {
+			this.stmts = ImmutableList.copyOf(stmts);
+		}
+
+		@Override
+		public List<Stmt> getStmts() {
+			return stmts;
+		}
+	}
+
+	private static final class StubSolver implements Solver {
+		@Override
+		public void add(final Expr<BoolType> assertion) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void track(final Expr<BoolType> assertion) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public SolverStatus check() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void push() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void pop(final int n) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void reset() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public SolverStatus getStatus() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Model getModel() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Collection<Expr<BoolType>> getUnsatCore() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Collection<Expr<BoolType>> getAssertions() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void interrupt() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+}
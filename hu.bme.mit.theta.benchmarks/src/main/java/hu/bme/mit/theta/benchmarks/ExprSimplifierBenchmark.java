@@ -0,0 +1,97 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Or;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Add;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Eq;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Leq;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Mul;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Sub;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.model.BasicValuation;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import hu.bme.mit.theta.core.utils.ExprUtils;
+
+/**
+ * Benchmarks for simplifying expressions with full, partial and empty
+ * valuations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExprSimplifierBenchmark {
+
+	private Expr<BoolType> expr;
+	private Valuation fullVal;
+	private Valuation partialVal;
+	private Valuation emptyVal;
+
+	@Setup
+	public void setup() {
+		final VarDecl<IntType> x = Var("x", Int());
+		final VarDecl<IntType> y = Var("y", Int());
+		final VarDecl<IntType> z = Var("z", Int());
+
+		expr = And(Leq(x.getRef(), Add(y.getRef(), Int(1), Mul(Int(2), Int(3)))),
+				Or(Eq(Mul(x.getRef(), Int(2)), y.getRef()), Not(Eq(z.getRef(), Sub(Int(5), Int(2))))),
+				Leq(Add(x.getRef(), y.getRef(), z.getRef()), Int(10)));
+
+		fullVal = BasicValuation.builder().put(x, Int(1)).put(y, Int(2)).put(z, Int(3)).build();
+		partialVal = BasicValuation.builder().put(x, Int(1)).build();
+		emptyVal = BasicValuation.empty();
+	}
+
+	@Benchmark
+	public Expr<BoolType> simplifyFull() {
+		return ExprUtils.simplify(expr, fullVal);
+	}
+
+	@Benchmark
+	public Expr<BoolType> simplifyPartial() {
+		return ExprUtils.simplify(expr, partialVal);
+	}
+
+	@Benchmark
+	public Expr<BoolType> simplifyEmpty() {
+		return ExprUtils.simplify(expr, emptyVal);
+	}
+
+}
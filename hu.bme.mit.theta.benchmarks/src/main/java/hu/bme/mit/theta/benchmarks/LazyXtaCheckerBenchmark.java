@@ -0,0 +1,74 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.analysis.unit.UnitPrec;
+import hu.bme.mit.theta.formalism.xta.XtaSystem;
+import hu.bme.mit.theta.formalism.xta.dsl.XtaDslManager;
+import hu.bme.mit.theta.formalism.xta.tool.XtaCheckerBuilder;
+import hu.bme.mit.theta.formalism.xta.tool.XtaCheckerBuilder.Algorithm;
+import hu.bme.mit.theta.formalism.xta.tool.XtaCheckerBuilder.Search;
+
+/**
+ * End-to-end benchmark of the lazy abstraction algorithms for timed automata
+ * on the bundled models.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LazyXtaCheckerBenchmark {
+
+	@Param({ "fischer-2-32-64", "csma-2", "fddi-2", "critical-2-25-50" })
+	public String model;
+
+	@Param({ "LU", "BINITP", "SEQITP" })
+	public Algorithm algorithm;
+
+	private XtaSystem system;
+
+	@Setup
+	public void setup() throws IOException {
+		try (InputStream inputStream = getClass().getResourceAsStream("/" + model + ".xta")) {
+			system = XtaDslManager.createSystem(inputStream);
+		}
+	}
+
+	@Benchmark
+	public SafetyResult<?, ?> check() {
+		return XtaCheckerBuilder.build(algorithm, Search.BFS, system).check(UnitPrec.getInstance());
+	}
+
+}
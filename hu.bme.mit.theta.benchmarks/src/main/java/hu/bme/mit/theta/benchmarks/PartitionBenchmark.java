@@ -0,0 +1,87 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hu.bme.mit.theta.analysis.reachedset.Partition;
+
+/**
+ * Benchmarks for filling and querying a {@link Partition}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartitionBenchmark {
+
+	@Param({ "1000", "100000" })
+	public int nElems;
+
+	@Param({ "10", "1000" })
+	public int nClasses;
+
+	private List<Integer> elems;
+	private Partition<Integer, Integer> partition;
+	private int next;
+
+	@Setup
+	public void setup() {
+		elems = new ArrayList<>(nElems);
+		for (int i = 0; i < nElems; i++) {
+			elems.add(i);
+		}
+		partition = Partition.of(this::project);
+		partition.addAll(elems);
+		next = 0;
+	}
+
+	private Integer project(final Integer elem) {
+		return elem % nClasses;
+	}
+
+	@Benchmark
+	public Collection<Integer> get() {
+		next = (next + 1) % nElems;
+		return partition.get(elems.get(next));
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public Partition<Integer, Integer> addAll() {
+		final Partition<Integer, Integer> result = Partition.of(this::project);
+		result.addAll(elems);
+		return result;
+	}
+
+}
@@ -0,0 +1,104 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.utils.VarIndexing;
+
+/**
+ * Benchmarks for the arithmetic of {@link VarIndexing}s.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VarIndexingBenchmark {
+
+	@Param({ "4", "32" })
+	public int nVars;
+
+	private VarDecl<?> var;
+	private VarIndexing indexing1;
+	private VarIndexing indexing2;
+
+	@Setup
+	public void setup() {
+		final List<VarDecl<?>> vars = new ArrayList<>();
+		for (int i = 0; i < nVars; i++) {
+			vars.add(Var("v" + i, Int()));
+		}
+		var = vars.get(0);
+
+		// The second indexing is not greater than the first for any variable
+		final VarIndexing.Builder builder1 = VarIndexing.builder(5);
+		final VarIndexing.Builder builder2 = VarIndexing.builder(0);
+		for (int i = 0; i < nVars; i++) {
+			builder1.inc(vars.get(i), i % 3);
+			if (i % 2 == 0) {
+				builder2.inc(vars.get(i), i % 5);
+			}
+		}
+		indexing1 = builder1.build();
+		indexing2 = builder2.build();
+	}
+
+	@Benchmark
+	public VarIndexing inc() {
+		return indexing1.inc(var);
+	}
+
+	@Benchmark
+	public VarIndexing add() {
+		return indexing1.add(indexing2);
+	}
+
+	@Benchmark
+	public VarIndexing sub() {
+		return indexing1.sub(indexing2);
+	}
+
+	@Benchmark
+	public VarIndexing join() {
+		return indexing1.join(indexing2);
+	}
+
+	@Benchmark
+	public int get() {
+		return indexing1.get(var);
+	}
+
+}
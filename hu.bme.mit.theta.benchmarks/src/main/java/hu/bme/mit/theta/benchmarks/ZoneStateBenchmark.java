@@ -0,0 +1,96 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.rattype.RatExprs.Rat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hu.bme.mit.theta.analysis.zone.ZoneState;
+import hu.bme.mit.theta.core.clock.constr.ClockConstrs;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.rattype.RatType;
+
+/**
+ * Benchmarks for the inclusion check and the intersection of
+ * {@link ZoneState}s.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZoneStateBenchmark {
+
+	@Param({ "4", "8", "16" })
+	public int nClocks;
+
+	private ZoneState smaller;
+	private ZoneState larger;
+	private ZoneState other;
+
+	@Setup
+	public void setup() {
+		final List<VarDecl<RatType>> clocks = new ArrayList<>();
+		for (int i = 0; i < nClocks; i++) {
+			clocks.add(Var("c" + i, Rat()));
+		}
+
+		final ZoneState.Builder smallerBuilder = ZoneState.top().transform();
+		final ZoneState.Builder otherBuilder = ZoneState.top().transform();
+		for (int i = 0; i < nClocks; i++) {
+			final VarDecl<RatType> clock = clocks.get(i);
+			smallerBuilder.and(ClockConstrs.Leq(clock, 10 * (i + 1)));
+			smallerBuilder.and(ClockConstrs.Geq(clock, i));
+			otherBuilder.and(ClockConstrs.Geq(clock, 5 * i));
+		}
+		smaller = smallerBuilder.build();
+		other = otherBuilder.build();
+		larger = smaller.transform().up().build();
+	}
+
+	@Benchmark
+	public boolean isLeq() {
+		return smaller.isLeq(larger);
+	}
+
+	@Benchmark
+	public boolean isNotLeq() {
+		return larger.isLeq(smaller);
+	}
+
+	@Benchmark
+	public ZoneState intersection() {
+		return ZoneState.intersection(smaller, other);
+	}
+
+}
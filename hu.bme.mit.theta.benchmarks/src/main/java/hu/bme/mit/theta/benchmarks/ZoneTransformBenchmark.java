@@ -0,0 +1,107 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.benchmarks;
+
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.rattype.RatExprs.Rat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import hu.bme.mit.theta.analysis.zone.ZoneState;
+import hu.bme.mit.theta.core.clock.constr.ClockConstrs;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.rattype.RatType;
+
+/**
+ * Benchmarks for the operations of {@link ZoneState.Builder}. Each operation
+ * is performed on a fresh copy of a closed zone, the cost of copying is
+ * measured by {@link #copy()}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZoneTransformBenchmark {
+
+	@Param({ "4", "8", "16" })
+	public int nClocks;
+
+	private List<VarDecl<RatType>> clocks;
+	private ZoneState zone;
+	private Map<VarDecl<RatType>, Integer> ceilings;
+
+	@Setup
+	public void setup() {
+		clocks = new ArrayList<>();
+		for (int i = 1; i <= nClocks; i++) {
+			clocks.add(Var("c" + i, Rat()));
+		}
+
+		final ZoneState.Builder builder = ZoneState.top().transform();
+		ceilings = new HashMap<>();
+		for (int i = 1; i <= nClocks; i++) {
+			final VarDecl<RatType> clock = clocks.get(i - 1);
+			builder.and(ClockConstrs.Leq(clock, 10 * i));
+			builder.and(ClockConstrs.Geq(clock, i));
+			ceilings.put(clock, 5 * i);
+		}
+		zone = builder.build();
+	}
+
+	@Benchmark
+	public ZoneState copy() {
+		return zone.transform().build();
+	}
+
+	@Benchmark
+	public ZoneState up() {
+		return zone.transform().up().build();
+	}
+
+	@Benchmark
+	public ZoneState and() {
+		return zone.transform().and(ClockConstrs.Leq(clocks.get(0), clocks.get(nClocks - 1), 3)).build();
+	}
+
+	@Benchmark
+	public ZoneState norm() {
+		return zone.transform().up().norm(ceilings).build();
+	}
+
+	@Benchmark
+	public ZoneState reset() {
+		return zone.transform().reset(clocks.get(0), 0).build();
+	}
+
+}
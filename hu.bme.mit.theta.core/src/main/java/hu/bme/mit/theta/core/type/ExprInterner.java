@@ -0,0 +1,92 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.core.type;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collections;
+import java.util.Set;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.collect.MapMaker;
+
+/**
+ * Opt-in interning (hash-consing) of expressions. If enabled, the factory
+ * methods of expressions return a single instance for structurally equal
+ * expressions, so equal expressions can be compared by reference and share
+ * their cached hash codes. Instances are stored in a weak, thread-safe table,
+ * so unused expressions can still be garbage collected. Interning should be
+ * enabled before creating the expressions (e.g., at the start of a tool),
+ * because expressions created earlier are not affected. Interned and
+ * non-interned instances may still be mixed: canonical instances are tracked
+ * by identity, and two different canonical instances are known to be unequal
+ * without comparing their structure.
+ */
+public final class ExprInterner {
+
+	private static final Interner<Expr<?>> INTERNER = Interners.newWeakInterner();
+	// Weak keys are compared by identity
+	private static final Set<Expr<?>> CANONICALS = Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+
+	private static volatile boolean hasCanonicals = false;
+
+	private static volatile boolean enabled = false;
+
+	private ExprInterner() {
+	}
+
+	public static void enable() {
+		enabled = true;
+	}
+
+	public static void disable() {
+		enabled = false;
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Get the canonical instance of an expression if interning is enabled, or
+	 * the expression itself otherwise.
+	 */
+	public static <E extends Expr<?>> E intern(final E expr) {
+		checkNotNull(expr);
+		if (enabled) {
+			@SuppressWarnings("unchecked")
+			final E result = (E) INTERNER.intern(expr);
+			if (result == expr) {
+				CANONICALS.add(expr);
+				hasCanonicals = true;
+			}
+			return result;
+		} else {
+			return expr;
+		}
+	}
+
+	/**
+	 * Check if an expression and an object are different canonical instances,
+	 * which implies that they are not equal. This can be used as a fast path
+	 * in equals before comparing the structure.
+	 */
+	public static boolean areDistinct(final Expr<?> expr, final Object obj) {
+		return hasCanonicals && expr != obj && CANONICALS.contains(expr) && CANONICALS.contains(obj);
+	}
+
+}
@@ -19,6 +19,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 import hu.bme.mit.theta.core.decl.Decl;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.Type;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
 
@@ -33,11 +34,11 @@ public final class Exprs {
 
 	public static <ExprType extends Type> IteExpr<ExprType> Ite(final Expr<BoolType> cond, final Expr<ExprType> then,
 			final Expr<ExprType> elze) {
-		return new IteExpr<>(cond, then, elze);
+		return ExprInterner.intern(new IteExpr<>(cond, then, elze));
 	}
 
 	public static <ExprType extends Type> PrimeExpr<ExprType> Prime(final Expr<ExprType> op) {
-		return new PrimeExpr<>(op);
+		return ExprInterner.intern(new PrimeExpr<>(op));
 	}
 
 	/*
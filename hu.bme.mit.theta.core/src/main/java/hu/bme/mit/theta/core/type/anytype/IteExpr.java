@@ -26,6 +26,7 @@ import com.google.common.collect.ImmutableList;
 import hu.bme.mit.theta.common.Utils;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.Type;
 import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
@@ -102,7 +103,7 @@ public final class IteExpr<ExprType extends Type> implements Expr<ExprType> {
 		if (this.cond == cond && this.then == then && this.elze == elze) {
 			return this;
 		} else {
-			return new IteExpr<>(cond, then, elze);
+			return ExprInterner.intern(new IteExpr<>(cond, then, elze));
 		}
 	}
 
@@ -135,6 +136,8 @@ public final class IteExpr<ExprType extends Type> implements Expr<ExprType> {
 	public boolean equals(final Object obj) {
 		if (this == obj) {
 			return true;
+		} else if (ExprInterner.areDistinct(this, obj)) {
+			return false;
 		} else if (obj instanceof IteExpr) {
 			final IteExpr<?> that = (IteExpr<?>) obj;
 			return this.getCond().equals(that.getCond()) && this.getThen().equals(that.getThen())
@@ -17,6 +17,7 @@ package hu.bme.mit.theta.core.type.anytype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.Type;
 import hu.bme.mit.theta.core.type.UnaryExpr;
@@ -46,7 +47,7 @@ public final class PrimeExpr<ExprType extends Type> extends UnaryExpr<ExprType,
 		if (op == getOp()) {
 			return this;
 		} else {
-			return new PrimeExpr<>(op);
+			return ExprInterner.intern(new PrimeExpr<>(op));
 		}
 	}
 
@@ -54,6 +55,8 @@ public final class PrimeExpr<ExprType extends Type> extends UnaryExpr<ExprType,
 	public boolean equals(final Object obj) {
 		if (this == obj) {
 			return true;
+		} else if (ExprInterner.areDistinct(this, obj)) {
+			return false;
 		} else if (obj instanceof PrimeExpr) {
 			final PrimeExpr<?> that = (PrimeExpr<?>) obj;
 			return this.getOp().equals(that.getOp());
@@ -16,6 +16,7 @@
 package hu.bme.mit.theta.core.type.arraytype;
 
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.Type;
 
 public final class ArrayExprs {
@@ -30,12 +31,12 @@ public final class ArrayExprs {
 
 	public static <IndexType extends Type, ElemType extends Type> ArrayReadExpr<IndexType, ElemType> Read(
 			final Expr<ArrayType<IndexType, ElemType>> array, final Expr<IndexType> index) {
-		return new ArrayReadExpr<>(array, index);
+		return ExprInterner.intern(new ArrayReadExpr<>(array, index));
 	}
 
 	public static <IndexType extends Type, ElemType extends Type> ArrayWriteExpr<IndexType, ElemType> Write(
 			final Expr<ArrayType<IndexType, ElemType>> array, final Expr<IndexType> index, final Expr<ElemType> elem) {
-		return new ArrayWriteExpr<>(array, index, elem);
+		return ExprInterner.intern(new ArrayWriteExpr<>(array, index, elem));
 	}
 
 }
@@ -18,6 +18,7 @@ package hu.bme.mit.theta.core.type.booltype;
 import hu.bme.mit.theta.core.decl.ParamDecl;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 
 public final class ForallExpr extends QuantifiedExpr {
@@ -40,7 +41,7 @@ public final class ForallExpr extends QuantifiedExpr {
 		if (op == getOp()) {
 			return this;
 		} else {
-			return new ForallExpr(getParamDecls(), op);
+			return ExprInterner.intern(new ForallExpr(getParamDecls(), op));
 		}
 	}
 
@@ -48,6 +49,8 @@ public final class ForallExpr extends QuantifiedExpr {
 	public boolean equals(final Object obj) {
 		if (this == obj) {
 			return true;
+		} else if (ExprInterner.areDistinct(this, obj)) {
+			return false;
 		} else if (obj instanceof ForallExpr) {
 			final ForallExpr that = (ForallExpr) obj;
 			return this.getParamDecls().equals(that.getParamDecls()) && this.getOp().equals(that.getOp());
@@ -19,6 +19,7 @@ import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.EqExpr;
 
 public final class IffExpr extends EqExpr<BoolType> {
@@ -48,7 +49,7 @@ public final class IffExpr extends EqExpr<BoolType> {
 		if (leftOp == getLeftOp() && rightOp == getRightOp()) {
 			return this;
 		} else {
-			return new IffExpr(leftOp, rightOp);
+			return ExprInterner.intern(new IffExpr(leftOp, rightOp));
 		}
 	}
 
@@ -66,6 +67,8 @@ public final class IffExpr extends EqExpr<BoolType> {
 	public boolean equals(final Object obj) {
 		if (this == obj) {
 			return true;
+		} else if (ExprInterner.areDistinct(this, obj)) {
+			return false;
 		} else if (obj instanceof IffExpr) {
 			final IffExpr that = (IffExpr) obj;
 			return this.getLeftOp().equals(that.getLeftOp()) && this.getRightOp().equals(that.getRightOp());
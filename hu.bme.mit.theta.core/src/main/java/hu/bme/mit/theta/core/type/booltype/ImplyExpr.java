@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.BinaryExpr;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 
 public final class ImplyExpr extends BinaryExpr<BoolType, BoolType> {
 
@@ -48,7 +49,7 @@ public final class ImplyExpr extends BinaryExpr<BoolType, BoolType> {
 		if (leftOp == getLeftOp() && rightOp == getRightOp()) {
 			return this;
 		} else {
-			return new ImplyExpr(leftOp, rightOp);
+			return ExprInterner.intern(new ImplyExpr(leftOp, rightOp));
 		}
 	}
 
@@ -66,6 +67,8 @@ public final class ImplyExpr extends BinaryExpr<BoolType, BoolType> {
 	public boolean equals(final Object obj) {
 		if (this == obj) {
 			return true;
+		} else if (ExprInterner.areDistinct(this, obj)) {
+			return false;
 		} else if (obj instanceof ImplyExpr) {
 			final ImplyExpr that = (ImplyExpr) obj;
 			return this.getLeftOp().equals(that.getLeftOp()) && this.getRightOp().equals(that.getRightOp());
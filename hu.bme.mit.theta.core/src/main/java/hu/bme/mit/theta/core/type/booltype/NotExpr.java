@@ -19,6 +19,7 @@ import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.UnaryExpr;
 
 public final class NotExpr extends UnaryExpr<BoolType, BoolType> {
@@ -47,7 +48,7 @@ public final class NotExpr extends UnaryExpr<BoolType, BoolType> {
 		if (op == getOp()) {
 			return this;
 		} else {
-			return new NotExpr(op);
+			return ExprInterner.intern(new NotExpr(op));
 		}
 	}
 
@@ -55,6 +56,8 @@ public final class NotExpr extends UnaryExpr<BoolType, BoolType> {
 	public boolean equals(final Object obj) {
 		if (this == obj) {
 			return true;
+		} else if (ExprInterner.areDistinct(this, obj)) {
+			return false;
 		} else if (obj instanceof NotExpr) {
 			final NotExpr that = (NotExpr) obj;
 			return this.getOp().equals(that.getOp());
@@ -19,6 +19,7 @@ import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.AddExpr;
 
 public final class IntAddExpr extends AddExpr<IntType> {
@@ -50,7 +51,7 @@ public final class IntAddExpr extends AddExpr<IntType> {
 		if (ops == getOps()) {
 			return this;
 		} else {
-			return new IntAddExpr(ops);
+			return ExprInterner.intern(new IntAddExpr(ops));
 		}
 	}
 
@@ -58,6 +59,8 @@ public final class IntAddExpr extends AddExpr<IntType> {
 	public boolean equals(final Object obj) {
 		if (this == obj) {
 			return true;
+		} else if (ExprInterner.areDistinct(this, obj)) {
+			return false;
 		} else if (obj instanceof IntAddExpr) {
 			final IntAddExpr that = (IntAddExpr) obj;
 			return this.getOps().equals(that.getOps());
@@ -20,6 +20,7 @@ import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
 import static hu.bme.mit.theta.core.type.rattype.RatExprs.Rat;
 
 import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.NullaryExpr;
 import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
@@ -55,19 +56,19 @@ public final class IntLitExpr extends NullaryExpr<IntType> implements LitExpr<In
 	}
 
 	public IntLitExpr add(final IntLitExpr that) {
-		return new IntLitExpr(this.value + that.value);
+		return ExprInterner.intern(new IntLitExpr(this.value + that.value));
 	}
 
 	public IntLitExpr sub(final IntLitExpr that) {
-		return new IntLitExpr(this.value - that.value);
+		return ExprInterner.intern(new IntLitExpr(this.value - that.value));
 	}
 
 	public IntLitExpr neg() {
-		return new IntLitExpr(-this.value);
+		return ExprInterner.intern(new IntLitExpr(-this.value));
 	}
 
 	public IntLitExpr div(final IntLitExpr that) {
-		return new IntLitExpr(this.value / that.value);
+		return ExprInterner.intern(new IntLitExpr(this.value / that.value));
 	}
 
 	public IntLitExpr mod(final IntLitExpr that) {
@@ -81,7 +82,7 @@ public final class IntLitExpr extends NullaryExpr<IntType> implements LitExpr<In
 			result += Math.abs(that.value);
 		}
 		assert result >= 0;
-		return new IntLitExpr(result);
+		return ExprInterner.intern(new IntLitExpr(result));
 	}
 
 	public IntLitExpr rem(final IntLitExpr that) {
@@ -97,17 +98,17 @@ public final class IntLitExpr extends NullaryExpr<IntType> implements LitExpr<In
 			if (result != 0) {
 				result -= thatAbs;
 			}
-			return new IntLitExpr(result);
+			return ExprInterner.intern(new IntLitExpr(result));
 		} else if (this.value >= 0 && that.value < 0) {
-			return new IntLitExpr(-(thisAbs % thatAbs));
+			return ExprInterner.intern(new IntLitExpr(-(thisAbs % thatAbs)));
 		} else if (this.value < 0 && that.value >= 0) {
 			int result = thisAbs % thatAbs;
 			if (result != 0) {
 				result = thatAbs - result;
 			}
-			return new IntLitExpr(result);
+			return ExprInterner.intern(new IntLitExpr(result));
 		} else {
-			return new IntLitExpr(this.value % that.value);
+			return ExprInterner.intern(new IntLitExpr(this.value % that.value));
 		}
 	}
 
@@ -150,6 +151,8 @@ public final class IntLitExpr extends NullaryExpr<IntType> implements LitExpr<In
 	public boolean equals(final Object obj) {
 		if (this == obj) {
 			return true;
+		} else if (ExprInterner.areDistinct(this, obj)) {
+			return false;
 		} else if (obj instanceof IntLitExpr) {
 			final IntLitExpr that = (IntLitExpr) obj;
 			return this.getValue() == that.getValue();
@@ -17,6 +17,7 @@ package hu.bme.mit.theta.core.type.pointertype;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.Type;
 import hu.bme.mit.theta.core.type.UnaryExpr;
@@ -46,7 +47,7 @@ public class DerefExpr<PointedType extends Type> extends UnaryExpr<PointerType<P
 		if (op == getOp()) {
 			return this;
 		} else {
-			return new DerefExpr<>(op);
+			return ExprInterner.intern(new DerefExpr<>(op));
 		}
 	}
 
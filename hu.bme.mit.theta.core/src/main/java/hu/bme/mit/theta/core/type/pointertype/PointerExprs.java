@@ -18,6 +18,7 @@ package hu.bme.mit.theta.core.type.pointertype;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.Type;
 
 public final class PointerExprs {
@@ -35,11 +36,11 @@ public final class PointerExprs {
 	}
 
 	public static <PointedType extends Type> NewExpr<PointedType> New(final PointedType pointedType) {
-		return new NewExpr<>(pointedType);
+		return ExprInterner.intern(new NewExpr<>(pointedType));
 	}
 
 	public static <PointedType extends Type> DerefExpr<PointedType> Deref(final Expr<PointerType<PointedType>> op) {
-		return new DerefExpr<>(op);
+		return ExprInterner.intern(new DerefExpr<>(op));
 	}
 
 }
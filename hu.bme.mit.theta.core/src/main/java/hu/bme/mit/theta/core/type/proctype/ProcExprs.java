@@ -19,6 +19,7 @@ import java.util.List;
 
 import hu.bme.mit.theta.core.decl.ParamDecl;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.Type;
 
 public final class ProcExprs {
@@ -38,7 +39,7 @@ public final class ProcExprs {
 
 	public static <ReturnType extends Type> ProcCallExpr<ReturnType> Call(final Expr<ProcType<ReturnType>> proc,
 			final Iterable<? extends Expr<?>> params) {
-		return new ProcCallExpr<>(proc, params);
+		return ExprInterner.intern(new ProcCallExpr<>(proc, params));
 	}
 
 }
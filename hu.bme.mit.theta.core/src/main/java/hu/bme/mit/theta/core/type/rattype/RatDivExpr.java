@@ -19,6 +19,7 @@ import static hu.bme.mit.theta.core.type.rattype.RatExprs.Rat;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.DivExpr;
 
 public final class RatDivExpr extends DivExpr<RatType> {
@@ -48,7 +49,7 @@ public final class RatDivExpr extends DivExpr<RatType> {
 		if (leftOp == getLeftOp() && rightOp == getRightOp()) {
 			return this;
 		} else {
-			return new RatDivExpr(leftOp, rightOp);
+			return ExprInterner.intern(new RatDivExpr(leftOp, rightOp));
 		}
 	}
 
@@ -66,6 +67,8 @@ public final class RatDivExpr extends DivExpr<RatType> {
 	public boolean equals(final Object obj) {
 		if (this == obj) {
 			return true;
+		} else if (ExprInterner.areDistinct(this, obj)) {
+			return false;
 		} else if (obj instanceof RatDivExpr) {
 			final RatDivExpr that = (RatDivExpr) obj;
 			return this.getLeftOp().equals(that.getLeftOp()) && this.getRightOp().equals(that.getRightOp());
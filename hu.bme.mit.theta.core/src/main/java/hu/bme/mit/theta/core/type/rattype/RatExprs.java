@@ -18,6 +18,7 @@ package hu.bme.mit.theta.core.type.rattype;
 import com.google.common.collect.ImmutableList;
 
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 
 public final class RatExprs {
 
@@ -29,51 +30,51 @@ public final class RatExprs {
 	}
 
 	public static RatLitExpr Rat(final int num, final int denom) {
-		return new RatLitExpr(num, denom);
+		return ExprInterner.intern(new RatLitExpr(num, denom));
 	}
 
 	public static RatAddExpr Add(final Iterable<? extends Expr<RatType>> ops) {
-		return new RatAddExpr(ops);
+		return ExprInterner.intern(new RatAddExpr(ops));
 	}
 
 	public static RatSubExpr Sub(final Expr<RatType> leftOp, final Expr<RatType> rightOp) {
-		return new RatSubExpr(leftOp, rightOp);
+		return ExprInterner.intern(new RatSubExpr(leftOp, rightOp));
 	}
 
 	public static RatNegExpr Neg(final Expr<RatType> op) {
-		return new RatNegExpr(op);
+		return ExprInterner.intern(new RatNegExpr(op));
 	}
 
 	public static RatMulExpr Mul(final Iterable<? extends Expr<RatType>> ops) {
-		return new RatMulExpr(ops);
+		return ExprInterner.intern(new RatMulExpr(ops));
 	}
 
 	public static RatDivExpr Div(final Expr<RatType> leftOp, final Expr<RatType> rightOp) {
-		return new RatDivExpr(leftOp, rightOp);
+		return ExprInterner.intern(new RatDivExpr(leftOp, rightOp));
 	}
 
 	public static RatEqExpr Eq(final Expr<RatType> leftOp, final Expr<RatType> rightOp) {
-		return new RatEqExpr(leftOp, rightOp);
+		return ExprInterner.intern(new RatEqExpr(leftOp, rightOp));
 	}
 
 	public static RatNeqExpr Neq(final Expr<RatType> leftOp, final Expr<RatType> rightOp) {
-		return new RatNeqExpr(leftOp, rightOp);
+		return ExprInterner.intern(new RatNeqExpr(leftOp, rightOp));
 	}
 
 	public static RatLtExpr Lt(final Expr<RatType> leftOp, final Expr<RatType> rightOp) {
-		return new RatLtExpr(leftOp, rightOp);
+		return ExprInterner.intern(new RatLtExpr(leftOp, rightOp));
 	}
 
 	public static RatLeqExpr Leq(final Expr<RatType> leftOp, final Expr<RatType> rightOp) {
-		return new RatLeqExpr(leftOp, rightOp);
+		return ExprInterner.intern(new RatLeqExpr(leftOp, rightOp));
 	}
 
 	public static RatGtExpr Gt(final Expr<RatType> leftOp, final Expr<RatType> rightOp) {
-		return new RatGtExpr(leftOp, rightOp);
+		return ExprInterner.intern(new RatGtExpr(leftOp, rightOp));
 	}
 
 	public static RatGeqExpr Geq(final Expr<RatType> leftOp, final Expr<RatType> rightOp) {
-		return new RatGeqExpr(leftOp, rightOp);
+		return ExprInterner.intern(new RatGeqExpr(leftOp, rightOp));
 	}
 
 	/*
@@ -19,6 +19,7 @@ import static hu.bme.mit.theta.core.type.rattype.RatExprs.Rat;
 
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.abstracttype.SubExpr;
 
 public final class RatSubExpr extends SubExpr<RatType> {
@@ -47,7 +48,7 @@ public final class RatSubExpr extends SubExpr<RatType> {
 		if (leftOp == getLeftOp() && rightOp == getRightOp()) {
 			return this;
 		} else {
-			return new RatSubExpr(leftOp, rightOp);
+			return ExprInterner.intern(new RatSubExpr(leftOp, rightOp));
 		}
 	}
 
@@ -65,6 +66,8 @@ public final class RatSubExpr extends SubExpr<RatType> {
 	public boolean equals(final Object obj) {
 		if (this == obj) {
 			return true;
+		} else if (ExprInterner.areDistinct(this, obj)) {
+			return false;
 		} else if (obj instanceof RatSubExpr) {
 			final RatSubExpr that = (RatSubExpr) obj;
 			return this.getLeftOp().equals(that.getLeftOp()) && this.getRightOp().equals(that.getRightOp());
@@ -0,0 +1,79 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.core.expr;
+
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Add;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Eq;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+
+public class ExprInternerTest {
+
+	private final VarDecl<IntType> x = Var("x", Int());
+
+	@After
+	public void after() {
+		ExprInterner.disable();
+	}
+
+	@Test
+	public void testDisabled() {
+		final Expr<BoolType> expr1 = Not(Eq(x.getRef(), Int(1)));
+		final Expr<BoolType> expr2 = Not(Eq(x.getRef(), Int(1)));
+		Assert.assertEquals(expr1, expr2);
+		Assert.assertNotSame(expr1, expr2);
+	}
+
+	@Test
+	public void testEnabled() {
+		ExprInterner.enable();
+		final Expr<BoolType> expr1 = And(Not(Eq(x.getRef(), Int(1))), Eq(Add(x.getRef(), Int(2)), Int(3)));
+		final Expr<BoolType> expr2 = And(Not(Eq(x.getRef(), Int(1))), Eq(Add(x.getRef(), Int(2)), Int(3)));
+		Assert.assertSame(expr1, expr2);
+		Assert.assertSame(expr1.getOps().get(0), expr2.getOps().get(0));
+		Assert.assertNotSame(expr1, Not(Eq(x.getRef(), Int(1))));
+	}
+
+	@Test
+	public void testDistinct() {
+		final Expr<BoolType> plain = Not(Eq(x.getRef(), Int(1)));
+		ExprInterner.enable();
+		final Expr<BoolType> expr1 = Not(Eq(x.getRef(), Int(1)));
+		final Expr<BoolType> expr2 = Not(Eq(x.getRef(), Int(2)));
+
+		Assert.assertTrue(ExprInterner.areDistinct(expr1, expr2));
+		Assert.assertNotEquals(expr1, expr2);
+		Assert.assertFalse(ExprInterner.areDistinct(expr1, expr1));
+
+		// Interned and non-interned instances can be mixed
+		Assert.assertFalse(ExprInterner.areDistinct(expr1, plain));
+		Assert.assertEquals(expr1, plain);
+		Assert.assertEquals(plain, expr1);
+	}
+
+}
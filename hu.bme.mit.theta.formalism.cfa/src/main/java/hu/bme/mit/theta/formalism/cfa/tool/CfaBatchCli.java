@@ -0,0 +1,299 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.formalism.cfa.tool;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.ParameterException;
+
+import hu.bme.mit.theta.common.table.TableWriter;
+import hu.bme.mit.theta.common.table.impl.SimpleTableWriter;
+import hu.bme.mit.theta.core.type.ExprInterner;
+import hu.bme.mit.theta.solver.SolverFactory;
+import hu.bme.mit.theta.solver.impl.ScopedSolverFactory;
+import hu.bme.mit.theta.solver.z3.Z3SolverFactory;
+
+/**
+ * A command line interface for running a batch of CEGAR configurations on CFAs
+ * in a single JVM. Each line of the manifest contains the arguments of
+ * {@link CfaCli} for a task, empty lines and lines starting with '#' are
+ * skipped. Tasks are run in benchmark mode and their rows are printed as soon
+ * as they finish, prefixed by the manifest line of the task. Tasks that fail
+ * or time out get a row as well, and the batch continues with the next task.
+ * Options that affect the whole process (e.g., interning) are options of the
+ * batch and are not allowed in the tasks. The solvers of a task are
+ * interrupted when it times out and closed when it terminates, as their
+ * native memory is not visible to the memory guard.
+ */
+public class CfaBatchCli {
+	private static final String JAR_NAME = "theta-cfa-batch.jar";
+	private final String[] args;
+	private final PrintStream out;
+	private final BiFunction<String[], TableWriter, CfaCli> cliFactory;
+	private final SolverFactory solverFactory;
+
+	@Parameter(names = { "--manifest" }, description = "Path of the manifest", required = true)
+	String manifest;
+
+	@Parameter(names = { "--jobs" }, description = "Number of tasks running in parallel")
+	Integer jobs = Runtime.getRuntime().availableProcessors();
+
+	@Parameter(names = { "--timeout" }, description = "Time limit of a task in seconds (0 for no limit)")
+	Integer timeout = 0;
+
+	@Parameter(names = { "--memguard" }, description = "Heap usage (percent) above which new tasks are held back")
+	Integer memGuard = 90;
+
+	@Parameter(names = { "--interning" }, description = "Intern expressions (global for all tasks of the batch)")
+	Boolean interning = false;
+
+	// Tasks that were started and did not terminate yet (including timed out ones)
+	private final AtomicInteger running;
+	// Released each time a task terminates
+	private final Semaphore terminated;
+
+	public CfaBatchCli(final String[] args) {
+		this(args, System.out, CfaCli::new, Z3SolverFactory.getInstace());
+	}
+
+	CfaBatchCli(final String[] args, final PrintStream out,
+			final BiFunction<String[], TableWriter, CfaCli> cliFactory, final SolverFactory solverFactory) {
+		this.args = args;
+		this.out = out;
+		this.cliFactory = cliFactory;
+		this.solverFactory = solverFactory;
+		running = new AtomicInteger(0);
+		terminated = new Semaphore(0);
+	}
+
+	public static void main(final String[] args) {
+		final CfaBatchCli mainApp = new CfaBatchCli(args);
+		mainApp.run();
+	}
+
+	void run() {
+		try {
+			JCommander.newBuilder().addObject(this).programName(JAR_NAME).build().parse(args);
+		} catch (final ParameterException ex) {
+			out.println(ex.getMessage());
+			ex.usage();
+			return;
+		}
+
+		final List<String> tasks = new ArrayList<>();
+		try {
+			for (final String line : Files.readAllLines(Paths.get(manifest))) {
+				final String task = line.trim();
+				if (!task.isEmpty() && !task.startsWith("#")) {
+					tasks.add(task);
+				}
+			}
+		} catch (final IOException ex) {
+			out.println("Cannot read manifest: " + ex.getMessage());
+			return;
+		}
+
+		printHeader();
+
+		if (interning) {
+			// Interning is global, so it can only be enabled for the whole batch
+			ExprInterner.enable();
+		}
+
+		// Timed out tasks are interrupted, but they may not stop immediately, so
+		// they keep their slot until they terminate. Threads are daemons to let
+		// the JVM exit even if such a task never terminates.
+		final Semaphore slots = new Semaphore(jobs);
+		final CountDownLatch reported = new CountDownLatch(tasks.size());
+		final ExecutorService workers = Executors.newFixedThreadPool(jobs, daemonThreadFactory());
+		final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory());
+		try {
+			for (final String task : tasks) {
+				final Task batchTask = new Task(task, reported);
+				if (batchTask.parse()) {
+					slots.acquire();
+					awaitMemory();
+					running.incrementAndGet();
+					final Future<?> future = workers.submit(() -> {
+						try {
+							batchTask.run();
+						} finally {
+							running.decrementAndGet();
+							slots.release();
+							terminated.release();
+						}
+					});
+					if (timeout > 0) {
+						timer.schedule(() -> batchTask.timeOut(future), timeout, TimeUnit.SECONDS);
+					}
+				}
+			}
+			reported.await();
+		} catch (final InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		} finally {
+			timer.shutdownNow();
+			workers.shutdownNow();
+		}
+	}
+
+	private void printHeader() {
+		final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		final TableWriter writer = createWriter(buffer);
+		writer.cell("Task");
+		cliFactory.apply(new String[] { "--header" }, writer).run();
+		print(buffer);
+	}
+
+	/**
+	 * Wait until the heap usage is below the limit or no task is running.
+	 * Memory can only be freed by tasks that terminate, so the heap usage is
+	 * checked again after each termination.
+	 */
+	private void awaitMemory() throws InterruptedException {
+		final Runtime runtime = Runtime.getRuntime();
+		while (true) {
+			terminated.drainPermits();
+			if (running.get() == 0 || usedHeapPercent(runtime) <= memGuard) {
+				return;
+			}
+			terminated.acquire();
+		}
+	}
+
+	private static long usedHeapPercent(final Runtime runtime) {
+		final long used = runtime.totalMemory() - runtime.freeMemory();
+		return used * 100 / runtime.maxMemory();
+	}
+
+	private static ThreadFactory daemonThreadFactory() {
+		final ThreadFactory factory = Executors.defaultThreadFactory();
+		return r -> {
+			final Thread thread = factory.newThread(r);
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	private static TableWriter createWriter(final ByteArrayOutputStream buffer) {
+		return new SimpleTableWriter(new PrintStream(buffer, true), ",", "\"", "\"");
+	}
+
+	private void print(final ByteArrayOutputStream buffer) {
+		synchronized (out) {
+			out.print(buffer.toString());
+			out.flush();
+		}
+	}
+
+	private final class Task {
+		private final String task;
+		private final CountDownLatch reported;
+		private final AtomicBoolean done;
+		private final ByteArrayOutputStream buffer;
+		private final ScopedSolverFactory solvers;
+		private final CfaCli cli;
+
+		private Task(final String task, final CountDownLatch reported) {
+			this.task = task;
+			this.reported = reported;
+			done = new AtomicBoolean(false);
+			buffer = new ByteArrayOutputStream();
+			final TableWriter writer = createWriter(buffer);
+			writer.cell(task);
+			solvers = ScopedSolverFactory.create(solverFactory);
+			cli = cliFactory.apply((task + " --benchmark").split("\\s+"), writer);
+			cli.solverFactory = solvers;
+		}
+
+		/**
+		 * Parse the arguments of the task, reporting it if they are invalid.
+		 */
+		private boolean parse() {
+			try {
+				cli.parseArgs();
+				if (cli.interning) {
+					throw new ParameterException("Interning can only be enabled for the whole batch");
+				}
+				return true;
+			} catch (final ParameterException ex) {
+				report(createRow("[EX] " + ex.getClass().getSimpleName() + ": " + ex.getMessage()));
+				return false;
+			}
+		}
+
+		private void run() {
+			try {
+				cli.runChecker();
+				report(buffer);
+			} catch (final Throwable ex) {
+				// Output of the failed task is discarded
+				final String message = ex.getMessage() == null ? "" : ": " + ex.getMessage();
+				report(createRow("[EX] " + ex.getClass().getSimpleName() + message));
+			} finally {
+				// Native memory of the solvers is released by the thread using them
+				solvers.close();
+			}
+		}
+
+		private void timeOut(final Future<?> future) {
+			// Checkers stop at their next interruption point or in the solver,
+			// their output is discarded
+			if (report(createRow("[TO]"))) {
+				solvers.interrupt();
+				future.cancel(true);
+			}
+		}
+
+		private ByteArrayOutputStream createRow(final String result) {
+			final ByteArrayOutputStream row = new ByteArrayOutputStream();
+			createWriter(row).cell(task).cell(result).newRow();
+			return row;
+		}
+
+		/**
+		 * Print the row of the task, unless it was already reported.
+		 */
+		private boolean report(final ByteArrayOutputStream row) {
+			if (done.compareAndSet(false, true)) {
+				print(row);
+				reported.countDown();
+				return true;
+			} else {
+				return false;
+			}
+		}
+	}
+}
@@ -35,14 +35,18 @@ import hu.bme.mit.theta.common.table.TableWriter;
 import hu.bme.mit.theta.common.table.impl.SimpleTableWriter;
 import hu.bme.mit.theta.common.visualization.Graph;
 import hu.bme.mit.theta.common.visualization.writer.GraphvizWriter;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.formalism.cfa.CFA;
 import hu.bme.mit.theta.formalism.cfa.dsl.CfaDslManager;
 import hu.bme.mit.theta.formalism.cfa.tool.CfaConfigBuilder.Domain;
 import hu.bme.mit.theta.formalism.cfa.tool.CfaConfigBuilder.Encoding;
 import hu.bme.mit.theta.formalism.cfa.tool.CfaConfigBuilder.PrecGranularity;
+import hu.bme.mit.theta.formalism.cfa.tool.CfaConfigBuilder.PredAbstraction;
 import hu.bme.mit.theta.formalism.cfa.tool.CfaConfigBuilder.PredSplit;
 import hu.bme.mit.theta.formalism.cfa.tool.CfaConfigBuilder.Refinement;
 import hu.bme.mit.theta.formalism.cfa.tool.CfaConfigBuilder.Search;
+import hu.bme.mit.theta.solver.SolverFactory;
+import hu.bme.mit.theta.solver.z3.Z3SolverFactory;
 
 /**
  * A command line interface for running a CEGAR configuration on a CFA.
@@ -64,6 +68,9 @@ public class CfaCli {
 	@Parameter(names = { "--predsplit" }, description = "Predicate splitting")
 	PredSplit predSplit = PredSplit.WHOLE;
 
+	@Parameter(names = { "--predabstraction" }, description = "Predicate abstraction")
+	PredAbstraction predAbstraction = PredAbstraction.SPLIT;
+
 	@Parameter(names = { "--model" }, description = "Path of the input model", required = true)
 	String model;
 
@@ -73,6 +80,15 @@ public class CfaCli {
 	@Parameter(names = { "--encoding" }, description = "Encoding")
 	Encoding encoding = Encoding.LBE;
 
+	@Parameter(names = { "--threads" }, description = "Number of threads for building the ARG")
+	Integer threads = 1;
+
+	@Parameter(names = { "--maxenum" }, description = "Max. number of successors from the solver in explicit domain")
+	Integer maxEnum = 10;
+
+	@Parameter(names = { "--interning" }, description = "Intern expressions (global for the process, not allowed in batch tasks)")
+	Boolean interning = false;
+
 	@Parameter(names = { "--loglevel" }, description = "Detailedness of logging")
 	Integer logLevel = 1;
 
@@ -87,9 +103,16 @@ public class CfaCli {
 
 	private Logger logger;
 
+	// Factory of the solvers used by the configuration (Z3 if not given)
+	SolverFactory solverFactory = null;
+
 	public CfaCli(final String[] args) {
+		this(args, new SimpleTableWriter(System.out, ",", "\"", "\""));
+	}
+
+	CfaCli(final String[] args, final TableWriter writer) {
 		this.args = args;
-		writer = new SimpleTableWriter(System.out, ",", "\"", "\"");
+		this.writer = writer;
 	}
 
 	public static void main(final String[] args) {
@@ -97,10 +120,9 @@ public class CfaCli {
 		mainApp.run();
 	}
 
-	private void run() {
+	void run() {
 		try {
-			JCommander.newBuilder().addObject(this).programName(JAR_NAME).build().parse(args);
-			logger = benchmarkMode ? NullLogger.getInstance() : new ConsoleLogger(logLevel);
+			parseArgs();
 		} catch (final ParameterException ex) {
 			System.out.println(ex.getMessage());
 			ex.usage();
@@ -112,6 +134,23 @@ public class CfaCli {
 			return;
 		}
 
+		if (interning) {
+			// Interning is global, so it is only enabled when the process runs
+			// a single task, before the model is created
+			ExprInterner.enable();
+		}
+		runChecker();
+	}
+
+	void parseArgs() {
+		JCommander.newBuilder().addObject(this).programName(JAR_NAME).build().parse(args);
+		logger = benchmarkMode ? NullLogger.getInstance() : new ConsoleLogger(logLevel);
+	}
+
+	/**
+	 * Run the configuration given by the already parsed arguments.
+	 */
+	void runChecker() {
 		try {
 			final CFA cfa = loadModel();
 			final Config<?, ?, ?> configuration = buildConfiguration(cfa);
@@ -145,7 +184,9 @@ public class CfaCli {
 
 	private Config<?, ?, ?> buildConfiguration(final CFA cfa) {
 		return new CfaConfigBuilder(domain, refinement).precGranularity(precGranularity).search(search)
-				.predSplit(predSplit).encoding(encoding).logger(logger).build(cfa);
+				.predSplit(predSplit).predAbstraction(predAbstraction).encoding(encoding).threads(threads).maxEnum(maxEnum)
+				.solverFactory(solverFactory != null ? solverFactory : Z3SolverFactory.getInstace()).logger(logger)
+				.build(cfa);
 	}
 
 	private void printResult(final SafetyResult<?, ?> status, final CFA cfa) {
@@ -16,22 +16,28 @@
 package hu.bme.mit.theta.formalism.cfa.tool;
 
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
+import static java.util.Collections.emptySet;
+
+import java.util.function.Supplier;
 
 import hu.bme.mit.theta.analysis.Action;
 import hu.bme.mit.theta.analysis.Analysis;
 import hu.bme.mit.theta.analysis.Prec;
 import hu.bme.mit.theta.analysis.State;
 import hu.bme.mit.theta.analysis.algorithm.ArgBuilder;
+import hu.bme.mit.theta.analysis.algorithm.ArgNode;
 import hu.bme.mit.theta.analysis.algorithm.ArgNodeComparators;
 import hu.bme.mit.theta.analysis.algorithm.ArgNodeComparators.ArgNodeComparator;
 import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
 import hu.bme.mit.theta.analysis.algorithm.cegar.Abstractor;
 import hu.bme.mit.theta.analysis.algorithm.cegar.BasicAbstractor;
 import hu.bme.mit.theta.analysis.algorithm.cegar.CegarChecker;
+import hu.bme.mit.theta.analysis.algorithm.cegar.ParallelAbstractor;
 import hu.bme.mit.theta.analysis.algorithm.cegar.Refiner;
-import hu.bme.mit.theta.analysis.expl.ExplAnalysis;
+import hu.bme.mit.theta.analysis.expl.ExplStmtAnalysis;
 import hu.bme.mit.theta.analysis.expl.ExplPrec;
 import hu.bme.mit.theta.analysis.expl.ExplState;
+import hu.bme.mit.theta.analysis.expl.ExplStateIndex;
 import hu.bme.mit.theta.analysis.expl.ItpRefToExplPrec;
 import hu.bme.mit.theta.analysis.expl.VarsRefToExplPrec;
 import hu.bme.mit.theta.analysis.expr.ExprState;
@@ -48,9 +54,13 @@ import hu.bme.mit.theta.analysis.expr.refinement.SingleExprTraceRefiner;
 import hu.bme.mit.theta.analysis.pred.ExprSplitters;
 import hu.bme.mit.theta.analysis.pred.ExprSplitters.ExprSplitter;
 import hu.bme.mit.theta.analysis.pred.ItpRefToSimplePredPrec;
+import hu.bme.mit.theta.analysis.pred.PredAbstractors;
+import hu.bme.mit.theta.analysis.pred.PredAbstractors.PredAbstractor;
 import hu.bme.mit.theta.analysis.pred.PredAnalysis;
 import hu.bme.mit.theta.analysis.pred.PredState;
+import hu.bme.mit.theta.analysis.pred.PredStateIndex;
 import hu.bme.mit.theta.analysis.pred.SimplePredPrec;
+import hu.bme.mit.theta.analysis.reachedset.ReachedSetIndex;
 import hu.bme.mit.theta.analysis.waitlist.PriorityWaitlist;
 import hu.bme.mit.theta.common.logging.Logger;
 import hu.bme.mit.theta.common.logging.impl.NullLogger;
@@ -69,7 +79,10 @@ import hu.bme.mit.theta.formalism.cfa.analysis.prec.GlobalCfaPrecRefiner;
 import hu.bme.mit.theta.formalism.cfa.analysis.prec.LocalCfaPrec;
 import hu.bme.mit.theta.formalism.cfa.analysis.prec.LocalCfaPrecRefiner;
 import hu.bme.mit.theta.solver.ItpSolver;
+import hu.bme.mit.theta.solver.Solver;
 import hu.bme.mit.theta.solver.SolverFactory;
+import hu.bme.mit.theta.solver.SolverPool;
+import hu.bme.mit.theta.solver.impl.SolverPoolImpl;
 import hu.bme.mit.theta.solver.z3.Z3SolverFactory;
 
 public class CfaConfigBuilder {
@@ -107,6 +120,31 @@ public class CfaConfigBuilder {
 
 	};
 
+	public enum PredAbstraction {
+		SPLIT {
+			@Override
+			public PredAbstractor create(final Solver solver) {
+				return PredAbstractors.booleanSplitAbstractor(solver);
+			}
+		},
+
+		BOOLEAN {
+			@Override
+			public PredAbstractor create(final Solver solver) {
+				return PredAbstractors.booleanAbstractor(solver);
+			}
+		},
+
+		CARTESIAN {
+			@Override
+			public PredAbstractor create(final Solver solver) {
+				return PredAbstractors.cartesianAbstractor(solver);
+			}
+		};
+
+		public abstract PredAbstractor create(Solver solver);
+	};
+
 	public enum PredSplit {
 		WHOLE(ExprSplitters.whole()),
 
@@ -178,8 +216,11 @@ public class CfaConfigBuilder {
 	private final Refinement refinement;
 	private Search search = Search.BFS;
 	private PredSplit predSplit = PredSplit.WHOLE;
+	private PredAbstraction predAbstraction = PredAbstraction.SPLIT;
 	private PrecGranularity precGranularity = PrecGranularity.GLOBAL;
 	private Encoding encoding = Encoding.LBE;
+	private int threads = 1;
+	private int maxEnum = 10;
 
 	public CfaConfigBuilder(final Domain domain, final Refinement refinement) {
 		this.domain = domain;
@@ -206,6 +247,11 @@ public class CfaConfigBuilder {
 		return this;
 	}
 
+	public CfaConfigBuilder predAbstraction(final PredAbstraction predAbstraction) {
+		this.predAbstraction = predAbstraction;
+		return this;
+	}
+
 	public CfaConfigBuilder precGranularity(final PrecGranularity precGranularity) {
 		this.precGranularity = precGranularity;
 		return this;
@@ -216,18 +262,36 @@ public class CfaConfigBuilder {
 		return this;
 	}
 
+	public CfaConfigBuilder threads(final int threads) {
+		this.threads = threads;
+		return this;
+	}
+
+	/**
+	 * Maximal number of successors enumerated by the solver in the explicit
+	 * domain if the concrete evaluation of an edge is imprecise (0 for never
+	 * calling the solver).
+	 */
+	public CfaConfigBuilder maxEnum(final int maxEnum) {
+		this.maxEnum = maxEnum;
+		return this;
+	}
+
 	public Config<? extends State, ? extends Action, ? extends Prec> build(final CFA cfa) {
 		final ItpSolver solver = solverFactory.createItpSolver();
 		final CfaLts lts = encoding.getLts();
 
 		if (domain == Domain.EXPL) {
 			final Analysis<CfaState<ExplState>, CfaAction, CfaPrec<ExplPrec>> analysis = CfaAnalysis
-					.create(cfa.getInitLoc(), ExplAnalysis.create(solver, True()));
+					.create(cfa.getInitLoc(), ExplStmtAnalysis.create(solver, True(), maxEnum));
 			final ArgBuilder<CfaState<ExplState>, CfaAction, CfaPrec<ExplPrec>> argBuilder = ArgBuilder.create(lts,
 					analysis, s -> s.getLoc().equals(cfa.getErrorLoc()));
-			final Abstractor<CfaState<ExplState>, CfaAction, CfaPrec<ExplPrec>> abstractor = BasicAbstractor
-					.builder(argBuilder).projection(CfaState::getLoc)
-					.waitlistSupplier(PriorityWaitlist.supplier(search.getComp(cfa))).logger(logger).build();
+			final Abstractor<CfaState<ExplState>, CfaAction, CfaPrec<ExplPrec>> abstractor = createAbstractor(cfa,
+					argBuilder, () -> ArgBuilder.create(encoding.getLts(),
+							CfaAnalysis.create(cfa.getInitLoc(),
+									ExplStmtAnalysis.create(solverFactory.createSolver(), True(), maxEnum)),
+							s -> s.getLoc().equals(cfa.getErrorLoc())),
+					ExplStateIndex.supplier(n -> n.getState().getState()));
 
 			Refiner<CfaState<ExplState>, CfaAction, CfaPrec<ExplPrec>> refiner = null;
 
@@ -262,12 +326,18 @@ public class CfaConfigBuilder {
 
 		} else if (domain == Domain.PRED) {
 			final Analysis<CfaState<PredState>, CfaAction, CfaPrec<SimplePredPrec>> analysis = CfaAnalysis
-					.create(cfa.getInitLoc(), PredAnalysis.create(solver, True()));
+					.create(cfa.getInitLoc(), PredAnalysis.create(solver, predAbstraction.create(solver), True()));
 			final ArgBuilder<CfaState<PredState>, CfaAction, CfaPrec<SimplePredPrec>> argBuilder = ArgBuilder
 					.create(lts, analysis, s -> s.getLoc().equals(cfa.getErrorLoc()));
-			final Abstractor<CfaState<PredState>, CfaAction, CfaPrec<SimplePredPrec>> abstractor = BasicAbstractor
-					.builder(argBuilder).projection(CfaState::getLoc)
-					.waitlistSupplier(PriorityWaitlist.supplier(search.getComp(cfa))).logger(logger).build();
+			final Abstractor<CfaState<PredState>, CfaAction, CfaPrec<SimplePredPrec>> abstractor = createAbstractor(cfa,
+					argBuilder, () -> {
+						final Solver workerSolver = solverFactory.createSolver();
+						return ArgBuilder.create(encoding.getLts(),
+								CfaAnalysis.create(cfa.getInitLoc(),
+										PredAnalysis.create(workerSolver, predAbstraction.create(workerSolver), True())),
+								s -> s.getLoc().equals(cfa.getErrorLoc()));
+					},
+					PredStateIndex.supplier(n -> n.getState().getState()));
 
 			ExprTraceChecker<ItpRefutation> exprTraceChecker = null;
 			switch (refinement) {
@@ -284,14 +354,19 @@ public class CfaConfigBuilder {
 				throw new UnsupportedOperationException(
 						domain + " domain does not support " + refinement + " refinement.");
 			}
-			final ItpRefToSimplePredPrec refToPrec = new ItpRefToSimplePredPrec(solver, predSplit.splitter);
+			// Precisions create abstract states on the worker threads, so each
+			// worker (and the main thread) borrows a solver of its own from a pool
+			final SolverPool<?> precSolverPool = threads > 1 ? solverFactory.createSolverPool(threads + 1)
+					: SolverPoolImpl.of(solver);
+			final ItpRefToSimplePredPrec refToPrec = new ItpRefToSimplePredPrec(precSolverPool, predSplit.splitter);
 			final Refiner<CfaState<PredState>, CfaAction, CfaPrec<SimplePredPrec>> refiner = SingleExprTraceRefiner
 					.create(exprTraceChecker, precGranularity.createRefiner(refToPrec), logger);
 
 			final SafetyChecker<CfaState<PredState>, CfaAction, CfaPrec<SimplePredPrec>> checker = CegarChecker
 					.create(abstractor, refiner, logger);
 
-			final CfaPrec<SimplePredPrec> prec = precGranularity.createPrec(SimplePredPrec.create(solver));
+			final CfaPrec<SimplePredPrec> prec = precGranularity
+					.createPrec(SimplePredPrec.create(emptySet(), precSolverPool));
 
 			return Config.create(checker, prec);
 
@@ -299,4 +374,18 @@ public class CfaConfigBuilder {
 			throw new UnsupportedOperationException(domain + " domain is not supported.");
 		}
 	}
+
+	private <S extends ExprState, P extends Prec> Abstractor<CfaState<S>, CfaAction, CfaPrec<P>> createAbstractor(
+			final CFA cfa, final ArgBuilder<CfaState<S>, CfaAction, CfaPrec<P>> argBuilder,
+			final Supplier<ArgBuilder<CfaState<S>, CfaAction, CfaPrec<P>>> workerArgBuilderSupplier,
+			final Supplier<? extends ReachedSetIndex<ArgNode<CfaState<S>, CfaAction>>> indexSupplier) {
+		if (threads > 1) {
+			return ParallelAbstractor.builder(argBuilder, workerArgBuilderSupplier).threads(threads)
+					.projection(CfaState::getLoc).indexSupplier(indexSupplier)
+					.waitlistSupplier(PriorityWaitlist.supplier(search.getComp(cfa))).logger(logger).build();
+		} else {
+			return BasicAbstractor.builder(argBuilder).projection(CfaState::getLoc).indexSupplier(indexSupplier)
+					.waitlistSupplier(PriorityWaitlist.supplier(search.getComp(cfa))).logger(logger).build();
+		}
+	}
 }
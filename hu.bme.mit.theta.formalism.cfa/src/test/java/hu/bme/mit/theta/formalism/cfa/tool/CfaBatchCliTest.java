@@ -0,0 +1,187 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.formalism.cfa.tool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import hu.bme.mit.theta.common.table.TableWriter;
+import hu.bme.mit.theta.solver.ItpSolver;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.SolverFactory;
+
+public final class CfaBatchCliTest {
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+	private final AtomicInteger parses = new AtomicInteger(0);
+
+	@Test
+	public void testRows() throws IOException {
+		final List<String> rows = runBatch(new String[] { "--jobs", "2" }, "# comment", "",
+				task("ok1", "0"), "--domain PRED", task("fail", "0"), task("ok2", "0"));
+
+		assertEquals("\"Task\",\"Result\"", rows.get(0).substring(0, 15));
+		assertEquals(5, rows.size());
+		assertRow(rows, task("ok1", "0"), "true");
+		assertRow(rows, task("ok2", "0"), "true");
+		assertRow(rows, task("fail", "0"), "[EX] IllegalStateException: Failed");
+		assertTrue(rowOf(rows, "--domain PRED").startsWith("\"--domain PRED\",\"[EX] ParameterException"));
+		// The header and each valid task are parsed once
+		assertEquals(4, parses.get());
+	}
+
+	@Test
+	public void testInterningInTask() throws IOException {
+		final String interning = task("ok", "0") + " --interning";
+		final List<String> rows = runBatch(new String[] { "--jobs", "1" }, interning, task("ok", "0"));
+
+		assertEquals(3, rows.size());
+		assertRow(rows, task("ok", "0"), "true");
+		assertTrue(rowOf(rows, interning).startsWith("\"" + interning + "\",\"[EX] ParameterException"));
+		assertEquals(Arrays.asList("start ok", "end ok"), events);
+	}
+
+	@Test
+	public void testTimeout() throws IOException {
+		final List<String> rows = runBatch(new String[] { "--jobs", "1", "--timeout", "1" }, task("slow", "2000"),
+				task("fast", "0"));
+
+		assertEquals(3, rows.size());
+		assertRow(rows, task("slow", "2000"), "[TO]");
+		assertRow(rows, task("fast", "0"), "true");
+		// The timed out task keeps its slot until it terminates
+		assertEquals(Arrays.asList("start slow", "end slow", "start fast", "end fast"), events);
+	}
+
+	@Test
+	public void testTimeoutInterruptsSolver() throws IOException {
+		final List<String> rows = runBatch(new String[] { "--jobs", "1", "--timeout", "1" }, task("solver", "60000"),
+				task("fast", "0"));
+
+		assertEquals(3, rows.size());
+		assertRow(rows, task("solver", "60000"), "[TO]");
+		assertRow(rows, task("fast", "0"), "true");
+		// The solver is interrupted and closed when the task terminates
+		assertEquals(Arrays.asList("start solver", "interrupt solver", "close solver", "start fast", "end fast"),
+				events);
+	}
+
+	private List<String> runBatch(final String[] options, final String... lines) throws IOException {
+		final File manifest = folder.newFile();
+		Files.write(manifest.toPath(), Arrays.asList(lines));
+
+		final List<String> args = new ArrayList<>(Arrays.asList(options));
+		args.add("--manifest");
+		args.add(manifest.getPath());
+
+		final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		new CfaBatchCli(args.toArray(new String[0]), new PrintStream(buffer, true), this::createCli,
+				createSolverFactory()).run();
+		return Arrays.asList(buffer.toString().split("\\r?\\n"));
+	}
+
+	private static String task(final String name, final String millis) {
+		return "--domain PRED --refinement SEQ_ITP --model " + name + " --maxenum " + millis;
+	}
+
+	private static String rowOf(final List<String> rows, final String task) {
+		return rows.stream().filter(r -> r.startsWith("\"" + task + "\"")).findFirst().get();
+	}
+
+	private static void assertRow(final List<String> rows, final String task, final String result) {
+		assertTrue(rowOf(rows, task).startsWith("\"" + task + "\",\"" + result + "\""));
+	}
+
+	/**
+	 * Creates a CLI that does not check the model but sleeps for the time
+	 * given as the maximal enumeration, ignoring interrupts. For the model
+	 * "solver", it stops when the solver is interrupted.
+	 */
+	private CfaCli createCli(final String[] args, final TableWriter writer) {
+		return new CfaCli(args, writer) {
+			@Override
+			void parseArgs() {
+				super.parseArgs();
+				parses.incrementAndGet();
+			}
+
+			@Override
+			void runChecker() {
+				if (model.equals("fail")) {
+					throw new IllegalStateException("Failed");
+				}
+				events.add("start " + model);
+				final Solver solver = model.equals("solver") ? solverFactory.createSolver() : null;
+				final long end = System.currentTimeMillis() + maxEnum;
+				while (System.currentTimeMillis() < end) {
+					if (solver != null && events.contains("interrupt solver")) {
+						throw new CancellationException();
+					}
+					Thread.yield();
+				}
+				events.add("end " + model);
+				writer.cell(true).newRow();
+			}
+		};
+	}
+
+	/**
+	 * Creates a factory of solvers that only record when they are interrupted
+	 * or closed.
+	 */
+	private SolverFactory createSolverFactory() {
+		final InvocationHandler handler = (proxy, method, args) -> {
+			if (method.getName().equals("interrupt") || method.getName().equals("close")) {
+				events.add(method.getName() + " solver");
+				return null;
+			}
+			throw new UnsupportedOperationException();
+		};
+		return new SolverFactory() {
+			@Override
+			public Solver createSolver() {
+				return (Solver) Proxy.newProxyInstance(Solver.class.getClassLoader(), new Class<?>[] { Solver.class },
+						handler);
+			}
+
+			@Override
+			public ItpSolver createItpSolver() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+}
@@ -0,0 +1,45 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.formalism.sts.analysis;
+
+import hu.bme.mit.theta.analysis.algorithm.Statistics;
+
+/**
+ * Represents statistics collected by the algorithms based on bounded model
+ * checking (BMC and k-induction). The number of iterations is the length of the
+ * longest unrolling, i.e., the k at which k-induction converged.
+ */
+public final class BmcStatistics extends Statistics {
+	private final long elapsedMillis;
+	private final int iterations;
+
+	public BmcStatistics(final long elapsedMillis, final int iterations) {
+		this.elapsedMillis = elapsedMillis;
+		this.iterations = iterations;
+
+		addStat("ElapsedMillis", this::getElapsedMillis);
+		addStat("Iterations", this::getIterations);
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	public int getIterations() {
+		return iterations;
+	}
+
+}
@@ -0,0 +1,52 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.formalism.sts.analysis;
+
+import hu.bme.mit.theta.analysis.algorithm.Statistics;
+
+/**
+ * Represents statistics collected by the IC3 algorithm. The number of
+ * iterations is the number of frames, and the number of lemmas is the number
+ * of blocked cubes learned during the whole run.
+ */
+public final class Ic3Statistics extends Statistics {
+	private final long elapsedMillis;
+	private final int iterations;
+	private final int lemmas;
+
+	public Ic3Statistics(final long elapsedMillis, final int iterations, final int lemmas) {
+		this.elapsedMillis = elapsedMillis;
+		this.iterations = iterations;
+		this.lemmas = lemmas;
+
+		addStat("ElapsedMillis", this::getElapsedMillis);
+		addStat("Iterations", this::getIterations);
+		addStat("Lemmas", this::getLemmas);
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	public int getIterations() {
+		return iterations;
+	}
+
+	public int getLemmas() {
+		return lemmas;
+	}
+
+}
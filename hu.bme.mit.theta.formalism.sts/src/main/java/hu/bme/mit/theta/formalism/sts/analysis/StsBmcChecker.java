@@ -0,0 +1,139 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.formalism.sts.analysis;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.utils.PathUtils.unfold;
+import static hu.bme.mit.theta.formalism.sts.analysis.StsUnrollings.distinct;
+import static hu.bme.mit.theta.formalism.sts.analysis.StsUnrollings.extractTrace;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+
+import hu.bme.mit.theta.analysis.Trace;
+import hu.bme.mit.theta.analysis.algorithm.ArgUtils;
+import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.analysis.expr.ExprDomain;
+import hu.bme.mit.theta.analysis.expr.ExprState;
+import hu.bme.mit.theta.analysis.unit.UnitPrec;
+import hu.bme.mit.theta.common.Utils;
+import hu.bme.mit.theta.common.logging.Logger;
+import hu.bme.mit.theta.common.logging.impl.NullLogger;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.formalism.sts.STS;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.utils.WithPushPop;
+
+/**
+ * Bounded model checking (BMC) for STSs. The transition relation is unrolled
+ * incrementally on a single solver, and the negated property of the last state
+ * is checked as an assumption after each step, up to a maximal depth, after
+ * which the result is unknown. Optionally, the unrolling can be restricted to
+ * loop-free paths, which preserves the shortest counterexamples. Therefore, if
+ * no loop-free path of the current length exists, all reachable states were
+ * checked and the STS is safe. This makes the algorithm complete for finite
+ * state spaces, but requires a quadratic number of constraints in the depth
+ * and an additional check in each step. The length of the paths is not an
+ * invariant, hence safe results have no ARG.
+ */
+public final class StsBmcChecker implements SafetyChecker<ExprState, StsAction, UnitPrec> {
+
+	private final STS sts;
+	private final Solver solver;
+	private final boolean simplePath;
+	private final int maxDepth;
+	private final Logger logger;
+
+	private StsBmcChecker(final STS sts, final Solver solver, final boolean simplePath, final int maxDepth,
+			final Logger logger) {
+		checkArgument(maxDepth >= 0, "Maximal depth must be non-negative");
+		this.sts = checkNotNull(sts);
+		this.solver = checkNotNull(solver);
+		this.simplePath = simplePath;
+		this.maxDepth = maxDepth;
+		this.logger = checkNotNull(logger);
+	}
+
+	public static StsBmcChecker create(final STS sts, final Solver solver, final boolean simplePath,
+			final int maxDepth) {
+		return new StsBmcChecker(sts, solver, simplePath, maxDepth, NullLogger.getInstance());
+	}
+
+	public static StsBmcChecker create(final STS sts, final Solver solver, final boolean simplePath,
+			final int maxDepth, final Logger logger) {
+		return new StsBmcChecker(sts, solver, simplePath, maxDepth, logger);
+	}
+
+	@Override
+	public SafetyResult<ExprState, StsAction> check(final UnitPrec prec) {
+		checkNotNull(prec);
+		logger.writeln("Configuration: ", this, 1, 0);
+		final Stopwatch stopwatch = Stopwatch.createStarted();
+		final Expr<BoolType> negProp = Not(sts.getProp());
+		final ExprDomain domain = ExprDomain.create(solver);
+
+		SafetyResult<ExprState, StsAction> result = null;
+		int depth = 0;
+
+		try (WithPushPop wpp = new WithPushPop(solver)) {
+			solver.add(unfold(sts.getInit(), 0));
+
+			while (result == null) {
+				logger.writeln("Depth ", depth, 2, 0);
+
+				if (solver.check(ImmutableList.of(unfold(negProp, depth))).isSat()) {
+					final Trace<ExprState, StsAction> trace = extractTrace(sts, solver.getModel(), depth);
+					final BmcStatistics stats = new BmcStatistics(stopwatch.elapsed(TimeUnit.MILLISECONDS), depth);
+					result = SafetyResult.unsafe(trace, ArgUtils.fromTrace(trace, domain), stats);
+				} else if (depth == maxDepth) {
+					logger.writeln("Maximal depth reached", 2, 1);
+					final BmcStatistics stats = new BmcStatistics(stopwatch.elapsed(TimeUnit.MILLISECONDS), depth);
+					result = SafetyResult.unknown(stats);
+				} else {
+					solver.add(unfold(sts.getTrans(), depth));
+					depth++;
+					if (simplePath) {
+						for (int i = 0; i < depth; i++) {
+							solver.add(distinct(sts, i, depth));
+						}
+						if (solver.check().isUnsat()) {
+							logger.writeln("No loop-free path of length ", depth, 2, 1);
+							final BmcStatistics stats = new BmcStatistics(stopwatch.elapsed(TimeUnit.MILLISECONDS),
+									depth);
+							result = SafetyResult.safeWithoutArg(stats);
+						}
+					}
+				}
+			}
+		}
+
+		logger.writeln("Done, result: ", result, 1, 0);
+		logger.writeln(result.getStats().get(), 1);
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return Utils.toStringBuilder(getClass().getSimpleName()).add("Simple path: " + simplePath)
+				.add("Max. depth: " + maxDepth).toString();
+	}
+}
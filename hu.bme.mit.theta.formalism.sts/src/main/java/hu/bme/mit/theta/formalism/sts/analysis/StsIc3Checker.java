@@ -0,0 +1,358 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.formalism.sts.analysis;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static hu.bme.mit.theta.core.decl.Decls.Const;
+import static hu.bme.mit.theta.core.type.abstracttype.AbstractExprs.Eq;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Imply;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.utils.PathUtils.extractValuation;
+import static hu.bme.mit.theta.core.utils.PathUtils.unfold;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+
+import hu.bme.mit.theta.analysis.Trace;
+import hu.bme.mit.theta.analysis.algorithm.ArgUtils;
+import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.analysis.expl.ExplState;
+import hu.bme.mit.theta.analysis.expr.ExprDomain;
+import hu.bme.mit.theta.analysis.expr.ExprState;
+import hu.bme.mit.theta.analysis.pred.PredState;
+import hu.bme.mit.theta.analysis.unit.UnitPrec;
+import hu.bme.mit.theta.common.Utils;
+import hu.bme.mit.theta.common.logging.Logger;
+import hu.bme.mit.theta.common.logging.impl.NullLogger;
+import hu.bme.mit.theta.core.decl.ConstDecl;
+import hu.bme.mit.theta.core.decl.Decl;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.LitExpr;
+import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.utils.TypeUtils;
+import hu.bme.mit.theta.formalism.sts.STS;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.SolverFactory;
+
+/**
+ * IC3 (also known as property directed reachability) for STSs. A sequence of
+ * frames over-approximates the states reachable within a given number of
+ * steps, where each frame is a set of lemmas, i.e., negated cubes of states.
+ * Bad states in the last frame are blocked recursively by proof obligations,
+ * processed in the order of their frames. Blocking is done by relative
+ * induction queries, where the literals of the cube are checked as
+ * assumptions, so that the unsat core gives a generalized cube. Lemmas are
+ * then propagated forward, and if two consecutive frames become equal, the
+ * frame is an inductive invariant. Cubes assign values to all variables, so
+ * the algorithm is intended for finite state (e.g., hardware) models.
+ */
+public final class StsIc3Checker implements SafetyChecker<ExprState, StsAction, UnitPrec> {
+
+	private static final ConstDecl<BoolType> TRANS_ACT = Const("__ic3_trans", Bool());
+
+	private final STS sts;
+	private final SolverFactory solverFactory;
+	private final Logger logger;
+
+	private StsIc3Checker(final STS sts, final SolverFactory solverFactory, final Logger logger) {
+		this.sts = checkNotNull(sts);
+		this.solverFactory = checkNotNull(solverFactory);
+		this.logger = checkNotNull(logger);
+	}
+
+	public static StsIc3Checker create(final STS sts, final SolverFactory solverFactory) {
+		return new StsIc3Checker(sts, solverFactory, NullLogger.getInstance());
+	}
+
+	public static StsIc3Checker create(final STS sts, final SolverFactory solverFactory, final Logger logger) {
+		return new StsIc3Checker(sts, solverFactory, logger);
+	}
+
+	@Override
+	public SafetyResult<ExprState, StsAction> check(final UnitPrec prec) {
+		checkNotNull(prec);
+		logger.writeln("Configuration: ", this, 1, 0);
+		final SafetyResult<ExprState, StsAction> result = new Ic3Run().run();
+		logger.writeln("Done, result: ", result, 1, 0);
+		logger.writeln(result.getStats().get(), 1);
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return Utils.toStringBuilder(getClass().getSimpleName()).toString();
+	}
+
+	////
+
+	private final class Ic3Run {
+		private final Stopwatch stopwatch;
+		private final StsAction action;
+		private final ExprDomain domain;
+		private final Expr<BoolType> negProp0;
+
+		// The first frame consists of the initial states
+		private final List<Solver> frameSolvers;
+		// Lemmas of a frame that are not in the next frame (delta encoding)
+		private final List<Set<List<Expr<BoolType>>>> frameLemmas;
+		private final Solver initSolver;
+		private int lemmaCount;
+
+		private Ic3Run() {
+			stopwatch = Stopwatch.createStarted();
+			action = new StsAction(sts);
+			negProp0 = unfold(Not(sts.getProp()), 0);
+			frameSolvers = new ArrayList<>();
+			frameLemmas = new ArrayList<>();
+			initSolver = solverFactory.createSolver();
+			initSolver.add(unfold(sts.getInit(), 0));
+			domain = ExprDomain.create(initSolver);
+			lemmaCount = 0;
+		}
+
+		private SafetyResult<ExprState, StsAction> run() {
+			addFrame().add(unfold(sts.getInit(), 0));
+
+			if (frameSolvers.get(0).check(ImmutableList.of(negProp0)).isSat()) {
+				final Valuation initState = extractValuation(frameSolvers.get(0).getModel(), 0, sts.getVars());
+				return unsafe(new ProofObligation(initState, 0, null));
+			}
+
+			addFrame();
+			int k = 1;
+			while (true) {
+				logger.writeln("Frame ", k, 2, 0);
+
+				final Solver lastSolver = frameSolvers.get(k);
+				while (lastSolver.check(ImmutableList.of(negProp0)).isSat()) {
+					final Valuation badState = extractValuation(lastSolver.getModel(), 0, sts.getVars());
+					final Optional<ProofObligation> initObligation = block(new ProofObligation(badState, k, null));
+					if (initObligation.isPresent()) {
+						return unsafe(initObligation.get());
+					}
+				}
+
+				logger.writeln("Propagating lemmas", 3, 1);
+				addFrame();
+				for (int i = 1; i <= k; i++) {
+					for (final List<Expr<BoolType>> cube : new ArrayList<>(frameLemmas.get(i))) {
+						if (!hasSuccessor(i, cube)) {
+							frameLemmas.get(i).remove(cube);
+							frameLemmas.get(i + 1).add(cube);
+							frameSolvers.get(i + 1).add(unfold(Not(And(cube)), 0));
+						}
+					}
+					if (frameLemmas.get(i).isEmpty()) {
+						return safe(i + 1, k);
+					}
+				}
+				k++;
+			}
+		}
+
+		/**
+		 * Blocks a bad state by processing proof obligations until all of them
+		 * are blocked, or until an obligation intersecting the initial states
+		 * is found, which is returned.
+		 */
+		private Optional<ProofObligation> block(final ProofObligation badObligation) {
+			final PriorityQueue<ProofObligation> obligations = new PriorityQueue<>(
+					Comparator.comparingInt(ProofObligation::getFrame));
+			obligations.add(badObligation);
+
+			while (!obligations.isEmpty()) {
+				final ProofObligation obligation = obligations.peek();
+				final int frame = obligation.getFrame();
+				final List<Expr<BoolType>> cube = obligation.getCube();
+
+				if (isBlocked(frame, cube)) {
+					obligations.poll();
+					continue;
+				}
+
+				final Solver solver = frameSolvers.get(frame - 1);
+				final List<Expr<BoolType>> assumptions = new ArrayList<>(cube.size() + 1);
+				assumptions.add(TRANS_ACT.getRef());
+				for (final Expr<BoolType> literal : cube) {
+					assumptions.add(unfold(literal, 1));
+				}
+
+				solver.push();
+				solver.add(unfold(Not(And(cube)), 0));
+				if (solver.check(assumptions).isSat()) {
+					final Valuation predState = extractValuation(solver.getModel(), 0, sts.getVars());
+					solver.pop();
+					final ProofObligation predObligation = new ProofObligation(predState, frame - 1, obligation);
+					if (frame - 1 == 0 || intersectsInit(predObligation.getCube())) {
+						return Optional.of(predObligation);
+					}
+					obligations.add(predObligation);
+				} else {
+					final Collection<Expr<BoolType>> core = solver.getUnsatCore();
+					final List<Expr<BoolType>> generalized = new ArrayList<>();
+					for (int i = 0; i < cube.size(); i++) {
+						if (core.contains(assumptions.get(i + 1))) {
+							generalized.add(cube.get(i));
+						}
+					}
+					solver.pop();
+					if (generalized.isEmpty() || intersectsInit(generalized)) {
+						addLemma(cube, frame);
+					} else {
+						addLemma(generalized, frame);
+					}
+					obligations.poll();
+				}
+			}
+			return Optional.empty();
+		}
+
+		private Solver addFrame() {
+			final Solver solver = solverFactory.createSolver();
+			solver.add(Imply(TRANS_ACT.getRef(), unfold(sts.getTrans(), 0)));
+			frameSolvers.add(solver);
+			frameLemmas.add(new LinkedHashSet<>());
+			return solver;
+		}
+
+		private void addLemma(final List<Expr<BoolType>> cube, final int frame) {
+			logger.writeln("Lemma in frame " + frame + ": ", cube, 4, 2);
+			lemmaCount++;
+			frameLemmas.get(frame).add(cube);
+			final Expr<BoolType> lemma = unfold(Not(And(cube)), 0);
+			for (int i = 1; i <= frame; i++) {
+				frameSolvers.get(i).add(lemma);
+			}
+		}
+
+		private boolean isBlocked(final int frame, final List<Expr<BoolType>> cube) {
+			return isUnsatWith(frameSolvers.get(frame), unfold(And(cube), 0));
+		}
+
+		private boolean intersectsInit(final List<Expr<BoolType>> cube) {
+			return !isUnsatWith(initSolver, unfold(And(cube), 0));
+		}
+
+		private boolean hasSuccessor(final int frame, final List<Expr<BoolType>> cube) {
+			final Solver solver = frameSolvers.get(frame);
+			solver.push();
+			solver.add(unfold(And(cube), 1));
+			final boolean result = solver.check(ImmutableList.of(TRANS_ACT.getRef())).isSat();
+			solver.pop();
+			return result;
+		}
+
+		private boolean isUnsatWith(final Solver solver, final Expr<BoolType> expr) {
+			solver.push();
+			solver.add(expr);
+			final boolean result = solver.check().isUnsat();
+			solver.pop();
+			return result;
+		}
+
+		private SafetyResult<ExprState, StsAction> safe(final int frame, final int iterations) {
+			final Collection<Expr<BoolType>> invariant = new ArrayList<>();
+			for (int i = frame; i < frameLemmas.size(); i++) {
+				for (final List<Expr<BoolType>> cube : frameLemmas.get(i)) {
+					invariant.add(Not(And(cube)));
+				}
+			}
+			logger.writeln("Inductive invariant: ", invariant, 2, 1);
+			final Ic3Statistics stats = new Ic3Statistics(stopwatch.elapsed(TimeUnit.MILLISECONDS), iterations,
+					lemmaCount);
+			final ExprState invariantState = PredState.of(invariant);
+			return SafetyResult.safe(ArgUtils.fromInvariant(invariantState, action, domain), stats);
+		}
+
+		private SafetyResult<ExprState, StsAction> unsafe(final ProofObligation initObligation) {
+			final List<ExprState> states = new ArrayList<>();
+			for (ProofObligation obligation = initObligation; obligation != null; obligation = obligation
+					.getSuccessor()) {
+				states.add(ExplState.create(obligation.getState()));
+			}
+			final Trace<ExprState, StsAction> trace = Trace.of(states, Collections.nCopies(states.size() - 1, action));
+			final Ic3Statistics stats = new Ic3Statistics(stopwatch.elapsed(TimeUnit.MILLISECONDS),
+					frameSolvers.size() - 1, lemmaCount);
+			return SafetyResult.unsafe(trace, ArgUtils.fromTrace(trace, domain), stats);
+		}
+	}
+
+	/**
+	 * A state (and its cube) that has to be blocked in a given frame. The
+	 * successor is the obligation from which it was derived, i.e., the chain
+	 * of successors leads to a bad state.
+	 */
+	private static final class ProofObligation {
+		private final Valuation state;
+		private final List<Expr<BoolType>> cube;
+		private final int frame;
+		private final ProofObligation successor;
+
+		private ProofObligation(final Valuation state, final int frame, final ProofObligation successor) {
+			this.state = state;
+			this.cube = toCube(state);
+			this.frame = frame;
+			this.successor = successor;
+		}
+
+		public Valuation getState() {
+			return state;
+		}
+
+		public List<Expr<BoolType>> getCube() {
+			return cube;
+		}
+
+		public int getFrame() {
+			return frame;
+		}
+
+		public ProofObligation getSuccessor() {
+			return successor;
+		}
+
+		private static List<Expr<BoolType>> toCube(final Valuation state) {
+			final ImmutableList.Builder<Expr<BoolType>> builder = ImmutableList.builder();
+			for (final Decl<?> decl : state.getDecls()) {
+				final LitExpr<?> value = state.eval(decl).get();
+				if (value instanceof BoolLitExpr) {
+					final Expr<BoolType> ref = TypeUtils.cast(decl.getRef(), Bool());
+					builder.add(((BoolLitExpr) value).getValue() ? ref : Not(ref));
+				} else {
+					builder.add(Eq(decl.getRef(), value));
+				}
+			}
+			return builder.build();
+		}
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.formalism.sts.analysis;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.utils.PathUtils.unfold;
+import static hu.bme.mit.theta.formalism.sts.analysis.StsUnrollings.distinct;
+import static hu.bme.mit.theta.formalism.sts.analysis.StsUnrollings.extractTrace;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+
+import hu.bme.mit.theta.analysis.Trace;
+import hu.bme.mit.theta.analysis.algorithm.ArgUtils;
+import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.analysis.expr.ExprDomain;
+import hu.bme.mit.theta.analysis.expr.ExprState;
+import hu.bme.mit.theta.analysis.unit.UnitPrec;
+import hu.bme.mit.theta.common.Utils;
+import hu.bme.mit.theta.common.logging.Logger;
+import hu.bme.mit.theta.common.logging.impl.NullLogger;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.formalism.sts.STS;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.utils.WithPushPop;
+
+/**
+ * K-induction for STSs. In each round k, the base case checks whether the
+ * property can be violated after k steps from the initial states, and the step
+ * case checks whether k consecutive states satisfying the property can be
+ * followed by a state violating it. Both cases are unrolled incrementally on
+ * their own solver and only the negated property of the last state is checked
+ * as an assumption, so the facts of earlier rounds (the property holding in
+ * the base case and in the first k states of the step case) strengthen the
+ * later rounds. Optionally, the step case can be restricted to loop-free
+ * paths, which makes the algorithm complete for finite state spaces. A
+ * k-inductive property is not an invariant in general, hence safe results
+ * have no ARG.
+ */
+public final class StsKInductionChecker implements SafetyChecker<ExprState, StsAction, UnitPrec> {
+
+	private final STS sts;
+	private final Solver baseSolver;
+	private final Solver stepSolver;
+	private final boolean simplePath;
+	private final Logger logger;
+
+	private StsKInductionChecker(final STS sts, final Solver baseSolver, final Solver stepSolver,
+			final boolean simplePath, final Logger logger) {
+		this.sts = checkNotNull(sts);
+		this.baseSolver = checkNotNull(baseSolver);
+		this.stepSolver = checkNotNull(stepSolver);
+		this.simplePath = simplePath;
+		this.logger = checkNotNull(logger);
+	}
+
+	public static StsKInductionChecker create(final STS sts, final Solver baseSolver, final Solver stepSolver,
+			final boolean simplePath) {
+		return new StsKInductionChecker(sts, baseSolver, stepSolver, simplePath, NullLogger.getInstance());
+	}
+
+	public static StsKInductionChecker create(final STS sts, final Solver baseSolver, final Solver stepSolver,
+			final boolean simplePath, final Logger logger) {
+		return new StsKInductionChecker(sts, baseSolver, stepSolver, simplePath, logger);
+	}
+
+	@Override
+	public SafetyResult<ExprState, StsAction> check(final UnitPrec prec) {
+		checkNotNull(prec);
+		logger.writeln("Configuration: ", this, 1, 0);
+		final Stopwatch stopwatch = Stopwatch.createStarted();
+		final Expr<BoolType> prop = sts.getProp();
+		final Expr<BoolType> negProp = Not(prop);
+		final ExprDomain domain = ExprDomain.create(baseSolver);
+
+		SafetyResult<ExprState, StsAction> result = null;
+		int k = 0;
+
+		try (WithPushPop baseWpp = new WithPushPop(baseSolver); WithPushPop stepWpp = new WithPushPop(stepSolver)) {
+			baseSolver.add(unfold(sts.getInit(), 0));
+
+			while (result == null) {
+				logger.writeln("K ", k, 2, 0);
+				final Expr<BoolType> negPropK = unfold(negProp, k);
+
+				if (baseSolver.check(ImmutableList.of(negPropK)).isSat()) {
+					logger.writeln("Base case failed", 2, 1);
+					final Trace<ExprState, StsAction> trace = extractTrace(sts, baseSolver.getModel(), k);
+					final BmcStatistics stats = new BmcStatistics(stopwatch.elapsed(TimeUnit.MILLISECONDS), k);
+					result = SafetyResult.unsafe(trace, ArgUtils.fromTrace(trace, domain), stats);
+
+				} else if (stepSolver.check(ImmutableList.of(negPropK)).isUnsat()) {
+					logger.writeln("Step case holds", 2, 1);
+					final BmcStatistics stats = new BmcStatistics(stopwatch.elapsed(TimeUnit.MILLISECONDS), k);
+					result = SafetyResult.safeWithoutArg(stats);
+
+				} else {
+					final Expr<BoolType> propK = unfold(prop, k);
+					final Expr<BoolType> transK = unfold(sts.getTrans(), k);
+					baseSolver.add(propK);
+					baseSolver.add(transK);
+					stepSolver.add(propK);
+					stepSolver.add(transK);
+					k++;
+					if (simplePath) {
+						for (int i = 0; i < k; i++) {
+							stepSolver.add(distinct(sts, i, k));
+						}
+					}
+				}
+			}
+		}
+
+		logger.writeln("Done, result: ", result, 1, 0);
+		logger.writeln(result.getStats().get(), 1);
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return Utils.toStringBuilder(getClass().getSimpleName()).add("Simple path: " + simplePath).toString();
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.formalism.sts.analysis;
+
+import static hu.bme.mit.theta.core.type.abstracttype.AbstractExprs.Neq;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Or;
+import static hu.bme.mit.theta.core.utils.PathUtils.unfold;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import hu.bme.mit.theta.analysis.Trace;
+import hu.bme.mit.theta.analysis.expl.ExplState;
+import hu.bme.mit.theta.analysis.expr.ExprState;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.model.Model;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.utils.PathUtils;
+import hu.bme.mit.theta.formalism.sts.STS;
+
+/**
+ * Utility functions for algorithms working on unrollings of an STS, where the
+ * i-th state of a path is represented by the variables unfolded with index i.
+ */
+final class StsUnrollings {
+
+	private StsUnrollings() {
+	}
+
+	/**
+	 * Expresses that the i-th and the j-th state of a path are different.
+	 */
+	static Expr<BoolType> distinct(final STS sts, final int i, final int j) {
+		final List<Expr<BoolType>> neqs = new ArrayList<>(sts.getVars().size());
+		for (final VarDecl<?> var : sts.getVars()) {
+			neqs.add(Neq(unfold(var.getRef(), i), unfold(var.getRef(), j)));
+		}
+		return Or(neqs);
+	}
+
+	/**
+	 * Extracts a trace of explicit states with a given length from a model of
+	 * an unrolling.
+	 */
+	static Trace<ExprState, StsAction> extractTrace(final STS sts, final Model model, final int length) {
+		final List<ExprState> states = new ArrayList<>(length + 1);
+		for (int i = 0; i <= length; i++) {
+			states.add(ExplState.create(PathUtils.extractValuation(model, i, sts.getVars())));
+		}
+		return Trace.of(states, Collections.nCopies(length, new StsAction(sts)));
+	}
+
+}
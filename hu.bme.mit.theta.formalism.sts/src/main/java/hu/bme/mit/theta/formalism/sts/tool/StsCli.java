@@ -26,7 +26,7 @@ import com.beust.jcommander.ParameterException;
 
 import hu.bme.mit.theta.analysis.State;
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
-import hu.bme.mit.theta.analysis.algorithm.cegar.CegarStatistics;
+import hu.bme.mit.theta.analysis.algorithm.Statistics;
 import hu.bme.mit.theta.analysis.utils.ArgVisualizer;
 import hu.bme.mit.theta.analysis.utils.TraceVisualizer;
 import hu.bme.mit.theta.common.Utils;
@@ -37,6 +37,7 @@ import hu.bme.mit.theta.common.table.TableWriter;
 import hu.bme.mit.theta.common.table.impl.SimpleTableWriter;
 import hu.bme.mit.theta.common.visualization.Graph;
 import hu.bme.mit.theta.common.visualization.writer.GraphvizWriter;
+import hu.bme.mit.theta.core.type.ExprInterner;
 import hu.bme.mit.theta.core.type.booltype.BoolExprs;
 import hu.bme.mit.theta.core.utils.ExprUtils;
 import hu.bme.mit.theta.formalism.sts.STS;
@@ -44,24 +45,30 @@ import hu.bme.mit.theta.formalism.sts.StsUtils;
 import hu.bme.mit.theta.formalism.sts.aiger.BasicAigerParser;
 import hu.bme.mit.theta.formalism.sts.dsl.StsDslManager;
 import hu.bme.mit.theta.formalism.sts.dsl.StsSpec;
+import hu.bme.mit.theta.formalism.sts.tool.StsConfigBuilder.Algorithm;
 import hu.bme.mit.theta.formalism.sts.tool.StsConfigBuilder.Domain;
 import hu.bme.mit.theta.formalism.sts.tool.StsConfigBuilder.InitPrec;
+import hu.bme.mit.theta.formalism.sts.tool.StsConfigBuilder.PredAbstraction;
 import hu.bme.mit.theta.formalism.sts.tool.StsConfigBuilder.PredSplit;
 import hu.bme.mit.theta.formalism.sts.tool.StsConfigBuilder.Refinement;
 import hu.bme.mit.theta.formalism.sts.tool.StsConfigBuilder.Search;
 
 /**
- * A command line interface for running a CEGAR configuration on an STS.
+ * A command line interface for running a CEGAR, BMC, k-induction or IC3
+ * configuration on an STS.
  */
 public class StsCli {
 	private static final String JAR_NAME = "theta-sts.jar";
 	private final String[] args;
 	private final TableWriter writer;
 
-	@Parameter(names = { "--domain" }, description = "Abstract domain", required = true)
+	@Parameter(names = { "--algorithm" }, description = "Algorithm")
+	Algorithm algorithm = Algorithm.CEGAR;
+
+	@Parameter(names = { "--domain" }, description = "Abstract domain (required for CEGAR)")
 	Domain domain;
 
-	@Parameter(names = { "--refinement" }, description = "Refinement strategy", required = true)
+	@Parameter(names = { "--refinement" }, description = "Refinement strategy (required for CEGAR)")
 	Refinement refinement;
 
 	@Parameter(names = { "--search" }, description = "Search strategy")
@@ -70,12 +77,24 @@ public class StsCli {
 	@Parameter(names = { "--predsplit" }, description = "Predicate splitting")
 	PredSplit predSplit = PredSplit.WHOLE;
 
+	@Parameter(names = { "--predabstraction" }, description = "Predicate abstraction")
+	PredAbstraction predAbstraction = PredAbstraction.SPLIT;
+
+	@Parameter(names = { "--simplepath" }, description = "Restrict BMC and k-induction to loop-free paths")
+	Boolean simplePath = false;
+
+	@Parameter(names = { "--maxdepth" }, description = "Maximal depth of BMC (unbounded if not given)")
+	Integer maxDepth = null;
+
 	@Parameter(names = { "--model" }, description = "Path of the input model", required = true)
 	String model;
 
 	@Parameter(names = { "--initprec" }, description = "Initial precision")
 	InitPrec initPrec = InitPrec.EMPTY;
 
+	@Parameter(names = { "--interning" }, description = "Intern expressions (global for the process)")
+	Boolean interning = false;
+
 	@Parameter(names = { "--loglevel" }, description = "Detailedness of logging")
 	Integer logLevel = 1;
 
@@ -116,6 +135,10 @@ public class StsCli {
 		}
 
 		try {
+			if (interning) {
+				// Intern the expressions of the model as well
+				ExprInterner.enable();
+			}
 			final STS sts = loadModel();
 			final Config<?, ?, ?> configuration = buildConfiguration(sts);
 			final SafetyResult<?, ?> status = configuration.check();
@@ -156,19 +179,31 @@ public class StsCli {
 	}
 
 	private Config<?, ?, ?> buildConfiguration(final STS sts) {
-		return new StsConfigBuilder(domain, refinement).initPrec(initPrec).search(search).predSplit(predSplit)
-				.logger(logger).build(sts);
+		if (algorithm == Algorithm.CEGAR && (domain == null || refinement == null)) {
+			throw new IllegalArgumentException("CEGAR requires a domain and a refinement strategy.");
+		}
+		final StsConfigBuilder builder = new StsConfigBuilder(domain, refinement).algorithm(algorithm)
+				.simplePath(simplePath).initPrec(initPrec).search(search).predSplit(predSplit)
+				.predAbstraction(predAbstraction).logger(logger);
+		if (maxDepth != null) {
+			builder.maxDepth(maxDepth);
+		}
+		return builder.build(sts);
 	}
 
 	private void printResult(final SafetyResult<?, ?> status, final STS sts) {
-		final CegarStatistics stats = (CegarStatistics) status.getStats().get();
+		final Statistics stats = status.getStats().get();
 		if (benchmarkMode) {
-			writer.cell(status.isSafe());
-			writer.cell(stats.getElapsedMillis());
-			writer.cell(stats.getIterations());
-			writer.cell(status.getArg().size());
-			writer.cell(status.getArg().getDepth());
-			writer.cell(status.getArg().getMeanBranchingFactor());
+			writer.cell(status.isUnknown() ? "unknown" : status.isSafe());
+			writer.cell(stats.get("ElapsedMillis"));
+			writer.cell(stats.get("Iterations"));
+			if (status.hasArg()) {
+				writer.cell(status.getArg().size());
+				writer.cell(status.getArg().getDepth());
+				writer.cell(status.getArg().getMeanBranchingFactor());
+			} else {
+				writer.cell("").cell("").cell("");
+			}
 			if (status.isUnsafe()) {
 				writer.cell(status.asUnsafe().getTrace().length() + "");
 			} else {
@@ -191,6 +226,9 @@ public class StsCli {
 
 	private void writeVisualStatus(final SafetyResult<?, ?> status, final String filename)
 			throws FileNotFoundException {
+		if (!status.isUnsafe() && !status.hasArg()) {
+			throw new UnsupportedOperationException("Result has no ARG to visualize.");
+		}
 		final Graph graph = status.isSafe()
 				? new ArgVisualizer<>(State::toString, a -> "").visualize(status.asSafe().getArg())
 				: new TraceVisualizer<>(State::toString, a -> "").visualize(status.asUnsafe().getTrace());
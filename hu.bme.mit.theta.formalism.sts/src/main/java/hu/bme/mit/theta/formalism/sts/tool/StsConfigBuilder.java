@@ -25,6 +25,7 @@ import hu.bme.mit.theta.analysis.LTS;
 import hu.bme.mit.theta.analysis.Prec;
 import hu.bme.mit.theta.analysis.State;
 import hu.bme.mit.theta.analysis.algorithm.ArgBuilder;
+import hu.bme.mit.theta.analysis.algorithm.ArgNode;
 import hu.bme.mit.theta.analysis.algorithm.ArgNodeComparators;
 import hu.bme.mit.theta.analysis.algorithm.ArgNodeComparators.ArgNodeComparator;
 import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
@@ -35,6 +36,7 @@ import hu.bme.mit.theta.analysis.algorithm.cegar.Refiner;
 import hu.bme.mit.theta.analysis.expl.ExplAnalysis;
 import hu.bme.mit.theta.analysis.expl.ExplPrec;
 import hu.bme.mit.theta.analysis.expl.ExplState;
+import hu.bme.mit.theta.analysis.expl.ExplStateIndex;
 import hu.bme.mit.theta.analysis.expl.ExplStatePredicate;
 import hu.bme.mit.theta.analysis.expl.ItpRefToExplPrec;
 import hu.bme.mit.theta.analysis.expl.VarsRefToExplPrec;
@@ -52,10 +54,14 @@ import hu.bme.mit.theta.analysis.expr.refinement.SingleExprTraceRefiner;
 import hu.bme.mit.theta.analysis.pred.ExprSplitters;
 import hu.bme.mit.theta.analysis.pred.ExprSplitters.ExprSplitter;
 import hu.bme.mit.theta.analysis.pred.ItpRefToSimplePredPrec;
+import hu.bme.mit.theta.analysis.pred.PredAbstractors;
+import hu.bme.mit.theta.analysis.pred.PredAbstractors.PredAbstractor;
 import hu.bme.mit.theta.analysis.pred.PredAnalysis;
 import hu.bme.mit.theta.analysis.pred.PredPrec;
 import hu.bme.mit.theta.analysis.pred.PredState;
+import hu.bme.mit.theta.analysis.pred.PredStateIndex;
 import hu.bme.mit.theta.analysis.pred.SimplePredPrec;
+import hu.bme.mit.theta.analysis.unit.UnitPrec;
 import hu.bme.mit.theta.analysis.waitlist.PriorityWaitlist;
 import hu.bme.mit.theta.common.logging.Logger;
 import hu.bme.mit.theta.common.logging.impl.NullLogger;
@@ -63,16 +69,24 @@ import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
 import hu.bme.mit.theta.formalism.sts.STS;
 import hu.bme.mit.theta.formalism.sts.analysis.StsAction;
+import hu.bme.mit.theta.formalism.sts.analysis.StsBmcChecker;
+import hu.bme.mit.theta.formalism.sts.analysis.StsIc3Checker;
+import hu.bme.mit.theta.formalism.sts.analysis.StsKInductionChecker;
 import hu.bme.mit.theta.formalism.sts.analysis.StsLts;
 import hu.bme.mit.theta.formalism.sts.analysis.initprec.StsEmptyInitPrec;
 import hu.bme.mit.theta.formalism.sts.analysis.initprec.StsInitPrec;
 import hu.bme.mit.theta.formalism.sts.analysis.initprec.StsPropInitPrec;
 import hu.bme.mit.theta.solver.ItpSolver;
+import hu.bme.mit.theta.solver.Solver;
 import hu.bme.mit.theta.solver.SolverFactory;
 import hu.bme.mit.theta.solver.z3.Z3SolverFactory;
 
 public final class StsConfigBuilder {
 
+	public enum Algorithm {
+		CEGAR, BMC, KINDUCTION, IC3
+	};
+
 	public enum Domain {
 		EXPL, PRED
 	};
@@ -94,6 +108,31 @@ public final class StsConfigBuilder {
 
 	};
 
+	public enum PredAbstraction {
+		SPLIT {
+			@Override
+			public PredAbstractor create(final Solver solver) {
+				return PredAbstractors.booleanSplitAbstractor(solver);
+			}
+		},
+
+		BOOLEAN {
+			@Override
+			public PredAbstractor create(final Solver solver) {
+				return PredAbstractors.booleanAbstractor(solver);
+			}
+		},
+
+		CARTESIAN {
+			@Override
+			public PredAbstractor create(final Solver solver) {
+				return PredAbstractors.cartesianAbstractor(solver);
+			}
+		};
+
+		public abstract PredAbstractor create(Solver solver);
+	};
+
 	public enum PredSplit {
 		WHOLE(ExprSplitters.whole()),
 
@@ -121,11 +160,15 @@ public final class StsConfigBuilder {
 
 	private Logger logger = NullLogger.getInstance();
 	private SolverFactory solverFactory = Z3SolverFactory.getInstace();
+	private Algorithm algorithm = Algorithm.CEGAR;
 	private final Domain domain;
 	private final Refinement refinement;
 	private Search search = Search.BFS;
 	private PredSplit predSplit = PredSplit.WHOLE;
+	private PredAbstraction predAbstraction = PredAbstraction.SPLIT;
 	private InitPrec initPrec = InitPrec.EMPTY;
+	private boolean simplePath = false;
+	private int maxDepth = Integer.MAX_VALUE;
 
 	public StsConfigBuilder(final Domain domain, final Refinement refinement) {
 		this.domain = domain;
@@ -142,6 +185,11 @@ public final class StsConfigBuilder {
 		return this;
 	}
 
+	public StsConfigBuilder algorithm(final Algorithm algorithm) {
+		this.algorithm = algorithm;
+		return this;
+	}
+
 	public StsConfigBuilder search(final Search search) {
 		this.search = search;
 		return this;
@@ -152,16 +200,45 @@ public final class StsConfigBuilder {
 		return this;
 	}
 
+	public StsConfigBuilder predAbstraction(final PredAbstraction predAbstraction) {
+		this.predAbstraction = predAbstraction;
+		return this;
+	}
+
 	public StsConfigBuilder initPrec(final InitPrec initPrec) {
 		this.initPrec = initPrec;
 		return this;
 	}
 
+	public StsConfigBuilder simplePath(final boolean simplePath) {
+		this.simplePath = simplePath;
+		return this;
+	}
+
+	public StsConfigBuilder maxDepth(final int maxDepth) {
+		this.maxDepth = maxDepth;
+		return this;
+	}
+
 	public InitPrec getInitPrec() {
 		return initPrec;
 	}
 
 	public Config<? extends State, ? extends Action, ? extends Prec> build(final STS sts) {
+		if (algorithm == Algorithm.BMC) {
+			final SafetyChecker<ExprState, StsAction, UnitPrec> checker = StsBmcChecker.create(sts,
+					solverFactory.createSolver(), simplePath, maxDepth, logger);
+			return Config.create(checker, UnitPrec.getInstance());
+		} else if (algorithm == Algorithm.KINDUCTION) {
+			final SafetyChecker<ExprState, StsAction, UnitPrec> checker = StsKInductionChecker.create(sts,
+					solverFactory.createSolver(), solverFactory.createSolver(), simplePath, logger);
+			return Config.create(checker, UnitPrec.getInstance());
+		} else if (algorithm == Algorithm.IC3) {
+			final SafetyChecker<ExprState, StsAction, UnitPrec> checker = StsIc3Checker.create(sts, solverFactory,
+					logger);
+			return Config.create(checker, UnitPrec.getInstance());
+		}
+
 		final ItpSolver solver = solverFactory.createItpSolver();
 		final LTS<State, StsAction> lts = StsLts.create(sts);
 		final Expr<BoolType> init = sts.getInit();
@@ -172,6 +249,7 @@ public final class StsConfigBuilder {
 			final Analysis<ExplState, ExprAction, ExplPrec> analysis = ExplAnalysis.create(solver, init);
 			final ArgBuilder<ExplState, StsAction, ExplPrec> argBuilder = ArgBuilder.create(lts, analysis, target);
 			final Abstractor<ExplState, StsAction, ExplPrec> abstractor = BasicAbstractor.builder(argBuilder)
+					.indexSupplier(ExplStateIndex.supplier(ArgNode::getState))
 					.waitlistSupplier(PriorityWaitlist.supplier(search.comparator)).logger(logger).build();
 
 			Refiner<ExplState, StsAction, ExplPrec> refiner = null;
@@ -205,10 +283,12 @@ public final class StsConfigBuilder {
 
 		} else if (domain == Domain.PRED) {
 			final Predicate<ExprState> target = new ExprStatePredicate(negProp, solver);
-			final Analysis<PredState, ExprAction, PredPrec> analysis = PredAnalysis.create(solver, init);
+			final Analysis<PredState, ExprAction, PredPrec> analysis = PredAnalysis.create(solver,
+					predAbstraction.create(solver), init);
 			final ArgBuilder<PredState, StsAction, SimplePredPrec> argBuilder = ArgBuilder.create(lts, analysis,
 					target);
 			final Abstractor<PredState, StsAction, SimplePredPrec> abstractor = BasicAbstractor.builder(argBuilder)
+					.indexSupplier(PredStateIndex.supplier(ArgNode::getState))
 					.waitlistSupplier(PriorityWaitlist.supplier(search.comparator)).logger(logger).build();
 
 			ExprTraceChecker<ItpRefutation> exprTraceChecker = null;
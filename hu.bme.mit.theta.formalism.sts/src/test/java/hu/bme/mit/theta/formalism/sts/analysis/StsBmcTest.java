@@ -0,0 +1,76 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.formalism.sts.analysis;
+
+import static hu.bme.mit.theta.formalism.sts.analysis.StsTestModels.createCounter;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.analysis.expr.ExprState;
+import hu.bme.mit.theta.analysis.unit.UnitPrec;
+import hu.bme.mit.theta.formalism.sts.STS;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.z3.Z3SolverFactory;
+
+public class StsBmcTest {
+
+	private static final int MOD = 10;
+
+	@Test
+	public void testUnsafe() {
+		final STS sts = createCounter(MOD, MOD);
+		final Solver solver = Z3SolverFactory.getInstace().createSolver();
+
+		final SafetyResult<ExprState, StsAction> result = StsBmcChecker.create(sts, solver, false, Integer.MAX_VALUE)
+				.check(UnitPrec.getInstance());
+
+		assertTrue(result.isUnsafe());
+		assertEquals(MOD, result.asUnsafe().getTrace().length());
+	}
+
+	@Test
+	public void testSafe() {
+		final STS sts = createCounter(MOD, MOD + 1);
+		final Solver solver = Z3SolverFactory.getInstace().createSolver();
+
+		final SafetyResult<ExprState, StsAction> result = StsBmcChecker.create(sts, solver, true, Integer.MAX_VALUE)
+				.check(UnitPrec.getInstance());
+
+		assertTrue(result.isSafe());
+		assertFalse(result.hasArg());
+		// The counter has MOD + 1 states, so it has no loop-free path of this length
+		assertEquals(MOD + 1, ((BmcStatistics) result.getStats().get()).getIterations());
+	}
+
+	@Test
+	public void testMaxDepth() {
+		final STS sts = createCounter(MOD, MOD);
+		final Solver solver = Z3SolverFactory.getInstace().createSolver();
+
+		final SafetyResult<ExprState, StsAction> result = StsBmcChecker.create(sts, solver, false, MOD - 1)
+				.check(UnitPrec.getInstance());
+
+		// The counterexample is longer than the maximal depth
+		assertTrue(result.isUnknown());
+		assertFalse(result.hasArg());
+		assertEquals(MOD - 1, ((BmcStatistics) result.getStats().get()).getIterations());
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.formalism.sts.analysis;
+
+import static hu.bme.mit.theta.formalism.sts.analysis.StsTestModels.createCounter;
+import static hu.bme.mit.theta.formalism.sts.analysis.StsTestModels.createShiftRegister;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.analysis.expr.ExprState;
+import hu.bme.mit.theta.analysis.unit.UnitPrec;
+import hu.bme.mit.theta.formalism.sts.STS;
+import hu.bme.mit.theta.solver.SolverFactory;
+import hu.bme.mit.theta.solver.z3.Z3SolverFactory;
+
+public class StsKInductionTest {
+
+	private static final int MOD = 10;
+
+	@Test
+	public void testInductive() {
+		final STS sts = createCounter(MOD, MOD + 1);
+		final SolverFactory factory = Z3SolverFactory.getInstace();
+
+		final SafetyResult<ExprState, StsAction> result = StsKInductionChecker
+				.create(sts, factory.createSolver(), factory.createSolver(), false).check(UnitPrec.getInstance());
+
+		assertTrue(result.isSafe());
+		assertFalse(result.hasArg());
+		// The property of the counter is 1-inductive
+		assertEquals(1, ((BmcStatistics) result.getStats().get()).getIterations());
+	}
+
+	@Test
+	public void testSafe() {
+		final STS sts = createShiftRegister(false, false);
+		final SolverFactory factory = Z3SolverFactory.getInstace();
+
+		final SafetyResult<ExprState, StsAction> result = StsKInductionChecker
+				.create(sts, factory.createSolver(), factory.createSolver(), false).check(UnitPrec.getInstance());
+
+		assertTrue(result.isSafe());
+		assertFalse(result.hasArg());
+		// The property of the shift register is 3-inductive, but not 2-inductive
+		assertEquals(3, ((BmcStatistics) result.getStats().get()).getIterations());
+	}
+
+	@Test
+	public void testSimplePath() {
+		final STS sts = createShiftRegister(false, false);
+		final SolverFactory factory = Z3SolverFactory.getInstace();
+
+		final SafetyResult<ExprState, StsAction> result = StsKInductionChecker
+				.create(sts, factory.createSolver(), factory.createSolver(), true).check(UnitPrec.getInstance());
+
+		assertTrue(result.isSafe());
+		assertFalse(result.hasArg());
+		assertEquals(3, ((BmcStatistics) result.getStats().get()).getIterations());
+	}
+
+	@Test
+	public void testUnsafe() {
+		final STS sts = createShiftRegister(true, false);
+		final SolverFactory factory = Z3SolverFactory.getInstace();
+
+		final SafetyResult<ExprState, StsAction> result = StsKInductionChecker
+				.create(sts, factory.createSolver(), factory.createSolver(), false).check(UnitPrec.getInstance());
+
+		assertTrue(result.isUnsafe());
+		assertEquals(2, ((BmcStatistics) result.getStats().get()).getIterations());
+		assertEquals(2, result.asUnsafe().getTrace().length());
+	}
+
+	@Test
+	public void testUnsafeInit() {
+		final STS sts = createShiftRegister(false, true);
+		final SolverFactory factory = Z3SolverFactory.getInstace();
+
+		final SafetyResult<ExprState, StsAction> result = StsKInductionChecker
+				.create(sts, factory.createSolver(), factory.createSolver(), false).check(UnitPrec.getInstance());
+
+		assertTrue(result.isUnsafe());
+		assertEquals(0, result.asUnsafe().getTrace().length());
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.formalism.sts.analysis;
+
+import static hu.bme.mit.theta.core.decl.Decls.Var;
+import static hu.bme.mit.theta.core.type.anytype.Exprs.Prime;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.False;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Iff;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Imply;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Add;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Eq;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Geq;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Int;
+import static hu.bme.mit.theta.core.type.inttype.IntExprs.Lt;
+
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import hu.bme.mit.theta.formalism.sts.STS;
+import hu.bme.mit.theta.formalism.sts.STS.Builder;
+
+/**
+ * Small STSs shared by the tests of the STS checkers.
+ */
+final class StsTestModels {
+
+	private StsTestModels() {
+	}
+
+	/**
+	 * A counter x from 0 that is incremented up to mod and then reset to 0.
+	 * The property "x != bad" is violated in bad steps if bad is at most mod.
+	 */
+	static STS createCounter(final int mod, final int bad) {
+		final VarDecl<IntType> vx = Var("x", Int());
+		final Expr<IntType> x = vx.getRef();
+
+		final Builder builder = STS.builder();
+
+		builder.addInit(Eq(x, Int(0)));
+		builder.addTrans(And(Imply(Lt(x, Int(mod)), Eq(Prime(x), Add(x, Int(1)))),
+				Imply(Geq(x, Int(mod)), Eq(Prime(x), Int(0)))));
+		builder.setProp(Not(Eq(x, Int(bad))));
+
+		return builder.build();
+	}
+
+	/**
+	 * A shift register a -> b -> c, where a is always false and b is initially
+	 * false. The property "not c" is violated in two steps if a is initially
+	 * true and immediately if c is initially true. Otherwise it holds and it
+	 * is 3-inductive, but not 1- or 2-inductive.
+	 */
+	static STS createShiftRegister(final boolean initA, final boolean initC) {
+		final VarDecl<BoolType> va = Var("a", Bool());
+		final VarDecl<BoolType> vb = Var("b", Bool());
+		final VarDecl<BoolType> vc = Var("c", Bool());
+		final Expr<BoolType> a = va.getRef();
+		final Expr<BoolType> b = vb.getRef();
+		final Expr<BoolType> c = vc.getRef();
+
+		final Builder builder = STS.builder();
+
+		builder.addInit(initA ? a : Not(a));
+		builder.addInit(Not(b));
+		builder.addInit(initC ? c : Not(c));
+		builder.addTrans(Iff(Prime(a), False()));
+		builder.addTrans(Iff(Prime(b), a));
+		builder.addTrans(Iff(Prime(c), b));
+		builder.setProp(Not(c));
+
+		return builder.build();
+	}
+
+}
@@ -20,9 +20,12 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.ImmutableSet.toImmutableSet;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 
 import hu.bme.mit.theta.core.decl.VarDecl;
 import hu.bme.mit.theta.core.type.rattype.RatType;
@@ -31,17 +34,32 @@ public final class XtaSystem {
 	private final Collection<VarDecl<?>> dataVars;
 	private final Collection<VarDecl<RatType>> clockVars;
 	private final List<XtaProcess> processes;
+	private final List<Scalarset> scalarsets;
 
-	private XtaSystem(final List<XtaProcess> processes) {
+	private XtaSystem(final List<XtaProcess> processes, final List<Scalarset> scalarsets) {
 		checkNotNull(processes);
+		checkNotNull(scalarsets);
 		checkArgument(!processes.isEmpty());
 		this.processes = ImmutableList.copyOf(processes);
+		this.scalarsets = ImmutableList.copyOf(scalarsets);
 		dataVars = processes.stream().flatMap(p -> p.getDataVars().stream()).collect(toImmutableSet());
 		clockVars = processes.stream().flatMap(p -> p.getClockVars().stream()).collect(toImmutableSet());
+
+		final Set<XtaProcess> instances = new HashSet<>();
+		for (final Scalarset scalarset : scalarsets) {
+			for (final XtaProcess process : scalarset.getProcesses()) {
+				checkArgument(this.processes.contains(process), "Unknown process " + process.getName());
+				checkArgument(instances.add(process), "Process " + process.getName() + " is in multiple scalarsets");
+			}
+		}
 	}
 
 	public static XtaSystem of(final List<XtaProcess> processes) {
-		return new XtaSystem(processes);
+		return new XtaSystem(processes, ImmutableList.of());
+	}
+
+	public static XtaSystem of(final List<XtaProcess> processes, final List<Scalarset> scalarsets) {
+		return new XtaSystem(processes, scalarsets);
 	}
 
 	public Collection<VarDecl<?>> getDataVars() {
@@ -56,4 +74,48 @@ public final class XtaSystem {
 		return processes;
 	}
 
+	/**
+	 * Returns the groups of processes that were instantiated from the same
+	 * template with different values of its only parameter.
+	 */
+	public List<Scalarset> getScalarsets() {
+		return scalarsets;
+	}
+
+	/**
+	 * Processes instantiated from the same template, whose only parameter is of
+	 * a bounded integer type. Each process is instantiated with a distinct value
+	 * of the type, which identifies the process. The template is not required
+	 * to use the values as a scalarset, i.e., only in equality checks and
+	 * assignments, so the processes are not necessarily symmetric.
+	 */
+	public static final class Scalarset {
+		private final List<XtaProcess> processes;
+		private final List<Integer> values;
+
+		private Scalarset(final List<XtaProcess> processes, final List<Integer> values) {
+			checkNotNull(processes);
+			checkNotNull(values);
+			checkArgument(processes.size() == values.size(), "Each process must have a value");
+			checkArgument(ImmutableSet.copyOf(values).size() == values.size(), "Values must be distinct");
+			this.processes = ImmutableList.copyOf(processes);
+			this.values = ImmutableList.copyOf(values);
+		}
+
+		public static Scalarset of(final List<XtaProcess> processes, final List<Integer> values) {
+			return new Scalarset(processes, values);
+		}
+
+		public List<XtaProcess> getProcesses() {
+			return processes;
+		}
+
+		/**
+		 * Returns the values of the parameter, in the order of the processes.
+		 */
+		public List<Integer> getValues() {
+			return values;
+		}
+	}
+
 }
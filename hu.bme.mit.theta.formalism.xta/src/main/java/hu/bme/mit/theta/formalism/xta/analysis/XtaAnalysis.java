@@ -33,9 +33,10 @@ public final class XtaAnalysis<S extends State, P extends Prec> implements Analy
 	private XtaAnalysis(final XtaSystem system, final Analysis<S, ? super XtaAction, ? super P> analysis) {
 		checkNotNull(system);
 		checkNotNull(analysis);
+		final XtaDiscreteEncoder encoder = XtaDiscreteEncoder.create(system);
 		domain = XtaDomain.create(analysis.getDomain());
-		initFunc = XtaInitFunc.create(system, analysis.getInitFunc());
-		transFunc = XtaTransFunc.create(analysis.getTransFunc());
+		initFunc = XtaInitFunc.create(system, encoder, analysis.getInitFunc());
+		transFunc = XtaTransFunc.create(encoder, analysis.getTransFunc());
 	}
 
 	public static <S extends State, P extends Prec> XtaAnalysis<S, P> create(final XtaSystem system,
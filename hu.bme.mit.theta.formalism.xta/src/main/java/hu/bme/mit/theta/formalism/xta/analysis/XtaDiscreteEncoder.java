@@ -0,0 +1,105 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.formalism.xta.analysis;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.type.LitExpr;
+import hu.bme.mit.theta.core.type.Type;
+import hu.bme.mit.theta.core.type.booltype.BoolLitExpr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.inttype.IntLitExpr;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import hu.bme.mit.theta.formalism.xta.XtaProcess;
+import hu.bme.mit.theta.formalism.xta.XtaProcess.Loc;
+import hu.bme.mit.theta.formalism.xta.XtaSystem;
+
+/**
+ * Packs the discrete part of the states of an XTA system into integer arrays.
+ * The first entries of the array are the indices of the locations of the
+ * processes, followed by the values of the data variables in a fixed order.
+ */
+final class XtaDiscreteEncoder {
+
+	private final Map<Loc, Integer> locIndices;
+	private final List<VarDecl<?>> dataVars;
+
+	private XtaDiscreteEncoder(final XtaSystem system) {
+		checkNotNull(system);
+		locIndices = createLocIndices(system);
+		dataVars = createDataVars(system);
+	}
+
+	public static XtaDiscreteEncoder create(final XtaSystem system) {
+		return new XtaDiscreteEncoder(system);
+	}
+
+	public XtaDiscreteState encode(final List<Loc> locs, final Valuation val) {
+		final int[] values = new int[locs.size() + dataVars.size()];
+		int i = 0;
+		for (final Loc loc : locs) {
+			values[i] = locIndices.get(loc);
+			i++;
+		}
+		for (final VarDecl<?> var : dataVars) {
+			values[i] = encodeValue(val.eval(var).get());
+			i++;
+		}
+		return new XtaDiscreteState(locs, val, values);
+	}
+
+	static int encodeValue(final LitExpr<?> value) {
+		if (value instanceof IntLitExpr) {
+			return ((IntLitExpr) value).getValue();
+		} else if (value instanceof BoolLitExpr) {
+			return ((BoolLitExpr) value).getValue() ? 1 : 0;
+		} else {
+			throw new AssertionError();
+		}
+	}
+
+	private static List<VarDecl<?>> createDataVars(final XtaSystem system) {
+		final ImmutableList.Builder<VarDecl<?>> builder = ImmutableList.builder();
+		for (final VarDecl<?> var : system.getDataVars()) {
+			final Type type = var.getType();
+			if (type instanceof BoolType || type instanceof IntType) {
+				builder.add(var);
+			}
+		}
+		return builder.build();
+	}
+
+	private static Map<Loc, Integer> createLocIndices(final XtaSystem system) {
+		final ImmutableMap.Builder<Loc, Integer> builder = ImmutableMap.builder();
+		for (final XtaProcess process : system.getProcesses()) {
+			int index = 0;
+			for (final Loc loc : process.getLocs()) {
+				builder.put(loc, index);
+				index++;
+			}
+		}
+		return builder.build();
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.formalism.xta.analysis;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.stream.Collectors.joining;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.formalism.xta.XtaProcess.Loc;
+
+/**
+ * Discrete part of an XTA state: a location vector and a valuation of the data
+ * variables. Besides the locations and the valuation, the discrete state is
+ * stored packed into an array of integers if it was created by the encoder of
+ * its system. The hash code is precomputed, and discrete states that are both
+ * packed are compared by their arrays, so that they can be used directly as
+ * keys in reached sets.
+ */
+public final class XtaDiscreteState {
+	private static final int HASH_SEED = 4957;
+
+	private final List<Loc> locs;
+	private final Valuation val;
+	// null if the discrete state is not packed
+	private final int[] values;
+	private final int hashCode;
+
+	XtaDiscreteState(final List<Loc> locs, final Valuation val, final int[] values) {
+		this.locs = ImmutableList.copyOf(checkNotNull(locs));
+		this.val = checkNotNull(val);
+		this.values = values;
+		this.hashCode = HASH_SEED + 31 * this.locs.hashCode() + val.hashCode();
+	}
+
+	/**
+	 * Creates a discrete state that is not packed. Prefer the states created by
+	 * the analysis, whose equality checks only compare arrays.
+	 */
+	public static XtaDiscreteState of(final List<Loc> locs, final Valuation val) {
+		return new XtaDiscreteState(locs, val, null);
+	}
+
+	public List<Loc> getLocs() {
+		return locs;
+	}
+
+	public Valuation getVal() {
+		return val;
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		} else if (obj instanceof XtaDiscreteState) {
+			final XtaDiscreteState that = (XtaDiscreteState) obj;
+			if (this.hashCode != that.hashCode) {
+				return false;
+			} else if (this.values != null && that.values != null) {
+				return Arrays.equals(this.values, that.values);
+			} else {
+				return this.locs.equals(that.locs) && this.val.equals(that.val);
+			}
+		} else {
+			return false;
+		}
+	}
+
+	@Override
+	public String toString() {
+		if (values != null) {
+			return Arrays.toString(values);
+		} else {
+			return locs.stream().map(Loc::getName).collect(joining(", ", "[", "]")) + " " + val;
+		}
+	}
+}
@@ -48,7 +48,7 @@ final class XtaDomain<S extends State> implements Domain<XtaState<S>> {
 	public boolean isLeq(final XtaState<S> state1, final XtaState<S> state2) {
 		checkNotNull(state1);
 		checkNotNull(state2);
-		return state1.getLocs().equals(state2.getLocs()) && state1.getVal().equals(state2.getVal())
+		return state1.getDiscreteState().equals(state2.getDiscreteState())
 				&& domain.isLeq(state1.getState(), state2.getState());
 	}
 
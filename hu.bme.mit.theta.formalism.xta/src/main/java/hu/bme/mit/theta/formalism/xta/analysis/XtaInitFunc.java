@@ -41,16 +41,19 @@ import hu.bme.mit.theta.formalism.xta.XtaSystem;
 
 final class XtaInitFunc<S extends State, P extends Prec> implements InitFunc<XtaState<S>, P> {
 	private final XtaSystem system;
+	private final XtaDiscreteEncoder encoder;
 	private final InitFunc<S, ? super P> initFunc;
 
-	private XtaInitFunc(final XtaSystem system, final InitFunc<S, ? super P> initFunc) {
+	private XtaInitFunc(final XtaSystem system, final XtaDiscreteEncoder encoder,
+			final InitFunc<S, ? super P> initFunc) {
 		this.system = checkNotNull(system);
+		this.encoder = checkNotNull(encoder);
 		this.initFunc = checkNotNull(initFunc);
 	}
 
 	public static <S extends State, P extends Prec> XtaInitFunc<S, P> create(final XtaSystem system,
-			final InitFunc<S, ? super P> initFunc) {
-		return new XtaInitFunc<>(system, initFunc);
+			final XtaDiscreteEncoder encoder, final InitFunc<S, ? super P> initFunc) {
+		return new XtaInitFunc<>(system, encoder, initFunc);
 	}
 
 	@Override
@@ -58,8 +61,9 @@ final class XtaInitFunc<S extends State, P extends Prec> implements InitFunc<Xta
 		checkNotNull(prec);
 		final List<Loc> initLocs = creatInitLocs(system);
 		final Valuation initVal = createInitVal(system);
+		final XtaDiscreteState initDiscreteState = encoder.encode(initLocs, initVal);
 		final Collection<? extends S> initStates = initFunc.getInitStates(prec);
-		return XtaState.collectionOf(initLocs, initVal, initStates);
+		return XtaState.collectionOf(initDiscreteState, initStates);
 	}
 
 	private static ImmutableList<Loc> creatInitLocs(final XtaSystem system) {
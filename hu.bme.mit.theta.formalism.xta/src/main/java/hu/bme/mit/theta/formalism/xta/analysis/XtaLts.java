@@ -15,91 +15,196 @@
  */
 package hu.bme.mit.theta.formalism.xta.analysis;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Ints;
 
 import hu.bme.mit.theta.analysis.LTS;
 import hu.bme.mit.theta.formalism.xta.Label;
 import hu.bme.mit.theta.formalism.xta.Sync;
 import hu.bme.mit.theta.formalism.xta.Sync.Kind;
+import hu.bme.mit.theta.formalism.xta.XtaProcess;
 import hu.bme.mit.theta.formalism.xta.XtaProcess.Edge;
 import hu.bme.mit.theta.formalism.xta.XtaProcess.Loc;
 import hu.bme.mit.theta.formalism.xta.XtaSystem;
 
+/**
+ * LTS for XTA systems. The edges that can fire from each location and the
+ * possible receivers of each emitting edge are computed once per system, and
+ * the enabled actions are cached per location vector, so that repeated queries
+ * for the same location vector return the same action objects. The cache keeps
+ * a bounded number of location vectors, evicting the least recently used ones.
+ */
 public final class XtaLts implements LTS<XtaState<?>, XtaAction> {
 
+	private static final int CACHE_SIZE = 10000;
+
 	private final XtaSystem system;
+	private final Map<Loc, List<Edge>> firingEdges;
+	private final Map<Edge, Receivers> receivers;
+	private final Map<List<Loc>, Collection<XtaAction>> actionCache;
 
-	private XtaLts(final XtaSystem system) {
+	private XtaLts(final XtaSystem system, final int cacheSize) {
+		checkArgument(cacheSize >= 0, "Cache size must be non-negative");
 		this.system = checkNotNull(system);
+		firingEdges = createFiringEdges(system);
+		receivers = createReceivers(system);
+		actionCache = CacheBuilder.newBuilder().maximumSize(cacheSize).<List<Loc>, Collection<XtaAction>>build()
+				.asMap();
 	}
 
 	public static XtaLts create(final XtaSystem system) {
-		return new XtaLts(system);
+		return new XtaLts(system, CACHE_SIZE);
+	}
+
+	static XtaLts create(final XtaSystem system, final int cacheSize) {
+		return new XtaLts(system, cacheSize);
+	}
+
+	int getCacheSize() {
+		return actionCache.size();
 	}
 
 	@Override
 	public Collection<XtaAction> getEnabledActionsFor(final XtaState<?> state) {
-		final Collection<XtaAction> result = new ArrayList<>();
-		for (final Loc loc : state.getLocs()) {
-			for (final Edge edge : loc.getOutEdges()) {
-				addActionsForEdge(result, system, state, edge);
-			}
+		final List<Loc> locs = state.getLocs();
+		final Collection<XtaAction> cachedActions = actionCache.get(locs);
+		if (cachedActions != null) {
+			return cachedActions;
 		}
-		return result;
+
+		final Collection<XtaAction> actions = createActions(locs);
+		final Collection<XtaAction> previousActions = actionCache.putIfAbsent(locs, actions);
+		return previousActions != null ? previousActions : actions;
 	}
 
-	private static void addActionsForEdge(final Collection<XtaAction> result, final XtaSystem system,
-			final XtaState<?> state, final Edge edge) {
-		if (edge.getSync().isPresent()) {
-			addSyncActionsForEdge(result, system, state, edge);
-		} else {
-			addSimpleActionsForEdge(result, system, state, edge);
+	private Collection<XtaAction> createActions(final List<Loc> locs) {
+		final ImmutableList.Builder<XtaAction> builder = ImmutableList.builder();
+		for (final Loc loc : locs) {
+			for (final Edge edge : firingEdges.get(loc)) {
+				if (edge.getSync().isPresent()) {
+					addSyncedActions(builder, locs, edge);
+				} else {
+					builder.add(XtaAction.simple(system, locs, edge));
+				}
+			}
 		}
+		return builder.build();
 	}
 
-	private static void addSyncActionsForEdge(final Collection<XtaAction> result, final XtaSystem system,
-			final XtaState<?> state, final Edge emitEdge) {
-
-		final Loc emitLoc = emitEdge.getSource();
-		final Sync emitSync = emitEdge.getSync().get();
-		if (emitSync.getKind() != Kind.EMIT) {
-			return;
+	private void addSyncedActions(final ImmutableList.Builder<XtaAction> builder, final List<Loc> locs,
+			final Edge emitEdge) {
+		final Receivers emitReceivers = receivers.get(emitEdge);
+		for (final int process : emitReceivers.processes) {
+			final List<Edge> recvEdges = emitReceivers.edges.get(locs.get(process));
+			if (recvEdges != null) {
+				for (final Edge recvEdge : recvEdges) {
+					builder.add(XtaAction.synced(system, locs, emitEdge, recvEdge));
+				}
+			}
 		}
+	}
 
-		final Label emitLabel = emitSync.getLabel();
-
-		for (final Loc recvLoc : state.getLocs()) {
-			if (recvLoc == emitLoc) {
-				continue;
+	////
+
+	private static Map<Loc, List<Edge>> createFiringEdges(final XtaSystem system) {
+		final ImmutableMap.Builder<Loc, List<Edge>> builder = ImmutableMap.builder();
+		for (final XtaProcess process : system.getProcesses()) {
+			for (final Loc loc : process.getLocs()) {
+				final ImmutableList.Builder<Edge> edges = ImmutableList.builder();
+				for (final Edge edge : loc.getOutEdges()) {
+					if (!edge.getSync().isPresent() || edge.getSync().get().getKind() == Kind.EMIT) {
+						edges.add(edge);
+					}
+				}
+				builder.put(loc, edges.build());
 			}
+		}
+		return builder.build();
+	}
 
-			for (final Edge recvEdge : recvLoc.getOutEdges()) {
-				if (!recvEdge.getSync().isPresent()) {
-					continue;
+	private static Map<Edge, Receivers> createReceivers(final XtaSystem system) {
+		final List<XtaProcess> processes = system.getProcesses();
+
+		final Map<Label, Map<Loc, List<Edge>>> recvEdgesByLabel = new HashMap<>();
+		final Map<Loc, Integer> processOf = new HashMap<>();
+		for (int i = 0; i < processes.size(); i++) {
+			for (final Loc loc : processes.get(i).getLocs()) {
+				processOf.put(loc, i);
+				for (final Edge edge : loc.getOutEdges()) {
+					if (edge.getSync().isPresent()) {
+						final Sync sync = edge.getSync().get();
+						if (sync.getKind() == Kind.RECV) {
+							recvEdgesByLabel.computeIfAbsent(sync.getLabel(), l -> new HashMap<>())
+									.computeIfAbsent(loc, l -> new ArrayList<>()).add(edge);
+						}
+					}
 				}
+			}
+		}
 
-				final Sync recvSync = recvEdge.getSync().get();
-				if (recvSync.getKind() != Kind.RECV) {
-					continue;
+		final ImmutableMap.Builder<Edge, Receivers> builder = ImmutableMap.builder();
+		for (final XtaProcess process : processes) {
+			for (final Loc loc : process.getLocs()) {
+				for (final Edge edge : loc.getOutEdges()) {
+					if (edge.getSync().isPresent()) {
+						final Sync sync = edge.getSync().get();
+						if (sync.getKind() == Kind.EMIT) {
+							final Map<Loc, List<Edge>> recvEdges = recvEdgesByLabel.get(sync.getLabel());
+							builder.put(edge, Receivers.create(recvEdges, processOf, processOf.get(loc)));
+						}
+					}
 				}
+			}
+		}
+		return builder.build();
+	}
 
-				final Label recvLabel = recvSync.getLabel();
+	/**
+	 * Receiving edges matching an emitting edge, grouped by source location,
+	 * together with the indices of the processes they belong to.
+	 */
+	private static final class Receivers {
+		private final int[] processes;
+		private final Map<Loc, List<Edge>> edges;
+
+		private Receivers(final int[] processes, final Map<Loc, List<Edge>> edges) {
+			this.processes = processes;
+			this.edges = edges;
+		}
 
-				if (emitLabel.equals(recvLabel)) {
-					final XtaAction action = XtaAction.synced(system, state.getLocs(), emitEdge, recvEdge);
-					result.add(action);
+		private static Receivers create(final Map<Loc, List<Edge>> recvEdges, final Map<Loc, Integer> processOf,
+				final int emitProcess) {
+			if (recvEdges == null) {
+				return new Receivers(new int[0], ImmutableMap.of());
+			}
+
+			final List<Integer> processes = new ArrayList<>();
+			final ImmutableMap.Builder<Loc, List<Edge>> edges = ImmutableMap.builder();
+			for (final Map.Entry<Loc, List<Edge>> entry : recvEdges.entrySet()) {
+				final int process = processOf.get(entry.getKey());
+				if (process != emitProcess) {
+					if (!processes.contains(process)) {
+						processes.add(process);
+					}
+					edges.put(entry.getKey(), ImmutableList.copyOf(entry.getValue()));
 				}
 			}
+			final int[] sortedProcesses = Ints.toArray(processes);
+			Arrays.sort(sortedProcesses);
+			return new Receivers(sortedProcesses, edges.build());
 		}
 	}
 
-	private static void addSimpleActionsForEdge(final Collection<XtaAction> result, final XtaSystem system,
-			final XtaState<?> state, final Edge edge) {
-		final XtaAction action = XtaAction.simple(system, state.getLocs(), edge);
-		result.add(action);
-	}
-
 }
@@ -0,0 +1,180 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.formalism.xta.analysis;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import hu.bme.mit.theta.analysis.LTS;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.utils.ExprUtils;
+import hu.bme.mit.theta.core.utils.StmtUtils;
+import hu.bme.mit.theta.formalism.xta.Guard;
+import hu.bme.mit.theta.formalism.xta.Update;
+import hu.bme.mit.theta.formalism.xta.XtaProcess;
+import hu.bme.mit.theta.formalism.xta.XtaProcess.Edge;
+import hu.bme.mit.theta.formalism.xta.XtaProcess.Loc;
+import hu.bme.mit.theta.formalism.xta.XtaProcess.LocKind;
+import hu.bme.mit.theta.formalism.xta.XtaSystem;
+
+/**
+ * LTS for XTA systems with partial order reduction. Time cannot elapse while a
+ * process is in an urgent or committed location, so if the edges leaving such
+ * a location do not synchronize and only refer to the local variables and
+ * clocks of the process, they are independent of the transitions of the other
+ * processes. If one of these edges is always enabled, the edges form an ample
+ * set, and the transitions of the other processes are not explored in this
+ * state. Locations on cycles of such locations are excluded, so that the other
+ * processes are not postponed forever.
+ * <p>
+ * The error locations are given as a set, and a state is an error state if
+ * any of its locations is an error location. The locations of processes that
+ * have an error location are never ample, so that the reachability of error
+ * locations is preserved.
+ */
+public final class XtaPorLts implements LTS<XtaState<?>, XtaAction> {
+
+	private static final int CACHE_SIZE = 10000;
+
+	private final XtaLts lts;
+	private final Set<Loc> ampleLocs;
+	private final Map<List<Loc>, Collection<XtaAction>> actionCache;
+
+	private XtaPorLts(final XtaSystem system, final Set<Loc> errorLocs) {
+		checkNotNull(system);
+		checkNotNull(errorLocs);
+		lts = XtaLts.create(system);
+		ampleLocs = createAmpleLocs(system, errorLocs);
+		actionCache = CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).<List<Loc>, Collection<XtaAction>>build()
+				.asMap();
+	}
+
+	public static XtaPorLts create(final XtaSystem system, final Set<Loc> errorLocs) {
+		return new XtaPorLts(system, errorLocs);
+	}
+
+	@Override
+	public Collection<XtaAction> getEnabledActionsFor(final XtaState<?> state) {
+		final List<Loc> locs = state.getLocs();
+		if (locs.stream().noneMatch(ampleLocs::contains)) {
+			return lts.getEnabledActionsFor(state);
+		}
+
+		final Collection<XtaAction> cachedActions = actionCache.get(locs);
+		if (cachedActions != null) {
+			return cachedActions;
+		}
+
+		final Collection<XtaAction> actions = createAmpleActions(state);
+		final Collection<XtaAction> previousActions = actionCache.putIfAbsent(locs, actions);
+		return previousActions != null ? previousActions : actions;
+	}
+
+	private Collection<XtaAction> createAmpleActions(final XtaState<?> state) {
+		final Loc ampleLoc = state.getLocs().stream().filter(ampleLocs::contains).findFirst().get();
+		final ImmutableList.Builder<XtaAction> builder = ImmutableList.builder();
+		for (final XtaAction action : lts.getEnabledActionsFor(state)) {
+			if (action.isSimple() && action.asSimple().getEdge().getSource() == ampleLoc) {
+				builder.add(action);
+			}
+		}
+		return builder.build();
+	}
+
+	////
+
+	private static Set<Loc> createAmpleLocs(final XtaSystem system, final Set<Loc> errorLocs) {
+		final Map<XtaProcess, Set<VarDecl<?>>> localVars = XtaUtils.getLocalVars(system);
+		final ImmutableSet.Builder<Loc> builder = ImmutableSet.builder();
+		for (final XtaProcess process : system.getProcesses()) {
+			if (process.getLocs().stream().anyMatch(errorLocs::contains)) {
+				continue;
+			}
+			final Set<Loc> candidates = new HashSet<>();
+			for (final Loc loc : process.getLocs()) {
+				if (isAmpleCandidate(loc, localVars.get(process))) {
+					candidates.add(loc);
+				}
+			}
+			for (final Loc loc : candidates) {
+				if (!isOnCycle(loc, candidates)) {
+					builder.add(loc);
+				}
+			}
+		}
+		return builder.build();
+	}
+
+	private static boolean isAmpleCandidate(final Loc loc, final Set<VarDecl<?>> localVars) {
+		if (loc.getKind() == LocKind.NORMAL || loc.getOutEdges().isEmpty()) {
+			return false;
+		}
+
+		boolean hasEnabledEdge = false;
+		for (final Edge edge : loc.getOutEdges()) {
+			if (edge.getSync().isPresent() || !localVars.containsAll(getVars(edge))) {
+				return false;
+			}
+			if (edge.getGuards().isEmpty() && edge.getTarget().getInvars().isEmpty()) {
+				hasEnabledEdge = true;
+			}
+		}
+		return hasEnabledEdge;
+	}
+
+	private static Set<VarDecl<?>> getVars(final Edge edge) {
+		final Set<VarDecl<?>> vars = new HashSet<>();
+		for (final Guard guard : edge.getGuards()) {
+			vars.addAll(ExprUtils.getVars(guard.toExpr()));
+		}
+		for (final Update update : edge.getUpdates()) {
+			vars.addAll(StmtUtils.getVars(update.toStmt()));
+		}
+		for (final Guard invar : edge.getTarget().getInvars()) {
+			vars.addAll(ExprUtils.getVars(invar.toExpr()));
+		}
+		return vars;
+	}
+
+	private static boolean isOnCycle(final Loc loc, final Set<Loc> locs) {
+		final Set<Loc> visited = new HashSet<>();
+		final Queue<Loc> queue = new ArrayDeque<>();
+		queue.add(loc);
+		while (!queue.isEmpty()) {
+			for (final Edge edge : queue.remove().getOutEdges()) {
+				final Loc target = edge.getTarget();
+				if (target == loc) {
+					return true;
+				} else if (locs.contains(target) && visited.add(target)) {
+					queue.add(target);
+				}
+			}
+		}
+		return false;
+	}
+
+}
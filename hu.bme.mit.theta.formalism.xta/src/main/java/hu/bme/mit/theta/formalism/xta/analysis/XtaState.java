@@ -22,8 +22,6 @@ import java.util.Collection;
 import java.util.List;
 import java.util.StringJoiner;
 
-import com.google.common.collect.ImmutableList;
-
 import hu.bme.mit.theta.analysis.State;
 import hu.bme.mit.theta.core.model.Valuation;
 import hu.bme.mit.theta.formalism.xta.XtaProcess.Loc;
@@ -32,36 +30,47 @@ public final class XtaState<S extends State> implements State {
 	private static final int HASH_SEED = 8291;
 	private volatile int hashCode = 0;
 
-	private final List<Loc> locs;
-	private final Valuation val;
+	private final XtaDiscreteState discreteState;
 	private final S state;
 
-	public XtaState(final List<Loc> locs, final Valuation val, final S state) {
-		this.locs = ImmutableList.copyOf(checkNotNull(locs));
-		this.val = checkNotNull(val);
+	private XtaState(final XtaDiscreteState discreteState, final S state) {
+		this.discreteState = checkNotNull(discreteState);
 		this.state = checkNotNull(state);
 	}
 
+	public static <S extends State> XtaState<S> of(final XtaDiscreteState discreteState, final S state) {
+		return new XtaState<>(discreteState, state);
+	}
+
 	public static <S extends State> XtaState<S> of(final List<Loc> locs, final Valuation val, final S state) {
-		return new XtaState<>(locs, val, state);
+		return new XtaState<>(XtaDiscreteState.of(locs, val), state);
 	}
 
 	public static <S extends State> Collection<XtaState<S>> collectionOf(final List<Loc> locs, final Valuation val,
 			final Collection<? extends S> states) {
+		return collectionOf(XtaDiscreteState.of(locs, val), states);
+	}
+
+	public static <S extends State> Collection<XtaState<S>> collectionOf(final XtaDiscreteState discreteState,
+			final Collection<? extends S> states) {
 		final Collection<XtaState<S>> result = new ArrayList<>();
 		for (final S state : states) {
-			final XtaState<S> initXtaState = XtaState.of(locs, val, state);
+			final XtaState<S> initXtaState = XtaState.of(discreteState, state);
 			result.add(initXtaState);
 		}
 		return result;
 	}
 
+	public XtaDiscreteState getDiscreteState() {
+		return discreteState;
+	}
+
 	public List<Loc> getLocs() {
-		return locs;
+		return discreteState.getLocs();
 	}
 
 	public Valuation getVal() {
-		return val;
+		return discreteState.getVal();
 	}
 
 	public S getState() {
@@ -69,7 +78,7 @@ public final class XtaState<S extends State> implements State {
 	}
 
 	public <S2 extends State> XtaState<S2> withState(final S2 state) {
-		return XtaState.of(this.locs, this.val, state);
+		return XtaState.of(this.discreteState, state);
 	}
 
 	@Override
@@ -77,8 +86,7 @@ public final class XtaState<S extends State> implements State {
 		int result = hashCode;
 		if (result == 0) {
 			result = HASH_SEED;
-			result = 31 * result + locs.hashCode();
-			result = 31 * result + val.hashCode();
+			result = 31 * result + discreteState.hashCode();
 			result = 31 * result + state.hashCode();
 			hashCode = result;
 		}
@@ -91,7 +99,7 @@ public final class XtaState<S extends State> implements State {
 			return true;
 		} else if (obj instanceof XtaState) {
 			final XtaState<?> that = (XtaState<?>) obj;
-			return this.locs.equals(that.locs) && this.val.equals(that.val) && this.state.equals(that.state);
+			return this.discreteState.equals(that.discreteState) && this.state.equals(that.state);
 		} else {
 			return false;
 		}
@@ -99,6 +107,8 @@ public final class XtaState<S extends State> implements State {
 
 	@Override
 	public String toString() {
+		final List<Loc> locs = discreteState.getLocs();
+		final Valuation val = discreteState.getVal();
 		final StringJoiner sj = new StringJoiner("\n");
 		locs.forEach(l -> sj.add(l.getName()));
 		val.getDecls().forEach(d -> sj.add(d.getName() + " = " + val.eval(d).get()));
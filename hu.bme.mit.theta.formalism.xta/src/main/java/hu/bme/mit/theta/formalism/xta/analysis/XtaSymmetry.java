@@ -0,0 +1,786 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.formalism.xta.analysis;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import hu.bme.mit.theta.core.decl.Decl;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.stmt.AssignStmt;
+import hu.bme.mit.theta.core.stmt.Stmt;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.Type;
+import hu.bme.mit.theta.core.type.abstracttype.EqExpr;
+import hu.bme.mit.theta.core.type.abstracttype.NeqExpr;
+import hu.bme.mit.theta.core.type.anytype.RefExpr;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.inttype.IntLitExpr;
+import hu.bme.mit.theta.core.type.inttype.IntType;
+import hu.bme.mit.theta.core.type.rattype.RatType;
+import hu.bme.mit.theta.formalism.xta.Guard;
+import hu.bme.mit.theta.formalism.xta.Label;
+import hu.bme.mit.theta.formalism.xta.Sync;
+import hu.bme.mit.theta.formalism.xta.Update;
+import hu.bme.mit.theta.formalism.xta.XtaProcess;
+import hu.bme.mit.theta.formalism.xta.XtaProcess.Edge;
+import hu.bme.mit.theta.formalism.xta.XtaProcess.Loc;
+import hu.bme.mit.theta.formalism.xta.XtaSystem;
+import hu.bme.mit.theta.formalism.xta.XtaSystem.Scalarset;
+
+/**
+ * Symmetries of an XTA system, based on the scalarsets of the system (see
+ * {@link Scalarset}). The processes of a scalarset are symmetric if swapping
+ * the values of any two of them is an automorphism of the system, i.e., it
+ * maps each of the two processes to the other one, up to a renaming of their
+ * locations and their local variables and clocks, and maps every other process
+ * to itself. The values are swapped in the literals of the system and in the
+ * variables that hold values of the scalarset. Such variables can only be
+ * compared for equality and assigned to each other and to literals, and their
+ * initial value must not be in the scalarset. Scalarsets that do not satisfy
+ * these conditions, e.g., because the values are used in arithmetic, are not
+ * symmetric.
+ * <p>
+ * The canonical form of a discrete state is obtained by sorting the symmetric
+ * processes by their locations and the values of their local variables, and by
+ * renaming the values of the scalarset accordingly. States with the same
+ * canonical form are equal up to a permutation of the symmetric processes,
+ * which maps the clocks of one of them to the clocks of the other.
+ */
+public final class XtaSymmetry {
+
+	private final List<Group> groups;
+	private final Map<Loc, Integer> locIndices;
+	private final List<List<VarDecl<?>>> localDataVars;
+	private final List<List<VarDecl<RatType>>> localClocks;
+	private final List<VarDecl<?>> sharedDataVars;
+	// Variables holding values of a scalarset, mapped to the index of its group
+	private final Map<VarDecl<?>, Integer> scalarVars;
+
+	private XtaSymmetry(final XtaSystem system) {
+		checkNotNull(system);
+		final List<XtaProcess> processes = system.getProcesses();
+		final Map<XtaProcess, Set<VarDecl<?>>> localVars = XtaUtils.getLocalVars(system);
+
+		final Map<Loc, Integer> locIndicesBuilder = new HashMap<>();
+		final List<List<VarDecl<?>>> localDataVarsBuilder = new ArrayList<>();
+		final List<List<VarDecl<RatType>>> localClocksBuilder = new ArrayList<>();
+		for (final XtaProcess process : processes) {
+			int index = 0;
+			for (final Loc loc : process.getLocs()) {
+				locIndicesBuilder.put(loc, index);
+				index++;
+			}
+			localDataVarsBuilder.add(filterDataVars(localVars.get(process)));
+			localClocksBuilder.add(ImmutableList.copyOf(
+					process.getClockVars().stream().filter(localVars.get(process)::contains).iterator()));
+		}
+
+		final List<Group> groupsBuilder = new ArrayList<>();
+		final Map<VarDecl<?>, Integer> scalarVarsBuilder = new HashMap<>();
+		for (final Scalarset scalarset : system.getScalarsets()) {
+			final Set<Integer> values = ImmutableSet.copyOf(scalarset.getValues());
+			final Set<VarDecl<?>> vars = getScalarVars(system, values);
+			if (vars == null || vars.stream().anyMatch(scalarVarsBuilder::containsKey)
+					|| groupsBuilder.stream().anyMatch(g -> g.values.stream().anyMatch(values::contains))) {
+				continue;
+			}
+
+			final List<XtaProcess> members = scalarset.getProcesses();
+			final List<Matching> matchings = getMatchings(system, scalarset, localVars);
+			if (matchings == null) {
+				continue;
+			}
+
+			final XtaProcess template = members.get(0);
+			final int templateIndex = processes.indexOf(template);
+			for (int k = 1; k < members.size(); k++) {
+				final XtaProcess process = members.get(k);
+				final int processIndex = processes.indexOf(process);
+				final Matching m = matchings.get(k - 1);
+				for (final Loc loc : process.getLocs()) {
+					locIndicesBuilder.put(loc, locIndicesBuilder.get(m.getImage(loc)));
+				}
+				localDataVarsBuilder.set(processIndex, m.getPreimages(localDataVarsBuilder.get(templateIndex)));
+				localClocksBuilder.set(processIndex, m.getPreimages(localClocksBuilder.get(templateIndex)));
+			}
+
+			final int groupIndex = groupsBuilder.size();
+			vars.forEach(v -> scalarVarsBuilder.put(v, groupIndex));
+			groupsBuilder.add(new Group(members.stream().mapToInt(processes::indexOf).toArray(),
+					scalarset.getValues()));
+		}
+
+		groups = ImmutableList.copyOf(groupsBuilder);
+		locIndices = ImmutableMap.copyOf(locIndicesBuilder);
+		localDataVars = ImmutableList.copyOf(localDataVarsBuilder);
+		localClocks = ImmutableList.copyOf(localClocksBuilder);
+		scalarVars = ImmutableMap.copyOf(scalarVarsBuilder);
+
+		final Set<VarDecl<?>> allLocalVars = new HashSet<>();
+		localVars.values().forEach(allLocalVars::addAll);
+		final Collection<VarDecl<?>> sharedVars = new ArrayList<>(system.getDataVars());
+		sharedVars.removeAll(allLocalVars);
+		sharedDataVars = filterDataVars(sharedVars);
+	}
+
+	public static XtaSymmetry create(final XtaSystem system) {
+		return new XtaSymmetry(system);
+	}
+
+	////
+
+	/**
+	 * Returns true if the system has no symmetric processes.
+	 */
+	public boolean isTrivial() {
+		return groups.isEmpty();
+	}
+
+	public CanonicalForm canonize(final XtaDiscreteState state) {
+		checkNotNull(state);
+		final List<Loc> locs = state.getLocs();
+		final Valuation val = state.getVal();
+
+		final int nProcesses = locs.size();
+		final int[][] processValues = new int[nProcesses][];
+		for (int i = 0; i < nProcesses; i++) {
+			final List<VarDecl<?>> vars = localDataVars.get(i);
+			final int[] values = new int[vars.size() + 1];
+			values[0] = locIndices.get(locs.get(i));
+			for (int j = 0; j < vars.size(); j++) {
+				values[j + 1] = XtaDiscreteEncoder.encodeValue(val.eval(vars.get(j)).get());
+			}
+			processValues[i] = values;
+		}
+		final int[] sharedValues = new int[sharedDataVars.size()];
+		for (int j = 0; j < sharedDataVars.size(); j++) {
+			sharedValues[j] = XtaDiscreteEncoder.encodeValue(val.eval(sharedDataVars.get(j)).get());
+		}
+
+		final int[] permutation = new int[nProcesses];
+		for (int i = 0; i < nProcesses; i++) {
+			permutation[i] = i;
+		}
+		final List<Map<Integer, Integer>> renamings = new ArrayList<>();
+		for (final Group group : groups) {
+			final int groupIndex = renamings.size();
+			final int[][] sortKeys = new int[group.processes.length][];
+			final Integer[] members = new Integer[group.processes.length];
+			for (int m = 0; m < group.processes.length; m++) {
+				members[m] = m;
+				sortKeys[m] = getSortKey(groupIndex, processValues[group.processes[m]], group.values.get(m),
+						sharedValues);
+			}
+			Arrays.sort(members, (m1, m2) -> compare(sortKeys[m1], sortKeys[m2]));
+
+			final Map<Integer, Integer> renaming = new HashMap<>();
+			for (int j = 0; j < group.processes.length; j++) {
+				permutation[group.processes[j]] = group.processes[members[j]];
+				renaming.put(group.values.get(members[j]), group.values.get(j));
+			}
+			renamings.add(renaming);
+		}
+
+		final int size = Arrays.stream(processValues).mapToInt(v -> v.length).sum() + sharedValues.length;
+		final int[] key = new int[size];
+		int k = 0;
+		for (int i = 0; i < nProcesses; i++) {
+			final int process = permutation[i];
+			final int[] values = processValues[process];
+			key[k] = values[0];
+			k++;
+			final List<VarDecl<?>> vars = localDataVars.get(process);
+			for (int j = 0; j < vars.size(); j++) {
+				key[k] = rename(vars.get(j), values[j + 1], renamings);
+				k++;
+			}
+		}
+		for (int j = 0; j < sharedValues.length; j++) {
+			key[k] = rename(sharedDataVars.get(j), sharedValues[j], renamings);
+			k++;
+		}
+
+		return new CanonicalForm(key, permutation);
+	}
+
+	/**
+	 * Returns the renaming of clocks that maps a state with the given canonical
+	 * form to the symmetric state with the other canonical form. Clocks that are
+	 * not renamed are not included in the result.
+	 */
+	public Map<VarDecl<RatType>, VarDecl<RatType>> getClockRenaming(final CanonicalForm from,
+			final CanonicalForm to) {
+		checkNotNull(from);
+		checkNotNull(to);
+		checkArgument(from.key.equals(to.key), "Canonical forms differ");
+
+		final ImmutableMap.Builder<VarDecl<RatType>, VarDecl<RatType>> builder = ImmutableMap.builder();
+		for (final Group group : groups) {
+			for (final int i : group.processes) {
+				final int process1 = from.permutation[i];
+				final int process2 = to.permutation[i];
+				if (process1 != process2) {
+					final Iterator<VarDecl<RatType>> clocks2 = localClocks.get(process2).iterator();
+					for (final VarDecl<RatType> clock1 : localClocks.get(process1)) {
+						builder.put(clock1, clocks2.next());
+					}
+				}
+			}
+		}
+		return builder.build();
+	}
+
+	////
+
+	/**
+	 * The key by which the processes of a group are sorted: the location and the
+	 * local variables of the process, followed by flags telling which shared
+	 * variables of the scalarset refer to the process. The flags do not change
+	 * when the processes are permuted, so they distinguish processes at the same
+	 * location.
+	 */
+	private int[] getSortKey(final int groupIndex, final int[] processValues, final int value,
+			final int[] sharedValues) {
+		final int[] key = Arrays.copyOf(processValues, processValues.length + sharedValues.length);
+		for (int j = 0; j < sharedValues.length; j++) {
+			final boolean refers = groupIndex == scalarVars.getOrDefault(sharedDataVars.get(j), -1)
+					&& sharedValues[j] == value;
+			key[processValues.length + j] = refers ? 1 : 0;
+		}
+		return key;
+	}
+
+	private int rename(final VarDecl<?> var, final int value, final List<Map<Integer, Integer>> renamings) {
+		final Integer groupIndex = scalarVars.get(var);
+		if (groupIndex == null) {
+			return value;
+		}
+		return renamings.get(groupIndex).getOrDefault(value, value);
+	}
+
+	private static int compare(final int[] values1, final int[] values2) {
+		for (int i = 0; i < values1.length; i++) {
+			final int result = Integer.compare(values1[i], values2[i]);
+			if (result != 0) {
+				return result;
+			}
+		}
+		return 0;
+	}
+
+	private static List<VarDecl<?>> filterDataVars(final Collection<? extends VarDecl<?>> vars) {
+		final ImmutableList.Builder<VarDecl<?>> builder = ImmutableList.builder();
+		for (final VarDecl<?> var : vars) {
+			final Type type = var.getType();
+			if (type instanceof BoolType || type instanceof IntType) {
+				builder.add(var);
+			}
+		}
+		return builder.build();
+	}
+
+	////
+
+	/**
+	 * Returns the matchings of the processes of the scalarset to its first
+	 * process, or null if swapping the value of the first process with the
+	 * value of any other process is not an automorphism of the system. These
+	 * transpositions generate all permutations of the values.
+	 */
+	private static List<Matching> getMatchings(final XtaSystem system, final Scalarset scalarset,
+			final Map<XtaProcess, Set<VarDecl<?>>> localVars) {
+		final List<XtaProcess> members = scalarset.getProcesses();
+		final XtaProcess template = members.get(0);
+		final int templateValue = scalarset.getValues().get(0);
+
+		final List<Matching> matchings = new ArrayList<>();
+		for (int k = 1; k < members.size(); k++) {
+			final XtaProcess process = members.get(k);
+			final int value = scalarset.getValues().get(k);
+			final Map<Integer, Integer> swap = ImmutableMap.of(templateValue, value, value, templateValue);
+
+			final Optional<Matching> matching = Matching.of(process, localVars.get(process), template,
+					localVars.get(template), swap);
+			if (!matching.isPresent()) {
+				return null;
+			}
+			for (final XtaProcess other : system.getProcesses()) {
+				if (other != process && other != template && !Matching
+						.of(other, localVars.get(other), other, localVars.get(other), swap).isPresent()) {
+					return null;
+				}
+			}
+			matchings.add(matching.get());
+		}
+		return matchings;
+	}
+
+	/**
+	 * Returns the integer variables that hold values of the scalarset, or null
+	 * if the values are used in a way that is not invariant under their
+	 * permutations.
+	 */
+	private static Set<VarDecl<?>> getScalarVars(final XtaSystem system, final Set<Integer> values) {
+		// Initial values are not renamed
+		if (values.contains(0)) {
+			return null;
+		}
+
+		final List<Expr<?>> exprs = new ArrayList<>();
+		final List<AssignStmt<?>> assigns = new ArrayList<>();
+		final List<Sync> syncs = new ArrayList<>();
+		for (final XtaProcess process : system.getProcesses()) {
+			for (final Loc loc : process.getLocs()) {
+				loc.getInvars().forEach(g -> exprs.add(g.toExpr()));
+				for (final Edge edge : loc.getOutEdges()) {
+					edge.getGuards().forEach(g -> exprs.add(g.toExpr()));
+					edge.getSync().ifPresent(syncs::add);
+					for (final Update update : edge.getUpdates()) {
+						final Stmt stmt = update.toStmt();
+						if (!(stmt instanceof AssignStmt)) {
+							return null;
+						}
+						assigns.add((AssignStmt<?>) stmt);
+					}
+				}
+			}
+		}
+
+		final ScalarVarCollector collector = new ScalarVarCollector(values);
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (final Expr<?> expr : exprs) {
+				changed |= collector.collect(expr);
+			}
+			for (final AssignStmt<?> assign : assigns) {
+				changed |= collector.collect(assign);
+			}
+		}
+
+		final Set<Label> scalarLabels = new HashSet<>();
+		for (final Sync sync : syncs) {
+			if (sync.getArgs().stream().anyMatch(collector::isScalar)) {
+				scalarLabels.add(sync.getLabel());
+			}
+		}
+
+		for (final Expr<?> expr : exprs) {
+			if (!collector.isInvariant(expr)) {
+				return null;
+			}
+		}
+		for (final AssignStmt<?> assign : assigns) {
+			final boolean valid = collector.vars.contains(assign.getVarDecl())
+					? ScalarVarCollector.isOperand(assign.getExpr())
+					: collector.isInvariant(assign.getExpr());
+			if (!valid) {
+				return null;
+			}
+		}
+		for (final Sync sync : syncs) {
+			for (final Expr<?> arg : sync.getArgs()) {
+				final boolean valid = scalarLabels.contains(sync.getLabel())
+						? collector.isScalar(arg) || arg instanceof IntLitExpr
+						: collector.isInvariant(arg);
+				if (!valid) {
+					return null;
+				}
+			}
+		}
+		return collector.vars;
+	}
+
+	private static final class ScalarVarCollector {
+		private final Set<Integer> values;
+		private final Set<VarDecl<?>> vars;
+
+		private ScalarVarCollector(final Set<Integer> values) {
+			this.values = values;
+			this.vars = new HashSet<>();
+		}
+
+		/**
+		 * Returns true if the expression is a literal of the scalarset or a
+		 * reference to a variable holding values of the scalarset.
+		 */
+		public boolean isScalar(final Expr<?> expr) {
+			if (expr instanceof IntLitExpr) {
+				return values.contains(((IntLitExpr) expr).getValue());
+			} else if (expr instanceof RefExpr) {
+				return vars.contains(((RefExpr<?>) expr).getDecl());
+			} else {
+				return false;
+			}
+		}
+
+		/**
+		 * Returns true if the expression only uses the values of the scalarset in
+		 * equality checks with literals and variables.
+		 */
+		public boolean isInvariant(final Expr<?> expr) {
+			if (isEquality(expr) && expr.getOps().stream().anyMatch(this::isScalar)) {
+				return expr.getOps().stream().allMatch(ScalarVarCollector::isOperand);
+			} else if (isScalar(expr)) {
+				return false;
+			} else {
+				return expr.getOps().stream().allMatch(this::isInvariant);
+			}
+		}
+
+		public boolean collect(final Expr<?> expr) {
+			boolean changed = false;
+			if (isEquality(expr)) {
+				final Expr<?> leftOp = expr.getOps().get(0);
+				final Expr<?> rightOp = expr.getOps().get(1);
+				changed |= collect(leftOp, rightOp);
+				changed |= collect(rightOp, leftOp);
+			}
+			for (final Expr<?> op : expr.getOps()) {
+				changed |= collect(op);
+			}
+			return changed;
+		}
+
+		public boolean collect(final AssignStmt<?> assign) {
+			final Expr<?> expr = assign.getExpr();
+			boolean changed = collect(assign.getVarDecl().getRef(), expr);
+			changed |= collect(expr, assign.getVarDecl().getRef());
+			return changed | collect(expr);
+		}
+
+		private boolean collect(final Expr<?> expr, final Expr<?> otherExpr) {
+			if (expr instanceof RefExpr && expr.getType() instanceof IntType && isScalar(otherExpr)) {
+				final Decl<?> decl = ((RefExpr<?>) expr).getDecl();
+				if (decl instanceof VarDecl) {
+					return vars.add((VarDecl<?>) decl);
+				}
+			}
+			return false;
+		}
+
+		private static boolean isEquality(final Expr<?> expr) {
+			return (expr instanceof EqExpr || expr instanceof NeqExpr)
+					&& expr.getOps().get(0).getType() instanceof IntType;
+		}
+
+		private static boolean isOperand(final Expr<?> expr) {
+			return expr instanceof IntLitExpr || expr instanceof RefExpr;
+		}
+	}
+
+	////
+
+	private static final class Group {
+		private final int[] processes;
+		private final List<Integer> values;
+
+		private Group(final int[] processes, final List<Integer> values) {
+			this.processes = processes;
+			this.values = values;
+		}
+	}
+
+	public static final class CanonicalForm {
+		private final Key key;
+		private final int[] permutation;
+
+		private CanonicalForm(final int[] key, final int[] permutation) {
+			this.key = new Key(key);
+			this.permutation = permutation;
+		}
+
+		/**
+		 * Returns a key that is equal for symmetric discrete states.
+		 */
+		public Key getKey() {
+			return key;
+		}
+
+		@Override
+		public String toString() {
+			return key + " " + Arrays.toString(permutation);
+		}
+	}
+
+	public static final class Key {
+		private final int[] values;
+		private final int hashCode;
+
+		private Key(final int[] values) {
+			this.values = values;
+			this.hashCode = Arrays.hashCode(values);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			} else if (obj instanceof Key) {
+				final Key that = (Key) obj;
+				return this.hashCode == that.hashCode && Arrays.equals(this.values, that.values);
+			} else {
+				return false;
+			}
+		}
+
+		@Override
+		public String toString() {
+			return Arrays.toString(values);
+		}
+	}
+
+	////
+
+	/**
+	 * Bijection between the locations and the local variables of a process and
+	 * the ones of a template process, where the integer literals of the process
+	 * are mapped to the ones of the template by a renaming of values.
+	 */
+	private static final class Matching {
+		private final XtaProcess process;
+		private final XtaProcess template;
+		private final Set<VarDecl<?>> localVars;
+		private final Set<VarDecl<?>> templateLocalVars;
+		private final Map<Integer, Integer> valueRenaming;
+
+		private final Map<Loc, Loc> locToImage;
+		private final Map<Loc, Loc> locToPreimage;
+		private final Map<Decl<?>, Decl<?>> varToImage;
+		private final Map<Decl<?>, Decl<?>> varToPreimage;
+
+		private Matching(final XtaProcess process, final Set<VarDecl<?>> localVars, final XtaProcess template,
+				final Set<VarDecl<?>> templateLocalVars, final Map<Integer, Integer> valueRenaming) {
+			this.process = process;
+			this.template = template;
+			this.localVars = localVars;
+			this.templateLocalVars = templateLocalVars;
+			this.valueRenaming = valueRenaming;
+			locToImage = new HashMap<>();
+			locToPreimage = new HashMap<>();
+			varToImage = new HashMap<>();
+			varToPreimage = new HashMap<>();
+		}
+
+		public static Optional<Matching> of(final XtaProcess process, final Set<VarDecl<?>> localVars,
+				final XtaProcess template, final Set<VarDecl<?>> templateLocalVars,
+				final Map<Integer, Integer> valueRenaming) {
+			final Matching matching = new Matching(process, localVars, template, templateLocalVars, valueRenaming);
+			if (matching.match()) {
+				return Optional.of(matching);
+			} else {
+				return Optional.empty();
+			}
+		}
+
+		public Loc getImage(final Loc loc) {
+			return locToImage.get(loc);
+		}
+
+		@SuppressWarnings("unchecked")
+		public <T extends VarDecl<?>> List<T> getPreimages(final List<T> templateVars) {
+			final ImmutableList.Builder<T> builder = ImmutableList.builder();
+			for (final T var : templateVars) {
+				builder.add((T) varToPreimage.get(var));
+			}
+			return builder.build();
+		}
+
+		////
+
+		private boolean match() {
+			if (process.getLocs().size() != template.getLocs().size() || localVars.size() != templateLocalVars.size()
+					|| !matchLocs(process.getInitLoc(), template.getInitLoc())) {
+				return false;
+			}
+
+			final Queue<Loc> queue = new ArrayDeque<>();
+			queue.add(process.getInitLoc());
+			while (!queue.isEmpty()) {
+				final Loc loc = queue.remove();
+				final Loc image = locToImage.get(loc);
+				if (loc.getKind() != image.getKind() || !matchGuards(loc.getInvars(), image.getInvars())
+						|| loc.getOutEdges().size() != image.getOutEdges().size()) {
+					return false;
+				}
+
+				final Iterator<Edge> imageEdges = image.getOutEdges().iterator();
+				for (final Edge edge : loc.getOutEdges()) {
+					final Edge imageEdge = imageEdges.next();
+					final Loc target = edge.getTarget();
+					final boolean visited = locToImage.containsKey(target);
+					if (!matchLocs(target, imageEdge.getTarget()) || !matchGuards(edge.getGuards(), imageEdge.getGuards())
+							|| !matchSyncs(edge.getSync(), imageEdge.getSync())
+							|| !matchUpdates(edge.getUpdates(), imageEdge.getUpdates())) {
+						return false;
+					}
+					if (!visited) {
+						queue.add(target);
+					}
+				}
+			}
+
+			return locToImage.size() == process.getLocs().size() && varToImage.size() == localVars.size();
+		}
+
+		private boolean matchLocs(final Loc loc, final Loc image) {
+			return bind(loc, image, locToImage, locToPreimage);
+		}
+
+		/**
+		 * Guards are matched regardless of their order, as the order of guards
+		 * is not preserved by the instantiation of templates.
+		 */
+		private boolean matchGuards(final Collection<Guard> guards, final Collection<Guard> imageGuards) {
+			if (guards.size() != imageGuards.size()) {
+				return false;
+			}
+			final List<Guard> unmatchedImageGuards = new ArrayList<>(imageGuards);
+			for (final Guard guard : guards) {
+				if (!matchAnyGuard(guard, unmatchedImageGuards)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private boolean matchAnyGuard(final Guard guard, final List<Guard> imageGuards) {
+			for (final Iterator<Guard> iterator = imageGuards.iterator(); iterator.hasNext();) {
+				final Map<Decl<?>, Decl<?>> oldVarToImage = new HashMap<>(varToImage);
+				final Map<Decl<?>, Decl<?>> oldVarToPreimage = new HashMap<>(varToPreimage);
+				if (matchExprs(guard.toExpr(), iterator.next().toExpr())) {
+					iterator.remove();
+					return true;
+				}
+				// Undo the bindings of the failed attempt
+				varToImage.clear();
+				varToImage.putAll(oldVarToImage);
+				varToPreimage.clear();
+				varToPreimage.putAll(oldVarToPreimage);
+			}
+			return false;
+		}
+
+		private boolean matchSyncs(final Optional<Sync> sync, final Optional<Sync> imageSync) {
+			if (!sync.isPresent() || !imageSync.isPresent()) {
+				return sync.isPresent() == imageSync.isPresent();
+			}
+			return sync.get().getKind() == imageSync.get().getKind()
+					&& sync.get().getLabel().equals(imageSync.get().getLabel())
+					&& matchExprs(sync.get().getArgs(), imageSync.get().getArgs());
+		}
+
+		private boolean matchUpdates(final List<Update> updates, final List<Update> imageUpdates) {
+			if (updates.size() != imageUpdates.size()) {
+				return false;
+			}
+			for (int i = 0; i < updates.size(); i++) {
+				final Stmt stmt = updates.get(i).toStmt();
+				final Stmt imageStmt = imageUpdates.get(i).toStmt();
+				if (!(stmt instanceof AssignStmt) || !(imageStmt instanceof AssignStmt)) {
+					return false;
+				}
+				final AssignStmt<?> assign = (AssignStmt<?>) stmt;
+				final AssignStmt<?> imageAssign = (AssignStmt<?>) imageStmt;
+				if (!matchDecls(assign.getVarDecl(), imageAssign.getVarDecl())
+						|| !matchExprs(assign.getExpr(), imageAssign.getExpr())) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private boolean matchExprs(final List<? extends Expr<?>> exprs, final List<? extends Expr<?>> imageExprs) {
+			if (exprs.size() != imageExprs.size()) {
+				return false;
+			}
+			for (int i = 0; i < exprs.size(); i++) {
+				if (!matchExprs(exprs.get(i), imageExprs.get(i))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private boolean matchExprs(final Expr<?> expr, final Expr<?> imageExpr) {
+			if (expr instanceof RefExpr && imageExpr instanceof RefExpr) {
+				return matchDecls(((RefExpr<?>) expr).getDecl(), ((RefExpr<?>) imageExpr).getDecl());
+			} else if (expr instanceof IntLitExpr && imageExpr instanceof IntLitExpr) {
+				final int value = ((IntLitExpr) expr).getValue();
+				return valueRenaming.getOrDefault(value, value) == ((IntLitExpr) imageExpr).getValue();
+			} else if (expr.getClass() != imageExpr.getClass() || !matchExprs(expr.getOps(), imageExpr.getOps())) {
+				return false;
+			} else if (expr.getOps().isEmpty()) {
+				return expr.equals(imageExpr);
+			} else {
+				// Compare the parts of the expressions that are not operands
+				return expr.withOps(imageExpr.getOps()).equals(imageExpr);
+			}
+		}
+
+		private boolean matchDecls(final Decl<?> decl, final Decl<?> image) {
+			final boolean local = localVars.contains(decl);
+			final boolean imageLocal = templateLocalVars.contains(image);
+			if (!local && !imageLocal) {
+				return decl.equals(image);
+			} else if (local != imageLocal || !decl.getType().equals(image.getType())
+					|| process.getClockVars().contains(decl) != template.getClockVars().contains(image)) {
+				return false;
+			} else {
+				return bind(decl, image, varToImage, varToPreimage);
+			}
+		}
+
+		private static <T> boolean bind(final T elem, final T image, final Map<T, T> elemToImage,
+				final Map<T, T> elemToPreimage) {
+			final T oldImage = elemToImage.get(elem);
+			if (oldImage != null) {
+				return oldImage.equals(image);
+			} else if (elemToPreimage.containsKey(image)) {
+				return false;
+			} else {
+				elemToImage.put(elem, image);
+				elemToPreimage.put(image, elem);
+				return true;
+			}
+		}
+	}
+
+}
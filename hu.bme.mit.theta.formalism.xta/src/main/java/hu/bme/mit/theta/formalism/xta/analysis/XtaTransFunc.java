@@ -43,15 +43,17 @@ import hu.bme.mit.theta.formalism.xta.analysis.XtaAction.SyncedXtaAction;
 
 final class XtaTransFunc<S extends State, P extends Prec> implements TransFunc<XtaState<S>, XtaAction, P> {
 
+	private final XtaDiscreteEncoder encoder;
 	private final TransFunc<S, ? super XtaAction, ? super P> transFunc;
 
-	private XtaTransFunc(final TransFunc<S, ? super XtaAction, ? super P> transFunc) {
+	private XtaTransFunc(final XtaDiscreteEncoder encoder, final TransFunc<S, ? super XtaAction, ? super P> transFunc) {
+		this.encoder = checkNotNull(encoder);
 		this.transFunc = checkNotNull(transFunc);
 	}
 
-	public static <S extends State, P extends Prec> XtaTransFunc<S, P> create(
+	public static <S extends State, P extends Prec> XtaTransFunc<S, P> create(final XtaDiscreteEncoder encoder,
 			final TransFunc<S, ? super XtaAction, ? super P> transFunc) {
-		return new XtaTransFunc<>(transFunc);
+		return new XtaTransFunc<>(encoder, transFunc);
 	}
 
 	@Override
@@ -71,7 +73,7 @@ final class XtaTransFunc<S extends State, P extends Prec> implements TransFunc<X
 
 	private Collection<XtaState<S>> getSuccStatesForSimpleAction(final XtaState<S> xtaState,
 			final SimpleXtaAction action, final P prec) {
-		checkArgument(xtaState.getLocs() == action.getSourceLocs());
+		checkArgument(xtaState.getLocs().equals(action.getSourceLocs()));
 
 		final Edge edge = action.getEdge();
 		final Valuation val = xtaState.getVal();
@@ -83,14 +85,15 @@ final class XtaTransFunc<S extends State, P extends Prec> implements TransFunc<X
 
 		final List<Loc> succLocs = action.getTargetLocs();
 		final Valuation succVal = createSuccValForSimpleAction(val, action);
+		final XtaDiscreteState succDiscreteState = encoder.encode(succLocs, succVal);
 		final Collection<? extends S> succStates = transFunc.getSuccStates(state, action, prec);
 
-		return XtaState.collectionOf(succLocs, succVal, succStates);
+		return XtaState.collectionOf(succDiscreteState, succStates);
 	}
 
 	private Collection<XtaState<S>> getSuccStatesForSyncedAction(final XtaState<S> xtaState,
 			final SyncedXtaAction action, final P prec) {
-		checkArgument(xtaState.getLocs() == action.getSourceLocs());
+		checkArgument(xtaState.getLocs().equals(action.getSourceLocs()));
 
 		final Edge emitEdge = action.getEmitEdge();
 		final Edge recvEdge = action.getRecvEdge();
@@ -111,9 +114,10 @@ final class XtaTransFunc<S extends State, P extends Prec> implements TransFunc<X
 
 		final List<Loc> succLocs = action.getTargetLocs();
 		final Valuation succVal = createSuccValForSyncedAction(val, action);
+		final XtaDiscreteState succDiscreteState = encoder.encode(succLocs, succVal);
 		final Collection<? extends S> succStates = transFunc.getSuccStates(state, action, prec);
 
-		return XtaState.collectionOf(succLocs, succVal, succStates);
+		return XtaState.collectionOf(succDiscreteState, succStates);
 	}
 
 	private boolean checkSync(final Edge emitEdge, final Edge recvEdge, final Valuation val) {
@@ -0,0 +1,55 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.formalism.xta.analysis;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.formalism.xta.XtaProcess;
+import hu.bme.mit.theta.formalism.xta.XtaSystem;
+
+final class XtaUtils {
+
+	private XtaUtils() {
+	}
+
+	/**
+	 * Returns the local variables and clocks of each process of the system, i.e.,
+	 * the ones that are not declared by any other process.
+	 */
+	public static Map<XtaProcess, Set<VarDecl<?>>> getLocalVars(final XtaSystem system) {
+		final List<XtaProcess> processes = system.getProcesses();
+		final Map<VarDecl<?>, Integer> occurrences = new HashMap<>();
+		for (final XtaProcess process : processes) {
+			process.getDataVars().forEach(v -> occurrences.merge(v, 1, Integer::sum));
+			process.getClockVars().forEach(v -> occurrences.merge(v, 1, Integer::sum));
+		}
+
+		final Map<XtaProcess, Set<VarDecl<?>>> result = new HashMap<>();
+		for (final XtaProcess process : processes) {
+			final Set<VarDecl<?>> localVars = new HashSet<>();
+			process.getDataVars().stream().filter(v -> occurrences.get(v) == 1).forEach(localVars::add);
+			process.getClockVars().stream().filter(v -> occurrences.get(v) == 1).forEach(localVars::add);
+			result.put(process, localVars);
+		}
+		return result;
+	}
+
+}
@@ -16,9 +16,11 @@
 package hu.bme.mit.theta.formalism.xta.analysis.lazy;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.stream.Collectors.toSet;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Set;
 
 import com.google.common.collect.ImmutableSet;
@@ -29,7 +31,10 @@ import hu.bme.mit.theta.analysis.algorithm.ArgEdge;
 import hu.bme.mit.theta.analysis.algorithm.ArgNode;
 import hu.bme.mit.theta.analysis.impl.PrecMappingAnalysis;
 import hu.bme.mit.theta.analysis.unit.UnitPrec;
+import hu.bme.mit.theta.analysis.zone.BoundFunc;
+import hu.bme.mit.theta.analysis.zone.ZoneInclusion;
 import hu.bme.mit.theta.analysis.zone.ZonePrec;
+import hu.bme.mit.theta.analysis.zone.ZoneState;
 import hu.bme.mit.theta.analysis.zone.act.ActZoneAnalysis;
 import hu.bme.mit.theta.analysis.zone.act.ActZoneState;
 import hu.bme.mit.theta.core.decl.VarDecl;
@@ -39,20 +44,35 @@ import hu.bme.mit.theta.formalism.xta.analysis.XtaAction;
 import hu.bme.mit.theta.formalism.xta.analysis.XtaState;
 import hu.bme.mit.theta.formalism.xta.analysis.lazy.LazyXtaStatistics.Builder;
 import hu.bme.mit.theta.formalism.xta.analysis.zone.XtaActZoneUtils;
+import hu.bme.mit.theta.formalism.xta.analysis.zone.XtaLuBounds;
 import hu.bme.mit.theta.formalism.xta.analysis.zone.XtaZoneAnalysis;
 
 public final class ActStrategy implements LazyXtaChecker.AlgorithmStrategy<ActZoneState> {
 
 	private final Analysis<ActZoneState, XtaAction, UnitPrec> analysis;
+	private final ZoneInclusion inclusion;
 
-	private ActStrategy(final XtaSystem system) {
+	// Null if the inclusion check is exact
+	private final XtaLuBounds bounds;
+
+	private ActStrategy(final XtaSystem system, final ZoneInclusion inclusion) {
 		checkNotNull(system);
+		this.inclusion = checkNotNull(inclusion);
+		bounds = inclusion == ZoneInclusion.EXACT ? null : XtaLuBounds.create(system);
 		final ZonePrec prec = ZonePrec.of(system.getClockVars());
-		analysis = PrecMappingAnalysis.create(ActZoneAnalysis.create(XtaZoneAnalysis.getInstance()), u -> prec);
+		analysis = PrecMappingAnalysis.create(ActZoneAnalysis.create(XtaZoneAnalysis.create(system)), u -> prec);
 	}
 
 	public static ActStrategy create(final XtaSystem system) {
-		return new ActStrategy(system);
+		return new ActStrategy(system, ZoneInclusion.EXACT);
+	}
+
+	/**
+	 * Creates the strategy with the given inclusion check, which uses the
+	 * static bounds of the active clocks if it is not exact.
+	 */
+	public static ActStrategy create(final XtaSystem system, final ZoneInclusion inclusion) {
+		return new ActStrategy(system, inclusion);
 	}
 
 	@Override
@@ -63,13 +83,33 @@ public final class ActStrategy implements LazyXtaChecker.AlgorithmStrategy<ActZo
 	@Override
 	public boolean covers(final ArgNode<XtaState<ActZoneState>, XtaAction> nodeToCover,
 			final ArgNode<XtaState<ActZoneState>, XtaAction> coveringNode) {
-		return nodeToCover.getState().getState().isLeq(coveringNode.getState().getState());
+		final ActZoneState coveringState = coveringNode.getState().getState();
+		return nodeToCover.getState().getState().getActiveVars().containsAll(coveringState.getActiveVars())
+				&& isLeq(nodeToCover, coveringState.getZone(), coveringState.getActiveVars());
+	}
+
+	@Override
+	public boolean covers(final ArgNode<XtaState<ActZoneState>, XtaAction> nodeToCover,
+			final ArgNode<XtaState<ActZoneState>, XtaAction> coveringNode,
+			final Map<VarDecl<RatType>, VarDecl<RatType>> clockRenaming) {
+		final ActZoneState coveringState = coveringNode.getState().getState();
+		final Set<VarDecl<RatType>> renamedVars = rename(coveringState.getActiveVars(), clockRenaming);
+		return nodeToCover.getState().getState().getActiveVars().containsAll(renamedVars)
+				&& isLeq(nodeToCover, coveringState.getZone().rename(clockRenaming), renamedVars);
+	}
+
+	@Override
+	public boolean mightCover(final ArgNode<XtaState<ActZoneState>, XtaAction> nodeToCover,
+			final ArgNode<XtaState<ActZoneState>, XtaAction> coveringNode,
+			final Map<VarDecl<RatType>, VarDecl<RatType>> clockRenaming) {
+		return isLeq(nodeToCover, coveringNode.getState().getState().getZone().rename(clockRenaming),
+				rename(coveringNode.getState().getState().getActiveVars(), clockRenaming));
 	}
 
 	@Override
 	public boolean mightCover(final ArgNode<XtaState<ActZoneState>, XtaAction> nodeToCover,
 			final ArgNode<XtaState<ActZoneState>, XtaAction> coveringNode) {
-		return nodeToCover.getState().getState().getZone().isLeq(coveringNode.getState().getState().getZone(),
+		return isLeq(nodeToCover, coveringNode.getState().getState().getZone(),
 				coveringNode.getState().getState().getActiveVars());
 	}
 
@@ -90,6 +130,20 @@ public final class ActStrategy implements LazyXtaChecker.AlgorithmStrategy<ActZo
 		return uncoveredNodes;
 	}
 
+	@Override
+	public Collection<ArgNode<XtaState<ActZoneState>, XtaAction>> forceCover(
+			final ArgNode<XtaState<ActZoneState>, XtaAction> nodeToCover,
+			final ArgNode<XtaState<ActZoneState>, XtaAction> coveringNode,
+			final Map<VarDecl<RatType>, VarDecl<RatType>> clockRenaming, final Builder statistics) {
+
+		final Collection<ArgNode<XtaState<ActZoneState>, XtaAction>> uncoveredNodes = new ArrayList<>();
+		final Set<VarDecl<RatType>> activeVars = rename(coveringNode.getState().getState().getActiveVars(),
+				clockRenaming);
+		propagateVars(nodeToCover, activeVars, uncoveredNodes, statistics, false);
+
+		return uncoveredNodes;
+	}
+
 	@Override
 	public Collection<ArgNode<XtaState<ActZoneState>, XtaAction>> refine(
 			final ArgNode<XtaState<ActZoneState>, XtaAction> node, final Builder statistics) {
@@ -107,6 +161,13 @@ public final class ActStrategy implements LazyXtaChecker.AlgorithmStrategy<ActZo
 		node.setState(node.getState().withState(newLuState));
 	}
 
+	@Override
+	public void compactState(final ArgNode<XtaState<ActZoneState>, XtaAction> node) {
+		final ActZoneState actState = node.getState().getState();
+		final ActZoneState newActState = ActZoneState.of(actState.getZone().compact(), actState.getActiveVars());
+		node.setState(node.getState().withState(newActState));
+	}
+
 	////
 
 	private void propagateVars(final ArgNode<XtaState<ActZoneState>, XtaAction> node,
@@ -132,6 +193,28 @@ public final class ActStrategy implements LazyXtaChecker.AlgorithmStrategy<ActZo
 		}
 	}
 
+	/**
+	 * Checks whether the zone of the node to cover is included in the given zone
+	 * on the given active clocks. If the inclusion check is not exact, the static
+	 * bounds of the active clocks are used, and the other clocks are ignored.
+	 */
+	private boolean isLeq(final ArgNode<XtaState<ActZoneState>, XtaAction> nodeToCover, final ZoneState zone,
+			final Set<VarDecl<RatType>> activeVars) {
+		final ZoneState nodeZone = nodeToCover.getState().getState().getZone();
+		if (bounds == null) {
+			return nodeZone.isLeq(zone, activeVars);
+		}
+		final BoundFunc staticBounds = bounds.getBounds(nodeToCover.getState().getLocs());
+		final BoundFunc.Builder builder = staticBounds.transform();
+		for (final VarDecl<RatType> var : Sets.union(ImmutableSet.copyOf(staticBounds.getLowerVars()),
+				ImmutableSet.copyOf(staticBounds.getUpperVars()))) {
+			if (!activeVars.contains(var)) {
+				builder.remove(var);
+			}
+		}
+		return inclusion.isLeq(nodeZone, zone, builder.build());
+	}
+
 	private void strengthen(final ArgNode<XtaState<ActZoneState>, XtaAction> node,
 			final Set<VarDecl<RatType>> activeVars) {
 		final Set<VarDecl<RatType>> oldActiveVars = node.getState().getState().getActiveVars();
@@ -140,6 +223,11 @@ public final class ActStrategy implements LazyXtaChecker.AlgorithmStrategy<ActZo
 		node.setState(node.getState().withState(newActState));
 	}
 
+	private static Set<VarDecl<RatType>> rename(final Set<VarDecl<RatType>> activeVars,
+			final Map<VarDecl<RatType>, VarDecl<RatType>> clockRenaming) {
+		return activeVars.stream().map(c -> clockRenaming.getOrDefault(c, c)).collect(toSet());
+	}
+
 	private void maintainCoverage(final ArgNode<XtaState<ActZoneState>, XtaAction> node,
 			final Collection<ArgNode<XtaState<ActZoneState>, XtaAction>> uncoveredNodes) {
 		node.getCoveredNodes().forEach(uncoveredNodes::add);
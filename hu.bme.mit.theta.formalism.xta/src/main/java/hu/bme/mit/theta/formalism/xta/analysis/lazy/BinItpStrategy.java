@@ -17,11 +17,15 @@ package hu.bme.mit.theta.formalism.xta.analysis.lazy;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Map;
 
 import hu.bme.mit.theta.analysis.algorithm.ArgEdge;
 import hu.bme.mit.theta.analysis.algorithm.ArgNode;
+import hu.bme.mit.theta.analysis.zone.ZoneInclusion;
 import hu.bme.mit.theta.analysis.zone.ZoneState;
 import hu.bme.mit.theta.analysis.zone.itp.ItpZoneState;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.rattype.RatType;
 import hu.bme.mit.theta.formalism.xta.XtaSystem;
 import hu.bme.mit.theta.formalism.xta.analysis.XtaAction;
 import hu.bme.mit.theta.formalism.xta.analysis.XtaState;
@@ -29,21 +33,28 @@ import hu.bme.mit.theta.formalism.xta.analysis.lazy.LazyXtaStatistics.Builder;
 
 public final class BinItpStrategy extends ItpStrategy {
 
-	private BinItpStrategy(final XtaSystem system, final ItpOperator operator) {
-		super(system, operator);
+	private BinItpStrategy(final XtaSystem system, final ItpOperator operator, final ZoneInclusion inclusion) {
+		super(system, operator, inclusion);
 	}
 
 	public static BinItpStrategy create(final XtaSystem system, final ItpOperator operator) {
-		return new BinItpStrategy(system, operator);
+		return new BinItpStrategy(system, operator, ZoneInclusion.EXACT);
+	}
+
+	public static BinItpStrategy create(final XtaSystem system, final ItpOperator operator,
+			final ZoneInclusion inclusion) {
+		return new BinItpStrategy(system, operator, inclusion);
 	}
 
 	@Override
 	public Collection<ArgNode<XtaState<ItpZoneState>, XtaAction>> forceCover(
 			final ArgNode<XtaState<ItpZoneState>, XtaAction> nodeToCover,
-			final ArgNode<XtaState<ItpZoneState>, XtaAction> coveringNode, final Builder statistics) {
+			final ArgNode<XtaState<ItpZoneState>, XtaAction> coveringNode,
+			final Map<VarDecl<RatType>, VarDecl<RatType>> clockRenaming, final Builder statistics) {
 
 		final Collection<ArgNode<XtaState<ItpZoneState>, XtaAction>> uncoveredNodes = new ArrayList<>();
-		final Collection<ZoneState> complementZones = coveringNode.getState().getState().getInterpolant().complement();
+		final ZoneState interpolant = coveringNode.getState().getState().getInterpolant().rename(clockRenaming);
+		final Collection<ZoneState> complementZones = interpolant.complement();
 		for (final ZoneState complementZone : complementZones) {
 			blockZone(nodeToCover, complementZone, uncoveredNodes, statistics);
 		}
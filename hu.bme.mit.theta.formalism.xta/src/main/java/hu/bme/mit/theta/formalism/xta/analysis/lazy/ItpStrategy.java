@@ -18,18 +18,29 @@ package hu.bme.mit.theta.formalism.xta.analysis.lazy;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.util.Collection;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
 
 import hu.bme.mit.theta.analysis.Analysis;
 import hu.bme.mit.theta.analysis.algorithm.ArgNode;
 import hu.bme.mit.theta.analysis.impl.PrecMappingAnalysis;
+import hu.bme.mit.theta.analysis.reachedset.LinearIndex;
+import hu.bme.mit.theta.analysis.reachedset.ReachedSetIndex;
 import hu.bme.mit.theta.analysis.unit.UnitPrec;
+import hu.bme.mit.theta.analysis.zone.ZoneInclusion;
 import hu.bme.mit.theta.analysis.zone.ZonePrec;
 import hu.bme.mit.theta.analysis.zone.ZoneState;
+import hu.bme.mit.theta.analysis.zone.ZoneStateIndex;
 import hu.bme.mit.theta.analysis.zone.itp.ItpZoneAnalysis;
 import hu.bme.mit.theta.analysis.zone.itp.ItpZoneState;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.rattype.RatType;
 import hu.bme.mit.theta.formalism.xta.XtaSystem;
 import hu.bme.mit.theta.formalism.xta.analysis.XtaAction;
 import hu.bme.mit.theta.formalism.xta.analysis.XtaState;
+import hu.bme.mit.theta.formalism.xta.analysis.lazy.LazyXtaStatistics.Builder;
+import hu.bme.mit.theta.formalism.xta.analysis.zone.XtaLuBounds;
 import hu.bme.mit.theta.formalism.xta.analysis.zone.XtaZoneAnalysis;
 import hu.bme.mit.theta.formalism.xta.analysis.zone.XtaZoneUtils;
 
@@ -58,12 +69,18 @@ public abstract class ItpStrategy implements LazyXtaChecker.AlgorithmStrategy<It
 	private final ZonePrec prec;
 	private final Analysis<ItpZoneState, XtaAction, UnitPrec> analysis;
 	private final ItpOperator operator;
+	private final ZoneInclusion inclusion;
+
+	// Null if the inclusion check is exact
+	private final XtaLuBounds bounds;
 
-	ItpStrategy(final XtaSystem system, final ItpOperator operator) {
+	ItpStrategy(final XtaSystem system, final ItpOperator operator, final ZoneInclusion inclusion) {
 		checkNotNull(system);
 		this.operator = checkNotNull(operator);
+		this.inclusion = checkNotNull(inclusion);
+		bounds = inclusion == ZoneInclusion.EXACT ? null : XtaLuBounds.create(system);
 		prec = ZonePrec.of(system.getClockVars());
-		analysis = PrecMappingAnalysis.create(ItpZoneAnalysis.create(XtaZoneAnalysis.getInstance()), u -> prec);
+		analysis = PrecMappingAnalysis.create(ItpZoneAnalysis.create(XtaZoneAnalysis.create(system)), u -> prec);
 	}
 
 	////
@@ -80,6 +97,20 @@ public abstract class ItpStrategy implements LazyXtaChecker.AlgorithmStrategy<It
 		return XtaZoneUtils.post(state, action, prec);
 	}
 
+	/**
+	 * Checks whether the interpolant of the node to cover is included in the
+	 * given interpolant of the covering node, up to the static bounds of the
+	 * locations if the inclusion check is not exact.
+	 */
+	private boolean isLeq(final ArgNode<XtaState<ItpZoneState>, XtaAction> nodeToCover,
+			final ZoneState interpolant) {
+		final ZoneState nodeInterpolant = nodeToCover.getState().getState().getInterpolant();
+		if (bounds == null) {
+			return nodeInterpolant.isLeq(interpolant);
+		}
+		return inclusion.isLeq(nodeInterpolant, interpolant, bounds.getBounds(nodeToCover.getState().getLocs()));
+	}
+
 	protected final void strengthen(final ArgNode<XtaState<ItpZoneState>, XtaAction> node,
 			final ZoneState interpolant) {
 		final ZoneState oldAbstractZone = node.getState().getState().getInterpolant();
@@ -104,7 +135,29 @@ public abstract class ItpStrategy implements LazyXtaChecker.AlgorithmStrategy<It
 	@Override
 	public final boolean covers(final ArgNode<XtaState<ItpZoneState>, XtaAction> nodeToCover,
 			final ArgNode<XtaState<ItpZoneState>, XtaAction> coveringNode) {
-		return nodeToCover.getState().getState().isLeq(coveringNode.getState().getState());
+		return isLeq(nodeToCover, coveringNode.getState().getState().getInterpolant());
+	}
+
+	@Override
+	public final boolean covers(final ArgNode<XtaState<ItpZoneState>, XtaAction> nodeToCover,
+			final ArgNode<XtaState<ItpZoneState>, XtaAction> coveringNode,
+			final Map<VarDecl<RatType>, VarDecl<RatType>> clockRenaming) {
+		return isLeq(nodeToCover, coveringNode.getState().getState().getInterpolant().rename(clockRenaming));
+	}
+
+	@Override
+	public final boolean mightCover(final ArgNode<XtaState<ItpZoneState>, XtaAction> nodeToCover,
+			final ArgNode<XtaState<ItpZoneState>, XtaAction> coveringNode,
+			final Map<VarDecl<RatType>, VarDecl<RatType>> clockRenaming) {
+		return nodeToCover.getState().getState().getZone()
+				.isLeq(coveringNode.getState().getState().getInterpolant().rename(clockRenaming));
+	}
+
+	@Override
+	public final Collection<ArgNode<XtaState<ItpZoneState>, XtaAction>> forceCover(
+			final ArgNode<XtaState<ItpZoneState>, XtaAction> nodeToCover,
+			final ArgNode<XtaState<ItpZoneState>, XtaAction> coveringNode, final Builder statistics) {
+		return forceCover(nodeToCover, coveringNode, ImmutableMap.of(), statistics);
 	}
 
 	@Override
@@ -124,4 +177,23 @@ public abstract class ItpStrategy implements LazyXtaChecker.AlgorithmStrategy<It
 		node.setState(node.getState().withState(newItpState));
 	}
 
+	@Override
+	public final void compactState(final ArgNode<XtaState<ItpZoneState>, XtaAction> node) {
+		final ItpZoneState itpState = node.getState().getState();
+		final ItpZoneState newItpState = ItpZoneState.of(itpState.getZone().compact(),
+				itpState.getInterpolant().compact());
+		node.setState(node.getState().withState(newItpState));
+	}
+
+	@Override
+	public final ReachedSetIndex<ArgNode<XtaState<ItpZoneState>, XtaAction>> createReachedSetIndex() {
+		if (bounds != null) {
+			// Bounding boxes are only sound for exact inclusion
+			return LinearIndex.create();
+		}
+		// Interpolants are only strengthened after the nodes are added
+		return ZoneStateIndex.create(n -> n.getState().getState().getInterpolant(),
+				n -> n.getState().getState().getZone());
+	}
+
 }
@@ -15,13 +15,28 @@
  */
 package hu.bme.mit.theta.formalism.xta.analysis.lazy;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
+import com.google.common.base.Throwables;
+
 import hu.bme.mit.theta.analysis.Analysis;
 import hu.bme.mit.theta.analysis.LTS;
 import hu.bme.mit.theta.analysis.State;
@@ -33,19 +48,44 @@ import hu.bme.mit.theta.analysis.algorithm.ArgTrace;
 import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
 import hu.bme.mit.theta.analysis.algorithm.SearchStrategy;
+import hu.bme.mit.theta.analysis.reachedset.LinearIndex;
 import hu.bme.mit.theta.analysis.reachedset.Partition;
+import hu.bme.mit.theta.analysis.reachedset.ReachedSetIndex;
 import hu.bme.mit.theta.analysis.unit.UnitPrec;
 import hu.bme.mit.theta.analysis.waitlist.Waitlist;
-import hu.bme.mit.theta.common.product.Tuple;
 import hu.bme.mit.theta.common.product.Tuple2;
-import hu.bme.mit.theta.core.model.Valuation;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.rattype.RatType;
 import hu.bme.mit.theta.formalism.xta.XtaProcess.Loc;
 import hu.bme.mit.theta.formalism.xta.XtaSystem;
 import hu.bme.mit.theta.formalism.xta.analysis.XtaAction;
 import hu.bme.mit.theta.formalism.xta.analysis.XtaAnalysis;
 import hu.bme.mit.theta.formalism.xta.analysis.XtaLts;
+import hu.bme.mit.theta.formalism.xta.analysis.XtaPorLts;
 import hu.bme.mit.theta.formalism.xta.analysis.XtaState;
-
+import hu.bme.mit.theta.formalism.xta.analysis.XtaSymmetry;
+import hu.bme.mit.theta.formalism.xta.analysis.XtaSymmetry.CanonicalForm;
+
+/**
+ * Lazy abstraction based checker for timed automata. If more than one thread
+ * is used, nodes are removed from the waitlist in batches. Refinements and
+ * covering decisions, which modify the ARG, are performed on the calling
+ * thread, while the inclusion checks against the reached set and the
+ * successors of the uncovered nodes are calculated by worker threads.
+ * Refinements are therefore never executed concurrently, which keeps the
+ * propagation of the LU bounds and active clocks sound.
+ * <p>
+ * With symmetry reduction, the reached set is partitioned by the canonical
+ * forms of the discrete states (see {@link XtaSymmetry}), and nodes can also be
+ * covered by nodes of symmetric states, by renaming the clocks of the covering
+ * node. The reached set index of the strategy is not used in this case, as it
+ * is not aware of the renaming. Symmetry reduction is only sound if the error
+ * locations are invariant under the permutation of symmetric processes.
+ * <p>
+ * Partial order reduction (see {@link XtaPorLts}) is only available if the
+ * error locations are given as a set, as the reduction must not postpone the
+ * processes that have an error location.
+ */
 public final class LazyXtaChecker<S extends State> implements SafetyChecker<XtaState<S>, XtaAction, UnitPrec> {
 
 	public interface AlgorithmStrategy<S extends State> {
@@ -64,22 +104,78 @@ public final class LazyXtaChecker<S extends State> implements SafetyChecker<XtaS
 				LazyXtaStatistics.Builder statistics);
 
 		void resetState(ArgNode<XtaState<S>, XtaAction> node);
+
+		/**
+		 * Called when a node is expanded and thus leaves the frontier. Strategies
+		 * can replace the state of the node with an equivalent, more compact one.
+		 */
+		default void compactState(final ArgNode<XtaState<S>, XtaAction> node) {
+		}
+
+		/**
+		 * Variant of {@link #covers(ArgNode, ArgNode)} for symmetry reduction,
+		 * where the clocks of the covering node are renamed first. By default,
+		 * nodes are never covered by renamed nodes.
+		 */
+		default boolean covers(final ArgNode<XtaState<S>, XtaAction> nodeToCover,
+				final ArgNode<XtaState<S>, XtaAction> coveringNode,
+				final Map<VarDecl<RatType>, VarDecl<RatType>> clockRenaming) {
+			return false;
+		}
+
+		/**
+		 * Variant of {@link #mightCover(ArgNode, ArgNode)} for symmetry reduction.
+		 */
+		default boolean mightCover(final ArgNode<XtaState<S>, XtaAction> nodeToCover,
+				final ArgNode<XtaState<S>, XtaAction> coveringNode,
+				final Map<VarDecl<RatType>, VarDecl<RatType>> clockRenaming) {
+			return false;
+		}
+
+		/**
+		 * Variant of {@link #forceCover(ArgNode, ArgNode, LazyXtaStatistics.Builder)}
+		 * for symmetry reduction.
+		 */
+		default Collection<ArgNode<XtaState<S>, XtaAction>> forceCover(
+				final ArgNode<XtaState<S>, XtaAction> nodeToCover, final ArgNode<XtaState<S>, XtaAction> coveringNode,
+				final Map<VarDecl<RatType>, VarDecl<RatType>> clockRenaming,
+				final LazyXtaStatistics.Builder statistics) {
+			return Collections.emptyList();
+		}
+
+		default ReachedSetIndex<ArgNode<XtaState<S>, XtaAction>> createReachedSetIndex() {
+			return LinearIndex.create();
+		}
 	}
 
 	private final AlgorithmStrategy<S> algorithm;
 	private final SearchStrategy search;
+	private final int threads;
+
+	// Null if symmetry reduction is disabled or the system has no symmetries
+	private final XtaSymmetry symmetry;
 
 	private final ArgBuilder<XtaState<S>, XtaAction, UnitPrec> argBuilder;
 
 	private LazyXtaChecker(final XtaSystem system, final AlgorithmStrategy<S> algorithm, final SearchStrategy search,
-			final Predicate<? super List<? extends Loc>> errorLocs) {
+			final Predicate<? super List<? extends Loc>> errorLocs, final int threads, final boolean symmetry,
+			final LTS<XtaState<?>, XtaAction> lts) {
 		checkNotNull(system);
 		checkNotNull(errorLocs);
+		checkNotNull(lts);
+		checkArgument(threads > 0, "Number of threads must be positive");
 
 		this.algorithm = checkNotNull(algorithm);
 		this.search = checkNotNull(search);
+		this.threads = threads;
+
+		if (symmetry) {
+			final XtaSymmetry xtaSymmetry = XtaSymmetry.create(system);
+			this.symmetry = xtaSymmetry.isTrivial() ? null : xtaSymmetry;
+		} else {
+			this.symmetry = null;
+		}
 
-		final LTS<XtaState<?>, XtaAction> lts = XtaLts.create(system);
 		final Analysis<XtaState<S>, XtaAction, UnitPrec> analysis = XtaAnalysis.create(system, algorithm.getAnalysis());
 		final Predicate<XtaState<?>> target = s -> errorLocs.test(s.getLocs());
 
@@ -89,25 +185,75 @@ public final class LazyXtaChecker<S extends State> implements SafetyChecker<XtaS
 	public static <S extends State> LazyXtaChecker<S> create(final XtaSystem system,
 			final AlgorithmStrategy<S> algorithmStrategy, final SearchStrategy searchStrategy,
 			final Predicate<? super List<? extends Loc>> errorLocs) {
-		return new LazyXtaChecker<>(system, algorithmStrategy, searchStrategy, errorLocs);
+		return create(system, algorithmStrategy, searchStrategy, errorLocs, 1);
+	}
+
+	public static <S extends State> LazyXtaChecker<S> create(final XtaSystem system,
+			final AlgorithmStrategy<S> algorithmStrategy, final SearchStrategy searchStrategy,
+			final Predicate<? super List<? extends Loc>> errorLocs, final int threads) {
+		return create(system, algorithmStrategy, searchStrategy, errorLocs, threads, false);
+	}
+
+	public static <S extends State> LazyXtaChecker<S> create(final XtaSystem system,
+			final AlgorithmStrategy<S> algorithmStrategy, final SearchStrategy searchStrategy,
+			final Predicate<? super List<? extends Loc>> errorLocs, final int threads, final boolean symmetry) {
+		return new LazyXtaChecker<>(system, algorithmStrategy, searchStrategy, errorLocs, threads, symmetry,
+				XtaLts.create(system));
+	}
+
+	/**
+	 * Create a checker where a state is an error state if any of its locations
+	 * is in the given set of error locations.
+	 */
+	public static <S extends State> LazyXtaChecker<S> create(final XtaSystem system,
+			final AlgorithmStrategy<S> algorithmStrategy, final SearchStrategy searchStrategy,
+			final Set<Loc> errorLocs, final int threads, final boolean symmetry,
+			final boolean partialOrderReduction) {
+		checkNotNull(errorLocs);
+		final LTS<XtaState<?>, XtaAction> lts = partialOrderReduction ? XtaPorLts.create(system, errorLocs)
+				: XtaLts.create(system);
+		return new LazyXtaChecker<>(system, algorithmStrategy, searchStrategy,
+				locs -> locs.stream().anyMatch(errorLocs::contains), threads, symmetry, lts);
 	}
 
 	@Override
 	public SafetyResult<XtaState<S>, XtaAction> check(final UnitPrec prec) {
-		return new CheckMethod().run();
+		if (threads > 1) {
+			final ExecutorService executor = Executors.newFixedThreadPool(threads);
+			try {
+				return new CheckMethod(executor).run();
+			} finally {
+				executor.shutdownNow();
+			}
+		} else {
+			return new CheckMethod(null).run();
+		}
 	}
 
 	private final class CheckMethod {
 		private final ARG<XtaState<S>, XtaAction> arg;
 		private final Waitlist<ArgNode<XtaState<S>, XtaAction>> waitlist;
-		private final Partition<ArgNode<XtaState<S>, XtaAction>, Tuple2<List<Loc>, Valuation>> reachedSet;
+		private final Partition<ArgNode<XtaState<S>, XtaAction>, ?> reachedSet;
+
+		// Null if symmetry reduction is disabled
+		private final Map<ArgNode<XtaState<S>, XtaAction>, CanonicalForm> canonicalForms;
 
 		private final LazyXtaStatistics.Builder statistics;
 
-		private CheckMethod() {
+		// Null if the search is sequential
+		private final ExecutorService executor;
+
+		private CheckMethod(final ExecutorService executor) {
+			this.executor = executor;
 			arg = argBuilder.createArg();
 			waitlist = search.createWaitlist();
-			reachedSet = Partition.of(n -> Tuple.of(n.getState().getLocs(), n.getState().getVal()));
+			if (symmetry == null) {
+				canonicalForms = null;
+				reachedSet = Partition.of(n -> n.getState().getDiscreteState(), algorithm::createReachedSetIndex);
+			} else {
+				canonicalForms = new ConcurrentHashMap<>();
+				reachedSet = Partition.of(n -> getCanonicalForm(n).getKey(), LinearIndex::create);
+			}
 
 			statistics = LazyXtaStatistics.builder(arg);
 
@@ -116,7 +262,8 @@ public final class LazyXtaChecker<S extends State> implements SafetyChecker<XtaS
 		}
 
 		public SafetyResult<XtaState<S>, XtaAction> run() {
-			final Optional<ArgNode<XtaState<S>, XtaAction>> unsafeNode = searchForUnsafeNode();
+			final Optional<ArgNode<XtaState<S>, XtaAction>> unsafeNode = executor == null ? searchForUnsafeNode()
+					: searchForUnsafeNodeInParallel();
 			if (unsafeNode.isPresent()) {
 				final ArgTrace<XtaState<S>, XtaAction> argTrace = ArgTrace.to(unsafeNode.get());
 				final Trace<XtaState<S>, XtaAction> trace = argTrace.toTrace();
@@ -155,29 +302,133 @@ public final class LazyXtaChecker<S extends State> implements SafetyChecker<XtaS
 			return Optional.empty();
 		}
 
+		private Optional<ArgNode<XtaState<S>, XtaAction>> searchForUnsafeNodeInParallel() {
+
+			statistics.startAlgorithm();
+
+			while (!waitlist.isEmpty()) {
+				final List<ArgNode<XtaState<S>, XtaAction>> batch = new ArrayList<>();
+				while (!waitlist.isEmpty() && batch.size() < threads) {
+					final ArgNode<XtaState<S>, XtaAction> v = waitlist.remove();
+					assert v.isLeaf();
+
+					if (algorithm.shouldRefine(v)) {
+						statistics.startRefinement();
+						final Collection<ArgNode<XtaState<S>, XtaAction>> uncoveredNodes = algorithm.refine(v,
+								statistics);
+						statistics.stopRefinement();
+						waitlist.addAll(uncoveredNodes);
+					} else if (v.isTarget()) {
+						statistics.stopAlgorithm();
+						return Optional.of(v);
+					} else {
+						batch.add(v);
+					}
+				}
+
+				// Inclusion checks only read the ARG, so they can run in parallel
+				final Map<ArgNode<XtaState<S>, XtaAction>, ArgNode<XtaState<S>, XtaAction>> coveringNodes =
+						new ConcurrentHashMap<>();
+				runInParallel(batch, v -> findCoveringNode(v).ifPresent(c -> coveringNodes.put(v, c)));
+
+				final List<ArgNode<XtaState<S>, XtaAction>> nodesToExpand = new ArrayList<>();
+				for (final ArgNode<XtaState<S>, XtaAction> v : batch) {
+					final ArgNode<XtaState<S>, XtaAction> coveringNode = coveringNodes.get(v);
+					// Refinements of earlier nodes of the batch might have invalidated the covering
+					if (coveringNode != null && covers(v, coveringNode)) {
+						v.setCoveringNode(coveringNode);
+					} else {
+						forceClose(v);
+					}
+					if (!v.isCovered()) {
+						nodesToExpand.add(v);
+					}
+				}
+
+				final Map<ArgNode<XtaState<S>, XtaAction>, Collection<Tuple2<XtaAction, XtaState<S>>>> succs =
+						new ConcurrentHashMap<>();
+				runInParallel(nodesToExpand, v -> succs.put(v, argBuilder.getSuccs(v, UnitPrec.getInstance())));
+
+				for (final ArgNode<XtaState<S>, XtaAction> v : nodesToExpand) {
+					argBuilder.expand(v, succs.get(v));
+					reachedSet.add(v);
+					algorithm.compactState(v);
+					waitlist.addAll(v.getSuccNodes());
+				}
+			}
+			statistics.stopAlgorithm();
+			return Optional.empty();
+		}
+
+		private void runInParallel(final List<ArgNode<XtaState<S>, XtaAction>> nodes,
+				final Consumer<ArgNode<XtaState<S>, XtaAction>> task) {
+			final Queue<ArgNode<XtaState<S>, XtaAction>> queue = new ConcurrentLinkedQueue<>(nodes);
+			final int nWorkers = Math.min(threads, nodes.size());
+
+			final List<Future<?>> futures = new ArrayList<>(nWorkers);
+			for (int i = 0; i < nWorkers; i++) {
+				futures.add(executor.submit(() -> {
+					ArgNode<XtaState<S>, XtaAction> node;
+					while ((node = queue.poll()) != null) {
+						task.accept(node);
+					}
+				}));
+			}
+
+			for (final Future<?> future : futures) {
+				try {
+					future.get();
+				} catch (final InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new RuntimeException(e);
+				} catch (final ExecutionException e) {
+					Throwables.throwIfUnchecked(e.getCause());
+					throw new RuntimeException(e.getCause());
+				}
+			}
+		}
+
 		////
 
+		private Optional<ArgNode<XtaState<S>, XtaAction>> findCoveringNode(
+				final ArgNode<XtaState<S>, XtaAction> nodeToCover) {
+			for (final ArgNode<XtaState<S>, XtaAction> coveringNode : reachedSet.get(nodeToCover)) {
+				if (covers(nodeToCover, coveringNode)) {
+					return Optional.of(coveringNode);
+				}
+			}
+			return Optional.empty();
+		}
+
 		private void close(final ArgNode<XtaState<S>, XtaAction> nodeToCover) {
 			assert nodeToCover.isLeaf();
 
+			final Optional<ArgNode<XtaState<S>, XtaAction>> coveringNode = findCoveringNode(nodeToCover);
+			if (coveringNode.isPresent()) {
+				nodeToCover.setCoveringNode(coveringNode.get());
+			} else {
+				forceClose(nodeToCover);
+			}
+		}
+
+		private void forceClose(final ArgNode<XtaState<S>, XtaAction> nodeToCover) {
+			assert nodeToCover.isLeaf();
+
 			final Collection<ArgNode<XtaState<S>, XtaAction>> candidates = reachedSet.get(nodeToCover);
 
 			if (!candidates.isEmpty()) {
 				for (final ArgNode<XtaState<S>, XtaAction> coveringNode : candidates) {
-					if (algorithm.covers(nodeToCover, coveringNode)) {
-						nodeToCover.setCoveringNode(coveringNode);
-						return;
-					}
-				}
-
-				for (final ArgNode<XtaState<S>, XtaAction> coveringNode : candidates) {
-					if (algorithm.mightCover(nodeToCover, coveringNode)) {
+					final Map<VarDecl<RatType>, VarDecl<RatType>> clockRenaming = getClockRenaming(nodeToCover,
+							coveringNode);
+					if (clockRenaming.isEmpty() ? algorithm.mightCover(nodeToCover, coveringNode)
+							: algorithm.mightCover(nodeToCover, coveringNode, clockRenaming)) {
 						statistics.startRefinement();
-						final Collection<ArgNode<XtaState<S>, XtaAction>> uncoveredNodes = algorithm
-								.forceCover(nodeToCover, coveringNode, statistics);
+						final Collection<ArgNode<XtaState<S>, XtaAction>> uncoveredNodes = clockRenaming.isEmpty()
+								? algorithm.forceCover(nodeToCover, coveringNode, statistics)
+								: algorithm.forceCover(nodeToCover, coveringNode, clockRenaming, statistics);
 						statistics.stopRefinement();
 						waitlist.addAll(uncoveredNodes);
-						if (algorithm.covers(nodeToCover, coveringNode)) {
+						if (covers(nodeToCover, coveringNode)) {
 							nodeToCover.setCoveringNode(coveringNode);
 							return;
 						}
@@ -188,9 +439,37 @@ public final class LazyXtaChecker<S extends State> implements SafetyChecker<XtaS
 			}
 		}
 
+		private boolean covers(final ArgNode<XtaState<S>, XtaAction> nodeToCover,
+				final ArgNode<XtaState<S>, XtaAction> coveringNode) {
+			final Map<VarDecl<RatType>, VarDecl<RatType>> clockRenaming = getClockRenaming(nodeToCover, coveringNode);
+			if (clockRenaming.isEmpty()) {
+				return algorithm.covers(nodeToCover, coveringNode);
+			} else {
+				return algorithm.covers(nodeToCover, coveringNode, clockRenaming);
+			}
+		}
+
+		/**
+		 * Returns the renaming that maps the clocks of the covering node to the
+		 * clocks of the node to cover, which is empty without symmetry reduction.
+		 */
+		private Map<VarDecl<RatType>, VarDecl<RatType>> getClockRenaming(
+				final ArgNode<XtaState<S>, XtaAction> nodeToCover, final ArgNode<XtaState<S>, XtaAction> coveringNode) {
+			if (symmetry == null) {
+				return Collections.emptyMap();
+			}
+			return symmetry.getClockRenaming(getCanonicalForm(coveringNode), getCanonicalForm(nodeToCover));
+		}
+
+		private CanonicalForm getCanonicalForm(final ArgNode<XtaState<S>, XtaAction> node) {
+			// The discrete state of a node does not change, only its abstract state
+			return canonicalForms.computeIfAbsent(node, n -> symmetry.canonize(n.getState().getDiscreteState()));
+		}
+
 		private void expand(final ArgNode<XtaState<S>, XtaAction> v) {
 			argBuilder.expand(v, UnitPrec.getInstance());
 			reachedSet.add(v);
+			algorithm.compactState(v);
 			waitlist.addAll(v.getSuccNodes());
 		}
 	}
@@ -26,7 +26,6 @@ import com.google.common.base.Stopwatch;
 import hu.bme.mit.theta.analysis.algorithm.ARG;
 import hu.bme.mit.theta.analysis.algorithm.ArgNode;
 import hu.bme.mit.theta.analysis.algorithm.Statistics;
-import hu.bme.mit.theta.common.product.Tuple;
 import hu.bme.mit.theta.formalism.xta.analysis.XtaState;
 
 public final class LazyXtaStatistics extends Statistics {
@@ -47,11 +46,11 @@ public final class LazyXtaStatistics extends Statistics {
 		interpolationTimeInMs = builder.interpolationTimer.elapsed(TimeUnit.MILLISECONDS);
 		refinementSteps = builder.refinementSteps;
 		argDepth = builder.arg.getDepth();
-		argNodes = builder.arg.getNodes().count();
+		argNodes = builder.arg.size();
 		argNodesFeasible = builder.arg.getNodes().filter(ArgNode::isFeasible).count();
 		argNodesExpanded = builder.arg.getNodes().filter(ArgNode::isExpanded).count();
 		discreteStatesExpanded = builder.arg.getNodes().filter(ArgNode::isExpanded)
-				.map(n -> Tuple.of(n.getState().getLocs(), n.getState().getVal())).collect(toSet()).size();
+				.map(n -> n.getState().getDiscreteState()).collect(toSet()).size();
 
 		addStat("AlgorithmTimeInMs", this::getAlgorithmTimeInMs);
 		addStat("RefinementTimeInMs", this::getRefinementTimeInMs);
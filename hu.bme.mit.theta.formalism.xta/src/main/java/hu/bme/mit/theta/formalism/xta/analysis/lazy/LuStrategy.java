@@ -15,10 +15,12 @@
  */
 package hu.bme.mit.theta.formalism.xta.analysis.lazy;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Map;
 
 import hu.bme.mit.theta.analysis.Analysis;
 import hu.bme.mit.theta.analysis.algorithm.ArgEdge;
@@ -26,9 +28,12 @@ import hu.bme.mit.theta.analysis.algorithm.ArgNode;
 import hu.bme.mit.theta.analysis.impl.PrecMappingAnalysis;
 import hu.bme.mit.theta.analysis.unit.UnitPrec;
 import hu.bme.mit.theta.analysis.zone.BoundFunc;
+import hu.bme.mit.theta.analysis.zone.ZoneInclusion;
 import hu.bme.mit.theta.analysis.zone.ZonePrec;
 import hu.bme.mit.theta.analysis.zone.lu.LuZoneAnalysis;
 import hu.bme.mit.theta.analysis.zone.lu.LuZoneState;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.rattype.RatType;
 import hu.bme.mit.theta.formalism.xta.XtaSystem;
 import hu.bme.mit.theta.formalism.xta.analysis.XtaAction;
 import hu.bme.mit.theta.formalism.xta.analysis.XtaState;
@@ -39,17 +44,33 @@ import hu.bme.mit.theta.formalism.xta.analysis.zone.XtaZoneAnalysis;
 public final class LuStrategy implements LazyXtaChecker.AlgorithmStrategy<LuZoneState> {
 
 	private final Analysis<LuZoneState, XtaAction, UnitPrec> analysis;
+	private final ZoneInclusion inclusion;
 
 	public LuStrategy(final XtaSystem system) {
+		this(system, ZoneInclusion.ALU);
+	}
+
+	private LuStrategy(final XtaSystem system, final ZoneInclusion inclusion) {
 		checkNotNull(system);
+		checkNotNull(inclusion);
+		checkArgument(inclusion != ZoneInclusion.EXACT, "Exact inclusion ignores the bounds");
+		this.inclusion = inclusion;
 		final ZonePrec prec = ZonePrec.of(system.getClockVars());
-		analysis = PrecMappingAnalysis.create(LuZoneAnalysis.create(XtaZoneAnalysis.getInstance()), u -> prec);
+		analysis = PrecMappingAnalysis.create(LuZoneAnalysis.create(XtaZoneAnalysis.create(system)), u -> prec);
 	}
 
 	public static LuStrategy create(final XtaSystem system) {
 		return new LuStrategy(system);
 	}
 
+	/**
+	 * Creates the strategy with the given inclusion check, which uses the
+	 * bounds propagated lazily to the covering node.
+	 */
+	public static LuStrategy create(final XtaSystem system, final ZoneInclusion inclusion) {
+		return new LuStrategy(system, inclusion);
+	}
+
 	////
 
 	@Override
@@ -60,14 +81,33 @@ public final class LuStrategy implements LazyXtaChecker.AlgorithmStrategy<LuZone
 	@Override
 	public boolean covers(final ArgNode<XtaState<LuZoneState>, XtaAction> nodeToCover,
 			final ArgNode<XtaState<LuZoneState>, XtaAction> coveringNode) {
-		return nodeToCover.getState().getState().isLeq(coveringNode.getState().getState());
+		return nodeToCover.getState().getState().isLeq(coveringNode.getState().getState(), inclusion);
+	}
+
+	@Override
+	public boolean covers(final ArgNode<XtaState<LuZoneState>, XtaAction> nodeToCover,
+			final ArgNode<XtaState<LuZoneState>, XtaAction> coveringNode,
+			final Map<VarDecl<RatType>, VarDecl<RatType>> clockRenaming) {
+		final LuZoneState coveringState = coveringNode.getState().getState();
+		final LuZoneState renamedState = LuZoneState.of(coveringState.getZone().rename(clockRenaming),
+				coveringState.getBoundFunction().rename(clockRenaming));
+		return nodeToCover.getState().getState().isLeq(renamedState, inclusion);
+	}
+
+	@Override
+	public boolean mightCover(final ArgNode<XtaState<LuZoneState>, XtaAction> nodeToCover,
+			final ArgNode<XtaState<LuZoneState>, XtaAction> coveringNode,
+			final Map<VarDecl<RatType>, VarDecl<RatType>> clockRenaming) {
+		return inclusion.isLeq(nodeToCover.getState().getState().getZone(),
+				coveringNode.getState().getState().getZone().rename(clockRenaming),
+				coveringNode.getState().getState().getBoundFunction().rename(clockRenaming));
 	}
 
 	@Override
 	public boolean mightCover(final ArgNode<XtaState<LuZoneState>, XtaAction> nodeToCover,
 			final ArgNode<XtaState<LuZoneState>, XtaAction> coveringNode) {
-		return nodeToCover.getState().getState().getZone().isLeq(coveringNode.getState().getState().getZone(),
-				coveringNode.getState().getState().getBoundFunction());
+		return inclusion.isLeq(nodeToCover.getState().getState().getZone(),
+				coveringNode.getState().getState().getZone(), coveringNode.getState().getState().getBoundFunction());
 	}
 
 	@Override
@@ -87,6 +127,19 @@ public final class LuStrategy implements LazyXtaChecker.AlgorithmStrategy<LuZone
 		return uncoveredNodes;
 	}
 
+	@Override
+	public Collection<ArgNode<XtaState<LuZoneState>, XtaAction>> forceCover(
+			final ArgNode<XtaState<LuZoneState>, XtaAction> nodeToCover,
+			final ArgNode<XtaState<LuZoneState>, XtaAction> coveringNode,
+			final Map<VarDecl<RatType>, VarDecl<RatType>> clockRenaming, final Builder statistics) {
+
+		final Collection<ArgNode<XtaState<LuZoneState>, XtaAction>> uncoveredNodes = new ArrayList<>();
+		final BoundFunc boundFunction = coveringNode.getState().getState().getBoundFunction().rename(clockRenaming);
+		propagateBounds(nodeToCover, boundFunction, uncoveredNodes, statistics, false);
+
+		return uncoveredNodes;
+	}
+
 	@Override
 	public Collection<ArgNode<XtaState<LuZoneState>, XtaAction>> refine(
 			final ArgNode<XtaState<LuZoneState>, XtaAction> node, final Builder statistics) {
@@ -104,6 +157,13 @@ public final class LuStrategy implements LazyXtaChecker.AlgorithmStrategy<LuZone
 		node.setState(node.getState().withState(newLuState));
 	}
 
+	@Override
+	public void compactState(final ArgNode<XtaState<LuZoneState>, XtaAction> node) {
+		final LuZoneState luState = node.getState().getState();
+		final LuZoneState newLuState = LuZoneState.of(luState.getZone().compact(), luState.getBoundFunction());
+		node.setState(node.getState().withState(newLuState));
+	}
+
 	////
 
 	private void propagateBounds(final ArgNode<XtaState<LuZoneState>, XtaAction> node, final BoundFunc boundFunction,
@@ -0,0 +1,141 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.formalism.xta.analysis.zone;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.collect.ImmutableSet;
+
+import hu.bme.mit.theta.core.clock.op.ResetOp;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.rattype.RatType;
+import hu.bme.mit.theta.formalism.xta.Guard;
+import hu.bme.mit.theta.formalism.xta.Update;
+import hu.bme.mit.theta.formalism.xta.XtaProcess;
+import hu.bme.mit.theta.formalism.xta.XtaProcess.Edge;
+import hu.bme.mit.theta.formalism.xta.XtaProcess.Loc;
+import hu.bme.mit.theta.formalism.xta.XtaSystem;
+
+/**
+ * Static active clock analysis of an XTA system. A clock is active in a
+ * location if it appears in its invariant, or it can be read by a guard or an
+ * invariant along some path from the location before being reset. Clocks that
+ * are not active in any location of a location vector can be removed from the
+ * zones of the states with that location vector.
+ */
+public final class XtaActiveClocks {
+
+	private final Collection<VarDecl<RatType>> clocks;
+	private final Map<Loc, Set<VarDecl<RatType>>> activeClocksOfLoc;
+	private final Map<List<Loc>, Set<VarDecl<RatType>>> activeClocksOfLocs;
+
+	private XtaActiveClocks(final XtaSystem system) {
+		checkNotNull(system);
+		clocks = system.getClockVars();
+		activeClocksOfLoc = new HashMap<>();
+		for (final XtaProcess process : system.getProcesses()) {
+			computeActiveClocks(process, activeClocksOfLoc);
+		}
+		activeClocksOfLocs = new ConcurrentHashMap<>();
+	}
+
+	public static XtaActiveClocks create(final XtaSystem system) {
+		return new XtaActiveClocks(system);
+	}
+
+	/**
+	 * Returns the clocks that are active in some location of the given location
+	 * vector, in the order they are declared in the system.
+	 */
+	public Set<VarDecl<RatType>> getActiveClocks(final List<Loc> locs) {
+		checkNotNull(locs);
+		final Set<VarDecl<RatType>> cachedClocks = activeClocksOfLocs.get(locs);
+		if (cachedClocks != null) {
+			return cachedClocks;
+		}
+
+		final ImmutableSet.Builder<VarDecl<RatType>> builder = ImmutableSet.builder();
+		for (final VarDecl<RatType> clock : clocks) {
+			for (final Loc loc : locs) {
+				if (activeClocksOfLoc.get(loc).contains(clock)) {
+					builder.add(clock);
+					break;
+				}
+			}
+		}
+		final Set<VarDecl<RatType>> activeClocks = builder.build();
+		final Set<VarDecl<RatType>> previousClocks = activeClocksOfLocs.putIfAbsent(locs, activeClocks);
+		return previousClocks != null ? previousClocks : activeClocks;
+	}
+
+	////
+
+	private static void computeActiveClocks(final XtaProcess process,
+			final Map<Loc, Set<VarDecl<RatType>>> activeClocksOfLoc) {
+		for (final Loc loc : process.getLocs()) {
+			final Set<VarDecl<RatType>> activeClocks = new HashSet<>();
+			addClocks(activeClocks, loc.getInvars());
+			for (final Edge edge : loc.getOutEdges()) {
+				addClocks(activeClocks, edge.getGuards());
+			}
+			activeClocksOfLoc.put(loc, activeClocks);
+		}
+
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (final Loc loc : process.getLocs()) {
+				final Set<VarDecl<RatType>> activeClocks = activeClocksOfLoc.get(loc);
+				for (final Edge edge : loc.getOutEdges()) {
+					final Collection<VarDecl<RatType>> resetClocks = getResetClocks(edge);
+					for (final VarDecl<RatType> clock : activeClocksOfLoc.get(edge.getTarget())) {
+						if (!resetClocks.contains(clock)) {
+							changed |= activeClocks.add(clock);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private static void addClocks(final Set<VarDecl<RatType>> clocks, final Collection<Guard> guards) {
+		for (final Guard guard : guards) {
+			if (guard.isClockGuard()) {
+				clocks.addAll(guard.asClockGuard().getClockConstr().getVars());
+			}
+		}
+	}
+
+	private static Collection<VarDecl<RatType>> getResetClocks(final Edge edge) {
+		final Collection<VarDecl<RatType>> result = new HashSet<>();
+		for (final Update update : edge.getUpdates()) {
+			if (update.isClockUpdate()) {
+				final ResetOp op = (ResetOp) update.asClockUpdate().getClockOp();
+				result.add(op.getVar());
+			}
+		}
+		return result;
+	}
+
+}
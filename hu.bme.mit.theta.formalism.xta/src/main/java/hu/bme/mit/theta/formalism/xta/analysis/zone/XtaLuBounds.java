@@ -0,0 +1,128 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.formalism.xta.analysis.zone;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import hu.bme.mit.theta.analysis.zone.BoundFunc;
+import hu.bme.mit.theta.core.clock.op.ResetOp;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.rattype.RatType;
+import hu.bme.mit.theta.formalism.xta.Guard;
+import hu.bme.mit.theta.formalism.xta.Update;
+import hu.bme.mit.theta.formalism.xta.XtaProcess;
+import hu.bme.mit.theta.formalism.xta.XtaProcess.Edge;
+import hu.bme.mit.theta.formalism.xta.XtaProcess.Loc;
+import hu.bme.mit.theta.formalism.xta.XtaSystem;
+
+/**
+ * Static LU bound analysis of an XTA system. The lower (upper) bound of a clock
+ * in a location is the largest constant the clock is compared to by a lower
+ * (upper) bound constraint in its invariant, or in a guard or an invariant along
+ * some path from the location before the clock is reset. The bounds of a
+ * location vector are the maximum of the bounds of its locations, and can be
+ * used for extrapolation and for inclusion checks based on LU simulation.
+ */
+public final class XtaLuBounds {
+
+	private final Map<Loc, BoundFunc> boundsOfLoc;
+	private final Map<List<Loc>, BoundFunc> boundsOfLocs;
+
+	private XtaLuBounds(final XtaSystem system) {
+		checkNotNull(system);
+		boundsOfLoc = new HashMap<>();
+		for (final XtaProcess process : system.getProcesses()) {
+			computeBounds(process, boundsOfLoc);
+		}
+		boundsOfLocs = new ConcurrentHashMap<>();
+	}
+
+	public static XtaLuBounds create(final XtaSystem system) {
+		return new XtaLuBounds(system);
+	}
+
+	public BoundFunc getBounds(final List<Loc> locs) {
+		checkNotNull(locs);
+		final BoundFunc cachedBounds = boundsOfLocs.get(locs);
+		if (cachedBounds != null) {
+			return cachedBounds;
+		}
+
+		BoundFunc bounds = BoundFunc.top();
+		for (final Loc loc : locs) {
+			bounds = bounds.merge(boundsOfLoc.get(loc));
+		}
+		final BoundFunc previousBounds = boundsOfLocs.putIfAbsent(locs, bounds);
+		return previousBounds != null ? previousBounds : bounds;
+	}
+
+	////
+
+	private static void computeBounds(final XtaProcess process, final Map<Loc, BoundFunc> boundsOfLoc) {
+		for (final Loc loc : process.getLocs()) {
+			final BoundFunc.Builder builder = BoundFunc.builder();
+			addBounds(builder, loc.getInvars());
+			for (final Edge edge : loc.getOutEdges()) {
+				addBounds(builder, edge.getGuards());
+			}
+			boundsOfLoc.put(loc, builder.build());
+		}
+
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (final Loc loc : process.getLocs()) {
+				for (final Edge edge : loc.getOutEdges()) {
+					final BoundFunc.Builder builder = boundsOfLoc.get(edge.getTarget()).transform();
+					getResetClocks(edge).forEach(builder::remove);
+					final BoundFunc targetBounds = builder.build();
+					final BoundFunc bounds = boundsOfLoc.get(loc);
+					if (!targetBounds.isLeq(bounds)) {
+						boundsOfLoc.put(loc, bounds.merge(targetBounds));
+						changed = true;
+					}
+				}
+			}
+		}
+	}
+
+	private static void addBounds(final BoundFunc.Builder builder, final Collection<Guard> guards) {
+		for (final Guard guard : guards) {
+			if (guard.isClockGuard()) {
+				builder.add(guard.asClockGuard().getClockConstr());
+			}
+		}
+	}
+
+	private static Collection<VarDecl<RatType>> getResetClocks(final Edge edge) {
+		final Collection<VarDecl<RatType>> result = new HashSet<>();
+		for (final Update update : edge.getUpdates()) {
+			if (update.isClockUpdate()) {
+				final ResetOp op = (ResetOp) update.asClockUpdate().getClockOp();
+				result.add(op.getVar());
+			}
+		}
+		return result;
+	}
+
+}
@@ -22,19 +22,38 @@ import hu.bme.mit.theta.analysis.TransFunc;
 import hu.bme.mit.theta.analysis.zone.ZoneDomain;
 import hu.bme.mit.theta.analysis.zone.ZonePrec;
 import hu.bme.mit.theta.analysis.zone.ZoneState;
+import hu.bme.mit.theta.formalism.xta.XtaSystem;
 import hu.bme.mit.theta.formalism.xta.analysis.XtaAction;
 
 public final class XtaZoneAnalysis implements Analysis<ZoneState, XtaAction, ZonePrec> {
 
-	private static final XtaZoneAnalysis INSTANCE = new XtaZoneAnalysis();
+	private static final XtaZoneAnalysis INSTANCE = new XtaZoneAnalysis(XtaZoneInitFunc.getInstance(),
+			XtaZoneTransFunc.getInstance());
 
-	private XtaZoneAnalysis() {
+	private final XtaZoneInitFunc initFunc;
+	private final XtaZoneTransFunc transFunc;
+
+	private XtaZoneAnalysis(final XtaZoneInitFunc initFunc, final XtaZoneTransFunc transFunc) {
+		this.initFunc = initFunc;
+		this.transFunc = transFunc;
 	}
 
 	public static XtaZoneAnalysis getInstance() {
 		return INSTANCE;
 	}
 
+	/**
+	 * Creates a zone analysis for the given system that only keeps the clocks
+	 * that are active in the current locations in the zones. Clocks that become
+	 * active again are added back to the zones by the transitions resetting
+	 * them.
+	 */
+	public static XtaZoneAnalysis create(final XtaSystem system) {
+		final XtaActiveClocks activeClocks = XtaActiveClocks.create(system);
+		return new XtaZoneAnalysis(XtaZoneInitFunc.create(system, activeClocks),
+				XtaZoneTransFunc.create(activeClocks));
+	}
+
 	@Override
 	public Domain<ZoneState> getDomain() {
 		return ZoneDomain.getInstance();
@@ -42,12 +61,12 @@ public final class XtaZoneAnalysis implements Analysis<ZoneState, XtaAction, Zon
 
 	@Override
 	public InitFunc<ZoneState, ZonePrec> getInitFunc() {
-		return XtaZoneInitFunc.getInstance();
+		return initFunc;
 	}
 
 	@Override
 	public TransFunc<ZoneState, XtaAction, ZonePrec> getTransFunc() {
-		return XtaZoneTransFunc.getInstance();
+		return transFunc;
 	}
 
 }
@@ -16,29 +16,51 @@
 package hu.bme.mit.theta.formalism.xta.analysis.zone;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.collect.Sets;
 
 import hu.bme.mit.theta.analysis.InitFunc;
 import hu.bme.mit.theta.analysis.zone.ZonePrec;
 import hu.bme.mit.theta.analysis.zone.ZoneState;
+import hu.bme.mit.theta.core.decl.VarDecl;
+import hu.bme.mit.theta.core.type.rattype.RatType;
+import hu.bme.mit.theta.formalism.xta.XtaProcess;
+import hu.bme.mit.theta.formalism.xta.XtaProcess.Loc;
+import hu.bme.mit.theta.formalism.xta.XtaSystem;
 
 final class XtaZoneInitFunc implements InitFunc<ZoneState, ZonePrec> {
 
-	private static final XtaZoneInitFunc INSTANCE = new XtaZoneInitFunc();
+	private static final XtaZoneInitFunc INSTANCE = new XtaZoneInitFunc(null);
+
+	// Null if every clock of the precision is kept
+	private final Set<VarDecl<RatType>> initClocks;
 
-	private XtaZoneInitFunc() {
+	private XtaZoneInitFunc(final Set<VarDecl<RatType>> initClocks) {
+		this.initClocks = initClocks;
 	}
 
 	static XtaZoneInitFunc getInstance() {
 		return INSTANCE;
 	}
 
+	static XtaZoneInitFunc create(final XtaSystem system, final XtaActiveClocks activeClocks) {
+		final List<Loc> initLocs = system.getProcesses().stream().map(XtaProcess::getInitLoc)
+				.collect(toImmutableList());
+		return new XtaZoneInitFunc(activeClocks.getActiveClocks(initLocs));
+	}
+
 	@Override
 	public Collection<ZoneState> getInitStates(final ZonePrec prec) {
 		checkNotNull(prec);
-		return Collections.singleton(ZoneState.zero(prec.getVars()).transform().up().build());
+		final Collection<VarDecl<RatType>> clocks = initClocks == null ? prec.getVars()
+				: Sets.intersection(initClocks, prec.getVars());
+		return Collections.singleton(ZoneState.zero(clocks).transform().up().build());
 	}
 
 }
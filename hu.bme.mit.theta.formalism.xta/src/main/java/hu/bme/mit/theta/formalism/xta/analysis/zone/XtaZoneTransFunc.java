@@ -15,6 +15,8 @@
  */
 package hu.bme.mit.theta.formalism.xta.analysis.zone;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import java.util.Collection;
 
 import com.google.common.collect.ImmutableList;
@@ -26,19 +28,32 @@ import hu.bme.mit.theta.formalism.xta.analysis.XtaAction;
 
 final class XtaZoneTransFunc implements TransFunc<ZoneState, XtaAction, ZonePrec> {
 
-	private final static XtaZoneTransFunc INSTANCE = new XtaZoneTransFunc();
+	private final static XtaZoneTransFunc INSTANCE = new XtaZoneTransFunc(null);
+
+	// Null if every clock of the precision is kept
+	private final XtaActiveClocks activeClocks;
 
-	private XtaZoneTransFunc() {
+	private XtaZoneTransFunc(final XtaActiveClocks activeClocks) {
+		this.activeClocks = activeClocks;
 	}
 
 	static XtaZoneTransFunc getInstance() {
 		return INSTANCE;
 	}
 
+	static XtaZoneTransFunc create(final XtaActiveClocks activeClocks) {
+		return new XtaZoneTransFunc(checkNotNull(activeClocks));
+	}
+
 	@Override
 	public Collection<ZoneState> getSuccStates(final ZoneState state, final XtaAction action, final ZonePrec prec) {
 
-		final ZoneState succState = XtaZoneUtils.post(state, action, prec);
+		final ZoneState succState;
+		if (activeClocks == null) {
+			succState = XtaZoneUtils.post(state, action, prec);
+		} else {
+			succState = XtaZoneUtils.post(state, action, prec, activeClocks);
+		}
 
 		if (succState.isBottom()) {
 			return ImmutableList.of();
@@ -20,8 +20,10 @@ import static hu.bme.mit.theta.core.clock.constr.ClockConstrs.Eq;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 
 import hu.bme.mit.theta.analysis.zone.ZonePrec;
 import hu.bme.mit.theta.analysis.zone.ZoneState;
@@ -47,19 +49,52 @@ public final class XtaZoneUtils {
 		checkNotNull(action);
 		checkNotNull(prec);
 
+		return post(state, action, prec.getVars());
+	}
+
+	/**
+	 * Computes the successor zone keeping only the clocks that are active in the
+	 * target locations. The transition itself is computed over the clocks
+	 * active in the source or in the target locations, so clocks that become
+	 * active again by being reset are added back to the zone.
+	 */
+	public static ZoneState post(final ZoneState state, final XtaAction action, final ZonePrec prec,
+			final XtaActiveClocks activeClocks) {
+		checkNotNull(state);
+		checkNotNull(action);
+		checkNotNull(prec);
+		checkNotNull(activeClocks);
+
+		final Set<VarDecl<RatType>> sourceClocks = activeClocks.getActiveClocks(action.getSourceLocs());
+		final Set<VarDecl<RatType>> targetClocks = activeClocks.getActiveClocks(action.getTargetLocs());
+
+		// Target clocks come first, so that the signature is the same as that of
+		// the projection to the target clocks if no clock becomes inactive
+		final Set<VarDecl<RatType>> clocks = Sets.intersection(Sets.union(targetClocks, sourceClocks),
+				prec.getVars());
+		final ZoneState succState = post(state, action, clocks);
+
+		if (targetClocks.containsAll(sourceClocks)) {
+			return succState;
+		} else {
+			return succState.project(Sets.intersection(targetClocks, prec.getVars())).build();
+		}
+	}
+
+	private static ZoneState post(final ZoneState state, final XtaAction action,
+			final Collection<? extends VarDecl<RatType>> clocks) {
 		if (action.isSimple()) {
-			return postForSimpleAction(state, action.asSimple(), prec);
+			return postForSimpleAction(state, action.asSimple(), clocks);
 		} else if (action.isSynced()) {
-			return postForSyncedAction(state, action.asSynced(), prec);
+			return postForSyncedAction(state, action.asSynced(), clocks);
 		} else {
 			throw new AssertionError();
 		}
-
 	}
 
 	private static ZoneState postForSimpleAction(final ZoneState state, final SimpleXtaAction action,
-			final ZonePrec prec) {
-		final ZoneState.Builder succStateBuilder = state.project(prec.getVars());
+			final Collection<? extends VarDecl<RatType>> clocks) {
+		final ZoneState.Builder succStateBuilder = state.project(clocks);
 
 		final List<Loc> sourceLocs = action.getSourceLocs();
 		final Edge edge = action.getEdge();
@@ -78,8 +113,8 @@ public final class XtaZoneUtils {
 	}
 
 	private static ZoneState postForSyncedAction(final ZoneState state, final SyncedXtaAction action,
-			final ZonePrec prec) {
-		final ZoneState.Builder succStateBuilder = state.project(prec.getVars());
+			final Collection<? extends VarDecl<RatType>> clocks) {
+		final ZoneState.Builder succStateBuilder = state.project(clocks);
 
 		final List<Loc> sourceLocs = action.getSourceLocs();
 		final Edge emittingEdge = action.getEmitEdge();
@@ -31,8 +31,10 @@ import hu.bme.mit.theta.common.dsl.Scope;
 import hu.bme.mit.theta.common.dsl.Symbol;
 import hu.bme.mit.theta.common.dsl.SymbolTable;
 import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.inttype.IntLitExpr;
 import hu.bme.mit.theta.formalism.xta.XtaProcess;
 import hu.bme.mit.theta.formalism.xta.XtaSystem;
+import hu.bme.mit.theta.formalism.xta.XtaSystem.Scalarset;
 import hu.bme.mit.theta.formalism.xta.dsl.gen.XtaDslParser.ArrayIdContext;
 import hu.bme.mit.theta.formalism.xta.dsl.gen.XtaDslParser.FunctionDeclContext;
 import hu.bme.mit.theta.formalism.xta.dsl.gen.XtaDslParser.InstantiationContext;
@@ -80,6 +82,7 @@ final class XtaSpecification implements Scope {
 
 	private XtaSystem instantiate() {
 		final List<XtaProcess> processes = new ArrayList<>();
+		final List<Scalarset> scalarsets = new ArrayList<>();
 
 		final Environment env = new Environment();
 
@@ -93,12 +96,16 @@ final class XtaSpecification implements Scope {
 				final XtaProcessSymbol processSymbol = (XtaProcessSymbol) symbol;
 				final Set<List<Expr<?>>> argumentLists = processSymbol.getArgumentLists(env);
 
+				final List<XtaProcess> instances = new ArrayList<>();
 				for (final List<Expr<?>> argumentList : argumentLists) {
 					final String name = createName(processSymbol, argumentList);
 					final XtaProcess process = processSymbol.instantiate(name, argumentList, env);
 					processes.add(process);
+					instances.add(process);
 				}
 
+				createScalarset(instances, argumentLists).ifPresent(scalarsets::add);
+
 			} else if (symbol instanceof XtaInstantiationSymbol) {
 				throw new UnsupportedOperationException();
 			} else {
@@ -106,7 +113,26 @@ final class XtaSpecification implements Scope {
 			}
 		}
 
-		return XtaSystem.of(processes);
+		return XtaSystem.of(processes, scalarsets);
+	}
+
+	/**
+	 * Instances of a template with a single parameter of a range type form a
+	 * scalarset, identified by the values of the parameter.
+	 */
+	private static Optional<Scalarset> createScalarset(final List<XtaProcess> instances,
+			final Set<List<Expr<?>>> argumentLists) {
+		if (instances.size() < 2) {
+			return Optional.empty();
+		}
+		final List<Integer> values = new ArrayList<>();
+		for (final List<Expr<?>> argumentList : argumentLists) {
+			if (argumentList.size() != 1 || !(argumentList.get(0) instanceof IntLitExpr)) {
+				return Optional.empty();
+			}
+			values.add(((IntLitExpr) argumentList.get(0)).getValue());
+		}
+		return Optional.of(Scalarset.of(instances, values));
 	}
 
 	private static String createName(final XtaProcessSymbol processSymbol, final List<Expr<?>> argumentList) {
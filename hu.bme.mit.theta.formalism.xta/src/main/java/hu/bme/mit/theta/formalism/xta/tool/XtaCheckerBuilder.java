@@ -15,9 +15,12 @@
  */
 package hu.bme.mit.theta.formalism.xta.tool;
 
+import java.util.Collections;
+
 import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
 import hu.bme.mit.theta.analysis.algorithm.SearchStrategy;
 import hu.bme.mit.theta.analysis.unit.UnitPrec;
+import hu.bme.mit.theta.analysis.zone.ZoneInclusion;
 import hu.bme.mit.theta.formalism.xta.XtaSystem;
 import hu.bme.mit.theta.formalism.xta.analysis.lazy.ActStrategy;
 import hu.bme.mit.theta.formalism.xta.analysis.lazy.BinItpStrategy;
@@ -32,47 +35,61 @@ public final class XtaCheckerBuilder {
 
 		SEQITP {
 			@Override
-			public AlgorithmStrategy<?> create(final XtaSystem system) {
-				return SeqItpStrategy.create(system, ItpOperator.DEFAULT);
+			public AlgorithmStrategy<?> create(final XtaSystem system, final ZoneInclusion inclusion) {
+				return SeqItpStrategy.create(system, ItpOperator.DEFAULT, inclusion);
 			}
 		},
 
 		BINITP {
 			@Override
-			public AlgorithmStrategy<?> create(final XtaSystem system) {
-				return BinItpStrategy.create(system, ItpOperator.DEFAULT);
+			public AlgorithmStrategy<?> create(final XtaSystem system, final ZoneInclusion inclusion) {
+				return BinItpStrategy.create(system, ItpOperator.DEFAULT, inclusion);
 			}
 		},
 
 		WEAKSEQITP {
 			@Override
-			public AlgorithmStrategy<?> create(final XtaSystem system) {
-				return SeqItpStrategy.create(system, ItpOperator.WEAK);
+			public AlgorithmStrategy<?> create(final XtaSystem system, final ZoneInclusion inclusion) {
+				return SeqItpStrategy.create(system, ItpOperator.WEAK, inclusion);
 			}
 		},
 
 		WEAKBINITP {
 			@Override
-			public AlgorithmStrategy<?> create(final XtaSystem system) {
-				return BinItpStrategy.create(system, ItpOperator.WEAK);
+			public AlgorithmStrategy<?> create(final XtaSystem system, final ZoneInclusion inclusion) {
+				return BinItpStrategy.create(system, ItpOperator.WEAK, inclusion);
 			}
 		},
 
 		LU {
 			@Override
-			public AlgorithmStrategy<?> create(final XtaSystem system) {
-				return LuStrategy.create(system);
+			public AlgorithmStrategy<?> create(final XtaSystem system, final ZoneInclusion inclusion) {
+				return LuStrategy.create(system, inclusion);
+			}
+
+			@Override
+			public ZoneInclusion getDefaultInclusion() {
+				return ZoneInclusion.ALU;
 			}
 		},
 
 		ACT {
 			@Override
-			public AlgorithmStrategy<?> create(final XtaSystem system) {
-				return ActStrategy.create(system);
+			public AlgorithmStrategy<?> create(final XtaSystem system, final ZoneInclusion inclusion) {
+				return ActStrategy.create(system, inclusion);
 			}
 		};
 
-		public abstract LazyXtaChecker.AlgorithmStrategy<?> create(final XtaSystem system);
+		public abstract LazyXtaChecker.AlgorithmStrategy<?> create(final XtaSystem system,
+				final ZoneInclusion inclusion);
+
+		public LazyXtaChecker.AlgorithmStrategy<?> create(final XtaSystem system) {
+			return create(system, getDefaultInclusion());
+		}
+
+		public ZoneInclusion getDefaultInclusion() {
+			return ZoneInclusion.EXACT;
+		}
 	}
 
 	public enum Search {
@@ -106,11 +123,37 @@ public final class XtaCheckerBuilder {
 
 	public static SafetyChecker<?, ?, UnitPrec> build(final Algorithm algorithm, final Search search,
 			final XtaSystem xta) {
-		final LazyXtaChecker.AlgorithmStrategy<?> algorithmStrategy = algorithm.create(xta);
+		return build(algorithm, search, 1, xta);
+	}
+
+	public static SafetyChecker<?, ?, UnitPrec> build(final Algorithm algorithm, final Search search,
+			final int threads, final XtaSystem xta) {
+		return build(algorithm, search, threads, false, xta);
+	}
+
+	public static SafetyChecker<?, ?, UnitPrec> build(final Algorithm algorithm, final Search search,
+			final int threads, final boolean symmetry, final XtaSystem xta) {
+		return build(algorithm, search, threads, symmetry, false, xta);
+	}
+
+	public static SafetyChecker<?, ?, UnitPrec> build(final Algorithm algorithm, final Search search,
+			final int threads, final boolean symmetry, final boolean partialOrderReduction, final XtaSystem xta) {
+		return build(algorithm, search, threads, symmetry, partialOrderReduction, algorithm.getDefaultInclusion(), xta);
+	}
+
+	/**
+	 * Build a checker without error locations, so partial order reduction
+	 * cannot postpone a process with an error location (see
+	 * {@link LazyXtaChecker}).
+	 */
+	public static SafetyChecker<?, ?, UnitPrec> build(final Algorithm algorithm, final Search search,
+			final int threads, final boolean symmetry, final boolean partialOrderReduction,
+			final ZoneInclusion inclusion, final XtaSystem xta) {
+		final LazyXtaChecker.AlgorithmStrategy<?> algorithmStrategy = algorithm.create(xta, inclusion);
 		final SearchStrategy searchStrategy = search.create();
 
 		final SafetyChecker<?, ?, UnitPrec> checker = LazyXtaChecker.create(xta, algorithmStrategy, searchStrategy,
-				l -> false);
+				Collections.emptySet(), threads, symmetry, partialOrderReduction);
 		return checker;
 	}
 }
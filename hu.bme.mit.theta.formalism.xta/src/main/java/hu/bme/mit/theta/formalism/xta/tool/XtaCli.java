@@ -28,6 +28,7 @@ import hu.bme.mit.theta.analysis.algorithm.SafetyChecker;
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
 import hu.bme.mit.theta.analysis.unit.UnitPrec;
 import hu.bme.mit.theta.analysis.utils.ArgVisualizer;
+import hu.bme.mit.theta.analysis.zone.ZoneInclusion;
 import hu.bme.mit.theta.analysis.utils.TraceVisualizer;
 import hu.bme.mit.theta.common.table.TableWriter;
 import hu.bme.mit.theta.common.table.impl.SimpleTableWriter;
@@ -53,6 +54,18 @@ public final class XtaCli {
 	@Parameter(names = { "--search" }, description = "Search strategy", required = true)
 	Search search;
 
+	@Parameter(names = { "--threads" }, description = "Number of threads for exploring the state space")
+	Integer threads = 1;
+
+	@Parameter(names = { "--symmetry" }, description = "Reduce the state space by the symmetries of the processes")
+	Boolean symmetry = false;
+
+	@Parameter(names = { "--por" }, description = "Partial order reduction of independent local transitions")
+	Boolean partialOrderReduction = false;
+
+	@Parameter(names = { "--inclusion" }, description = "Inclusion check for covering (default depends on the algorithm)")
+	ZoneInclusion inclusion = null;
+
 	@Parameter(names = { "--benchmark" }, description = "Benchmark mode (only print metrics)")
 	Boolean benchmarkMode = false;
 
@@ -88,7 +101,8 @@ public final class XtaCli {
 
 		try {
 			final XtaSystem xta = loadModel();
-			final SafetyChecker<?, ?, UnitPrec> checker = XtaCheckerBuilder.build(algorithm, search, xta);
+			final SafetyChecker<?, ?, UnitPrec> checker = XtaCheckerBuilder.build(algorithm, search, threads, symmetry,
+					partialOrderReduction, inclusion != null ? inclusion : algorithm.getDefaultInclusion(), xta);
 			final SafetyResult<?, ?> result = checker.check(UnitPrec.getInstance());
 			printResult(result);
 			if (dotfile != null) {
@@ -15,6 +15,8 @@
  */
 package hu.bme.mit.theta.formalism.xta.analysis;
 
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.FileNotFoundException;
@@ -22,6 +24,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -30,10 +36,13 @@ import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameter;
 import org.junit.runners.Parameterized.Parameters;
 
+import hu.bme.mit.theta.analysis.algorithm.ArgNode;
 import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
 import hu.bme.mit.theta.analysis.algorithm.SearchStrategy;
 import hu.bme.mit.theta.analysis.unit.UnitPrec;
+import hu.bme.mit.theta.analysis.zone.ZoneInclusion;
 import hu.bme.mit.theta.analysis.zone.itp.ItpZoneState;
+import hu.bme.mit.theta.formalism.xta.XtaProcess.Loc;
 import hu.bme.mit.theta.formalism.xta.XtaSystem;
 import hu.bme.mit.theta.formalism.xta.analysis.XtaAction;
 import hu.bme.mit.theta.formalism.xta.analysis.lazy.ActStrategy;
@@ -51,15 +60,15 @@ public final class LazyXtaCheckerTest {
 	public static Collection<Object[]> data() {
 		return Arrays.asList(new Object[][] {
 
-				// { "/critical-2-25-50.xta" },
+				// { "/critical-2-25-50.xta", "error" },
 
-				{ "/csma-2.xta" },
+				{ "/csma-2.xta", "retry" },
 
-				{ "/fddi-2.xta" },
+				{ "/fddi-2.xta", "S2" },
 
-				{ "/fischer-2-32-64.xta" },
+				{ "/fischer-2-32-64.xta", "cs" },
 
-				{ "/lynch-2-16.xta" }
+				{ "/lynch-2-16.xta", "CS7" }
 
 		});
 	}
@@ -67,6 +76,10 @@ public final class LazyXtaCheckerTest {
 	@Parameter(0)
 	public String filepath;
 
+	// A reachable location, which is not urgent or committed
+	@Parameter(1)
+	public String reachableLoc;
+
 	private XtaSystem system;
 
 	@Before
@@ -131,4 +144,189 @@ public final class LazyXtaCheckerTest {
 		System.out.println(status.getStats().get());
 	}
 
+	@Test
+	public void testLuStrategyParallel() {
+		// Arrange
+		final LazyXtaChecker<?> checker = LazyXtaChecker.create(system, LuStrategy.create(system),
+				SearchStrategy.breadthFirst(), l -> false, 4);
+		final LazyXtaChecker<?> unsafeChecker = LazyXtaChecker.create(system, LuStrategy.create(system),
+				SearchStrategy.breadthFirst(), reachable(), 4);
+		final LazyXtaChecker<?> baseline = LazyXtaChecker.create(system, LuStrategy.create(system),
+				SearchStrategy.breadthFirst(), l -> false);
+
+		// Act
+		final SafetyResult<?, XtaAction> status = checker.check(UnitPrec.getInstance());
+		final SafetyResult<?, XtaAction> unsafeStatus = unsafeChecker.check(UnitPrec.getInstance());
+		final SafetyResult<?, XtaAction> baselineStatus = baseline.check(UnitPrec.getInstance());
+
+		// Assert
+		assertTrue(status.isSafe());
+		assertTrue(unsafeStatus.isUnsafe());
+		assertEquals(getDiscreteStates(baselineStatus), getDiscreteStates(status));
+	}
+
+	@Test
+	public void testLuStrategySymmetry() {
+		// Arrange
+		final LazyXtaChecker<?> checker = LazyXtaChecker.create(system, LuStrategy.create(system),
+				SearchStrategy.breadthFirst(), l -> false, 1, true);
+		final LazyXtaChecker<?> unsafeChecker = LazyXtaChecker.create(system, LuStrategy.create(system),
+				SearchStrategy.breadthFirst(), reachable(), 1, true);
+		final LazyXtaChecker<?> baseline = LazyXtaChecker.create(system, LuStrategy.create(system),
+				SearchStrategy.breadthFirst(), l -> false);
+
+		// Act
+		final SafetyResult<?, XtaAction> status = checker.check(UnitPrec.getInstance());
+		final SafetyResult<?, XtaAction> unsafeStatus = unsafeChecker.check(UnitPrec.getInstance());
+		final SafetyResult<?, XtaAction> baselineStatus = baseline.check(UnitPrec.getInstance());
+
+		// Assert
+		assertTrue(status.isSafe());
+		assertTrue(unsafeStatus.isUnsafe());
+		assertReduced(baselineStatus, status);
+	}
+
+	@Test
+	public void testSeqItpStrategySymmetry() {
+		// Arrange
+		final LazyXtaChecker<?> checker = LazyXtaChecker.create(system,
+				SeqItpStrategy.create(system, ItpOperator.DEFAULT), SearchStrategy.breadthFirst(), l -> false, 1, true);
+		final LazyXtaChecker<?> unsafeChecker = LazyXtaChecker.create(system,
+				SeqItpStrategy.create(system, ItpOperator.DEFAULT), SearchStrategy.breadthFirst(), reachable(), 1,
+				true);
+		final LazyXtaChecker<?> baseline = LazyXtaChecker.create(system,
+				SeqItpStrategy.create(system, ItpOperator.DEFAULT), SearchStrategy.breadthFirst(), l -> false);
+
+		// Act
+		final SafetyResult<?, XtaAction> status = checker.check(UnitPrec.getInstance());
+		final SafetyResult<?, XtaAction> unsafeStatus = unsafeChecker.check(UnitPrec.getInstance());
+		final SafetyResult<?, XtaAction> baselineStatus = baseline.check(UnitPrec.getInstance());
+
+		// Assert
+		assertTrue(status.isSafe());
+		assertTrue(unsafeStatus.isUnsafe());
+		assertReduced(baselineStatus, status);
+	}
+
+	@Test
+	public void testLuStrategyPartialOrderReduction() {
+		// Arrange
+		final LazyXtaChecker<?> checker = LazyXtaChecker.create(system, LuStrategy.create(system),
+				SearchStrategy.breadthFirst(), Collections.emptySet(), 1, false, true);
+		final LazyXtaChecker<?> unsafeChecker = LazyXtaChecker.create(system, LuStrategy.create(system),
+				SearchStrategy.breadthFirst(), reachableLocs(), 1, false, true);
+		final LazyXtaChecker<?> baseline = LazyXtaChecker.create(system, LuStrategy.create(system),
+				SearchStrategy.breadthFirst(), l -> false);
+
+		// Act
+		final SafetyResult<?, XtaAction> status = checker.check(UnitPrec.getInstance());
+		final SafetyResult<?, XtaAction> unsafeStatus = unsafeChecker.check(UnitPrec.getInstance());
+		final SafetyResult<?, XtaAction> baselineStatus = baseline.check(UnitPrec.getInstance());
+
+		// Assert
+		assertTrue(status.isSafe());
+		assertTrue(unsafeStatus.isUnsafe());
+		assertTrue(status.getArg().getNodes().count() <= baselineStatus.getArg().getNodes().count());
+	}
+
+	@Test
+	public void testActStrategyParallel() {
+		// Arrange
+		final LazyXtaChecker<?> checker = LazyXtaChecker.create(system, ActStrategy.create(system),
+				SearchStrategy.breadthFirst(), l -> false, 4);
+		final LazyXtaChecker<?> unsafeChecker = LazyXtaChecker.create(system, ActStrategy.create(system),
+				SearchStrategy.breadthFirst(), reachable(), 4);
+		final LazyXtaChecker<?> baseline = LazyXtaChecker.create(system, ActStrategy.create(system),
+				SearchStrategy.breadthFirst(), l -> false);
+
+		// Act
+		final SafetyResult<?, XtaAction> status = checker.check(UnitPrec.getInstance());
+		final SafetyResult<?, XtaAction> unsafeStatus = unsafeChecker.check(UnitPrec.getInstance());
+		final SafetyResult<?, XtaAction> baselineStatus = baseline.check(UnitPrec.getInstance());
+
+		// Assert
+		assertTrue(status.isSafe());
+		assertTrue(unsafeStatus.isUnsafe());
+		assertEquals(getDiscreteStates(baselineStatus), getDiscreteStates(status));
+	}
+
+	@Test
+	public void testActStrategyAluInclusion() {
+		// Arrange
+		final LazyXtaChecker<?> checker = LazyXtaChecker.create(system,
+				ActStrategy.create(system, ZoneInclusion.ALU), SearchStrategy.breadthFirst(), l -> false);
+		final LazyXtaChecker<?> unsafeChecker = LazyXtaChecker.create(system,
+				ActStrategy.create(system, ZoneInclusion.ALU), SearchStrategy.breadthFirst(), reachable());
+		final LazyXtaChecker<?> baseline = LazyXtaChecker.create(system, ActStrategy.create(system),
+				SearchStrategy.breadthFirst(), l -> false);
+
+		// Act
+		final SafetyResult<?, XtaAction> status = checker.check(UnitPrec.getInstance());
+		final SafetyResult<?, XtaAction> unsafeStatus = unsafeChecker.check(UnitPrec.getInstance());
+		final SafetyResult<?, XtaAction> baselineStatus = baseline.check(UnitPrec.getInstance());
+
+		// Assert
+		assertTrue(status.isSafe());
+		assertTrue(unsafeStatus.isUnsafe());
+		assertEquals(getDiscreteStates(baselineStatus), getDiscreteStates(status));
+		assertTrue(status.getArg().getNodes().count() <= baselineStatus.getArg().getNodes().count());
+	}
+
+	@Test
+	public void testSeqItpStrategyExtraLuInclusion() {
+		// Arrange
+		final LazyXtaChecker<?> checker = LazyXtaChecker.create(system,
+				SeqItpStrategy.create(system, ItpOperator.DEFAULT, ZoneInclusion.EXTRA_LU),
+				SearchStrategy.breadthFirst(), l -> false);
+		final LazyXtaChecker<?> unsafeChecker = LazyXtaChecker.create(system,
+				SeqItpStrategy.create(system, ItpOperator.DEFAULT, ZoneInclusion.EXTRA_LU),
+				SearchStrategy.breadthFirst(), reachable());
+		final LazyXtaChecker<?> baseline = LazyXtaChecker.create(system,
+				SeqItpStrategy.create(system, ItpOperator.DEFAULT), SearchStrategy.breadthFirst(), l -> false);
+
+		// Act
+		final SafetyResult<?, XtaAction> status = checker.check(UnitPrec.getInstance());
+		final SafetyResult<?, XtaAction> unsafeStatus = unsafeChecker.check(UnitPrec.getInstance());
+		final SafetyResult<?, XtaAction> baselineStatus = baseline.check(UnitPrec.getInstance());
+
+		// Assert
+		assertTrue(status.isSafe());
+		assertTrue(unsafeStatus.isUnsafe());
+		assertEquals(getDiscreteStates(baselineStatus), getDiscreteStates(status));
+		assertTrue(status.getArg().getNodes().count() <= baselineStatus.getArg().getNodes().count());
+	}
+
+	/**
+	 * Symmetric systems (fischer and lynch) must have a smaller ARG with
+	 * symmetry reduction, others the same ARG.
+	 */
+	private void assertReduced(final SafetyResult<?, XtaAction> baselineStatus,
+			final SafetyResult<?, XtaAction> reducedStatus) {
+		final long baselineNodes = baselineStatus.getArg().getNodes().count();
+		final long reducedNodes = reducedStatus.getArg().getNodes().count();
+		if (XtaSymmetry.create(system).isTrivial()) {
+			assertEquals(baselineNodes, reducedNodes);
+		} else {
+			assertTrue(reducedNodes < baselineNodes);
+		}
+	}
+
+	private Predicate<List<? extends Loc>> reachable() {
+		return locs -> locs.stream().anyMatch(l -> l.getName().endsWith("_" + reachableLoc));
+	}
+
+	private Set<Loc> reachableLocs() {
+		return system.getProcesses().stream().flatMap(p -> p.getLocs().stream())
+				.filter(l -> l.getName().endsWith("_" + reachableLoc)).collect(toSet());
+	}
+
+	/**
+	 * Discrete states of the feasible nodes, which do not depend on the order
+	 * of exploration.
+	 */
+	private static Set<?> getDiscreteStates(final SafetyResult<?, XtaAction> status) {
+		return status.getArg().getNodes().filter(ArgNode::isFeasible).map(n -> n.getState())
+				.map(s -> ((XtaState<?>) s).getDiscreteState()).collect(toSet());
+	}
+
 }
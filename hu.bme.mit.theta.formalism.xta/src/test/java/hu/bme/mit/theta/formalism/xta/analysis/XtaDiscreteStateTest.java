@@ -0,0 +1,151 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.formalism.xta.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import hu.bme.mit.theta.analysis.Analysis;
+import hu.bme.mit.theta.analysis.unit.UnitAnalysis;
+import hu.bme.mit.theta.analysis.unit.UnitPrec;
+import hu.bme.mit.theta.analysis.unit.UnitState;
+import hu.bme.mit.theta.core.model.BasicValuation;
+import hu.bme.mit.theta.formalism.xta.XtaSystem;
+import hu.bme.mit.theta.formalism.xta.dsl.XtaDslManager;
+
+@RunWith(Parameterized.class)
+public final class XtaDiscreteStateTest {
+
+	@Parameters(name = "{0}")
+	public static Collection<Object[]> data() {
+		return Arrays.asList(new Object[][] {
+
+				{ "/csma-2.xta" },
+
+				{ "/fischer-2-32-64.xta" },
+
+				{ "/lynch-2-16.xta" }
+
+		});
+	}
+
+	@Parameter(0)
+	public String filepath;
+
+	private XtaSystem system;
+	private List<XtaState<UnitState>> states;
+
+	@Before
+	public void initialize() throws IOException {
+		final InputStream inputStream = getClass().getResourceAsStream(filepath);
+		system = XtaDslManager.createSystem(inputStream);
+		states = explore();
+	}
+
+	@Test
+	public void testRoundTrip() {
+		final XtaDiscreteEncoder encoder = XtaDiscreteEncoder.create(system);
+		for (final XtaState<UnitState> state : states) {
+			final XtaDiscreteState discreteState = encoder.encode(state.getLocs(), state.getVal());
+			assertEquals(state.getLocs(), discreteState.getLocs());
+			assertSame(state.getVal(), discreteState.getVal());
+			assertEquals(state.getDiscreteState(), discreteState);
+			assertEquals(state.getDiscreteState().hashCode(), discreteState.hashCode());
+			assertEquals(state.getDiscreteState().toString(), discreteState.toString());
+		}
+	}
+
+	@Test
+	public void testRoundTripOfCopiedValuation() {
+		final XtaDiscreteEncoder encoder = XtaDiscreteEncoder.create(system);
+		for (final XtaState<UnitState> state : states) {
+			final XtaDiscreteState discreteState = encoder.encode(state.getLocs(),
+					BasicValuation.copyOf(state.getVal()));
+			assertEquals(state.getDiscreteState(), discreteState);
+			assertEquals(state.getDiscreteState().hashCode(), discreteState.hashCode());
+		}
+	}
+
+	@Test
+	public void testDistinct() {
+		final Set<XtaDiscreteState> discreteStates = new HashSet<>();
+		for (final XtaState<UnitState> state : states) {
+			discreteStates.add(state.getDiscreteState());
+		}
+		assertEquals(states.size(), discreteStates.size());
+		for (int i = 1; i < states.size(); i++) {
+			assertNotEquals(states.get(i - 1).getDiscreteState(), states.get(i).getDiscreteState());
+		}
+	}
+
+	@Test
+	public void testUnpacked() {
+		for (final XtaState<UnitState> state : states) {
+			final XtaDiscreteState discreteState = XtaDiscreteState.of(state.getLocs(), state.getVal());
+			assertEquals(state.getDiscreteState(), discreteState);
+			assertEquals(discreteState, state.getDiscreteState());
+			assertEquals(state.getDiscreteState().hashCode(), discreteState.hashCode());
+
+			final XtaState<UnitState> xtaState = XtaState.of(state.getLocs(), state.getVal(), state.getState());
+			assertEquals(state, xtaState);
+			assertEquals(state.hashCode(), xtaState.hashCode());
+		}
+	}
+
+	private List<XtaState<UnitState>> explore() {
+		final XtaLts lts = XtaLts.create(system);
+		final Analysis<XtaState<UnitState>, XtaAction, UnitPrec> analysis = XtaAnalysis.create(system,
+				UnitAnalysis.getInstance());
+		final Set<XtaState<UnitState>> reached = new HashSet<>();
+		final Queue<XtaState<UnitState>> queue = new ArrayDeque<>();
+		final List<XtaState<UnitState>> result = new ArrayList<>();
+		queue.addAll(analysis.getInitFunc().getInitStates(UnitPrec.getInstance()));
+		reached.addAll(queue);
+		while (!queue.isEmpty()) {
+			final XtaState<UnitState> state = queue.remove();
+			result.add(state);
+			for (final XtaAction action : lts.getEnabledActionsFor(state)) {
+				for (final XtaState<UnitState> succ : analysis.getTransFunc().getSuccStates(state, action,
+						UnitPrec.getInstance())) {
+					if (reached.add(succ)) {
+						queue.add(succ);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,153 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.formalism.xta.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import com.google.common.collect.ImmutableList;
+
+import hu.bme.mit.theta.analysis.Analysis;
+import hu.bme.mit.theta.analysis.unit.UnitAnalysis;
+import hu.bme.mit.theta.analysis.unit.UnitPrec;
+import hu.bme.mit.theta.analysis.unit.UnitState;
+import hu.bme.mit.theta.formalism.xta.XtaProcess.Edge;
+import hu.bme.mit.theta.formalism.xta.XtaSystem;
+import hu.bme.mit.theta.formalism.xta.dsl.XtaDslManager;
+
+@RunWith(Parameterized.class)
+public final class XtaLtsTest {
+
+	@Parameters(name = "{0}")
+	public static Collection<Object[]> data() {
+		return Arrays.asList(new Object[][] {
+
+				{ "/critical-2-25-50.xta" },
+
+				{ "/csma-2.xta" },
+
+				{ "/fddi-2.xta" },
+
+				{ "/fischer-2-32-64.xta" },
+
+				{ "/lynch-2-16.xta" }
+
+		});
+	}
+
+	@Parameter(0)
+	public String filepath;
+
+	private XtaSystem system;
+	private List<XtaState<UnitState>> states;
+
+	@Before
+	public void initialize() throws IOException {
+		final InputStream inputStream = getClass().getResourceAsStream(filepath);
+		system = XtaDslManager.createSystem(inputStream);
+		states = explore();
+	}
+
+	@Test
+	public void testActionsAreEnabled() {
+		final XtaLts lts = XtaLts.create(system);
+		for (final XtaState<UnitState> state : states) {
+			final Collection<XtaAction> actions = lts.getEnabledActionsFor(state);
+			for (final XtaAction action : actions) {
+				assertEquals(state.getLocs(), action.getSourceLocs());
+			}
+			// Repeated queries return the cached actions
+			assertSame(actions, lts.getEnabledActionsFor(state));
+		}
+	}
+
+	@Test
+	public void testBoundedCache() {
+		final XtaLts lts = XtaLts.create(system);
+		final XtaLts boundedLts = XtaLts.create(system, 2);
+		final XtaLts uncachedLts = XtaLts.create(system, 0);
+		for (final XtaState<UnitState> state : states) {
+			final Collection<XtaAction> actions = lts.getEnabledActionsFor(state);
+			assertEquals(edgesOf(actions), edgesOf(boundedLts.getEnabledActionsFor(state)));
+			assertEquals(edgesOf(actions), edgesOf(uncachedLts.getEnabledActionsFor(state)));
+			assertTrue(boundedLts.getCacheSize() <= 2);
+			assertEquals(0, uncachedLts.getCacheSize());
+		}
+	}
+
+	private static List<List<Edge>> edgesOf(final Collection<XtaAction> actions) {
+		final List<List<Edge>> result = new ArrayList<>();
+		for (final XtaAction action : actions) {
+			if (action.isSimple()) {
+				result.add(ImmutableList.of(action.asSimple().getEdge()));
+			} else {
+				result.add(ImmutableList.of(action.asSynced().getEmitEdge(), action.asSynced().getRecvEdge()));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Reachable states of the discrete part of the system, where the enabled
+	 * actions are computed by an LTS without cache.
+	 */
+	private List<XtaState<UnitState>> explore() {
+		final XtaLts lts = XtaLts.create(system, 0);
+		final Analysis<XtaState<UnitState>, XtaAction, UnitPrec> analysis = XtaAnalysis.create(system,
+				UnitAnalysis.getInstance());
+		final Set<XtaState<UnitState>> reached = new HashSet<>();
+		final Queue<XtaState<UnitState>> queue = new ArrayDeque<>();
+		final List<XtaState<UnitState>> result = new ArrayList<>();
+		for (final XtaState<UnitState> init : analysis.getInitFunc().getInitStates(UnitPrec.getInstance())) {
+			if (reached.add(init)) {
+				queue.add(init);
+			}
+		}
+		while (!queue.isEmpty()) {
+			final XtaState<UnitState> state = queue.remove();
+			result.add(state);
+			for (final XtaAction action : lts.getEnabledActionsFor(state)) {
+				for (final XtaState<UnitState> succ : analysis.getTransFunc().getSuccStates(state, action,
+						UnitPrec.getInstance())) {
+					if (reached.add(succ)) {
+						queue.add(succ);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+}
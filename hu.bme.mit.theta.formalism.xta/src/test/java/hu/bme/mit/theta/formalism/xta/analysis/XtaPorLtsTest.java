@@ -0,0 +1,115 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.formalism.xta.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableSet;
+
+import hu.bme.mit.theta.analysis.algorithm.SafetyResult;
+import hu.bme.mit.theta.analysis.algorithm.SearchStrategy;
+import hu.bme.mit.theta.analysis.unit.UnitPrec;
+import hu.bme.mit.theta.formalism.xta.XtaProcess.Loc;
+import hu.bme.mit.theta.formalism.xta.XtaSystem;
+import hu.bme.mit.theta.formalism.xta.analysis.lazy.LazyXtaChecker;
+import hu.bme.mit.theta.formalism.xta.analysis.lazy.LuStrategy;
+import hu.bme.mit.theta.formalism.xta.dsl.XtaDslManager;
+
+public final class XtaPorLtsTest {
+
+	private XtaSystem system;
+
+	// Two processes whose urgent locations are left by local steps
+	@Before
+	public void initialize() throws IOException {
+		final InputStream inputStream = getClass().getResourceAsStream("/urgent-2.xta");
+		system = XtaDslManager.createSystem(inputStream);
+	}
+
+	@Test
+	public void testAmpleActions() {
+		final XtaPorLts lts = XtaPorLts.create(system, ImmutableSet.of());
+		final SafetyResult<?, XtaAction> status = check(ImmutableSet.of(), false);
+
+		status.getArg().getNodes().map(n -> (XtaState<?>) n.getState()).forEach(s -> {
+			final long urgentProcesses = s.getLocs().stream().filter(l -> l.getName().endsWith("_B")
+					|| l.getName().endsWith("_E")).count();
+			if (urgentProcesses > 0) {
+				// Only the steps of one urgent process are explored
+				assertEquals(1, lts.getEnabledActionsFor(s).size());
+			}
+		});
+	}
+
+	@Test
+	public void testErrorProcess() {
+		final XtaPorLts lts = XtaPorLts.create(system, ImmutableSet.of(loc("P_C")));
+		final XtaLts baselineLts = XtaLts.create(system);
+		final SafetyResult<?, XtaAction> status = check(ImmutableSet.of(), false);
+
+		status.getArg().getNodes().map(n -> (XtaState<?>) n.getState()).forEach(s -> {
+			if (s.getLocs().get(1).getName().equals("Q_E")) {
+				// The steps of Q can still be ample
+				assertEquals(1, lts.getEnabledActionsFor(s).size());
+			} else {
+				// The steps of P, which has an error location, are never ample
+				assertEquals(baselineLts.getEnabledActionsFor(s).size(), lts.getEnabledActionsFor(s).size());
+			}
+		});
+	}
+
+	@Test
+	public void testReduction() {
+		final SafetyResult<?, XtaAction> status = check(ImmutableSet.of(), true);
+		final SafetyResult<?, XtaAction> baselineStatus = check(ImmutableSet.of(), false);
+
+		assertTrue(status.isSafe());
+		assertTrue(baselineStatus.isSafe());
+		assertTrue(status.getArg().getNodes().count() < baselineStatus.getArg().getNodes().count());
+	}
+
+	@Test
+	public void testReachability() {
+		for (final String error : Arrays.asList("P_B", "P_C", "Q_E", "Q_F")) {
+			final SafetyResult<?, XtaAction> status = check(ImmutableSet.of(loc(error)), true);
+			final SafetyResult<?, XtaAction> baselineStatus = check(ImmutableSet.of(loc(error)), false);
+
+			assertTrue(status.isUnsafe());
+			assertTrue(baselineStatus.isUnsafe());
+		}
+	}
+
+	private SafetyResult<?, XtaAction> check(final Set<Loc> errorLocs, final boolean partialOrderReduction) {
+		final LazyXtaChecker<?> checker = LazyXtaChecker.create(system, LuStrategy.create(system),
+				SearchStrategy.breadthFirst(), errorLocs, 1, false, partialOrderReduction);
+		return checker.check(UnitPrec.getInstance());
+	}
+
+	private Loc loc(final String name) {
+		return system.getProcesses().stream().flatMap(p -> p.getLocs().stream())
+				.filter(l -> l.getName().equals(name)).findFirst().get();
+	}
+
+}
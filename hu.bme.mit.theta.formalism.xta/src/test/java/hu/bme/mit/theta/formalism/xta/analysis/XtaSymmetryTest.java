@@ -0,0 +1,155 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.formalism.xta.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+import hu.bme.mit.theta.analysis.Analysis;
+import hu.bme.mit.theta.analysis.unit.UnitAnalysis;
+import hu.bme.mit.theta.analysis.unit.UnitPrec;
+import hu.bme.mit.theta.analysis.unit.UnitState;
+import hu.bme.mit.theta.formalism.xta.XtaSystem;
+import hu.bme.mit.theta.formalism.xta.XtaSystem.Scalarset;
+import hu.bme.mit.theta.formalism.xta.analysis.XtaSymmetry.Key;
+import hu.bme.mit.theta.formalism.xta.dsl.XtaDslManager;
+
+@RunWith(Parameterized.class)
+public final class XtaSymmetryTest {
+
+	@Parameters(name = "{0}")
+	public static Collection<Object[]> data() {
+		return Arrays.asList(new Object[][] {
+
+				{ "/critical-2-25-50.xta", false },
+
+				{ "/csma-2.xta", false },
+
+				{ "/fddi-2.xta", false },
+
+				{ "/fischer-2-32-64.xta", true },
+
+				{ "/fischer-4-32-64.xta", true },
+
+				{ "/lynch-2-16.xta", true },
+
+				{ "/lynch-4-16.xta", true }
+
+		});
+	}
+
+	@Parameter(0)
+	public String filepath;
+
+	@Parameter(1)
+	public boolean symmetric;
+
+	private XtaSystem system;
+
+	@Before
+	public void initialize() throws IOException {
+		final InputStream inputStream = getClass().getResourceAsStream(filepath);
+		system = XtaDslManager.createSystem(inputStream);
+	}
+
+	@Test
+	public void testScalarsets() {
+		// Each template is instantiated with every value of the type of its parameter
+		assertFalse(system.getScalarsets().isEmpty());
+		for (final Scalarset scalarset : system.getScalarsets()) {
+			assertTrue(scalarset.getProcesses().size() > 1);
+			assertEquals(scalarset.getProcesses().size(), scalarset.getValues().size());
+		}
+	}
+
+	@Test
+	public void testIsTrivial() {
+		final XtaSymmetry symmetry = XtaSymmetry.create(system);
+		assertEquals(!symmetric, symmetry.isTrivial());
+	}
+
+	@Test
+	public void testCanonize() {
+		final XtaSymmetry symmetry = XtaSymmetry.create(system);
+		final List<XtaDiscreteState> states = explore();
+		final Map<Key, XtaDiscreteState> representatives = new HashMap<>();
+		for (final XtaDiscreteState state : states) {
+			final Key key = symmetry.canonize(state).getKey();
+			final XtaDiscreteState representative = representatives.computeIfAbsent(key, k -> state);
+			// Symmetric states are at the same locations of the template
+			assertEquals(getLocNames(representative), getLocNames(state));
+		}
+
+		if (symmetric) {
+			assertTrue(representatives.size() < states.size());
+		} else {
+			assertEquals(states.size(), representatives.size());
+		}
+	}
+
+	private static List<String> getLocNames(final XtaDiscreteState state) {
+		final List<String> names = new ArrayList<>();
+		state.getLocs().forEach(l -> names.add(l.getName().substring(l.getName().lastIndexOf('_') + 1)));
+		names.sort(null);
+		return names;
+	}
+
+	private List<XtaDiscreteState> explore() {
+		final XtaLts lts = XtaLts.create(system);
+		final Analysis<XtaState<UnitState>, XtaAction, UnitPrec> analysis = XtaAnalysis.create(system,
+				UnitAnalysis.getInstance());
+		final Set<XtaState<UnitState>> reached = new HashSet<>();
+		final Queue<XtaState<UnitState>> queue = new ArrayDeque<>();
+		final List<XtaDiscreteState> result = new ArrayList<>();
+		queue.addAll(analysis.getInitFunc().getInitStates(UnitPrec.getInstance()));
+		reached.addAll(queue);
+		while (!queue.isEmpty()) {
+			final XtaState<UnitState> state = queue.remove();
+			result.add(state.getDiscreteState());
+			for (final XtaAction action : lts.getEnabledActionsFor(state)) {
+				for (final XtaState<UnitState> succ : analysis.getTransFunc().getSuccStates(state, action,
+						UnitPrec.getInstance())) {
+					if (reached.add(succ)) {
+						queue.add(succ);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+}
@@ -25,6 +25,8 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
+import com.google.common.cache.CacheStats;
+
 import hu.bme.mit.theta.core.model.Model;
 import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
@@ -164,6 +166,11 @@ final class Z3ItpSolver implements ItpSolver {
 		return solver.check();
 	}
 
+	@Override
+	public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+		return solver.check(assumptions);
+	}
+
 	@Override
 	public void push() {
 		markers.push();
@@ -207,4 +214,18 @@ final class Z3ItpSolver implements ItpSolver {
 		return solver.getAssertions();
 	}
 
+	@Override
+	public void interrupt() {
+		solver.interrupt();
+	}
+
+	@Override
+	public void close() {
+		solver.close();
+	}
+
+	CacheStats getTermCacheStats() {
+		return solver.getTermCacheStats();
+	}
+
 }
@@ -19,13 +19,19 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
 
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.ImmutableList;
 import com.microsoft.z3.FuncDecl;
 import com.microsoft.z3.Status;
@@ -38,6 +44,7 @@ import hu.bme.mit.theta.core.type.Expr;
 import hu.bme.mit.theta.core.type.LitExpr;
 import hu.bme.mit.theta.core.type.Type;
 import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.core.type.booltype.NotExpr;
 import hu.bme.mit.theta.solver.Solver;
 import hu.bme.mit.theta.solver.SolverStatus;
 import hu.bme.mit.theta.solver.Stack;
@@ -58,6 +65,9 @@ final class Z3Solver implements Solver {
 
 	private final Stack<Expr<BoolType>> assertions;
 	private final Map<String, Expr<BoolType>> assumptions;
+	private final Deque<List<Expr<BoolType>>> proxyFrames;
+	private final Map<Expr<BoolType>, com.microsoft.z3.BoolExpr> proxies;
+	private final Map<com.microsoft.z3.Expr, Expr<BoolType>> checkedAssumptions;
 
 	private static final String ASSUMPTION_LABEL = "_LABEL_%d";
 	private int labelNum = 0;
@@ -65,6 +75,7 @@ final class Z3Solver implements Solver {
 	private Model model;
 	private Collection<Expr<BoolType>> unsatCore;
 	private SolverStatus status;
+	private volatile boolean interrupted = false;
 
 	public Z3Solver(final Z3SymbolTable symbolTable, final Z3TransformationManager transformationManager,
 			final Z3TermTransformer termTransformer, final com.microsoft.z3.Context z3Context,
@@ -77,6 +88,10 @@ final class Z3Solver implements Solver {
 
 		assertions = new StackImpl<>();
 		assumptions = new HashMap<>();
+		proxyFrames = new ArrayDeque<>();
+		proxyFrames.push(new ArrayList<>());
+		proxies = new HashMap<>();
+		checkedAssumptions = new HashMap<>();
 	}
 
 	////
@@ -112,11 +127,68 @@ final class Z3Solver implements Solver {
 
 	@Override
 	public SolverStatus check() {
+		checkInterrupted();
+		clearState();
+		checkedAssumptions.clear();
 		final Status z3Status = z3Solver.check();
 		status = transformStatus(z3Status);
 		return status;
 	}
 
+	@Override
+	public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptionExprs) {
+		checkNotNull(assumptionExprs);
+		checkInterrupted();
+		clearState();
+		checkedAssumptions.clear();
+
+		final com.microsoft.z3.BoolExpr[] literals = new com.microsoft.z3.BoolExpr[assumptionExprs.size()];
+		int i = 0;
+		for (final Expr<BoolType> assumption : assumptionExprs) {
+			final com.microsoft.z3.BoolExpr literal = toLiteral(assumption);
+			checkedAssumptions.put(literal, assumption);
+			literals[i] = literal;
+			i = i + 1;
+		}
+
+		final Status z3Status = z3Solver.check(literals);
+		status = transformStatus(z3Status);
+		return status;
+	}
+
+	/**
+	 * Z3 only accepts literals as assumptions, so every other expression is
+	 * replaced by a proxy constant that is equivalent to it. Proxies live on
+	 * the assertion stack, hence they are reused until the frame that
+	 * introduced them is popped, when they are dropped together with their
+	 * labels. Boolean constants are used directly.
+	 */
+	private com.microsoft.z3.BoolExpr toLiteral(final Expr<BoolType> assumption) {
+		if (assumption instanceof NotExpr) {
+			final Expr<BoolType> op = ((NotExpr) assumption).getOp();
+			return z3Context.mkNot(proxyOf(op));
+		} else {
+			return proxyOf(assumption);
+		}
+	}
+
+	private com.microsoft.z3.BoolExpr proxyOf(final Expr<BoolType> expr) {
+		com.microsoft.z3.BoolExpr proxy = proxies.get(expr);
+		if (proxy == null) {
+			final com.microsoft.z3.BoolExpr term = (com.microsoft.z3.BoolExpr) transformationManager.toTerm(expr);
+			if (term.isConst() && !term.isTrue() && !term.isFalse()) {
+				return term;
+			}
+			final String label = String.format(ASSUMPTION_LABEL, labelNum++);
+			proxy = z3Context.mkBoolConst(label);
+			assumptions.put(label, expr);
+			z3Solver.add(z3Context.mkIff(proxy, term));
+			proxyFrames.peek().add(expr);
+			proxies.put(expr, proxy);
+		}
+		return proxy;
+	}
+
 	private SolverStatus transformStatus(final Status z3Status) {
 		switch (z3Status) {
 		case SATISFIABLE:
@@ -124,19 +196,34 @@ final class Z3Solver implements Solver {
 		case UNSATISFIABLE:
 			return SolverStatus.UNSAT;
 		default:
+			// An interrupted check returns unknown
+			checkInterrupted();
 			throw new UnknownSolverStatusException();
 		}
 	}
 
+	private void checkInterrupted() {
+		if (interrupted) {
+			throw new CancellationException("Solver interrupted");
+		}
+	}
+
 	@Override
 	public void push() {
 		assertions.push();
+		proxyFrames.push(new ArrayList<>());
 		z3Solver.push();
 	}
 
 	@Override
 	public void pop(final int n) {
 		assertions.pop(n);
+		for (int i = 0; i < n; i++) {
+			for (final Expr<BoolType> expr : proxyFrames.pop()) {
+				final com.microsoft.z3.BoolExpr proxy = proxies.remove(expr);
+				assumptions.remove(proxy.toString());
+			}
+		}
 		z3Solver.pop(n);
 		clearState();
 	}
@@ -146,6 +233,17 @@ final class Z3Solver implements Solver {
 		throw new UnsupportedOperationException();
 	}
 
+	@Override
+	public void interrupt() {
+		interrupted = true;
+		z3Context.interrupt();
+	}
+
+	@Override
+	public void close() {
+		z3Context.close();
+	}
+
 	@Override
 	public SolverStatus getStatus() {
 		checkState(status != null, "Solver status is unknown.");
@@ -197,6 +295,12 @@ final class Z3Solver implements Solver {
 		for (int i = 0; i < z3UnsatCore.length; i = i + 1) {
 			final com.microsoft.z3.Expr term = z3UnsatCore[i];
 
+			final Expr<BoolType> checkedAssumption = checkedAssumptions.get(term);
+			if (checkedAssumption != null) {
+				unsatCore.add(checkedAssumption);
+				continue;
+			}
+
 			checkState(term.isConst(), "Term is not constant.");
 
 			final String label = term.toString();
@@ -214,6 +318,14 @@ final class Z3Solver implements Solver {
 		return assertions.toCollection();
 	}
 
+	CacheStats getTermCacheStats() {
+		return transformationManager.getTermCacheStats();
+	}
+
+	int getProxyCount() {
+		return proxies.size();
+	}
+
 	private void clearState() {
 		status = null;
 		model = null;
@@ -15,6 +15,10 @@
  */
 package hu.bme.mit.theta.solver.z3;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.cache.CacheStats;
+
 import com.microsoft.z3.InterpolationContext;
 
 import hu.bme.mit.theta.common.OsHelper;
@@ -22,6 +26,7 @@ import hu.bme.mit.theta.solver.ItpSolver;
 import hu.bme.mit.theta.solver.Solver;
 import hu.bme.mit.theta.solver.SolverFactory;
 import hu.bme.mit.theta.solver.z3.transform.Z3SymbolTable;
+import hu.bme.mit.theta.solver.z3.transform.Z3TermCacheSettings;
 import hu.bme.mit.theta.solver.z3.transform.Z3TermTransformer;
 import hu.bme.mit.theta.solver.z3.transform.Z3TransformationManager;
 
@@ -31,16 +36,47 @@ public final class Z3SolverFactory implements SolverFactory {
 
 	static {
 		loadLibraries();
-		INSTACE = new Z3SolverFactory();
+		INSTACE = new Z3SolverFactory(Z3TermCacheSettings.getDefault());
 	}
 
-	private Z3SolverFactory() {
+	private final Z3TermCacheSettings cacheSettings;
+
+	private Z3SolverFactory(final Z3TermCacheSettings cacheSettings) {
+		this.cacheSettings = checkNotNull(cacheSettings);
 	}
 
 	public static Z3SolverFactory getInstace() {
 		return INSTACE;
 	}
 
+	/**
+	 * Create a factory whose solvers translate expressions to Z3 terms using a
+	 * cache with the given settings. Each solver has its own cache.
+	 */
+	public static Z3SolverFactory create(final Z3TermCacheSettings cacheSettings) {
+		return new Z3SolverFactory(cacheSettings);
+	}
+
+	public Z3TermCacheSettings getCacheSettings() {
+		return cacheSettings;
+	}
+
+	/**
+	 * Hit and miss counts of the term cache of a solver created by a Z3 solver
+	 * factory. Only counted if enabled by
+	 * {@link Z3TermCacheSettings.Builder#recordStats()}.
+	 */
+	public static CacheStats getTermCacheStats(final Solver solver) {
+		checkNotNull(solver);
+		if (solver instanceof Z3Solver) {
+			return ((Z3Solver) solver).getTermCacheStats();
+		} else if (solver instanceof Z3ItpSolver) {
+			return ((Z3ItpSolver) solver).getTermCacheStats();
+		} else {
+			throw new IllegalArgumentException("Not a Z3 solver");
+		}
+	}
+
 	private static void loadLibraries() {
 		switch (OsHelper.getOs()) {
 		case WINDOWS:
@@ -62,7 +98,8 @@ public final class Z3SolverFactory implements SolverFactory {
 		final com.microsoft.z3.Solver z3Solver = z3Context.mkSimpleSolver();
 
 		final Z3SymbolTable symbolTable = new Z3SymbolTable();
-		final Z3TransformationManager transformationManager = new Z3TransformationManager(symbolTable, z3Context);
+		final Z3TransformationManager transformationManager = new Z3TransformationManager(symbolTable, z3Context,
+				cacheSettings);
 		final Z3TermTransformer termTransformer = new Z3TermTransformer(symbolTable);
 
 		return new Z3Solver(symbolTable, transformationManager, termTransformer, z3Context, z3Solver);
@@ -74,7 +111,8 @@ public final class Z3SolverFactory implements SolverFactory {
 		final com.microsoft.z3.Solver z3Solver = z3Context.mkSimpleSolver();
 
 		final Z3SymbolTable symbolTable = new Z3SymbolTable();
-		final Z3TransformationManager transformationManager = new Z3TransformationManager(symbolTable, z3Context);
+		final Z3TransformationManager transformationManager = new Z3TransformationManager(symbolTable, z3Context,
+				cacheSettings);
 		final Z3TermTransformer termTransformer = new Z3TermTransformer(symbolTable);
 
 		return new Z3ItpSolver(symbolTable, transformationManager, termTransformer, z3Context, z3Solver);
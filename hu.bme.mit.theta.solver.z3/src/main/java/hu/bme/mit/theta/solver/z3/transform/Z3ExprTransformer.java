@@ -18,7 +18,7 @@ package hu.bme.mit.theta.solver.z3.transform;
 import java.util.concurrent.ExecutionException;
 
 import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.microsoft.z3.Context;
 
 import hu.bme.mit.theta.common.DispatchTable;
@@ -66,19 +66,18 @@ import hu.bme.mit.theta.core.type.rattype.RatSubExpr;
 
 class Z3ExprTransformer {
 
-	private static final int CACHE_SIZE = 1000;
-
 	private final Z3TransformationManager transformer;
 	private final Context context;
 
 	private final Cache<Expr<?>, com.microsoft.z3.Expr> exprToTerm;
 	private final DispatchTable<com.microsoft.z3.Expr> table;
 
-	Z3ExprTransformer(final Z3TransformationManager transformer, final Context context) {
+	Z3ExprTransformer(final Z3TransformationManager transformer, final Context context,
+			final Z3TermCacheSettings cacheSettings) {
 		this.context = context;
 		this.transformer = transformer;
 
-		exprToTerm = CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build();
+		exprToTerm = cacheSettings.createCache();
 
 		table = DispatchTable.<com.microsoft.z3.Expr>builder()
 
@@ -177,6 +176,10 @@ class Z3ExprTransformer {
 		}
 	}
 
+	CacheStats getCacheStats() {
+		return exprToTerm.stats();
+	}
+
 	////
 
 	/*
@@ -0,0 +1,159 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver.z3.transform;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import hu.bme.mit.theta.core.type.Expr;
+
+/**
+ * Settings of the cache that maps expressions to Z3 terms. The cache belongs to
+ * a single {@link Z3TransformationManager}, so it lives as long as the Z3
+ * context it translates into. Subexpressions are cached on their own, thus
+ * shared subtrees (e.g. prefixes of traces) are translated only once.
+ */
+public final class Z3TermCacheSettings {
+
+	private static final Z3TermCacheSettings DEFAULT = builder().build();
+
+	private final long maximumSize;
+	private final long maximumWeight;
+	private final boolean weakKeys;
+	private final boolean recordStats;
+
+	private Z3TermCacheSettings(final Builder builder) {
+		this.maximumSize = builder.maximumSize;
+		this.maximumWeight = builder.maximumWeight;
+		this.weakKeys = builder.weakKeys;
+		this.recordStats = builder.recordStats;
+	}
+
+	/**
+	 * Unbounded cache comparing expressions structurally, without statistics.
+	 */
+	public static Z3TermCacheSettings getDefault() {
+		return DEFAULT;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	public long getMaximumSize() {
+		return maximumSize;
+	}
+
+	public long getMaximumWeight() {
+		return maximumWeight;
+	}
+
+	public boolean isWeakKeys() {
+		return weakKeys;
+	}
+
+	public boolean isRecordStats() {
+		return recordStats;
+	}
+
+	Cache<Expr<?>, com.microsoft.z3.Expr> createCache() {
+		final CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder();
+		if (maximumSize >= 0) {
+			builder.maximumSize(maximumSize);
+		}
+		if (weakKeys) {
+			builder.weakKeys();
+		}
+		if (recordStats) {
+			builder.recordStats();
+		}
+		if (maximumWeight >= 0) {
+			return builder.maximumWeight(maximumWeight).weigher(Z3TermCacheSettings::weigh).build();
+		} else {
+			return builder.build();
+		}
+	}
+
+	private static int weigh(final Expr<?> expr, final com.microsoft.z3.Expr term) {
+		return expr.getArity() + 1;
+	}
+
+	@Override
+	public String toString() {
+		return "Z3TermCacheSettings(maximumSize=" + maximumSize + ", maximumWeight=" + maximumWeight + ", weakKeys="
+				+ weakKeys + ", recordStats=" + recordStats + ")";
+	}
+
+	public static final class Builder {
+		private long maximumSize = -1;
+		private long maximumWeight = -1;
+		private boolean weakKeys = false;
+		private boolean recordStats = false;
+
+		private Builder() {
+		}
+
+		/**
+		 * Bound the number of cached terms. Cannot be combined with
+		 * {@link #maximumWeight(long)}.
+		 */
+		public Builder maximumSize(final long maximumSize) {
+			checkArgument(maximumSize >= 0);
+			checkState(maximumWeight < 0, "Maximum weight already set");
+			this.maximumSize = maximumSize;
+			return this;
+		}
+
+		/**
+		 * Bound the total weight of cached terms, where the weight of an entry
+		 * is the arity of its expression plus one. Cannot be combined with
+		 * {@link #maximumSize(long)}.
+		 */
+		public Builder maximumWeight(final long maximumWeight) {
+			checkArgument(maximumWeight >= 0);
+			checkState(maximumSize < 0, "Maximum size already set");
+			this.maximumWeight = maximumWeight;
+			return this;
+		}
+
+		/**
+		 * Compare expressions by identity and let unreachable expressions be
+		 * evicted. Equal but distinct instances miss the cache, so this is
+		 * only useful if expressions are interned (see
+		 * {@link hu.bme.mit.theta.core.type.ExprInterner}).
+		 */
+		public Builder weakKeys() {
+			this.weakKeys = true;
+			return this;
+		}
+
+		/**
+		 * Count hits and misses, see {@link Z3TransformationManager#getTermCacheStats()}.
+		 */
+		public Builder recordStats() {
+			this.recordStats = true;
+			return this;
+		}
+
+		public Z3TermCacheSettings build() {
+			return new Z3TermCacheSettings(this);
+		}
+	}
+
+}
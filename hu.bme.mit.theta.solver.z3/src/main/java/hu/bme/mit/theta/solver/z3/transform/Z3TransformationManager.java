@@ -15,6 +15,9 @@
  */
 package hu.bme.mit.theta.solver.z3.transform;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.cache.CacheStats;
 import com.microsoft.z3.Context;
 
 import hu.bme.mit.theta.core.decl.Decl;
@@ -28,9 +31,15 @@ public class Z3TransformationManager {
 	final Z3ExprTransformer exprTransformer;
 
 	public Z3TransformationManager(final Z3SymbolTable symbolTable, final Context context) {
+		this(symbolTable, context, Z3TermCacheSettings.getDefault());
+	}
+
+	public Z3TransformationManager(final Z3SymbolTable symbolTable, final Context context,
+			final Z3TermCacheSettings cacheSettings) {
+		checkNotNull(cacheSettings);
 		this.typeTransformer = new Z3TypeTransformer(this, context);
 		this.declTransformer = new Z3DeclTransformer(this, symbolTable, context);
-		this.exprTransformer = new Z3ExprTransformer(this, context);
+		this.exprTransformer = new Z3ExprTransformer(this, context, cacheSettings);
 	}
 
 	public com.microsoft.z3.Sort toSort(final Type type) {
@@ -45,4 +54,12 @@ public class Z3TransformationManager {
 		return exprTransformer.toTerm(expr);
 	}
 
+	/**
+	 * Hit and miss counts of the term cache. Only counted if enabled by
+	 * {@link Z3TermCacheSettings.Builder#recordStats()}.
+	 */
+	public CacheStats getTermCacheStats() {
+		return exprTransformer.getCacheStats();
+	}
+
 }
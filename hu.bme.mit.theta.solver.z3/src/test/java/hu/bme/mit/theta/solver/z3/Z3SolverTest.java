@@ -18,12 +18,16 @@ package hu.bme.mit.theta.solver.z3;
 import static hu.bme.mit.theta.core.decl.Decls.Const;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
 import static hu.bme.mit.theta.core.type.booltype.BoolExprs.True;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableList;
+
 import hu.bme.mit.theta.core.decl.ConstDecl;
 import hu.bme.mit.theta.core.model.Model;
 import hu.bme.mit.theta.core.type.Expr;
@@ -54,4 +58,52 @@ public final class Z3SolverTest {
 		solver.pop();
 	}
 
+	@Test
+	public void testCheckAssumptions() {
+		final Solver solver = Z3SolverFactory.getInstace().createSolver();
+
+		final ConstDecl<BoolType> ca = Const("a", Bool());
+		final ConstDecl<BoolType> cb = Const("b", Bool());
+		final Expr<BoolType> assumption = And(ca.getRef(), cb.getRef());
+
+		solver.add(Not(ca.getRef()));
+
+		final SolverStatus status1 = solver.check(ImmutableList.of(assumption, cb.getRef()));
+		assertTrue(status1.isUnsat());
+		assertTrue(solver.getUnsatCore().contains(assumption));
+
+		final SolverStatus status2 = solver.check(ImmutableList.of(Not(assumption)));
+		assertTrue(status2.isSat());
+
+		final SolverStatus status3 = solver.check();
+		assertTrue(status3.isSat());
+		assertEquals(1, solver.getAssertions().size());
+	}
+
+	@Test
+	public void testCheckAssumptionsAfterPop() {
+		final Z3Solver solver = (Z3Solver) Z3SolverFactory.getInstace().createSolver();
+
+		final ConstDecl<BoolType> ca = Const("a", Bool());
+		final ConstDecl<BoolType> cb = Const("b", Bool());
+		final Expr<BoolType> assumption = And(ca.getRef(), cb.getRef());
+
+		solver.push();
+		assertTrue(solver.check(ImmutableList.of(assumption)).isSat());
+		assertEquals(1, solver.getProxyCount());
+		solver.push();
+		assertTrue(solver.check(ImmutableList.of(Not(assumption), Not(cb.getRef()))).isSat());
+		assertEquals(1, solver.getProxyCount());
+		solver.pop(2);
+		assertEquals(0, solver.getProxyCount());
+
+		solver.add(Not(ca.getRef()));
+		assertTrue(solver.check(ImmutableList.of(assumption)).isUnsat());
+		assertTrue(solver.getUnsatCore().contains(assumption));
+		assertEquals(1, solver.getProxyCount());
+
+		assertTrue(solver.check(ImmutableList.of(Not(assumption))).isSat());
+		assertNotNull(solver.getModel().getDecls());
+	}
+
 }
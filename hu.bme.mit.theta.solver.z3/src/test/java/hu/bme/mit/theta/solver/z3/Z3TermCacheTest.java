@@ -0,0 +1,129 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver.z3;
+
+import static hu.bme.mit.theta.core.decl.Decls.Const;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.And;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Bool;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Not;
+import static hu.bme.mit.theta.core.type.booltype.BoolExprs.Or;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.cache.CacheStats;
+
+import hu.bme.mit.theta.core.decl.ConstDecl;
+import hu.bme.mit.theta.core.type.Expr;
+import hu.bme.mit.theta.core.type.ExprInterner;
+import hu.bme.mit.theta.core.type.booltype.BoolType;
+import hu.bme.mit.theta.solver.ItpSolver;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.z3.transform.Z3TermCacheSettings;
+
+public final class Z3TermCacheTest {
+
+	private final ConstDecl<BoolType> ca = Const("a", Bool());
+	private final ConstDecl<BoolType> cb = Const("b", Bool());
+	private final ConstDecl<BoolType> cc = Const("c", Bool());
+
+	@After
+	public void after() {
+		ExprInterner.disable();
+	}
+
+	@Test
+	public void testStats() {
+		final Z3SolverFactory factory = Z3SolverFactory
+				.create(Z3TermCacheSettings.builder().recordStats().build());
+		final Solver solver = factory.createSolver();
+
+		solver.add(createExpr());
+		final CacheStats stats1 = Z3SolverFactory.getTermCacheStats(solver);
+		assertTrue(stats1.missCount() > 0);
+
+		// Structurally equal, so every lookup hits
+		solver.add(createExpr());
+		final CacheStats stats2 = Z3SolverFactory.getTermCacheStats(solver).minus(stats1);
+		assertEquals(0, stats2.missCount());
+		assertTrue(stats2.hitCount() > 0);
+
+		assertTrue(solver.check().isSat());
+	}
+
+	@Test
+	public void testStatsOfItpSolver() {
+		final Z3SolverFactory factory = Z3SolverFactory
+				.create(Z3TermCacheSettings.builder().recordStats().build());
+		final ItpSolver solver = factory.createItpSolver();
+
+		solver.add(createExpr());
+		solver.add(createExpr());
+		final CacheStats stats = Z3SolverFactory.getTermCacheStats(solver);
+		assertTrue(stats.missCount() > 0);
+		assertTrue(stats.hitCount() > 0);
+	}
+
+	@Test
+	public void testNoStats() {
+		final Solver solver = Z3SolverFactory.getInstace().createSolver();
+		solver.add(createExpr());
+		assertEquals(0, Z3SolverFactory.getTermCacheStats(solver).requestCount());
+	}
+
+	@Test
+	public void testWeakKeysWithInterning() {
+		ExprInterner.enable();
+		final Z3SolverFactory factory = Z3SolverFactory
+				.create(Z3TermCacheSettings.builder().weakKeys().recordStats().build());
+		final Solver solver = factory.createSolver();
+
+		solver.add(createExpr());
+		final CacheStats stats1 = Z3SolverFactory.getTermCacheStats(solver);
+
+		// Interned instances are identical, so the root is found immediately
+		solver.add(createExpr());
+		final CacheStats stats2 = Z3SolverFactory.getTermCacheStats(solver).minus(stats1);
+		assertEquals(0, stats2.missCount());
+		assertEquals(1, stats2.hitCount());
+
+		assertTrue(solver.check().isSat());
+	}
+
+	@Test
+	public void testWeakKeysWithoutInterning() {
+		final Z3SolverFactory factory = Z3SolverFactory
+				.create(Z3TermCacheSettings.builder().weakKeys().recordStats().build());
+		final Solver solver = factory.createSolver();
+
+		solver.add(createExpr());
+		final CacheStats stats1 = Z3SolverFactory.getTermCacheStats(solver);
+
+		// Equal but distinct instances are translated again
+		solver.add(createExpr());
+		final CacheStats stats2 = Z3SolverFactory.getTermCacheStats(solver).minus(stats1);
+		assertTrue(stats2.missCount() > 0);
+
+		assertTrue(solver.check().isSat());
+	}
+
+	private Expr<BoolType> createExpr() {
+		return And(Or(ca.getRef(), cb.getRef()), Not(And(cb.getRef(), cc.getRef())));
+	}
+
+}
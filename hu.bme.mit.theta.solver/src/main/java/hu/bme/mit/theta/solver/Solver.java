@@ -41,6 +41,15 @@ public interface Solver {
 
 	SolverStatus check();
 
+	/**
+	 * Check satisfiability of the assertions under the given assumptions
+	 * without adding them to the solver. If the result is UNSAT, the unsat
+	 * core consists of the tracked assertions and the assumptions that take
+	 * part in the conflict. Assumptions are cheaper than a push/add/pop
+	 * sequence since the solver does not have to discard learned facts.
+	 */
+	SolverStatus check(Collection<? extends Expr<BoolType>> assumptions);
+
 	void push();
 
 	void pop(final int n);
@@ -58,4 +67,17 @@ public interface Solver {
 	Collection<Expr<BoolType>> getUnsatCore();
 
 	Collection<Expr<BoolType>> getAssertions();
+
+	/**
+	 * Interrupt the solver, possibly from another thread. The running check
+	 * (if any) and all later checks throw a
+	 * {@link java.util.concurrent.CancellationException}.
+	 */
+	void interrupt();
+
+	/**
+	 * Release the resources (e.g., native memory) of the solver. The solver
+	 * cannot be used afterwards.
+	 */
+	void close();
 }
@@ -15,10 +15,28 @@
  */
 package hu.bme.mit.theta.solver;
 
+import hu.bme.mit.theta.solver.impl.SolverPoolImpl;
+
 public interface SolverFactory {
 
 	Solver createSolver();
 
 	ItpSolver createItpSolver();
 
+	/**
+	 * Create a pool of at most the given number of solvers, created lazily by
+	 * this factory.
+	 */
+	default SolverPool<Solver> createSolverPool(final int maxSize) {
+		return SolverPoolImpl.create(this::createSolver, maxSize);
+	}
+
+	/**
+	 * Create a pool of at most the given number of interpolating solvers,
+	 * created lazily by this factory.
+	 */
+	default SolverPool<ItpSolver> createItpSolverPool(final int maxSize) {
+		return SolverPoolImpl.create(this::createItpSolver, maxSize);
+	}
+
 }
@@ -0,0 +1,42 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver;
+
+/**
+ * Common interface for pools of solvers. A pool lends its solvers to one
+ * thread at a time and keeps them alive between leases, so that the internal
+ * state of the solver (e.g., context, symbol table) can be reused. Clients
+ * should borrow a solver only for the duration of a task and return it with
+ * the same assertions as it was leased with (e.g., by using
+ * {@link hu.bme.mit.theta.solver.utils.WithPushPop}). Solvers are returned by
+ * the thread that leased them.
+ */
+public interface SolverPool<S extends Solver> {
+
+	/**
+	 * Lease a solver from the pool, possibly waiting until a solver is
+	 * returned if the size limit of the pool is reached. Leases are
+	 * reentrant: a thread already holding a solver of the pool gets the same
+	 * solver, which has to be released once for each lease.
+	 */
+	S lease();
+
+	/**
+	 * Return a solver that was leased from this pool.
+	 */
+	void release(S solver);
+
+}
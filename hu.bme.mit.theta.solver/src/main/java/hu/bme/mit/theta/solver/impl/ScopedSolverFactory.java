@@ -0,0 +1,89 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver.impl;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import hu.bme.mit.theta.solver.ItpSolver;
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.SolverFactory;
+
+/**
+ * A thread-safe solver factory that keeps track of the solvers created by an
+ * underlying factory, so that they can be interrupted or closed together,
+ * e.g., when a task times out or ends. Solvers created after an interrupt are
+ * interrupted immediately.
+ */
+public final class ScopedSolverFactory implements SolverFactory {
+
+	private final SolverFactory solverFactory;
+	private final Collection<Solver> solvers;
+	private boolean interrupted;
+	private boolean closed;
+
+	private ScopedSolverFactory(final SolverFactory solverFactory) {
+		this.solverFactory = checkNotNull(solverFactory);
+		solvers = new ArrayList<>();
+		interrupted = false;
+		closed = false;
+	}
+
+	public static ScopedSolverFactory create(final SolverFactory solverFactory) {
+		return new ScopedSolverFactory(solverFactory);
+	}
+
+	@Override
+	public Solver createSolver() {
+		return register(solverFactory.createSolver());
+	}
+
+	@Override
+	public ItpSolver createItpSolver() {
+		return register(solverFactory.createItpSolver());
+	}
+
+	private synchronized <S extends Solver> S register(final S solver) {
+		checkState(!closed, "Factory is closed");
+		solvers.add(solver);
+		if (interrupted) {
+			solver.interrupt();
+		}
+		return solver;
+	}
+
+	/**
+	 * Interrupt every solver created so far or later by this factory.
+	 */
+	public synchronized void interrupt() {
+		interrupted = true;
+		solvers.forEach(Solver::interrupt);
+	}
+
+	/**
+	 * Close every solver created by this factory. This should be called by
+	 * the thread using the solvers, after it finished using them.
+	 */
+	public synchronized void close() {
+		closed = true;
+		solvers.forEach(Solver::close);
+		solvers.clear();
+	}
+
+}
@@ -0,0 +1,154 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver.impl;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.SolverPool;
+
+/**
+ * A thread-safe solver pool that creates solvers on demand using a supplier,
+ * up to a given maximal number of solvers. Returned solvers are kept and
+ * reused by later leases. Leases are reentrant: a thread that already holds a
+ * solver gets the same solver again, and the solver is returned to the pool
+ * when it is released as many times as it was leased.
+ */
+public final class SolverPoolImpl<S extends Solver> implements SolverPool<S> {
+
+	private final Supplier<? extends S> solverSupplier;
+	private final int maxSize;
+
+	private final Deque<S> idle;
+	private final Map<Thread, Lease<S>> leases;
+
+	private SolverPoolImpl(final Supplier<? extends S> solverSupplier, final int maxSize) {
+		checkArgument(maxSize > 0, "Maximal size must be positive");
+		this.solverSupplier = checkNotNull(solverSupplier);
+		this.maxSize = maxSize;
+		idle = new ArrayDeque<>();
+		leases = new HashMap<>();
+	}
+
+	public static <S extends Solver> SolverPoolImpl<S> create(final Supplier<? extends S> solverSupplier,
+			final int maxSize) {
+		return new SolverPoolImpl<>(solverSupplier, maxSize);
+	}
+
+	/**
+	 * Create a pool that lends a single, existing solver to one thread at a
+	 * time. Pools created for the same solver do not know about each other,
+	 * so a solver shared by multiple threads should be wrapped only once.
+	 */
+	public static <S extends Solver> SolverPool<S> of(final S solver) {
+		return new SingleSolverPool<>(solver);
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public synchronized int getSize() {
+		return idle.size() + leases.size();
+	}
+
+	@Override
+	public synchronized S lease() {
+		final Thread thread = Thread.currentThread();
+		final Lease<S> current = leases.get(thread);
+		if (current != null) {
+			current.holds++;
+			return current.solver;
+		}
+
+		while (idle.isEmpty() && leases.size() >= maxSize) {
+			try {
+				wait();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			}
+		}
+		final S solver = idle.isEmpty() ? checkNotNull(solverSupplier.get()) : idle.pop();
+		leases.put(thread, new Lease<>(solver));
+		return solver;
+	}
+
+	@Override
+	public synchronized void release(final S solver) {
+		checkNotNull(solver);
+		final Thread thread = Thread.currentThread();
+		final Lease<S> current = leases.get(thread);
+		checkArgument(current != null && current.solver == solver,
+				"Solver was not leased from this pool by the current thread");
+		current.holds--;
+		if (current.holds == 0) {
+			leases.remove(thread);
+			idle.push(solver);
+			notifyAll();
+		}
+	}
+
+	////
+
+	private static final class Lease<S extends Solver> {
+		private final S solver;
+		private int holds;
+
+		private Lease(final S solver) {
+			this.solver = solver;
+			this.holds = 1;
+		}
+	}
+
+	private static final class SingleSolverPool<S extends Solver> implements SolverPool<S> {
+
+		private final S solver;
+		private final ReentrantLock lock;
+
+		private SingleSolverPool(final S solver) {
+			this.solver = checkNotNull(solver);
+			lock = new ReentrantLock();
+		}
+
+		@Override
+		public S lease() {
+			try {
+				lock.lockInterruptibly();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			}
+			return solver;
+		}
+
+		@Override
+		public void release(final S solver) {
+			checkArgument(this.solver == solver, "Solver was not leased from this pool");
+			checkArgument(lock.isHeldByCurrentThread(), "Solver is not leased by the current thread");
+			lock.unlock();
+		}
+	}
+
+}
@@ -0,0 +1,46 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver.utils;
+
+import java.io.Closeable;
+
+import hu.bme.mit.theta.solver.Solver;
+import hu.bme.mit.theta.solver.SolverPool;
+
+/**
+ * A helper class for automatically returning leased solvers to their pool
+ * using the try-with-resources statement.
+ */
+public class WithLease<S extends Solver> implements Closeable {
+
+	private final SolverPool<S> pool;
+	private final S solver;
+
+	public WithLease(final SolverPool<S> pool) {
+		this.pool = pool;
+		this.solver = pool.lease();
+	}
+
+	public S getSolver() {
+		return solver;
+	}
+
+	@Override
+	public void close() {
+		pool.release(solver);
+	}
+
+}
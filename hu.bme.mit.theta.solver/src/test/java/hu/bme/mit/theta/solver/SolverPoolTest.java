@@ -0,0 +1,133 @@
+/*
+ *  Copyright 2017 Budapest University of Technology and Economics
+ *  
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package hu.bme.mit.theta.solver;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import hu.bme.mit.theta.solver.impl.SolverPoolImpl;
+import hu.bme.mit.theta.solver.utils.WithLease;
+
+public class SolverPoolTest {
+	@Test
+	public void testReuse() throws InterruptedException, ExecutionException {
+		final SolverPoolImpl<SolverStub> pool = SolverPoolImpl.create(SolverStub::new, 2);
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			final SolverStub s1 = pool.lease();
+			final SolverStub s2 = executor.submit(pool::lease).get();
+			Assert.assertNotSame(s1, s2);
+			Assert.assertEquals(2, pool.getSize());
+			pool.release(s1);
+			Assert.assertSame(s1, pool.lease());
+			Assert.assertEquals(2, pool.getSize());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testReentrant() throws InterruptedException {
+		final SolverPoolImpl<SolverStub> pool = SolverPoolImpl.create(SolverStub::new, 1);
+		final SolverStub solver = pool.lease();
+		Assert.assertSame(solver, pool.lease());
+		Assert.assertEquals(1, pool.getSize());
+
+		final Thread thread = new Thread(() -> pool.release(pool.lease()));
+		thread.start();
+		pool.release(solver);
+		thread.join(100);
+		Assert.assertTrue(thread.isAlive());
+
+		pool.release(solver);
+		thread.join();
+		Assert.assertFalse(thread.isAlive());
+	}
+
+	@Test
+	public void testReleaseFromOtherThread() throws InterruptedException {
+		final SolverPoolImpl<SolverStub> pool = SolverPoolImpl.create(SolverStub::new, 1);
+		final SolverStub solver = pool.lease();
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			final Future<?> future = executor.submit(() -> pool.release(solver));
+			try {
+				future.get();
+				Assert.fail();
+			} catch (final ExecutionException e) {
+				Assert.assertTrue(e.getCause() instanceof IllegalArgumentException);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		pool.release(solver);
+	}
+
+	@Test
+	public void testWithLease() {
+		final SolverPoolImpl<SolverStub> pool = SolverPoolImpl.create(SolverStub::new, 1);
+		final SolverStub solver;
+		try (WithLease<SolverStub> lease = new WithLease<>(pool)) {
+			solver = lease.getSolver();
+		}
+		Assert.assertSame(solver, pool.lease());
+		Assert.assertEquals(1, pool.getSize());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testReleaseForeign() {
+		final SolverPoolImpl<SolverStub> pool = SolverPoolImpl.create(SolverStub::new, 1);
+		pool.release(new SolverStub());
+	}
+
+	@Test
+	public void testSingle() throws InterruptedException {
+		final SolverStub solver = new SolverStub();
+		final SolverPool<SolverStub> pool = SolverPoolImpl.of(solver);
+		Assert.assertSame(solver, pool.lease());
+		Assert.assertSame(solver, pool.lease());
+
+		final Thread thread = new Thread(() -> pool.release(pool.lease()));
+		thread.start();
+		pool.release(solver);
+		thread.join(100);
+		Assert.assertTrue(thread.isAlive());
+
+		pool.release(solver);
+		thread.join();
+		Assert.assertFalse(thread.isAlive());
+	}
+
+	@Test
+	public void testSinglePoolsAreIndependent() {
+		final SolverStub solver = new SolverStub();
+		final SolverPool<SolverStub> pool1 = SolverPoolImpl.of(solver);
+		final SolverPool<SolverStub> pool2 = SolverPoolImpl.of(solver);
+		Assert.assertSame(solver, pool1.lease());
+		try {
+			pool2.release(solver);
+			Assert.fail();
+		} catch (final IllegalArgumentException e) {
+			// Leases are tracked per pool
+		}
+		pool1.release(solver);
+	}
+}
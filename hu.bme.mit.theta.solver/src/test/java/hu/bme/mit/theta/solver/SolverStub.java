@@ -42,6 +42,11 @@ class SolverStub implements Solver {
 		return null;
 	}
 
+	@Override
+	public SolverStatus check(final Collection<? extends Expr<BoolType>> assumptions) {
+		return null;
+	}
+
 	@Override
 	public void push() {
 		++nPush;
@@ -76,4 +81,12 @@ class SolverStub implements Solver {
 		return null;
 	}
 
+	@Override
+	public void interrupt() {
+	}
+
+	@Override
+	public void close() {
+	}
+
 }